@@ -0,0 +1,94 @@
+package nl.blitz.loviondummy.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import nl.blitz.loviondummy.dto.DtoMapper;
+import nl.blitz.loviondummy.dto.WorkOrderDto;
+import nl.blitz.loviondummy.repository.projection.WorkOrderRow;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Work-order list mapping with an asset summary per row versus one shared summary per asset, on asset-skewed
+ * lists. Reported per row; with {@code -prof gc} {@code gc.alloc.rate.norm} is the bytes allocated per work order.
+ * The setup prints the serialized JSON size per row, which both variants share.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@OperationsPerInvocation(AssetSummaryBenchmark.ROWS)
+public class AssetSummaryBenchmark {
+
+    static final int ROWS = 10_000;
+
+    private static final OutputStream DISCARD = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    };
+
+    @Param({"5", "50", "5000"})
+    int assets;
+
+    private List<WorkOrderRow> rows;
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        rows = new ArrayList<>(ROWS);
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < ROWS; i++) {
+            // skewed: the lower asset ids get most of the work orders
+            long asset = (long) (Math.pow((double) i / ROWS, 3) * assets) + 1;
+            // fresh strings per row, like a result set
+            rows.add(new WorkOrderRow((long) i, "WO-B" + i, "INSPECTION", "MEDIUM", today.plusDays(i % 30),
+                    "PENDING", "Benchmark work order " + i, asset, new String("EXT-BENCH-" + asset), "PIPE",
+                    new String("Benchmark district " + asset % 10)));
+        }
+        long bytes = objectMapper.writeValueAsBytes(DtoMapper.toWorkOrderDtos(rows)).length;
+        System.out.printf("%n%d work orders over %d assets: %d bytes JSON, %.1f bytes per work order%n",
+                ROWS, assets, bytes, (double) bytes / ROWS);
+    }
+
+    @Benchmark
+    public List<WorkOrderDto> summaryPerRow() {
+        return rows.stream().map(DtoMapper::toWorkOrderDto).toList();
+    }
+
+    @Benchmark
+    public List<WorkOrderDto> sharedSummary() {
+        return DtoMapper.toWorkOrderDtos(rows);
+    }
+
+    @Benchmark
+    public void sharedSummaryJackson() throws IOException {
+        objectMapper.writeValue(DISCARD, DtoMapper.toWorkOrderDtos(rows));
+    }
+}
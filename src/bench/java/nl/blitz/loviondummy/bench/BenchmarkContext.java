@@ -0,0 +1,68 @@
+package nl.blitz.loviondummy.bench;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import nl.blitz.loviondummy.LovionDummyBackendApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Starts the application without a web server and bulk inserts work orders for the benchmarks.
+ */
+final class BenchmarkContext {
+
+    static final String[] STATUSES = {"PENDING", "SCHEDULED", "IN_PROGRESS", "COMPLETED", "CANCELLED"};
+    static final String[] WORK_TYPES = {"MAINTENANCE", "REPAIR", "INSPECTION", "INSTALLATION"};
+    static final String[] PRIORITIES = {"LOW", "MEDIUM", "HIGH", "URGENT"};
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String... extraProperties) {
+        List<String> properties = new ArrayList<>(List.of(
+                "logging.level.root=WARN",
+                "logging.level.nl.blitz.loviondummy=WARN",
+                "spring.datasource.url=jdbc:h2:mem:benchdb;DB_CLOSE_DELAY=-1",
+                "soap.fault.simulation.enabled=false"));
+        properties.addAll(List.of(extraProperties));
+        // as command line arguments: default properties would lose against application.yml
+        return new SpringApplicationBuilder(LovionDummyBackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(properties.stream().map(property -> "--" + property).toArray(String[]::new));
+    }
+
+    /**
+     * Inserts {@code workOrders} work orders spread over {@code assets} assets, on top of the demo data.
+     */
+    static void seed(ConfigurableApplicationContext context, int assets, int workOrders) {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        List<Object[]> assetRows = new ArrayList<>(assets);
+        for (int i = 0; i < assets; i++) {
+            assetRows.add(new Object[]{"EXT-BENCH-%05d".formatted(i), i % 2 == 0 ? "PIPE" : "CABLE",
+                    "Bench asset " + i, "District " + (i % 17)});
+        }
+        jdbc.batchUpdate("INSERT INTO assets (external_asset_ref, type, description, location) VALUES (?, ?, ?, ?)",
+                assetRows);
+        List<Long> assetIds = jdbc.queryForList(
+                "SELECT id FROM assets WHERE external_asset_ref LIKE 'EXT-BENCH-%' ORDER BY id", Long.class);
+
+        LocalDate today = LocalDate.now();
+        List<Object[]> rows = new ArrayList<>(workOrders);
+        for (int i = 0; i < workOrders; i++) {
+            rows.add(new Object[]{
+                    "WO-B%07d".formatted(i),
+                    WORK_TYPES[i % WORK_TYPES.length],
+                    PRIORITIES[i % PRIORITIES.length],
+                    Date.valueOf(today.plusDays(i % 60 - 30)),
+                    assetIds.get(i % assetIds.size()),
+                    STATUSES[i % STATUSES.length],
+                    "Bench work order " + i + " check valve and corrosion on segment " + (i % 97)});
+        }
+        jdbc.batchUpdate("INSERT INTO work_orders (external_workorder_id, work_type, priority, scheduled_date, "
+                + "asset_id, status, description) VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+}
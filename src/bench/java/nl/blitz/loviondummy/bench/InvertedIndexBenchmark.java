@@ -0,0 +1,75 @@
+package nl.blitz.loviondummy.bench;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import nl.blitz.loviondummy.search.InvertedIndex;
+import nl.blitz.loviondummy.search.SearchPage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Query latency of the description index over synthetic work-order texts, without the database round trip.
+ * A rare term, a common term and a two-term query that has to merge a rare and a common posting list.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class InvertedIndexBenchmark {
+
+    private static final String[] WORDS = {
+            "inspect", "replace", "repair", "valve", "pipe", "pump", "cable", "hydrant", "meter", "joint",
+            "leak", "corrosion", "pressure", "station", "cabinet", "filter", "seal", "gasket", "flange", "sensor",
+            "annual", "urgent", "north", "south", "east", "west", "main", "service", "line", "connection"
+    };
+
+    @Param({"1000000"})
+    int documents;
+
+    private InvertedIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        index = new InvertedIndex();
+        SplittableRandom random = new SplittableRandom(42);
+        StringBuilder text = new StringBuilder();
+        for (long id = 0; id < documents; id++) {
+            text.setLength(0);
+            int words = 4 + random.nextInt(8);
+            for (int i = 0; i < words; i++) {
+                // Skewed pick so that some words are common and some are rare
+                int word = (int) (WORDS.length * Math.pow(random.nextDouble(), 2));
+                text.append(WORDS[word]).append(' ');
+            }
+            text.append("asset").append(id % 5000);
+            index.put(id, text.toString());
+        }
+    }
+
+    @Benchmark
+    public SearchPage rareTerm() {
+        return index.search("asset1234", 0, 20);
+    }
+
+    @Benchmark
+    public SearchPage commonTerm() {
+        return index.search("inspect", 0, 20);
+    }
+
+    @Benchmark
+    public SearchPage twoTerms() {
+        return index.search("corrosion connection", 0, 20);
+    }
+}
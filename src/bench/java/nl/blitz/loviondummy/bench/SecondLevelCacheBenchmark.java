@@ -0,0 +1,138 @@
+package nl.blitz.loviondummy.bench;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import nl.blitz.loviondummy.domain.Asset;
+import nl.blitz.loviondummy.domain.ValidationRule;
+import nl.blitz.loviondummy.repository.ValidationRuleRepository;
+import nl.blitz.loviondummy.service.AssetService;
+import nl.blitz.loviondummy.service.ValidationRuleService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Mixed workload against the second-level cache: asset loads by id, rule lookups and a few asset updates.
+ * After the run the Hibernate statistics (hit ratio per region, statements per operation) are printed;
+ * {@code secondLevelCache=false} gives the baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecondLevelCacheBenchmark {
+
+    private static final String[] RULE_TYPES = {"XSD_PATTERN", "XSD_RESTRICTION", "XSD_ENUMERATION", "BUSINESS_RULE"};
+    private static final String[] SEVERITIES = {"ERROR", "WARNING"};
+
+    @Param({"true", "false"})
+    boolean secondLevelCache;
+
+    /** Percentage of operations that update an asset (and so invalidate its cache entry). */
+    @Param({"2"})
+    int writePercent;
+
+    @Param({"2000"})
+    int assets;
+
+    private ConfigurableApplicationContext context;
+    private AssetService assetService;
+    private ValidationRuleService ruleService;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+    private List<Long> assetIds;
+    private final SplittableRandom random = new SplittableRandom(42);
+    private long operations;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(
+                "spring.jpa.properties.hibernate.cache.use_second_level_cache=" + secondLevelCache,
+                "spring.jpa.properties.hibernate.cache.use_query_cache=" + secondLevelCache);
+        BenchmarkContext.seed(context, assets, 0);
+        assetService = context.getBean(AssetService.class);
+        ruleService = context.getBean(ValidationRuleService.class);
+        EntityManagerFactory entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        assetIds = context.getBean(JdbcTemplate.class)
+                .queryForList("SELECT id FROM assets ORDER BY id", Long.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void resetStatistics() {
+        statistics.clear();
+        operations = 0;
+    }
+
+    @TearDown(Level.Iteration)
+    public void printStatistics() {
+        System.out.printf("%n  l2=%s ops=%d statements/op=%.3f%n", secondLevelCache, operations,
+                (double) statistics.getPrepareStatementCount() / operations);
+        if (secondLevelCache) {
+            print(Asset.class.getName(), statistics.getDomainDataRegionStatistics(Asset.class.getName()));
+            print(ValidationRule.class.getName(),
+                    statistics.getDomainDataRegionStatistics(ValidationRule.class.getName()));
+            print(ValidationRuleRepository.QUERY_CACHE_REGION,
+                    statistics.getQueryRegionStatistics(ValidationRuleRepository.QUERY_CACHE_REGION));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object mixed() {
+        operations++;
+        int roll = random.nextInt(100);
+        if (roll < writePercent) {
+            Long id = assetIds.get(random.nextInt(assetIds.size()));
+            String description = "Updated " + random.nextInt();
+            return transactionTemplate.execute(status -> {
+                entityManager.find(Asset.class, id).setDescription(description);
+                return id;
+            });
+        }
+        if (roll < 75) {
+            return assetService.getAsset(assetIds.get(random.nextInt(assetIds.size()))).getLocation();
+        }
+        return switch (roll % 3) {
+            case 0 -> ruleService.getRules(null, null);
+            case 1 -> ruleService.getRules(RULE_TYPES[random.nextInt(RULE_TYPES.length)], null);
+            default -> ruleService.getRules(null, SEVERITIES[random.nextInt(SEVERITIES.length)]);
+        };
+    }
+
+    private static void print(String region, CacheRegionStatistics stats) {
+        long hits = stats.getHitCount();
+        long misses = stats.getMissCount();
+        System.out.printf("  %-45s hits=%d misses=%d puts=%d hit ratio=%.1f%%%n", region, hits, misses,
+                stats.getPutCount(), hits + misses == 0 ? 0.0 : 100.0 * hits / (hits + misses));
+    }
+}
@@ -0,0 +1,130 @@
+package nl.blitz.loviondummy.bench;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import nl.blitz.loviondummy.service.WorkOrderStatusService;
+import nl.blitz.loviondummy.service.WorkOrderStatusService.Transition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Hundreds of writers moving a few hot work orders between SCHEDULED and IN_PROGRESS. Compares the striped local
+ * lock ({@code lockStripes=64}) with plain optimistic locking ({@code lockStripes=0}); after each iteration the
+ * outcomes and retries per transition are printed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 4, time = 3)
+@Threads(200)
+@Fork(1)
+public class StatusTransitionBenchmark {
+
+    private static final String[] TARGETS = {"SCHEDULED", "IN_PROGRESS"};
+    private static final String[] OUTCOMES = {"applied", "unchanged", "conflict"};
+
+    @Param({"1", "16"})
+    int hotWorkOrders;
+
+    @Param({"64", "0"})
+    int lockStripes;
+
+    private ConfigurableApplicationContext context;
+    private WorkOrderStatusService statusService;
+    private MeterRegistry meterRegistry;
+    private List<Long> hotIds;
+    private double[] startCounts;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(
+                "lovion.workorders.status.lock-stripes=" + lockStripes,
+                "spring.datasource.hikari.maximum-pool-size=20");
+        BenchmarkContext.seed(context, 100, 1000);
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        hotIds = jdbc.queryForList("SELECT id FROM work_orders WHERE external_workorder_id LIKE 'WO-B%' "
+                + "ORDER BY id LIMIT " + hotWorkOrders, Long.class);
+        for (Long id : hotIds) {
+            jdbc.update("UPDATE work_orders SET status = 'SCHEDULED' WHERE id = ?", id);
+        }
+        statusService = context.getBean(WorkOrderStatusService.class);
+        meterRegistry = context.getBean(MeterRegistry.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void snapshotCounters() {
+        startCounts = counts();
+    }
+
+    @TearDown(Level.Iteration)
+    public void printCounters() {
+        double[] now = counts();
+        double transitions = 0;
+        for (int i = 0; i < OUTCOMES.length; i++) {
+            transitions += now[i] - startCounts[i];
+        }
+        StringBuilder line = new StringBuilder("%n  hot=%d stripes=%d transitions=%.0f".formatted(
+                hotWorkOrders, lockStripes, transitions));
+        for (int i = 0; i < OUTCOMES.length; i++) {
+            line.append(" %s=%.1f%%".formatted(OUTCOMES[i], 100 * (now[i] - startCounts[i]) / transitions));
+        }
+        line.append(" retries/transition=%.3f".formatted((now[OUTCOMES.length] - startCounts[OUTCOMES.length])
+                / transitions));
+        System.out.println(line);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object single() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return statusService.transitionAll(List.of(transition(random)));
+    }
+
+    /** Ten transitions per call, in one transaction while nobody interferes. */
+    @Benchmark
+    public Object batchOfTen() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Transition> transitions = new ArrayList<>(10);
+        for (int i = 0; i < 10; i++) {
+            transitions.add(transition(random));
+        }
+        return statusService.transitionAll(transitions);
+    }
+
+    private Transition transition(ThreadLocalRandom random) {
+        return new Transition(hotIds.get(random.nextInt(hotIds.size())), null,
+                TARGETS[random.nextInt(TARGETS.length)], null);
+    }
+
+    private double[] counts() {
+        double[] counts = new double[OUTCOMES.length + 1];
+        for (int i = 0; i < OUTCOMES.length; i++) {
+            counts[i] = meterRegistry.get("lovion.workorders.status.transitions").tag("outcome", OUTCOMES[i])
+                    .counter().count();
+        }
+        counts[OUTCOMES.length] = meterRegistry.get("lovion.workorders.status.retries").counter().count();
+        return counts;
+    }
+}
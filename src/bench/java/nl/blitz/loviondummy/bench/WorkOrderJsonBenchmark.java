@@ -0,0 +1,88 @@
+package nl.blitz.loviondummy.bench;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import nl.blitz.loviondummy.dto.DtoMapper;
+import nl.blitz.loviondummy.rest.WorkOrderJsonStreamWriter;
+import nl.blitz.loviondummy.service.WorkOrderQueryService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Full JSON rendering of the work-order list, reported per row: with {@code -prof gc} the
+ * {@code gc.alloc.rate.norm} column is the number of bytes allocated per serialized work order.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@OperationsPerInvocation(WorkOrderJsonBenchmark.ROWS)
+public class WorkOrderJsonBenchmark {
+
+    static final int ROWS = 10_000;
+
+    private static final OutputStream DISCARD = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    };
+
+    private ConfigurableApplicationContext context;
+    private WorkOrderQueryService service;
+    private ObjectMapper objectMapper;
+    private WorkOrderJsonStreamWriter streamWriter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        // only bench rows, so every invocation renders exactly ROWS work orders
+        context.getBean(JdbcTemplate.class).update("DELETE FROM work_orders");
+        BenchmarkContext.seed(context, 50, ROWS);
+        service = context.getBean(WorkOrderQueryService.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        streamWriter = context.getBean(WorkOrderJsonStreamWriter.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void entityDtoJackson() throws IOException {
+        objectMapper.writeValue(DISCARD,
+                service.getWorkOrders(null, null).stream().map(DtoMapper::toWorkOrderDto).toList());
+    }
+
+    @Benchmark
+    public void projectionDtoJackson() throws IOException {
+        objectMapper.writeValue(DISCARD,
+                service.getWorkOrderRows(null, null).stream().map(DtoMapper::toWorkOrderDto).toList());
+    }
+
+    @Benchmark
+    public int jdbcStreaming() throws IOException {
+        return streamWriter.write(DISCARD, null, null);
+    }
+}
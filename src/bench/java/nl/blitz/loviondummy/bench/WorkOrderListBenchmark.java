@@ -0,0 +1,62 @@
+package nl.blitz.loviondummy.bench;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import nl.blitz.loviondummy.dto.DtoMapper;
+import nl.blitz.loviondummy.dto.WorkOrderDto;
+import nl.blitz.loviondummy.service.WorkOrderQueryService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Entity hydration versus constructor projection for the work-order list.
+ * Run with {@code -prof gc} for bytes allocated per list ({@code gc.alloc.rate.norm}) or {@code -prof jfr}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WorkOrderListBenchmark {
+
+    @Param({"10000"})
+    int workOrders;
+
+    private ConfigurableApplicationContext context;
+    private WorkOrderQueryService service;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        BenchmarkContext.seed(context, 50, workOrders);
+        service = context.getBean(WorkOrderQueryService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<WorkOrderDto> entities() {
+        return service.getWorkOrders(null, null).stream().map(DtoMapper::toWorkOrderDto).toList();
+    }
+
+    @Benchmark
+    public List<WorkOrderDto> projection() {
+        return service.getWorkOrderRows(null, null).stream().map(DtoMapper::toWorkOrderDto).toList();
+    }
+}
@@ -0,0 +1,41 @@
+#!/usr/bin/env bash
+# Meet de tijd van JVM start tot het eerste geslaagde request, per opstartvariant.
+# Gebruik (na mvn -Pfaststart -DskipTests package):  src/bench/startup/time-to-first-request.sh [runs]
+set -euo pipefail
+
+cd "$(dirname "$0")/../../.."
+RUNS=${1:-3}
+PORT=${PORT:-18080}
+URL="http://localhost:${PORT}/api/workorders"
+JAR=target/lovion-dummy-backend-0.0.1-SNAPSHOT.jar
+FASTSTART=target/faststart
+
+measure() {
+    local label=$1 dir=$2
+    shift 2
+    local total=0
+    for _ in $(seq 1 "$RUNS"); do
+        local start end
+        start=$(date +%s%N)
+        (cd "$dir" && exec java "$@" -Dserver.port="$PORT" -jar "$(basename "$JAR")" > /tmp/ttfr.log 2>&1) &
+        local pid=$!
+        until curl -sf -o /dev/null "$URL"; do
+            kill -0 "$pid" 2>/dev/null || { echo "$label: start mislukt, zie /tmp/ttfr.log"; return 1; }
+            sleep 0.05
+        done
+        end=$(date +%s%N)
+        kill "$pid"
+        wait "$pid" 2>/dev/null || true
+        total=$((total + (end - start) / 1000000))
+    done
+    printf '%-46s %6d ms\n' "$label" $((total / RUNS))
+}
+
+measure "standaard" target
+measure "alleen lazy initialization" target -Dspring.main.lazy-initialization=true
+measure "alleen vooraf gegenereerde WSDL + lazy JAXB" target -Dlovion.ws.wsdl.precomputed=true -Dlovion.ws.jaxb.lazy-init=true
+measure "faststart profiel" target -Dspring.profiles.active=faststart
+measure "faststart, uitgepakte jar" "$FASTSTART" -Dspring.profiles.active=faststart
+measure "faststart + AOT" "$FASTSTART" -Dspring.profiles.active=faststart -Dspring.aot.enabled=true
+measure "faststart + AOT + CDS" "$FASTSTART" -Dspring.profiles.active=faststart -Dspring.aot.enabled=true \
+    -XX:SharedArchiveFile=application.jsa -Xlog:cds=off
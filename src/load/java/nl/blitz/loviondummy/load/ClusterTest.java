@@ -0,0 +1,368 @@
+package nl.blitz.loviondummy.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import nl.blitz.loviondummy.LovionDummyBackendApplication;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.h2.tools.Server;
+
+/**
+ * Multi-node check of the {@code cluster} profile: starts an H2 TCP server and {@code nodes} application processes
+ * on it, then
+ * <ol>
+ *     <li>changes work order statuses round-robin on every node and verifies that each other node serves the new
+ *     status and version (ETag) and pushes the change on its SSE feed, which only happens through the invalidation
+ *     bus;</li>
+ *     <li>measures read throughput (closed loop, {@code clients} per node) against 1, 2, ... {@code nodes} nodes.</li>
+ * </ol>
+ * Exits with status 1 when a check fails or the scaling efficiency drops below {@code min-efficiency}. Nodes on one
+ * machine share its cores, so linear scaling needs at least as many free cores as nodes.
+ */
+public final class ClusterTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private ClusterTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Properties config = new Properties();
+        config.setProperty("nodes", "3");
+        config.setProperty("clients", "8");
+        config.setProperty("rounds", "30");
+        config.setProperty("warmup", "5s");
+        config.setProperty("duration", "15s");
+        config.setProperty("node.jvm.args", "-Xmx512m");
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            }
+            config.setProperty(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        int nodeCount = Integer.parseInt(config.getProperty("nodes"));
+        Path output = Path.of(config.getProperty("output", "target/cluster"));
+        Files.createDirectories(output);
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        int dbPort = freePort();
+        Server server = Server.createTcpServer("-tcpPort", String.valueOf(dbPort), "-ifNotExists").start();
+        List<Process> processes = new ArrayList<>();
+        int exitCode;
+        try {
+            System.out.printf("H2 TCP server on port %d, %d nodes, %d cores%n", dbPort, nodeCount,
+                    Runtime.getRuntime().availableProcessors());
+            List<URI> nodes = new ArrayList<>();
+            for (int i = 1; i <= nodeCount; i++) {
+                // one after the other: the first node creates the schema and seeds
+                int port = freePort();
+                Path log = output.resolve("node-" + i + ".log");
+                processes.add(startNode(config, dbPort, port, log));
+                awaitReady(log, Duration.ofMinutes(3));
+                nodes.add(URI.create("http://localhost:" + port));
+                System.out.printf("Node %d ready on port %d (log %s)%n", i, port, log);
+            }
+            List<String> failures = new ArrayList<>(checkConsistency(client, nodes,
+                    Integer.parseInt(config.getProperty("rounds"))));
+            failures.addAll(measureReadScaling(client, nodes, config));
+            System.out.println();
+            if (failures.isEmpty()) {
+                System.out.println("RESULT: PASS");
+            } else {
+                failures.forEach(failure -> System.out.println("FAILED: " + failure));
+                System.out.println("RESULT: FAIL");
+            }
+            exitCode = failures.isEmpty() ? 0 : 1;
+        } finally {
+            for (Process process : processes) {
+                process.destroy();
+            }
+            for (Process process : processes) {
+                process.waitFor(30, TimeUnit.SECONDS);
+            }
+            server.stop();
+        }
+        System.exit(exitCode);
+    }
+
+    private static Process startNode(Properties config, int dbPort, int port, Path log) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(Arrays.asList(config.getProperty("node.jvm.args").trim().split("\\s+")));
+        command.addAll(List.of("-cp", System.getProperty("java.class.path"),
+                LovionDummyBackendApplication.class.getName(),
+                "--spring.profiles.active=cluster",
+                "--server.port=" + port,
+                "--lovion.cluster.db-address=localhost:" + dbPort,
+                "--soap.fault.simulation.enabled=false",
+                "--lovion.seed.bulk.work-orders=" + config.getProperty("seed.work-orders", "0"),
+                "--logging.level.root=WARN",
+                "--logging.level.nl.blitz.loviondummy=WARN",
+                "--logging.level.nl.blitz.loviondummy.config.StartupTimings=INFO"));
+        return new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+    }
+
+    private static void awaitReady(Path log, Duration timeout) throws IOException, InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            String text = Files.exists(log) ? Files.readString(log, StandardCharsets.ISO_8859_1) : "";
+            if (text.contains("Startup ready")) {
+                return;
+            }
+            if (text.contains("APPLICATION FAILED") || text.contains("Application run failed")) {
+                throw new IllegalStateException("Node failed to start, see " + log);
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("Node not ready after " + timeout.toSeconds() + "s, see " + log);
+    }
+
+    /**
+     * Moves work orders between SCHEDULED and IN_PROGRESS, each round on the next node with the ETag read from yet
+     * another node, and checks every node's view of the result.
+     */
+    private static List<String> checkConsistency(HttpClient client, List<URI> nodes, int rounds) throws Exception {
+        List<String> failures = new ArrayList<>();
+        List<Long> candidates = new ArrayList<>();
+        for (JsonNode workOrder : get(client, nodes.get(0).resolve("/api/workorders"))) {
+            String status = workOrder.get("status").asText();
+            if (status.equals("SCHEDULED") || status.equals("IN_PROGRESS")) {
+                candidates.add(workOrder.get("id").asLong());
+            }
+        }
+        if (candidates.isEmpty()) {
+            return List.of("no SCHEDULED or IN_PROGRESS work orders to change");
+        }
+        List<FeedReader> feeds = new ArrayList<>();
+        for (URI node : nodes) {
+            feeds.add(new FeedReader(client, node));
+        }
+        Histogram propagation = new Histogram(TimeUnit.SECONDS.toMicros(30), 3);
+        try {
+            Thread.sleep(500);
+            for (int round = 0; round < rounds && failures.size() < 10; round++) {
+                long id = candidates.get(round % candidates.size());
+                int writer = round % nodes.size();
+                int reader = (round + 1) % nodes.size();
+                HttpResponse<String> current = client.send(HttpRequest.newBuilder(
+                        nodes.get(reader).resolve("/api/workorders/" + id)).GET().build(),
+                        HttpResponse.BodyHandlers.ofString());
+                String etag = current.headers().firstValue("ETag").orElseThrow();
+                String target = MAPPER.readTree(current.body()).get("status").asText().equals("SCHEDULED")
+                        ? "IN_PROGRESS" : "SCHEDULED";
+                long start = System.nanoTime();
+                HttpResponse<String> changed = client.send(HttpRequest.newBuilder(
+                                nodes.get(writer).resolve("/api/workorders/" + id + "/status"))
+                        .header("Content-Type", "application/json")
+                        .header("If-Match", etag)
+                        .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"status\":\"" + target + "\"}"))
+                        .build(), HttpResponse.BodyHandlers.ofString());
+                if (changed.statusCode() != 200) {
+                    failures.add("round " + round + ": PATCH on node " + (writer + 1) + " with If-Match " + etag
+                            + " from node " + (reader + 1) + " returned " + changed.statusCode());
+                    continue;
+                }
+                long version = MAPPER.readTree(changed.body()).get("version").asLong();
+                for (int node = 0; node < nodes.size(); node++) {
+                    if (node == writer) {
+                        continue;
+                    }
+                    if (!feeds.get(node).await(id, target, Duration.ofSeconds(5))) {
+                        failures.add("round " + round + ": node " + (node + 1) + " did not push the change of "
+                                + "work order " + id + " on its feed");
+                        continue;
+                    }
+                    propagation.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+                    HttpResponse<String> read = client.send(HttpRequest.newBuilder(
+                            nodes.get(node).resolve("/api/workorders/" + id)).GET().build(),
+                            HttpResponse.BodyHandlers.ofString());
+                    String status = MAPPER.readTree(read.body()).get("status").asText();
+                    String readEtag = read.headers().firstValue("ETag").orElse("");
+                    if (!status.equals(target) || !readEtag.equals("\"" + version + "\"")) {
+                        failures.add("round " + round + ": node " + (node + 1) + " serves " + status + " " + readEtag
+                                + ", expected " + target + " \"" + version + "\"");
+                    }
+                }
+            }
+        } finally {
+            feeds.forEach(FeedReader::close);
+        }
+        System.out.printf("%nConsistency: %d status changes, feed propagation to other nodes p50 %.1f ms, "
+                        + "p99 %.1f ms, max %.1f ms%n", rounds, propagation.getValueAtPercentile(50) / 1000.0,
+                propagation.getValueAtPercentile(99) / 1000.0, propagation.getMaxValue() / 1000.0);
+        return failures;
+    }
+
+    private static List<String> measureReadScaling(HttpClient client, List<URI> nodes, Properties config)
+            throws Exception {
+        int clientsPerNode = Integer.parseInt(config.getProperty("clients"));
+        Duration warmup = LoadTest.duration(config.getProperty("warmup"));
+        Duration duration = LoadTest.duration(config.getProperty("duration"));
+        List<Long> workOrderIds = new ArrayList<>();
+        for (JsonNode workOrder : get(client, nodes.get(0).resolve("/api/workorders"))) {
+            workOrderIds.add(workOrder.get("id").asLong());
+        }
+        List<Long> assetIds = new ArrayList<>();
+        for (JsonNode asset : get(client, nodes.get(0).resolve("/api/assets"))) {
+            assetIds.add(asset.get("id").asLong());
+        }
+
+        System.out.printf("%nRead scaling: %d clients per node, GET /api/workorders/{id} and /api/assets/{id}, "
+                + "%ds per step%n", clientsPerNode, duration.toSeconds());
+        System.out.println("nodes    req/s   p50 ms   p99 ms  efficiency");
+        double single = 0;
+        double lowest = 1;
+        for (int active = 1; active <= nodes.size(); active++) {
+            Recorder recorder = new Recorder(3);
+            AtomicLong completed = new AtomicLong();
+            AtomicLong errors = new AtomicLong();
+            AtomicBoolean measuring = new AtomicBoolean();
+            AtomicBoolean running = new AtomicBoolean(true);
+            List<Thread> threads = new ArrayList<>();
+            for (int c = 0; c < clientsPerNode * active; c++) {
+                URI node = nodes.get(c % active);
+                int offset = c;
+                Thread thread = new Thread(() -> {
+                    for (long i = offset; running.get(); i++) {
+                        URI uri = node.resolve(i % 2 == 0
+                                ? "/api/workorders/" + workOrderIds.get((int) (i % workOrderIds.size()))
+                                : "/api/assets/" + assetIds.get((int) (i % assetIds.size())));
+                        long start = System.nanoTime();
+                        try {
+                            int status = client.send(HttpRequest.newBuilder(uri).GET().build(),
+                                    HttpResponse.BodyHandlers.discarding()).statusCode();
+                            if (measuring.get()) {
+                                recorder.recordValue(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+                                completed.incrementAndGet();
+                                if (status != 200) {
+                                    errors.incrementAndGet();
+                                }
+                            }
+                        } catch (IOException ex) {
+                            errors.incrementAndGet();
+                        } catch (InterruptedException ex) {
+                            return;
+                        }
+                    }
+                }, "cluster-client-" + c);
+                thread.setDaemon(true);
+                threads.add(thread);
+                thread.start();
+            }
+            Thread.sleep(warmup.toMillis());
+            recorder.reset();
+            measuring.set(true);
+            Thread.sleep(duration.toMillis());
+            measuring.set(false);
+            running.set(false);
+            for (Thread thread : threads) {
+                thread.join(10_000);
+            }
+            Histogram latency = recorder.getIntervalHistogram();
+            double throughput = completed.get() / (double) duration.toSeconds();
+            if (active == 1) {
+                single = throughput;
+            }
+            double efficiency = throughput / (active * single);
+            lowest = Math.min(lowest, efficiency);
+            System.out.printf("%5d %8.0f %8.1f %8.1f %10.0f%%%s%n", active, throughput,
+                    latency.getValueAtPercentile(50) / 1000.0, latency.getValueAtPercentile(99) / 1000.0,
+                    efficiency * 100, errors.get() > 0 ? "  (" + errors.get() + " errors)" : "");
+        }
+        String minEfficiency = config.getProperty("min-efficiency");
+        if (minEfficiency != null && lowest < Double.parseDouble(minEfficiency)) {
+            return List.of("scaling efficiency %.0f%% is below min-efficiency %s".formatted(lowest * 100,
+                    minEfficiency));
+        }
+        return List.of();
+    }
+
+    private static JsonNode get(HttpClient client, URI uri) throws IOException, InterruptedException {
+        HttpResponse<InputStream> response = client.send(HttpRequest.newBuilder(uri).GET().build(),
+                HttpResponse.BodyHandlers.ofInputStream());
+        try (InputStream body = response.body()) {
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException(uri + " returned " + response.statusCode());
+            }
+            return MAPPER.readTree(body);
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    /**
+     * SSE subscription on one node that keeps the pushed events until a check asks for them.
+     */
+    private static final class FeedReader {
+
+        private final BlockingQueue<JsonNode> events = new LinkedBlockingQueue<>();
+        private final Thread thread;
+
+        FeedReader(HttpClient client, URI node) {
+            thread = new Thread(() -> {
+                try {
+                    client.send(HttpRequest.newBuilder(node.resolve("/api/workorders/stream")).GET().build(),
+                            HttpResponse.BodyHandlers.ofLines()).body().forEach(line -> {
+                                if (line.startsWith("data:")) {
+                                    try {
+                                        events.add(MAPPER.readTree(line.substring(5)));
+                                    } catch (IOException ex) {
+                                        throw new IllegalStateException(ex);
+                                    }
+                                }
+                            });
+                } catch (IOException | UncheckedIOException | InterruptedException ex) {
+                    // node stopped or reader closed
+                }
+            }, "feed-" + node.getPort());
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        boolean await(long workOrderId, String status, Duration timeout) throws InterruptedException {
+            long deadline = System.nanoTime() + timeout.toNanos();
+            long remaining;
+            while ((remaining = deadline - System.nanoTime()) > 0) {
+                JsonNode event = events.poll(remaining, TimeUnit.NANOSECONDS);
+                if (event != null && event.path("workOrderId").asLong() == workOrderId
+                        && status.equals(event.path("status").asText())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void close() {
+            thread.interrupt();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package nl.blitz.loviondummy.load;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Prints the percentiles per operation and checks them against the limits ({@code slo.*} keys, optionally
+ * per operation as {@code slo.p99-ms.rest-asset}).
+ */
+final class LoadReport {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final Map<Operation, OpenLoopDriver.OperationStats> stats;
+    private final Duration duration;
+
+    LoadReport(Map<Operation, OpenLoopDriver.OperationStats> stats, Duration duration) {
+        this.stats = stats;
+        this.duration = duration;
+    }
+
+    void print(PrintStream out) {
+        out.printf("%n%-28s %8s %7s %8s %9s %9s %9s %9s %9s%n", "operation (latency, ms)", "requests", "errors",
+                "req/s", "p50", "p90", "p99", "p99.9", "max");
+        Histogram total = new Histogram(3);
+        long requests = 0;
+        long failures = 0;
+        for (Map.Entry<Operation, OpenLoopDriver.OperationStats> entry : stats.entrySet()) {
+            OpenLoopDriver.OperationStats operation = entry.getValue();
+            printRow(out, entry.getKey().key(), operation.latency, operation.completed.sum(), operation.failures());
+            total.add(operation.latency);
+            requests += operation.completed.sum();
+            failures += operation.failures();
+        }
+        printRow(out, "total", total, requests, failures);
+        out.printf("%nservice time (from actual send, ms):%n");
+        for (Map.Entry<Operation, OpenLoopDriver.OperationStats> entry : stats.entrySet()) {
+            printRow(out, entry.getKey().key(), entry.getValue().service, entry.getValue().completed.sum(),
+                    entry.getValue().failures());
+        }
+    }
+
+    private void printRow(PrintStream out, String name, Histogram histogram, long requests, long failures) {
+        out.printf("%-28s %8d %7d %8.1f", name, requests, failures, requests / (duration.toMillis() / 1000.0));
+        for (double percentile : PERCENTILES) {
+            out.printf(" %9.2f", histogram.getValueAtPercentile(percentile) / 1000.0);
+        }
+        out.printf(" %9.2f%n", histogram.getMaxValue() / 1000.0);
+    }
+
+    /**
+     * @return the violated limits, empty when the run passes
+     */
+    List<String> violations(Properties config) {
+        List<String> violations = new ArrayList<>();
+        for (Map.Entry<Operation, OpenLoopDriver.OperationStats> entry : stats.entrySet()) {
+            String name = entry.getKey().key();
+            OpenLoopDriver.OperationStats operation = entry.getValue();
+            check(violations, name, "p99-ms", operation.latency.getValueAtPercentile(99) / 1000.0, config);
+            check(violations, name, "p999-ms", operation.latency.getValueAtPercentile(99.9) / 1000.0, config);
+            check(violations, name, "error-rate", operation.errorRate(), config);
+        }
+        return violations;
+    }
+
+    private static void check(List<String> violations, String operation, String metric, double actual,
+                              Properties config) {
+        String limit = config.getProperty("slo." + metric + "." + operation, config.getProperty("slo." + metric));
+        if (limit != null && !limit.isBlank() && actual > Double.parseDouble(limit.trim())) {
+            violations.add("%s %s = %.3f > %s".formatted(operation, metric, actual, limit.trim()));
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package nl.blitz.loviondummy.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import nl.blitz.loviondummy.LovionDummyBackendApplication;
+import org.HdrHistogram.HistogramLogWriter;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Replays a traffic mix against the REST and SOAP endpoints at a constant arrival rate and reports latency
+ * percentiles per operation. Exits with status 1 when a {@code slo.*} limit is exceeded, so a build can be gated on it.
+ * <p>
+ * Arguments are {@code key=value} pairs and override the mix file ({@code mix=production} reads
+ * {@code mixes/production.properties} from the classpath, or a file path). Without {@code base-url} the application
+ * is started in this JVM on a random port.
+ */
+public final class LoadTest {
+
+    private static final int MAX_IDS = 10_000;
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Properties config = new Properties();
+        config.setProperty("mix", "production");
+        Properties overrides = parseArgs(args);
+        config.putAll(loadMix(overrides.getProperty("mix", config.getProperty("mix"))));
+        config.putAll(overrides);
+
+        TrafficMix mix = config.containsKey("from-log")
+                ? TrafficMix.fromRequestLog(Path.of(config.getProperty("from-log")))
+                : TrafficMix.fromProperties(config);
+        double rate = Double.parseDouble(config.getProperty("rate", "100"));
+        Duration warmup = duration(config.getProperty("warmup", "10s"));
+        Duration duration = duration(config.getProperty("duration", "30s"));
+        Duration timeout = Duration.ofMillis(Long.parseLong(config.getProperty("timeout-ms", "10000")));
+
+        ConfigurableApplicationContext context = null;
+        int exitCode;
+        try {
+            URI baseUrl;
+            if (config.getProperty("base-url", "").isBlank()) {
+                context = startApplication(config);
+                baseUrl = URI.create("http://localhost:"
+                        + ((ServletWebServerApplicationContext) context).getWebServer().getPort());
+            } else {
+                baseUrl = URI.create(config.getProperty("base-url"));
+            }
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            Operation.TargetData data = discover(client, baseUrl, config);
+            System.out.printf("Target %s: %d assets, %d work orders%nMix %s: %s%nRate %.0f req/s, warmup %ds, "
+                            + "measurement %ds%n", baseUrl, data.assetIds().size(), data.externalWorkOrderIds().size(),
+                    config.getProperty("from-log", config.getProperty("mix")), mix, rate, warmup.toSeconds(),
+                    duration.toSeconds());
+
+            OpenLoopDriver driver = new OpenLoopDriver(client, baseUrl, mix, data, timeout,
+                    Integer.parseInt(config.getProperty("max-in-flight", "2000")));
+            if (!warmup.isZero()) {
+                driver.run(rate, warmup, null);
+            }
+            Path outputDir = Path.of(config.getProperty("output", "target/load"));
+            Files.createDirectories(outputDir);
+            String name = Path.of(config.getProperty("mix")).getFileName().toString().replace(".properties", "")
+                    + "-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+            Map<Operation, OpenLoopDriver.OperationStats> stats;
+            try (OutputStream hlog = Files.newOutputStream(outputDir.resolve(name + ".hlog"))) {
+                HistogramLogWriter logWriter = new HistogramLogWriter(hlog);
+                logWriter.outputComment("mix=" + mix + " rate=" + rate + " unit=us (latency from intended start)");
+                logWriter.outputLogFormatVersion();
+                logWriter.outputStartTime(System.currentTimeMillis());
+                logWriter.outputLegend();
+                stats = driver.run(rate, duration, logWriter);
+            }
+
+            LoadReport report = new LoadReport(stats, duration);
+            ByteArrayOutputStream text = new ByteArrayOutputStream();
+            try (PrintStream both = new PrintStream(text, true, StandardCharsets.UTF_8)) {
+                report.print(both);
+                List<String> violations = report.violations(config);
+                both.println();
+                if (violations.isEmpty()) {
+                    both.println("RESULT: PASS");
+                } else {
+                    violations.forEach(violation -> both.println("SLO violated: " + violation));
+                    both.println("RESULT: FAIL");
+                }
+                exitCode = violations.isEmpty() ? 0 : 1;
+            }
+            System.out.print(text.toString(StandardCharsets.UTF_8));
+            Files.write(outputDir.resolve(name + ".txt"), text.toByteArray());
+            System.out.println("Written " + outputDir.resolve(name + ".txt") + " and .hlog");
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+        System.exit(exitCode);
+    }
+
+    private static Properties parseArgs(String[] args) {
+        Properties properties = new Properties();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            }
+            properties.setProperty(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        return properties;
+    }
+
+    private static Properties loadMix(String mix) throws IOException {
+        Properties properties = new Properties();
+        Path file = Path.of(mix);
+        if (Files.isRegularFile(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                properties.load(in);
+            }
+            return properties;
+        }
+        try (InputStream in = LoadTest.class.getResourceAsStream("/mixes/" + mix + ".properties")) {
+            if (in == null) {
+                throw new IllegalArgumentException("Unknown mix: " + mix);
+            }
+            properties.load(in);
+        }
+        return properties;
+    }
+
+    /** {@code 30}, {@code 30s} or {@code 2m}. */
+    static Duration duration(String value) {
+        String text = value.trim();
+        if (text.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(text.substring(0, text.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(text.endsWith("s") ? text.substring(0, text.length() - 1) : text));
+    }
+
+    private static ConfigurableApplicationContext startApplication(Properties config) {
+        return new SpringApplicationBuilder(LovionDummyBackendApplication.class).run(
+                "--server.port=0",
+                "--soap.fault.simulation.enabled=false",
+                "--logging.level.root=WARN",
+                "--logging.level.nl.blitz.loviondummy=WARN",
+                "--lovion.seed.bulk.work-orders=" + config.getProperty("seed.work-orders", "0"));
+    }
+
+    private static Operation.TargetData discover(HttpClient client, URI baseUrl, Properties config)
+            throws IOException, InterruptedException {
+        ObjectMapper mapper = new ObjectMapper();
+        List<Long> assetIds = new ArrayList<>();
+        for (JsonNode asset : get(client, baseUrl.resolve("/api/assets"), mapper)) {
+            if (assetIds.size() < MAX_IDS) {
+                assetIds.add(asset.get("id").asLong());
+            }
+        }
+        List<String> workOrderIds = new ArrayList<>();
+        for (JsonNode workOrder : get(client, baseUrl.resolve("/api/workorders"), mapper)) {
+            if (workOrderIds.size() < MAX_IDS) {
+                workOrderIds.add(workOrder.get("externalWorkOrderId").asText());
+            }
+        }
+        if (assetIds.isEmpty() || workOrderIds.isEmpty()) {
+            throw new IllegalStateException("Target has no assets or work orders to request");
+        }
+        List<String> statuses = Arrays.stream(config.getProperty("statuses", "").split(",", -1))
+                .map(String::trim)
+                .toList();
+        return new Operation.TargetData(assetIds, workOrderIds, statuses);
+    }
+
+    private static JsonNode get(HttpClient client, URI uri, ObjectMapper mapper)
+            throws IOException, InterruptedException {
+        HttpResponse<InputStream> response = client.send(HttpRequest.newBuilder(uri).GET().build(),
+                HttpResponse.BodyHandlers.ofInputStream());
+        try (InputStream body = response.body()) {
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException(uri + " returned " + response.statusCode());
+            }
+            return mapper.readTree(body);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package nl.blitz.loviondummy.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Open-model load generator: requests start on a fixed schedule ({@code rate} per second) no matter how long the
+ * earlier ones take, and are sent asynchronously.
+ * <p>
+ * Latency is measured from the <em>intended</em> start time, so a stalled server or a late sender shows up in the
+ * percentiles instead of being hidden (coordinated omission). The time from the actual send is kept separately as
+ * service time. Values are recorded in microseconds.
+ */
+final class OpenLoopDriver {
+
+    private final HttpClient client;
+    private final URI baseUrl;
+    private final TrafficMix mix;
+    private final Operation.TargetData data;
+    private final Duration requestTimeout;
+    private final int maxInFlight;
+
+    OpenLoopDriver(HttpClient client, URI baseUrl, TrafficMix mix, Operation.TargetData data,
+                   Duration requestTimeout, int maxInFlight) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.mix = mix;
+        this.data = data;
+        this.requestTimeout = requestTimeout;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Runs one phase and waits for the outstanding requests.
+     *
+     * @param log interval histograms per operation are written here once per second; {@code null} for warmup
+     */
+    Map<Operation, OperationStats> run(double rate, Duration duration, HistogramLogWriter log) {
+        Map<Operation, Recorder> latency = new EnumMap<>(Operation.class);
+        Map<Operation, Recorder> service = new EnumMap<>(Operation.class);
+        Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : mix.weights().keySet()) {
+            latency.put(operation, new Recorder(3));
+            service.put(operation, new Recorder(3));
+            stats.put(operation, new OperationStats());
+        }
+        AtomicInteger inFlight = new AtomicInteger();
+        ScheduledExecutorService collector = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "load-histograms");
+            thread.setDaemon(true);
+            return thread;
+        });
+        collector.scheduleAtFixedRate(() -> collect(latency, service, stats, log), 1, 1, TimeUnit.SECONDS);
+
+        SplittableRandom random = new SplittableRandom();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        double intervalNanos = 1e9 / rate;
+        for (long i = 0; ; i++) {
+            long intended = start + (long) (i * intervalNanos);
+            if (intended >= end) {
+                break;
+            }
+            long delay;
+            while ((delay = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(delay);
+            }
+            Operation operation = mix.pick(random);
+            OperationStats operationStats = stats.get(operation);
+            if (inFlight.get() >= maxInFlight) {
+                // the target cannot keep up; counted as an error instead of queueing without bound
+                operationStats.dropped.increment();
+                continue;
+            }
+            HttpRequest request = operation.build(baseUrl, data, random, requestTimeout);
+            inFlight.incrementAndGet();
+            long sent = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, failure) -> {
+                long now = System.nanoTime();
+                latency.get(operation).recordValue((now - intended) / 1000);
+                service.get(operation).recordValue((now - sent) / 1000);
+                operationStats.completed.increment();
+                if (failure != null || response.statusCode() >= 400) {
+                    operationStats.errors.increment();
+                }
+                inFlight.decrementAndGet();
+            });
+        }
+
+        long deadline = System.nanoTime() + requestTimeout.toNanos() + TimeUnit.SECONDS.toNanos(1);
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        collector.shutdownNow();
+        collect(latency, service, stats, log);
+        return stats;
+    }
+
+    private static synchronized void collect(Map<Operation, Recorder> latency, Map<Operation, Recorder> service,
+                                             Map<Operation, OperationStats> stats, HistogramLogWriter log) {
+        latency.forEach((operation, recorder) -> {
+            Histogram interval = recorder.getIntervalHistogram();
+            stats.get(operation).latency.add(interval);
+            if (log != null && interval.getTotalCount() > 0) {
+                interval.setTag(operation.key());
+                log.outputIntervalHistogram(interval);
+            }
+            stats.get(operation).service.add(service.get(operation).getIntervalHistogram());
+        });
+    }
+
+    /**
+     * Totals of one operation for a phase.
+     */
+    static final class OperationStats {
+
+        final Histogram latency = new Histogram(3);
+        final Histogram service = new Histogram(3);
+        final LongAdder completed = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LongAdder dropped = new LongAdder();
+
+        long failures() {
+            return errors.sum() + dropped.sum();
+        }
+
+        double errorRate() {
+            long attempts = completed.sum() + dropped.sum();
+            return attempts == 0 ? 0 : (double) failures() / attempts;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package nl.blitz.loviondummy.load;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * The request types the load test can replay. The names are used in the mix files and reports.
+ */
+enum Operation {
+
+    REST_WORKORDERS("rest-workorders") {
+        @Override
+        HttpRequest.Builder request(URI baseUrl, TargetData data, SplittableRandom random) {
+            String status = data.status(random);
+            return HttpRequest.newBuilder(baseUrl.resolve("/api/workorders"
+                    + (status.isEmpty() ? "" : "?status=" + URLEncoder.encode(status, StandardCharsets.UTF_8))))
+                    .GET();
+        }
+    },
+    REST_ASSET("rest-asset") {
+        @Override
+        HttpRequest.Builder request(URI baseUrl, TargetData data, SplittableRandom random) {
+            return HttpRequest.newBuilder(baseUrl.resolve("/api/assets/" + pick(data.assetIds(), random))).GET();
+        }
+    },
+    SOAP_GET_WORKORDERS("soap-get-workorders") {
+        @Override
+        HttpRequest.Builder request(URI baseUrl, TargetData data, SplittableRandom random) {
+            String status = data.status(random);
+            return soap(baseUrl, "<wo:GetWorkOrdersRequest>"
+                    + (status.isEmpty() ? "" : "<wo:status>" + status + "</wo:status>")
+                    + "</wo:GetWorkOrdersRequest>");
+        }
+    },
+    SOAP_GET_WORKORDER_DETAILS("soap-get-workorder-details") {
+        @Override
+        HttpRequest.Builder request(URI baseUrl, TargetData data, SplittableRandom random) {
+            return soap(baseUrl, "<wo:GetWorkOrderDetailsRequest><wo:externalWorkOrderId>"
+                    + pick(data.externalWorkOrderIds(), random)
+                    + "</wo:externalWorkOrderId></wo:GetWorkOrderDetailsRequest>");
+        }
+    };
+
+    private static final String ENVELOPE_START = "<soapenv:Envelope xmlns:soapenv=\"http://schemas.xmlsoap.org/soap/envelope/\" "
+            + "xmlns:wo=\"http://www.loviondummy.nl/workorders\"><soapenv:Body>";
+    private static final String ENVELOPE_END = "</soapenv:Body></soapenv:Envelope>";
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    String key() {
+        return key;
+    }
+
+    abstract HttpRequest.Builder request(URI baseUrl, TargetData data, SplittableRandom random);
+
+    HttpRequest build(URI baseUrl, TargetData data, SplittableRandom random, Duration timeout) {
+        return request(baseUrl, data, random).timeout(timeout).build();
+    }
+
+    static Operation byKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation: " + key);
+    }
+
+    private static HttpRequest.Builder soap(URI baseUrl, String payload) {
+        return HttpRequest.newBuilder(baseUrl.resolve("/ws"))
+                .header("Content-Type", "text/xml;charset=UTF-8")
+                .header("SOAPAction", "\"\"")
+                .POST(HttpRequest.BodyPublishers.ofString(ENVELOPE_START + payload + ENVELOPE_END));
+    }
+
+    private static <T> T pick(List<T> values, SplittableRandom random) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    /**
+     * Ids found in the target before the run, plus the status filters of the mix ({@code ""} = no filter).
+     */
+    record TargetData(List<Long> assetIds, List<String> externalWorkOrderIds, List<String> statuses) {
+
+        String status(SplittableRandom random) {
+            return statuses.isEmpty() ? "" : pick(statuses, random);
+        }
+    }
+}
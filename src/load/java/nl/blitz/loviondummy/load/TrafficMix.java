@@ -0,0 +1,118 @@
+package nl.blitz.loviondummy.load;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.SplittableRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Relative weights of the operations. Read from {@code weight.<operation>} keys of a mix file, or counted from the
+ * log of a real run so the recorded traffic is replayed in the same proportions.
+ */
+final class TrafficMix {
+
+    private static final Pattern REST_LIST = Pattern.compile("REST GET /api/workorders with status");
+    private static final Pattern REST_ASSET = Pattern.compile("REST GET /api/assets/\\d+$");
+    private static final Pattern SOAP = Pattern.compile("SOAP request: (GetWorkOrders|GetWorkOrderDetails)\\b");
+
+    private final Map<Operation, Double> weights;
+    private final Operation[] operations;
+    private final double[] cumulative;
+
+    TrafficMix(Map<Operation, Double> weights) {
+        this.weights = new EnumMap<>(Operation.class);
+        weights.forEach((operation, weight) -> {
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight for " + operation.key());
+            }
+            if (weight > 0) {
+                this.weights.put(operation, weight);
+            }
+        });
+        if (this.weights.isEmpty()) {
+            throw new IllegalArgumentException("Traffic mix has no operations");
+        }
+        operations = this.weights.keySet().toArray(Operation[]::new);
+        cumulative = new double[operations.length];
+        double total = this.weights.values().stream().mapToDouble(Double::doubleValue).sum();
+        double sum = 0;
+        for (int i = 0; i < operations.length; i++) {
+            sum += this.weights.get(operations[i]) / total;
+            cumulative[i] = sum;
+        }
+    }
+
+    static TrafficMix fromProperties(Properties properties) {
+        Map<Operation, Double> weights = new EnumMap<>(Operation.class);
+        for (String name : properties.stringPropertyNames()) {
+            if (name.startsWith("weight.")) {
+                weights.put(Operation.byKey(name.substring("weight.".length())),
+                        Double.parseDouble(properties.getProperty(name).trim()));
+            }
+        }
+        return new TrafficMix(weights);
+    }
+
+    /**
+     * Counts the controller and endpoint log lines ({@code REST GET ...}, {@code SOAP request: ...}) of the
+     * application log.
+     */
+    static TrafficMix fromRequestLog(Path log) throws IOException {
+        Map<Operation, Double> counts = new EnumMap<>(Operation.class);
+        try (BufferedReader reader = Files.newBufferedReader(log, StandardCharsets.ISO_8859_1)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Operation operation = classify(line);
+                if (operation != null) {
+                    counts.merge(operation, 1.0, Double::sum);
+                }
+            }
+        }
+        return new TrafficMix(counts);
+    }
+
+    static Operation classify(String line) {
+        if (REST_LIST.matcher(line).find()) {
+            return Operation.REST_WORKORDERS;
+        }
+        if (REST_ASSET.matcher(line).find()) {
+            return Operation.REST_ASSET;
+        }
+        Matcher soap = SOAP.matcher(line);
+        if (soap.find()) {
+            return soap.group(1).equals("GetWorkOrders")
+                    ? Operation.SOAP_GET_WORKORDERS : Operation.SOAP_GET_WORKORDER_DETAILS;
+        }
+        return null;
+    }
+
+    Operation pick(SplittableRandom random) {
+        double roll = random.nextDouble();
+        for (int i = 0; i < cumulative.length - 1; i++) {
+            if (roll < cumulative[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    Map<Operation, Double> weights() {
+        return weights;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        double total = weights.values().stream().mapToDouble(Double::doubleValue).sum();
+        weights.forEach((operation, weight) -> text.append(text.isEmpty() ? "" : ", ")
+                .append(operation.key()).append('=').append(Math.round(1000 * weight / total) / 10.0).append('%'));
+        return text.toString();
+    }
+}
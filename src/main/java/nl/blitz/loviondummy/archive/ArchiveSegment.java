@@ -0,0 +1,505 @@
+package nl.blitz.loviondummy.archive;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Immutable file with archived work orders, stored column by column and read through a memory mapping.
+ * <pre>
+ * header              magic, format, row count, column count, offset of every column
+ * ID, VERSION         8 bytes per row; ids ascending, so lookups by id are a binary search
+ * SCHEDULED_DATE      epoch day, 4 bytes per row
+ * ASSET_ID            8 bytes per row
+ * WORK_TYPE, PRIORITY, STATUS, VALIDATION_SEVERITY
+ *                     dictionary + 1, 2 or 4 byte code per row; a filter on status only compares codes
+ * EXTERNAL_ID, DESCRIPTION, VALIDATION_ERRORS
+ *                     deflated blocks of 256 values, only the block holding a requested row is inflated
+ * EXTERNAL_ID_INDEX   (hash, row) pairs sorted by hash, for lookups by external id
+ * </pre>
+ * Fixed-width and dictionary columns are read straight from the mapped file with absolute reads, so one segment
+ * can be shared by any number of threads.
+ */
+public final class ArchiveSegment {
+
+    private static final int MAGIC = 0x4C565741; // "LVWA"
+    private static final int FORMAT = 1;
+    private static final int ROWS_PER_BLOCK = 256;
+    private static final int NULL_DATE = Integer.MIN_VALUE;
+    private static final long NULL_ASSET = Long.MIN_VALUE;
+
+    private enum Column {
+        ID, VERSION, SCHEDULED_DATE, ASSET_ID, WORK_TYPE, PRIORITY, STATUS, VALIDATION_SEVERITY, EXTERNAL_ID,
+        DESCRIPTION, VALIDATION_ERRORS, EXTERNAL_ID_INDEX
+    }
+
+    private static final int HEADER_SIZE = 16 + 8 * Column.values().length;
+
+    private final Path path;
+    private final ByteBuffer data;
+    private final int rowCount;
+    private final int[] offsets;
+    private final Dictionary workTypes;
+    private final Dictionary priorities;
+    private final Dictionary statuses;
+    private final Dictionary severities;
+    private final TextColumn externalIds;
+    private final TextColumn descriptions;
+    private final TextColumn validationErrors;
+
+    private ArchiveSegment(Path path, ByteBuffer data) throws IOException {
+        this.path = path;
+        this.data = data;
+        if (data.getInt(0) != MAGIC || data.getInt(4) != FORMAT) {
+            throw new IOException("Not an archive segment (format " + FORMAT + "): " + path);
+        }
+        this.rowCount = data.getInt(8);
+        int columns = data.getInt(12);
+        this.offsets = new int[columns];
+        for (int i = 0; i < columns; i++) {
+            offsets[i] = Math.toIntExact(data.getLong(16 + 8 * i));
+        }
+        this.workTypes = new Dictionary(offset(Column.WORK_TYPE));
+        this.priorities = new Dictionary(offset(Column.PRIORITY));
+        this.statuses = new Dictionary(offset(Column.STATUS));
+        this.severities = new Dictionary(offset(Column.VALIDATION_SEVERITY));
+        this.externalIds = new TextColumn(offset(Column.EXTERNAL_ID));
+        this.descriptions = new TextColumn(offset(Column.DESCRIPTION));
+        this.validationErrors = new TextColumn(offset(Column.VALIDATION_ERRORS));
+    }
+
+    /**
+     * Maps an existing segment file.
+     */
+    public static ArchiveSegment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // the mapping stays valid after the channel is closed
+            return new ArchiveSegment(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Writes the rows to a new segment file and maps it. The file is written next to {@code path}, synced and then
+     * renamed, so a segment file is either complete or absent.
+     */
+    public static ArchiveSegment write(Path path, List<ArchivedWorkOrder> rows) throws IOException {
+        List<ArchivedWorkOrder> sorted = new ArrayList<>(rows);
+        sorted.sort(Comparator.comparingLong(ArchivedWorkOrder::id));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(sorted.size() * 64);
+        DataOutputStream body = new DataOutputStream(bytes);
+        long[] columnOffsets = new long[Column.values().length];
+        for (Column column : Column.values()) {
+            columnOffsets[column.ordinal()] = HEADER_SIZE + bytes.size();
+            switch (column) {
+                case ID -> writeLongs(body, sorted, ArchivedWorkOrder::id);
+                case VERSION -> writeLongs(body, sorted, ArchivedWorkOrder::version);
+                case SCHEDULED_DATE -> writeEpochDays(body, sorted);
+                case ASSET_ID -> writeLongs(body, sorted,
+                        row -> row.assetId() != null ? row.assetId() : NULL_ASSET);
+                case WORK_TYPE -> writeDictionary(body, sorted, ArchivedWorkOrder::workType);
+                case PRIORITY -> writeDictionary(body, sorted, ArchivedWorkOrder::priority);
+                case STATUS -> writeDictionary(body, sorted, ArchivedWorkOrder::status);
+                case VALIDATION_SEVERITY -> writeDictionary(body, sorted, ArchivedWorkOrder::validationSeverity);
+                case EXTERNAL_ID -> writeText(body, sorted, ArchivedWorkOrder::externalWorkOrderId);
+                case DESCRIPTION -> writeText(body, sorted, ArchivedWorkOrder::description);
+                case VALIDATION_ERRORS -> writeText(body, sorted, ArchivedWorkOrder::validationErrors);
+                case EXTERNAL_ID_INDEX -> writeExternalIdIndex(body, sorted);
+            }
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(FORMAT).putInt(sorted.size()).putInt(columnOffsets.length);
+        for (long offset : columnOffsets) {
+            header.putLong(offset);
+        }
+        header.flip();
+
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer content = ByteBuffer.wrap(bytes.toByteArray());
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            while (content.hasRemaining()) {
+                channel.write(content);
+            }
+            channel.force(true);
+        }
+        Files.move(tmp, path, StandardCopyOption.ATOMIC_MOVE);
+        return open(path);
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    public int rowCount() {
+        return rowCount;
+    }
+
+    public long sizeInBytes() {
+        return data.capacity();
+    }
+
+    public long minId() {
+        return rowCount == 0 ? Long.MAX_VALUE : id(0);
+    }
+
+    public long maxId() {
+        return rowCount == 0 ? Long.MIN_VALUE : id(rowCount - 1);
+    }
+
+    public List<Long> ids() {
+        List<Long> ids = new ArrayList<>(rowCount);
+        for (int row = 0; row < rowCount; row++) {
+            ids.add(id(row));
+        }
+        return ids;
+    }
+
+    public ArchivedWorkOrder findById(long id) {
+        if (id < minId() || id > maxId()) {
+            return null;
+        }
+        int low = 0;
+        int high = rowCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long value = id(mid);
+            if (value < id) {
+                low = mid + 1;
+            } else if (value > id) {
+                high = mid - 1;
+            } else {
+                return new Reader().read(mid);
+            }
+        }
+        return null;
+    }
+
+    public ArchivedWorkOrder findByExternalId(String externalWorkOrderId) {
+        int index = offset(Column.EXTERNAL_ID_INDEX);
+        int hash = externalWorkOrderId.hashCode();
+        // first pair with this hash
+        int low = 0;
+        int high = rowCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (data.getInt(index + 8 * mid) < hash) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        Reader reader = new Reader();
+        for (int i = low; i < rowCount && data.getInt(index + 8 * i) == hash; i++) {
+            int row = data.getInt(index + 8 * i + 4);
+            if (externalWorkOrderId.equals(reader.externalIds.get(row))) {
+                return reader.read(row);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Rows with the status (case-insensitive) and asset, both optional, in id order.
+     */
+    public List<ArchivedWorkOrder> find(String status, Long assetId) {
+        int statusCode = -1;
+        if (status != null) {
+            statusCode = statuses.codeIgnoreCase(status);
+            if (statusCode < 0) {
+                // not a single row with this status in the segment
+                return List.of();
+            }
+        }
+        int assets = offset(Column.ASSET_ID);
+        Reader reader = new Reader();
+        List<ArchivedWorkOrder> result = new ArrayList<>();
+        for (int row = 0; row < rowCount; row++) {
+            if (statusCode >= 0 && statuses.code(row) != statusCode) {
+                continue;
+            }
+            if (assetId != null && data.getLong(assets + 8 * row) != assetId) {
+                continue;
+            }
+            result.add(reader.read(row));
+        }
+        return result;
+    }
+
+    private long id(int row) {
+        return data.getLong(offset(Column.ID) + 8 * row);
+    }
+
+    private int offset(Column column) {
+        return offsets[column.ordinal()];
+    }
+
+    /**
+     * Per-call state: the text columns keep their last inflated block, so reading rows in order inflates every
+     * block once.
+     */
+    private final class Reader {
+
+        private final TextColumn.Cursor externalIds = ArchiveSegment.this.externalIds.cursor();
+        private final TextColumn.Cursor descriptions = ArchiveSegment.this.descriptions.cursor();
+        private final TextColumn.Cursor validationErrors = ArchiveSegment.this.validationErrors.cursor();
+
+        ArchivedWorkOrder read(int row) {
+            int epochDay = data.getInt(offset(Column.SCHEDULED_DATE) + 4 * row);
+            long assetId = data.getLong(offset(Column.ASSET_ID) + 8 * row);
+            return new ArchivedWorkOrder(
+                    id(row),
+                    data.getLong(offset(Column.VERSION) + 8 * row),
+                    externalIds.get(row),
+                    workTypes.get(row),
+                    priorities.get(row),
+                    statuses.get(row),
+                    epochDay == NULL_DATE ? null : LocalDate.ofEpochDay(epochDay),
+                    assetId == NULL_ASSET ? null : assetId,
+                    descriptions.get(row),
+                    severities.get(row),
+                    validationErrors.get(row));
+        }
+    }
+
+    /**
+     * Distinct values of a column; row values are codes into it, 0 meaning {@code null}.
+     */
+    private final class Dictionary {
+
+        private final String[] values;
+        private final int width;
+        private final int codes;
+
+        Dictionary(int offset) {
+            int size = data.getInt(offset);
+            int position = offset + 4;
+            this.values = new String[size];
+            for (int i = 0; i < size; i++) {
+                int length = data.getInt(position);
+                values[i] = string(position + 4, length);
+                position += 4 + length;
+            }
+            this.width = data.get(position);
+            this.codes = position + 1;
+        }
+
+        int code(int row) {
+            return switch (width) {
+                case 1 -> Byte.toUnsignedInt(data.get(codes + row));
+                case 2 -> Short.toUnsignedInt(data.getShort(codes + 2 * row));
+                default -> data.getInt(codes + 4 * row);
+            };
+        }
+
+        String get(int row) {
+            int code = code(row);
+            return code == 0 ? null : values[code - 1];
+        }
+
+        int codeIgnoreCase(String value) {
+            for (int i = 0; i < values.length; i++) {
+                if (value.equalsIgnoreCase(values[i])) {
+                    return i + 1;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Variable-length strings in deflated blocks. A block starts with its inflated length; inside, every value is a
+     * length (-1 for {@code null}) followed by UTF-8 bytes.
+     */
+    private final class TextColumn {
+
+        private final int rowsPerBlock;
+        private final int blockOffsets;
+
+        TextColumn(int offset) {
+            this.rowsPerBlock = data.getInt(offset);
+            this.blockOffsets = offset + 8;
+        }
+
+        Cursor cursor() {
+            return new Cursor();
+        }
+
+        final class Cursor {
+
+            private int block = -1;
+            private ByteBuffer inflated;
+            private int[] positions;
+
+            String get(int row) {
+                int wanted = row / rowsPerBlock;
+                if (wanted != block) {
+                    load(wanted);
+                }
+                int position = positions[row % rowsPerBlock];
+                int length = inflated.getInt(position);
+                if (length < 0) {
+                    return null;
+                }
+                byte[] bytes = new byte[length];
+                inflated.get(position + 4, bytes);
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+
+            private void load(int wanted) {
+                int start = data.getInt(blockOffsets + 4 * wanted);
+                int end = data.getInt(blockOffsets + 4 * (wanted + 1));
+                byte[] raw = new byte[data.getInt(start)];
+                Inflater inflater = new Inflater();
+                try {
+                    inflater.setInput(data.slice(start + 4, end - start - 4));
+                    int read = 0;
+                    while (read < raw.length) {
+                        int count = inflater.inflate(raw, read, raw.length - read);
+                        if (count == 0 && (inflater.finished() || inflater.needsInput())) {
+                            throw new IllegalStateException("Truncated block " + wanted + " in " + path);
+                        }
+                        read += count;
+                    }
+                } catch (DataFormatException ex) {
+                    throw new IllegalStateException("Corrupt block " + wanted + " in " + path, ex);
+                } finally {
+                    inflater.end();
+                }
+                inflated = ByteBuffer.wrap(raw);
+                int rows = Math.min(rowsPerBlock, rowCount - wanted * rowsPerBlock);
+                positions = new int[rows];
+                int position = 0;
+                for (int i = 0; i < rows; i++) {
+                    positions[i] = position;
+                    position += 4 + Math.max(0, inflated.getInt(position));
+                }
+                block = wanted;
+            }
+        }
+    }
+
+    private String string(int offset, int length) {
+        byte[] bytes = new byte[length];
+        data.get(offset, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeLongs(DataOutputStream out, List<ArchivedWorkOrder> rows,
+                                   ToLongFunction<ArchivedWorkOrder> column) throws IOException {
+        for (ArchivedWorkOrder row : rows) {
+            out.writeLong(column.applyAsLong(row));
+        }
+    }
+
+    private static void writeEpochDays(DataOutputStream out, List<ArchivedWorkOrder> rows) throws IOException {
+        for (ArchivedWorkOrder row : rows) {
+            out.writeInt(row.scheduledDate() != null ? Math.toIntExact(row.scheduledDate().toEpochDay()) : NULL_DATE);
+        }
+    }
+
+    private static void writeDictionary(DataOutputStream out, List<ArchivedWorkOrder> rows,
+                                        Function<ArchivedWorkOrder, String> column) throws IOException {
+        Map<String, Integer> codes = new LinkedHashMap<>();
+        int[] rowCodes = new int[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            String value = column.apply(rows.get(i));
+            rowCodes[i] = value == null ? 0 : codes.computeIfAbsent(value, key -> codes.size() + 1);
+        }
+        out.writeInt(codes.size());
+        for (String value : codes.keySet()) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+        int width = codes.size() < 256 ? 1 : codes.size() < 65536 ? 2 : 4;
+        out.writeByte(width);
+        for (int code : rowCodes) {
+            switch (width) {
+                case 1 -> out.writeByte(code);
+                case 2 -> out.writeShort(code);
+                default -> out.writeInt(code);
+            }
+        }
+    }
+
+    private static void writeText(DataOutputStream out, List<ArchivedWorkOrder> rows,
+                                  Function<ArchivedWorkOrder, String> column) throws IOException {
+        int blocks = (rows.size() + ROWS_PER_BLOCK - 1) / ROWS_PER_BLOCK;
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        int[] blockOffsets = new int[blocks + 1];
+        // block offsets are relative to the segment, after the rows-per-block, block count and offset table
+        int base = HEADER_SIZE + out.size() + 8 + 4 * (blocks + 1);
+        Deflater deflater = new Deflater();
+        try {
+            byte[] buffer = new byte[8192];
+            for (int block = 0; block < blocks; block++) {
+                blockOffsets[block] = base + compressed.size();
+                ByteArrayOutputStream raw = new ByteArrayOutputStream();
+                DataOutputStream values = new DataOutputStream(raw);
+                int end = Math.min(rows.size(), (block + 1) * ROWS_PER_BLOCK);
+                for (int i = block * ROWS_PER_BLOCK; i < end; i++) {
+                    String value = column.apply(rows.get(i));
+                    if (value == null) {
+                        values.writeInt(-1);
+                    } else {
+                        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                        values.writeInt(bytes.length);
+                        values.write(bytes);
+                    }
+                }
+                byte[] input = raw.toByteArray();
+                new DataOutputStream(compressed).writeInt(input.length);
+                deflater.reset();
+                deflater.setInput(input);
+                deflater.finish();
+                while (!deflater.finished()) {
+                    compressed.write(buffer, 0, deflater.deflate(buffer));
+                }
+            }
+            blockOffsets[blocks] = base + compressed.size();
+        } finally {
+            deflater.end();
+        }
+        out.writeInt(ROWS_PER_BLOCK);
+        out.writeInt(blocks);
+        for (int offset : blockOffsets) {
+            out.writeInt(offset);
+        }
+        compressed.writeTo(out);
+    }
+
+    private static void writeExternalIdIndex(DataOutputStream out, List<ArchivedWorkOrder> rows) throws IOException {
+        long[] pairs = new long[rows.size()];
+        for (int row = 0; row < rows.size(); row++) {
+            // hash in the high bits, so sorting the longs sorts by hash (signed, as compared when reading)
+            pairs[row] = ((long) rows.get(row).externalWorkOrderId().hashCode() << 32) | row;
+        }
+        Arrays.sort(pairs);
+        for (long pair : pairs) {
+            out.writeInt((int) (pair >> 32));
+            out.writeInt((int) pair);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package nl.blitz.loviondummy.archive;
+
+import java.time.LocalDate;
+import nl.blitz.loviondummy.domain.Asset;
+import nl.blitz.loviondummy.domain.WorkOrder;
+import nl.blitz.loviondummy.repository.projection.WorkOrderRow;
+
+/**
+ * A work order as stored in an archive segment: the columns of {@code work_orders}, with the asset by id only.
+ */
+public record ArchivedWorkOrder(
+        long id,
+        long version,
+        String externalWorkOrderId,
+        String workType,
+        String priority,
+        String status,
+        LocalDate scheduledDate,
+        Long assetId,
+        String description,
+        String validationSeverity,
+        String validationErrors) {
+
+    public WorkOrderRow toRow(Asset asset) {
+        return new WorkOrderRow(id, externalWorkOrderId, workType, priority, scheduledDate, status, description,
+                asset != null ? asset.getId() : assetId,
+                asset != null ? asset.getExternalAssetRef() : null,
+                asset != null ? asset.getType() : null,
+                asset != null ? asset.getLocation() : null);
+    }
+
+    public WorkOrder toWorkOrder(Asset asset) {
+        WorkOrder workOrder = WorkOrder.archived(id, version);
+        workOrder.setExternalWorkOrderId(externalWorkOrderId);
+        workOrder.setWorkType(workType);
+        workOrder.setPriority(priority);
+        workOrder.setStatus(status);
+        workOrder.setScheduledDate(scheduledDate);
+        workOrder.setAsset(asset);
+        workOrder.setDescription(description);
+        workOrder.setValidationSeverity(validationSeverity);
+        workOrder.setValidationErrors(validationErrors);
+        return workOrder;
+    }
+}
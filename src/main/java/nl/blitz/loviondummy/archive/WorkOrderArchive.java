@@ -0,0 +1,217 @@
+package nl.blitz.loviondummy.archive;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+import nl.blitz.loviondummy.domain.Asset;
+import nl.blitz.loviondummy.domain.WorkOrder;
+import nl.blitz.loviondummy.repository.AssetRepository;
+import nl.blitz.loviondummy.repository.projection.WorkOrderRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Read side of the archive: the segment files in {@code lovion.archive.path}, mapped at startup and whenever the
+ * {@link WorkOrderArchiver} writes a new one. Work orders only live in one place, so callers first ask the table
+ * and then the archive. Assets are not archived; they are attached from the (cached) asset table.
+ */
+@Component
+public class WorkOrderArchive {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkOrderArchive.class);
+
+    static final String SEGMENT_PREFIX = "workorders-";
+    static final String SEGMENT_SUFFIX = ".seg";
+
+    private final Path directory;
+    private final AssetRepository assetRepository;
+    private volatile List<ArchiveSegment> segments = List.of();
+
+    public WorkOrderArchive(AssetRepository assetRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${lovion.archive.path:./data/archive}") String path,
+                            @Value("${lovion.archive.reset-on-startup:true}") boolean resetOnStartup)
+            throws IOException {
+        this.assetRepository = assetRepository;
+        this.directory = Paths.get(path).toAbsolutePath();
+        Files.createDirectories(directory);
+        load(resetOnStartup);
+        Gauge.builder("lovion.archive.segments", this, archive -> archive.segments.size()).register(meterRegistry);
+        Gauge.builder("lovion.archive.rows", this,
+                archive -> archive.segments.stream().mapToLong(ArchiveSegment::rowCount).sum())
+                .register(meterRegistry);
+        Gauge.builder("lovion.archive.bytes", this,
+                archive -> archive.segments.stream().mapToLong(ArchiveSegment::sizeInBytes).sum())
+                .baseUnit("bytes").register(meterRegistry);
+    }
+
+    public boolean isEmpty() {
+        return segments.isEmpty();
+    }
+
+    public Optional<WorkOrder> findWorkOrder(long id) {
+        for (ArchiveSegment segment : segments) {
+            ArchivedWorkOrder row = segment.findById(id);
+            if (row != null) {
+                return Optional.of(row.toWorkOrder(asset(row.assetId())));
+            }
+        }
+        return Optional.empty();
+    }
+
+    public Optional<WorkOrder> findWorkOrderByExternalId(String externalWorkOrderId) {
+        // newest first: the most recently archived work orders are the ones still looked up
+        List<ArchiveSegment> current = segments;
+        for (int i = current.size() - 1; i >= 0; i--) {
+            ArchivedWorkOrder row = current.get(i).findByExternalId(externalWorkOrderId);
+            if (row != null) {
+                return Optional.of(row.toWorkOrder(asset(row.assetId())));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Archived work orders by external id, for the ids that are in the archive.
+     */
+    public Map<String, WorkOrderRow> findRowsByExternalIds(Collection<String> externalWorkOrderIds) {
+        List<ArchiveSegment> current = segments;
+        if (current.isEmpty()) {
+            return Map.of();
+        }
+        List<ArchivedWorkOrder> rows = new ArrayList<>();
+        for (String externalWorkOrderId : externalWorkOrderIds) {
+            for (int i = current.size() - 1; i >= 0; i--) {
+                ArchivedWorkOrder row = current.get(i).findByExternalId(externalWorkOrderId);
+                if (row != null) {
+                    rows.add(row);
+                    break;
+                }
+            }
+        }
+        Map<String, WorkOrderRow> result = new HashMap<>();
+        for (WorkOrderRow row : map(rows, ArchivedWorkOrder::toRow)) {
+            result.put(row.externalWorkOrderId(), row);
+        }
+        return result;
+    }
+
+    /**
+     * Archived work orders with the same filters as the list queries, in id order.
+     */
+    public List<WorkOrderRow> findRows(String status, Long assetId) {
+        return find(status, assetId, ArchivedWorkOrder::toRow);
+    }
+
+    public List<WorkOrder> findWorkOrders(String status, Long assetId) {
+        return find(status, assetId, ArchivedWorkOrder::toWorkOrder);
+    }
+
+    Path directory() {
+        return directory;
+    }
+
+    List<ArchiveSegment> segments() {
+        return segments;
+    }
+
+    /**
+     * Next free segment file; names sort in the order the segments were written.
+     */
+    Path nextSegmentPath() {
+        return directory.resolve("%s%08d%s".formatted(SEGMENT_PREFIX, segments.size() + 1, SEGMENT_SUFFIX));
+    }
+
+    synchronized void add(ArchiveSegment segment) {
+        List<ArchiveSegment> updated = new ArrayList<>(segments);
+        updated.add(segment);
+        segments = List.copyOf(updated);
+    }
+
+    /**
+     * Withdraws a segment published before its transaction, when that transaction rolled back.
+     */
+    synchronized void remove(ArchiveSegment segment) {
+        List<ArchiveSegment> updated = new ArrayList<>(segments);
+        if (updated.remove(segment)) {
+            segments = List.copyOf(updated);
+        }
+    }
+
+    private <T> List<T> find(String status, Long assetId, BiFunction<ArchivedWorkOrder, Asset, T> mapper) {
+        List<ArchivedWorkOrder> rows = new ArrayList<>();
+        for (ArchiveSegment segment : segments) {
+            rows.addAll(segment.find(status, assetId));
+        }
+        return map(rows, mapper);
+    }
+
+    /**
+     * Attaches the assets, loaded in one query.
+     */
+    private <T> List<T> map(List<ArchivedWorkOrder> rows, BiFunction<ArchivedWorkOrder, Asset, T> mapper) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> assetIds = rows.stream().map(ArchivedWorkOrder::assetId).filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Asset> assets = new HashMap<>();
+        assetRepository.findAllById(assetIds).forEach(asset -> assets.put(asset.getId(), asset));
+        List<T> result = new ArrayList<>(rows.size());
+        for (ArchivedWorkOrder row : rows) {
+            result.add(mapper.apply(row, row.assetId() != null ? assets.get(row.assetId()) : null));
+        }
+        return result;
+    }
+
+    private Asset asset(Long assetId) {
+        return assetId == null ? null : assetRepository.findById(assetId).orElse(null);
+    }
+
+    private void load(boolean reset) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory,
+                SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX + "*")) {
+            stream.forEach(files::add);
+        }
+        files.sort(Comparator.comparing(Path::toString));
+        List<ArchiveSegment> loaded = new ArrayList<>();
+        for (Path file : files) {
+            if (reset || !file.toString().endsWith(SEGMENT_SUFFIX)) {
+                // leftovers of an interrupted write, or segments of an in-memory database that is gone
+                Files.delete(file);
+                continue;
+            }
+            try {
+                loaded.add(ArchiveSegment.open(file));
+            } catch (IOException | RuntimeException ex) {
+                throw new UncheckedIOException(new IOException("Could not open archive segment " + file, ex));
+            }
+        }
+        segments = List.copyOf(loaded);
+        if (reset && !files.isEmpty()) {
+            log.info("Removed {} archive file(s) from {}", files.size(), directory);
+        } else if (!loaded.isEmpty()) {
+            log.info("Mapped {} archive segment(s) with {} work orders from {}", loaded.size(),
+                    loaded.stream().mapToLong(ArchiveSegment::rowCount).sum(), directory);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package nl.blitz.loviondummy.archive;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import nl.blitz.loviondummy.domain.WorkOrderStatus;
+import nl.blitz.loviondummy.readmodel.WorkOrderReadModel;
+import nl.blitz.loviondummy.search.DescriptionSearchService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves closed work orders (COMPLETED, CANCELLED and their legacy values) scheduled more than
+ * {@code lovion.archive.min-age-days} ago out of {@code work_orders} into {@link ArchiveSegment} files.
+ * <p>
+ * One segment per transaction: the rows are selected {@code FOR UPDATE}, written to a synced segment file and then
+ * deleted. The segment becomes visible to readers after the commit; on a rollback the file is removed again. If the
+ * process dies between the file and the commit, the next start finds the newest segment's rows still in the table
+ * and finishes the delete.
+ */
+@Component
+public class WorkOrderArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkOrderArchiver.class);
+
+    private static final String COLUMNS = "id, version, external_workorder_id, work_type, priority, status, "
+            + "scheduled_date, asset_id, description, validation_severity, validation_errors";
+
+    private static final RowMapper<ArchivedWorkOrder> ROW_MAPPER = (rs, row) -> new ArchivedWorkOrder(
+            rs.getLong(1),
+            rs.getLong(2),
+            rs.getString(3),
+            rs.getString(4),
+            rs.getString(5),
+            rs.getString(6),
+            rs.getObject(7, LocalDate.class),
+            rs.getObject(8, Long.class),
+            rs.getString(9),
+            rs.getString(10),
+            rs.getString(11));
+
+    /**
+     * Result of one archive run.
+     */
+    public record Run(int segments, int workOrders, long millis) {
+    }
+
+    private final WorkOrderArchive archive;
+    private final ObjectProvider<WorkOrderReadModel> readModel;
+    private final DescriptionSearchService searchService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int minAgeDays;
+    private final long intervalMinutes;
+    private final int maxRowsPerSegment;
+    private final List<String> closedStatuses;
+    private final Counter archived;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "work-order-archiver");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public WorkOrderArchiver(WorkOrderArchive archive,
+                             ObjectProvider<WorkOrderReadModel> readModel,
+                             DescriptionSearchService searchService,
+                             JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${lovion.archive.enabled:true}") boolean enabled,
+                             @Value("${lovion.archive.min-age-days:30}") int minAgeDays,
+                             @Value("${lovion.archive.interval-minutes:60}") long intervalMinutes,
+                             @Value("${lovion.archive.max-rows-per-segment:50000}") int maxRowsPerSegment) {
+        this.archive = archive;
+        this.readModel = readModel;
+        this.searchService = searchService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.minAgeDays = minAgeDays;
+        this.intervalMinutes = intervalMinutes;
+        this.maxRowsPerSegment = maxRowsPerSegment;
+        this.closedStatuses = Arrays.stream(WorkOrderStatus.values())
+                .filter(WorkOrderStatus::isFinal)
+                .flatMap(status -> status.storedValues().stream())
+                .sorted()
+                .toList();
+        this.archived = Counter.builder("lovion.archive.archived").register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        finishInterruptedRun();
+        if (enabled) {
+            scheduler.scheduleWithFixedDelay(this::scheduledRun, 0, intervalMinutes, TimeUnit.MINUTES);
+            log.info("Archiving closed work orders older than {} days every {} minutes to {}", minAgeDays,
+                    intervalMinutes, archive.directory());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    public Run archive() {
+        return archive(minAgeDays);
+    }
+
+    /**
+     * Archives all closed work orders scheduled before today minus {@code minAgeDays}, in segments of at most
+     * {@code lovion.archive.max-rows-per-segment}.
+     */
+    public synchronized Run archive(int minAgeDays) {
+        if (minAgeDays < 0) {
+            throw new IllegalArgumentException("minAgeDays must be 0 or more");
+        }
+        long start = System.currentTimeMillis();
+        LocalDate cutoff = LocalDate.now().minusDays(minAgeDays);
+        int segments = 0;
+        int workOrders = 0;
+        while (true) {
+            Integer count = transactionTemplate.execute(tx -> archiveSegment(cutoff));
+            if (count == null || count == 0) {
+                break;
+            }
+            segments++;
+            workOrders += count;
+            if (count < maxRowsPerSegment) {
+                break;
+            }
+        }
+        Run run = new Run(segments, workOrders, System.currentTimeMillis() - start);
+        if (workOrders > 0) {
+            log.info("Archived {} work orders scheduled before {} into {} segment(s) in {} ms", workOrders, cutoff,
+                    segments, run.millis());
+        }
+        return run;
+    }
+
+    private int archiveSegment(LocalDate cutoff) {
+        List<Object> args = new ArrayList<>(closedStatuses);
+        args.add(cutoff);
+        args.add(maxRowsPerSegment);
+        String sql = "SELECT " + COLUMNS + " FROM work_orders WHERE UPPER(status) IN ("
+                + String.join(", ", Collections.nCopies(closedStatuses.size(), "?"))
+                + ") AND scheduled_date < ? ORDER BY id FETCH FIRST ? ROWS ONLY FOR UPDATE";
+        List<ArchivedWorkOrder> rows = jdbcTemplate.query(sql, ROW_MAPPER, args.toArray());
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        ArchiveSegment segment;
+        try {
+            segment = ArchiveSegment.write(archive.nextSegmentPath(), rows);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not write archive segment", ex);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                // published before the delete commits, so a concurrent list may briefly see a row twice but never
+                // misses it in both the table and the archive
+                archive.add(segment);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    // the deletes bypass JPA, so the read model and the search index hear about them here
+                    List<Long> ids = rows.stream().map(ArchivedWorkOrder::id).toList();
+                    readModel.ifAvailable(model -> model.removeAll(ids));
+                    searchService.removeWorkOrders(ids);
+                } else {
+                    archive.remove(segment);
+                    deleteQuietly(segment);
+                }
+            }
+        });
+        jdbcTemplate.batchUpdate("DELETE FROM work_orders WHERE id = ?", rows, rows.size(),
+                (statement, row) -> statement.setLong(1, row.id()));
+        archived.increment(rows.size());
+        return rows.size();
+    }
+
+    /**
+     * A crash between writing the newest segment and committing the delete leaves its rows in both places. The
+     * segment is complete (it is renamed into place only after a sync), so the delete is finished here.
+     */
+    private void finishInterruptedRun() {
+        List<ArchiveSegment> segments = archive.segments();
+        if (segments.isEmpty()) {
+            return;
+        }
+        ArchiveSegment newest = segments.get(segments.size() - 1);
+        ArchivedWorkOrder last = newest.findById(newest.maxId());
+        Integer present = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM work_orders WHERE id = ? AND external_workorder_id = ?", Integer.class,
+                last.id(), last.externalWorkOrderId());
+        if (present != null && present > 0) {
+            List<Long> ids = newest.ids();
+            transactionTemplate.executeWithoutResult(tx -> jdbcTemplate.batchUpdate(
+                    "DELETE FROM work_orders WHERE id = ?", ids, 1000, (statement, id) -> statement.setLong(1, id)));
+            readModel.ifAvailable(model -> model.removeAll(ids));
+            searchService.removeWorkOrders(ids);
+            log.warn("Finished interrupted archive run: removed the {} work orders of {} from the table",
+                    ids.size(), newest.path().getFileName());
+        }
+    }
+
+    private void scheduledRun() {
+        try {
+            archive();
+        } catch (RuntimeException ex) {
+            log.warn("Archive run failed: {}", ex.getMessage(), ex);
+        }
+    }
+
+    private static void deleteQuietly(ArchiveSegment segment) {
+        try {
+            Files.deleteIfExists(segment.path());
+        } catch (IOException ex) {
+            log.warn("Could not remove segment {} of a rolled back archive run", segment.path(), ex);
+        }
+    }
+}
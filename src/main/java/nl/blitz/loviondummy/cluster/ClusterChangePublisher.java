@@ -0,0 +1,32 @@
+package nl.blitz.loviondummy.cluster;
+
+import nl.blitz.loviondummy.domain.AssetChangedEvent;
+import nl.blitz.loviondummy.domain.WorkOrderChangedEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Puts every work order and asset change on the {@link InvalidationBus}. Like the outbox writer it runs while
+ * Hibernate flushes the change, so the invalidation is part of the same transaction.
+ */
+@Component
+@ConditionalOnProperty(name = "lovion.cluster.enabled", havingValue = "true")
+public class ClusterChangePublisher {
+
+    private final InvalidationBus bus;
+
+    public ClusterChangePublisher(InvalidationBus bus) {
+        this.bus = bus;
+    }
+
+    @EventListener
+    public void onWorkOrderChanged(WorkOrderChangedEvent change) {
+        bus.publish(Invalidation.of(change));
+    }
+
+    @EventListener
+    public void onAssetChanged(AssetChangedEvent change) {
+        bus.publish(Invalidation.of(change));
+    }
+}
@@ -0,0 +1,19 @@
+package nl.blitz.loviondummy.cluster;
+
+import nl.blitz.loviondummy.domain.AssetChangedEvent;
+import nl.blitz.loviondummy.domain.WorkOrderChangedEvent;
+
+/**
+ * A committed change on one node that the other nodes apply to their local state. Exactly one of the two changes
+ * is set.
+ */
+public record Invalidation(WorkOrderChangedEvent workOrderChange, AssetChangedEvent assetChange) {
+
+    public static Invalidation of(WorkOrderChangedEvent change) {
+        return new Invalidation(change, null);
+    }
+
+    public static Invalidation of(AssetChangedEvent change) {
+        return new Invalidation(null, change);
+    }
+}
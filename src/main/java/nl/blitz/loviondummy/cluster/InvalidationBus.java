@@ -0,0 +1,23 @@
+package nl.blitz.loviondummy.cluster;
+
+import java.util.function.Consumer;
+
+/**
+ * Carries invalidations between the nodes that share one database, selected with {@code lovion.cluster.bus}.
+ * Listeners only get the invalidations of other nodes; local changes already reach the local caches through the
+ * entity change events.
+ */
+public interface InvalidationBus {
+
+    /**
+     * Identifies this node on the bus ({@code lovion.cluster.node-id}).
+     */
+    String nodeId();
+
+    /**
+     * Sends an invalidation. Inside a transaction it is only delivered when that transaction commits.
+     */
+    void publish(Invalidation invalidation);
+
+    void subscribe(Consumer<Invalidation> listener);
+}
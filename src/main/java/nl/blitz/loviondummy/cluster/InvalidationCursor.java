@@ -0,0 +1,79 @@
+package nl.blitz.loviondummy.cluster;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read position of a node in the invalidation table.
+ * <p>
+ * Ids are handed out at insert but become visible at commit, so a poll can see id 12 before id 11 has committed.
+ * Ids skipped that way are remembered as gaps and asked for again on the next polls, until they show up or are
+ * older than the commit grace (a rolled back transaction never fills its gap).
+ */
+final class InvalidationCursor {
+
+    private final long commitGraceMillis;
+    private final int maxGaps;
+    private final Map<Long, Long> gaps = new LinkedHashMap<>();
+    private long maxSeen;
+
+    InvalidationCursor(long start, long commitGraceMillis, int maxGaps) {
+        this.maxSeen = start;
+        this.commitGraceMillis = commitGraceMillis;
+        this.maxGaps = maxGaps;
+    }
+
+    long maxSeen() {
+        return maxSeen;
+    }
+
+    /**
+     * Ids below {@link #maxSeen} that have not been seen yet, oldest first.
+     */
+    List<Long> gaps() {
+        return List.copyOf(gaps.keySet());
+    }
+
+    /**
+     * Records a row read from the table.
+     *
+     * @return {@code true} the first time an id is seen, so its invalidation should be applied
+     */
+    boolean seen(long id, long nowMillis) {
+        if (id > maxSeen) {
+            for (long gap = Math.max(maxSeen + 1, id - maxGaps); gap < id; gap++) {
+                gaps.put(gap, nowMillis);
+            }
+            maxSeen = id;
+            trim();
+            return true;
+        }
+        return gaps.remove(id) != null;
+    }
+
+    /**
+     * Gives up on the gaps that have been open longer than the commit grace.
+     *
+     * @return the number of gaps given up
+     */
+    int expire(long nowMillis) {
+        int expired = 0;
+        for (Iterator<Long> noticed = gaps.values().iterator(); noticed.hasNext(); ) {
+            if (nowMillis - noticed.next() <= commitGraceMillis) {
+                break;
+            }
+            noticed.remove();
+            expired++;
+        }
+        return expired;
+    }
+
+    private void trim() {
+        for (Iterator<Long> ids = gaps.keySet().iterator(); gaps.size() > maxGaps && ids.hasNext(); ) {
+            ids.next();
+            ids.remove();
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package nl.blitz.loviondummy.cluster;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+/**
+ * {@link InvalidationBus} on the shared database: {@link #publish} inserts into {@code cluster_invalidations} on the
+ * connection of the writing transaction, so the invalidation commits or rolls back with the change, and every node
+ * polls the table for rows of other nodes every {@code lovion.cluster.poll-interval-ms}. Rows are removed after
+ * {@code lovion.cluster.retention-minutes} by whichever node gets there first.
+ */
+public class JdbcInvalidationBus implements InvalidationBus {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcInvalidationBus.class);
+
+    private static final String INSERT = "INSERT INTO cluster_invalidations (origin_node, payload, created_at) "
+            + "VALUES (?, ?, CURRENT_TIMESTAMP)";
+    private static final String SELECT = "SELECT id, origin_node, payload FROM cluster_invalidations";
+    private static final String POLL = SELECT + " WHERE id > ? ORDER BY id FETCH FIRST ? ROWS ONLY";
+    private static final int MAX_GAPS = 10_000;
+
+    private record Row(long id, String originNode, String payload) {
+    }
+
+    private static final RowMapper<Row> ROW_MAPPER = (rs, row) -> new Row(rs.getLong(1), rs.getString(2),
+            rs.getString(3));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final String nodeId;
+    private final long pollIntervalMs;
+    private final long commitGraceMs;
+    private final int retentionMinutes;
+    private final int batchSize;
+    private final List<Consumer<Invalidation>> listeners = new CopyOnWriteArrayList<>();
+    private final Counter published;
+    private final Counter received;
+    private final Counter expiredGaps;
+    private final ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "invalidation-poller");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private InvalidationCursor cursor;
+    private long lastPrune;
+
+    public JdbcInvalidationBus(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                               String nodeId, long pollIntervalMs, long commitGraceMs, int retentionMinutes,
+                               int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.nodeId = nodeId;
+        this.pollIntervalMs = pollIntervalMs;
+        this.commitGraceMs = commitGraceMs;
+        this.retentionMinutes = retentionMinutes;
+        this.batchSize = batchSize;
+        this.published = Counter.builder("lovion.cluster.invalidations.published").register(meterRegistry);
+        this.received = Counter.builder("lovion.cluster.invalidations.received").register(meterRegistry);
+        this.expiredGaps = Counter.builder("lovion.cluster.invalidations.expired-gaps").register(meterRegistry);
+    }
+
+    /**
+     * Starts reading after the newest row, before the local caches (search index, feed) are built from the database
+     * on the same event: anything committed in between is applied twice, which the listeners tolerate.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void start() {
+        Long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM cluster_invalidations", Long.class);
+        cursor = new InvalidationCursor(max != null ? max : 0, commitGraceMs, MAX_GAPS);
+        poller.scheduleWithFixedDelay(this::poll, pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("Invalidation bus started as node {}: polling cluster_invalidations every {} ms after id {}", nodeId,
+                pollIntervalMs, cursor.maxSeen());
+    }
+
+    @PreDestroy
+    public void stop() {
+        poller.shutdownNow();
+    }
+
+    @Override
+    public String nodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public void publish(Invalidation invalidation) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(invalidation);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize invalidation", ex);
+        }
+        jdbcTemplate.update(INSERT, nodeId, payload);
+        published.increment();
+    }
+
+    @Override
+    public void subscribe(Consumer<Invalidation> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * One poll: the rows after the newest one seen, then the gaps that may have committed since.
+     */
+    void poll() {
+        try {
+            List<Row> rows = new ArrayList<>(jdbcTemplate.query(POLL, ROW_MAPPER, cursor.maxSeen(), batchSize));
+            List<Long> gaps = cursor.gaps();
+            if (!gaps.isEmpty()) {
+                rows.addAll(jdbcTemplate.query(SELECT + " WHERE id IN ("
+                        + String.join(", ", Collections.nCopies(gaps.size(), "?")) + ")", ROW_MAPPER, gaps.toArray()));
+            }
+            long now = System.currentTimeMillis();
+            for (Row row : rows) {
+                if (cursor.seen(row.id(), now) && !nodeId.equals(row.originNode())) {
+                    deliver(row);
+                }
+            }
+            expiredGaps.increment(cursor.expire(now));
+            if (now - lastPrune > TimeUnit.MINUTES.toMillis(1)) {
+                lastPrune = now;
+                int pruned = jdbcTemplate.update("DELETE FROM cluster_invalidations "
+                        + "WHERE created_at < DATEADD('MINUTE', ?, CURRENT_TIMESTAMP)", -retentionMinutes);
+                log.debug("Pruned {} invalidations older than {} minutes", pruned, retentionMinutes);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Polling invalidations failed: {}", ex.getMessage(), ex);
+        }
+    }
+
+    private void deliver(Row row) {
+        Invalidation invalidation;
+        try {
+            invalidation = objectMapper.readValue(row.payload(), Invalidation.class);
+        } catch (JsonProcessingException ex) {
+            log.warn("Skipping unreadable invalidation {} from node {}", row.id(), row.originNode(), ex);
+            return;
+        }
+        received.increment();
+        for (Consumer<Invalidation> listener : listeners) {
+            try {
+                listener.accept(invalidation);
+            } catch (RuntimeException ex) {
+                log.warn("Applying invalidation {} from node {} failed", row.id(), row.originNode(), ex);
+            }
+        }
+    }
+}
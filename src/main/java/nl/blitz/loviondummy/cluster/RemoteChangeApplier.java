@@ -0,0 +1,64 @@
+package nl.blitz.loviondummy.cluster;
+
+import jakarta.persistence.EntityManagerFactory;
+import nl.blitz.loviondummy.domain.Asset;
+import nl.blitz.loviondummy.domain.AssetChangedEvent;
+import nl.blitz.loviondummy.domain.WorkOrderChangedEvent;
+import nl.blitz.loviondummy.feed.WorkOrderChangeFeed;
+import nl.blitz.loviondummy.readmodel.WorkOrderReadModel;
+import nl.blitz.loviondummy.search.DescriptionSearchService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies the changes of other nodes to the node-local state that local changes keep up to date through the entity
+ * change events: the second-level cache entry of an asset, the description search indexes, the change feed and the
+ * work-order read model when it is enabled.
+ * The outbox is not involved; the node that made the change wrote its outbox row.
+ * <p>
+ * Feed sequences are assigned per node, so a client resuming with {@code Last-Event-ID} has to return to the same
+ * node (sticky sessions); on another node it gets a resync.
+ */
+@Component
+@ConditionalOnProperty(name = "lovion.cluster.enabled", havingValue = "true")
+public class RemoteChangeApplier {
+
+    private static final Logger log = LoggerFactory.getLogger(RemoteChangeApplier.class);
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final DescriptionSearchService searchService;
+    private final WorkOrderChangeFeed changeFeed;
+    private final ObjectProvider<WorkOrderReadModel> readModel;
+
+    public RemoteChangeApplier(InvalidationBus bus,
+                               EntityManagerFactory entityManagerFactory,
+                               DescriptionSearchService searchService,
+                               WorkOrderChangeFeed changeFeed,
+                               ObjectProvider<WorkOrderReadModel> readModel) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.searchService = searchService;
+        this.changeFeed = changeFeed;
+        this.readModel = readModel;
+        bus.subscribe(this::apply);
+    }
+
+    void apply(Invalidation invalidation) {
+        if (invalidation.workOrderChange() != null) {
+            WorkOrderChangedEvent change = invalidation.workOrderChange();
+            log.debug("Applying remote {} of work order {}", change.type(), change.workOrderId());
+            searchService.onWorkOrderChanged(change);
+            changeFeed.onWorkOrderChanged(change);
+            readModel.ifAvailable(model -> model.onWorkOrderChanged(change));
+        }
+        if (invalidation.assetChange() != null) {
+            AssetChangedEvent change = invalidation.assetChange();
+            log.debug("Applying remote {} of asset {}", change.type(), change.assetId());
+            entityManagerFactory.getCache().evict(Asset.class, change.assetId());
+            searchService.onAssetChanged(change);
+            readModel.ifAvailable(model -> model.onAssetChanged(change));
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package nl.blitz.loviondummy.config;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import nl.blitz.loviondummy.domain.Asset;
+import nl.blitz.loviondummy.domain.WorkOrder;
+import nl.blitz.loviondummy.repository.AssetRepository;
+import nl.blitz.loviondummy.repository.WorkOrderRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Optionally adds synthetic assets and work orders on top of the demo data to get realistic volumes
+ * ({@code lovion.seed.bulk.work-orders}). Seeding goes entity by entity through JPA in chunked transactions;
+ * it is skipped when the database already holds enough work orders (restored snapshot or file database).
+ */
+@Component
+@Order(1)
+public class BulkDataSeeder implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkDataSeeder.class);
+
+    private static final String[] WORK_TYPES = {"INSPECTION", "MAINTENANCE", "REPAIR"};
+    private static final String[] PRIORITIES = {"LOW", "MEDIUM", "HIGH"};
+    private static final String[] STATUSES = {"PENDING", "SCHEDULED", "IN_PROGRESS", "COMPLETED"};
+    private static final String[] ACTIONS = {"Inspect", "Replace", "Repair", "Clean", "Check"};
+    private static final String[] PARTS = {"valve", "joint", "filter", "meter", "seal", "cable", "pump"};
+
+    private final AssetRepository assetRepository;
+    private final WorkOrderRepository workOrderRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final StartupTimings startupTimings;
+
+    @Value("${lovion.seed.bulk.work-orders:0}")
+    private int workOrders;
+
+    @Value("${lovion.seed.bulk.assets:1000}")
+    private int assets;
+
+    @Value("${lovion.seed.bulk.chunk-size:1000}")
+    private int chunkSize;
+
+    public BulkDataSeeder(AssetRepository assetRepository,
+                          WorkOrderRepository workOrderRepository,
+                          PlatformTransactionManager transactionManager,
+                          StartupTimings startupTimings) {
+        this.assetRepository = assetRepository;
+        this.workOrderRepository = workOrderRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.startupTimings = startupTimings;
+    }
+
+    @Override
+    public void run(String... args) {
+        if (workOrders <= 0) {
+            return;
+        }
+        long present = workOrderRepository.count();
+        if (present >= workOrders) {
+            log.info("Skipping bulk seeding, {} work orders already present", present);
+            return;
+        }
+        log.info("Bulk seeding {} assets and {} work orders", assets, workOrders);
+        long start = System.currentTimeMillis();
+
+        List<Asset> seeded = new ArrayList<>(assets);
+        for (int from = 0; from < assets; from += chunkSize) {
+            int to = Math.min(assets, from + chunkSize);
+            int first = from;
+            seeded.addAll(transactionTemplate.execute(status -> assetRepository.saveAll(assetChunk(first, to))));
+        }
+        for (int from = 0; from < workOrders; from += chunkSize) {
+            int to = Math.min(workOrders, from + chunkSize);
+            int first = from;
+            transactionTemplate.executeWithoutResult(status ->
+                    workOrderRepository.saveAll(workOrderChunk(first, to, seeded)));
+            if (to % (chunkSize * 100) == 0) {
+                log.info("Bulk seeded {} / {} work orders", to, workOrders);
+            }
+        }
+
+        long millis = System.currentTimeMillis() - start;
+        startupTimings.record("bulk-seed", millis);
+        log.info("Bulk seeding done in {} ms", millis);
+    }
+
+    private static List<Asset> assetChunk(int from, int to) {
+        List<Asset> chunk = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            Asset asset = new Asset();
+            asset.setExternalAssetRef("EXT-BULK-" + i);
+            asset.setType(i % 2 == 0 ? "PIPE" : "CABLE");
+            asset.setDescription("Bulk " + PARTS[i % PARTS.length] + " asset " + i);
+            asset.setLocation("District " + (i % 20));
+            chunk.add(asset);
+        }
+        return chunk;
+    }
+
+    private static List<WorkOrder> workOrderChunk(int from, int to, List<Asset> assets) {
+        LocalDate today = LocalDate.now();
+        List<WorkOrder> chunk = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            WorkOrder workOrder = new WorkOrder();
+            workOrder.setExternalWorkOrderId(String.format("WO-%08d", 50_000_000 + i));
+            workOrder.setWorkType(WORK_TYPES[i % WORK_TYPES.length]);
+            workOrder.setPriority(PRIORITIES[i % PRIORITIES.length]);
+            workOrder.setStatus(STATUSES[i % STATUSES.length]);
+            workOrder.setScheduledDate(today.plusDays(i % 365));
+            workOrder.setDescription(ACTIONS[i % ACTIONS.length] + " " + PARTS[(i / 7) % PARTS.length]
+                    + " at site " + (i % 997));
+            workOrder.setAsset(assets.get(i % assets.size()));
+            chunk.add(workOrder);
+        }
+        return chunk;
+    }
+}
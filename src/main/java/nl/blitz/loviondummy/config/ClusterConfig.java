@@ -0,0 +1,51 @@
+package nl.blitz.loviondummy.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import nl.blitz.loviondummy.cluster.InvalidationBus;
+import nl.blitz.loviondummy.cluster.JdbcInvalidationBus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Multi-node mode ({@code lovion.cluster.enabled}, set by the {@code cluster} profile): several instances on one
+ * shared database keep their node-local state coherent through the {@link InvalidationBus} chosen with
+ * {@code lovion.cluster.bus}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "lovion.cluster.enabled", havingValue = "true")
+public class ClusterConfig {
+
+    @Bean
+    public InvalidationBus invalidationBus(JdbcTemplate jdbcTemplate,
+                                           ObjectMapper objectMapper,
+                                           MeterRegistry meterRegistry,
+                                           @Value("${lovion.cluster.bus:jdbc}") String bus,
+                                           @Value("${lovion.cluster.node-id:}") String nodeId,
+                                           @Value("${lovion.cluster.poll-interval-ms:100}") long pollIntervalMs,
+                                           @Value("${lovion.cluster.commit-grace-ms:10000}") long commitGraceMs,
+                                           @Value("${lovion.cluster.retention-minutes:10}") int retentionMinutes,
+                                           @Value("${lovion.cluster.batch-size:500}") int batchSize) {
+        String node = nodeId.isBlank() ? defaultNodeId() : nodeId;
+        return switch (bus) {
+            case "jdbc" -> new JdbcInvalidationBus(jdbcTemplate, objectMapper, meterRegistry, node, pollIntervalMs,
+                    commitGraceMs, retentionMinutes, batchSize);
+            default -> throw new IllegalArgumentException("Unknown lovion.cluster.bus: " + bus + " (expected jdbc)");
+        };
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException ex) {
+            host = "localhost";
+        }
+        return host + "-" + ProcessHandle.current().pid();
+    }
+}
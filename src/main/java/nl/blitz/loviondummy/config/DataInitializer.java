@@ -11,6 +11,7 @@ import nl.blitz.loviondummy.repository.ValidationRuleRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,6 +19,7 @@ import org.springframework.transaction.annotation.Transactional;
  * Seeds a few demo assets and work orders at startup.
  */
 @Component
+@Order(0)
 public class DataInitializer implements CommandLineRunner {
 
     private static final Logger log = LoggerFactory.getLogger(DataInitializer.class);
@@ -25,13 +27,16 @@ public class DataInitializer implements CommandLineRunner {
     private final AssetRepository assetRepository;
     private final WorkOrderRepository workOrderRepository;
     private final ValidationRuleRepository validationRuleRepository;
+    private final StartupTimings startupTimings;
 
     public DataInitializer(AssetRepository assetRepository, 
                           WorkOrderRepository workOrderRepository,
-                          ValidationRuleRepository validationRuleRepository) {
+                          ValidationRuleRepository validationRuleRepository,
+                          StartupTimings startupTimings) {
         this.assetRepository = assetRepository;
         this.workOrderRepository = workOrderRepository;
         this.validationRuleRepository = validationRuleRepository;
+        this.startupTimings = startupTimings;
     }
 
     @Override
@@ -43,6 +48,7 @@ public class DataInitializer implements CommandLineRunner {
         }
 
         log.info("Seeding demo assets, work orders, and validation rules");
+        long start = System.currentTimeMillis();
 
         // Seed validation rules
         seedValidationRules();
@@ -73,7 +79,7 @@ public class DataInitializer implements CommandLineRunner {
         wo1.setPriority("HIGH");
         wo1.setScheduledDate(LocalDate.now().plusDays(2));
         wo1.setAsset(pipeline);
-        wo1.setStatus("PLANNED");
+        wo1.setStatus("SCHEDULED");
         wo1.setDescription("Inspect pipeline corrosion status");
 
         WorkOrder wo2 = new WorkOrder();
@@ -82,7 +88,7 @@ public class DataInitializer implements CommandLineRunner {
         wo2.setPriority("MEDIUM");
         wo2.setScheduledDate(LocalDate.now().plusDays(5));
         wo2.setAsset(station);
-        wo2.setStatus("NEW");
+        wo2.setStatus("PENDING");
         wo2.setDescription("Replace filter units");
 
         WorkOrder wo3 = new WorkOrder();
@@ -100,7 +106,7 @@ public class DataInitializer implements CommandLineRunner {
         wo4.setPriority("HIGH");
         wo4.setScheduledDate(LocalDate.now().minusDays(1));
         wo4.setAsset(pipeline);
-        wo4.setStatus("DONE");
+        wo4.setStatus("COMPLETED");
         wo4.setDescription("Valve replacement");
 
         workOrderRepository.saveAll(List.of(wo1, wo2, wo3, wo4));
@@ -110,6 +116,7 @@ public class DataInitializer implements CommandLineRunner {
 
         log.info("Demo data seeded: {} assets, {} work orders, {} validation rules", 
                 assetRepository.count(), workOrderRepository.count(), validationRuleRepository.count());
+        startupTimings.record("demo-seed", System.currentTimeMillis() - start);
     }
 
     private void seedValidationRules() {
@@ -0,0 +1,127 @@
+package nl.blitz.loviondummy.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.Map;
+import javax.sql.DataSource;
+import nl.blitz.loviondummy.lanes.Lane;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Splits the datasource into a write pool and a read pool.
+ * Read-only transactions ({@code @Transactional(readOnly = true)}) get their connection from the read pool,
+ * everything else from the write pool. The physical connection is fetched lazily, after the transaction
+ * has marked it read-only, so the routing decision is made per transaction.
+ * <p>
+ * With traffic lanes ({@code lovion.lanes.enabled}) every lane has a read pool of its own, {@code lovion-interactive}
+ * and {@code lovion-bulk}, sized by {@code lovion.lanes.<lane>.pool-size} and with {@code query-timeout-ms} as H2
+ * statement timeout. Read-only transactions of an admitted request use the pool of its lane; background work and
+ * exempt requests keep the read pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "lovion.datasource.routing.enabled", havingValue = "true", matchIfMissing = true)
+public class DataSourceConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(DataSourceConfig.class);
+
+    private final Binder binder;
+
+    @Value("${lovion.datasource.fail-fast.enabled:false}")
+    private boolean failFast;
+
+    @Value("${lovion.datasource.fail-fast.max-acquire-ms:250}")
+    private long maxAcquireMs;
+
+    public DataSourceConfig(Environment environment) {
+        this.binder = Binder.get(environment);
+    }
+
+    @Bean
+    public HikariDataSource writeDataSource(DataSourceProperties properties) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        return applyFailFast(pool);
+    }
+
+    @Bean
+    public HikariDataSource readDataSource(DataSourceProperties properties) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        // Shared pool defaults first, then the read specific overrides (url, size, name)
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        binder.bind("lovion.datasource.read", Bindable.ofInstance(pool));
+        return applyFailFast(pool);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "lovion.lanes.enabled", havingValue = "true", matchIfMissing = true)
+    public HikariDataSource interactiveDataSource(DataSourceProperties properties) {
+        return lanePool(properties, Lane.INTERACTIVE, 10, 2_000);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "lovion.lanes.enabled", havingValue = "true", matchIfMissing = true)
+    public HikariDataSource bulkDataSource(DataSourceProperties properties) {
+        return lanePool(properties, Lane.BULK, 4, 60_000);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("writeDataSource") HikariDataSource writeDataSource,
+                                 @Qualifier("readDataSource") HikariDataSource readDataSource,
+                                 @Qualifier("interactiveDataSource") ObjectProvider<HikariDataSource> interactive,
+                                 @Qualifier("bulkDataSource") ObjectProvider<HikariDataSource> bulk) {
+        log.info("Routing read-only transactions to pool {} ({}), writes to pool {} ({})",
+                readDataSource.getPoolName(), readDataSource.getJdbcUrl(),
+                writeDataSource.getPoolName(), writeDataSource.getJdbcUrl());
+        LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(writeDataSource);
+        HikariDataSource interactivePool = interactive.getIfAvailable();
+        HikariDataSource bulkPool = bulk.getIfAvailable();
+        if (interactivePool != null && bulkPool != null) {
+            log.info("Read-only transactions of admitted requests use pool {} or {}", interactivePool.getPoolName(),
+                    bulkPool.getPoolName());
+            routing.setReadOnlyDataSource(new LaneRoutingDataSource(readDataSource,
+                    Map.of(Lane.INTERACTIVE, interactivePool, Lane.BULK, bulkPool)));
+        } else {
+            routing.setReadOnlyDataSource(readDataSource);
+        }
+        return routing;
+    }
+
+    private HikariDataSource lanePool(DataSourceProperties properties, Lane lane, int defaultSize,
+                                      long defaultQueryTimeoutMs) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        // Same settings and database as the read pool, with the lane's name, size and timeout
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        binder.bind("lovion.datasource.read", Bindable.ofInstance(pool));
+        String prefix = "lovion.lanes." + lane.key() + ".";
+        int size = binder.bind(prefix + "pool-size", Integer.class).orElse(defaultSize);
+        long queryTimeoutMs = binder.bind(prefix + "query-timeout-ms", Long.class).orElse(defaultQueryTimeoutMs);
+        pool.setPoolName("lovion-" + lane.key());
+        pool.setMaximumPoolSize(size);
+        pool.setMinimumIdle(Math.min(2, size));
+        // H2 session setting: the database cancels statements that run longer
+        pool.setConnectionInitSql("SET QUERY_TIMEOUT " + queryTimeoutMs);
+        return applyFailFast(pool);
+    }
+
+    private HikariDataSource applyFailFast(HikariDataSource pool) {
+        if (failFast) {
+            // Hikari gives up after connectionTimeout; RestExceptionHandler turns that into a 503
+            pool.setConnectionTimeout(maxAcquireMs);
+            log.info("Fail-fast enabled for pool {}: max acquire time {} ms", pool.getPoolName(), maxAcquireMs);
+        }
+        return pool;
+    }
+}
@@ -0,0 +1,101 @@
+package nl.blitz.loviondummy.config;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes the whole H2 database to a compressed SQL script ({@code SCRIPT TO}) and loads it back
+ * ({@code RUNSCRIPT FROM}). Restoring a snapshot runs plain batched inserts inside H2, which is far faster
+ * than seeding entity by entity through Hibernate.
+ * <p>
+ * With {@code lovion.snapshot.restore-on-startup} the snapshot is restored before {@link DataInitializer} runs,
+ * so seeding is skipped. A database that already contains data (file mode) is left alone.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class DatabaseSnapshotService implements CommandLineRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(DatabaseSnapshotService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StartupTimings startupTimings;
+
+    @Value("${lovion.snapshot.path:./data/loviondb-snapshot.sql.gz}")
+    private String snapshotPath;
+
+    @Value("${lovion.snapshot.restore-on-startup:false}")
+    private boolean restoreOnStartup;
+
+    public DatabaseSnapshotService(JdbcTemplate jdbcTemplate, StartupTimings startupTimings) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.startupTimings = startupTimings;
+    }
+
+    @Override
+    public void run(String... args) {
+        if (!restoreOnStartup) {
+            return;
+        }
+        Path path = Paths.get(snapshotPath);
+        if (!Files.isRegularFile(path)) {
+            log.info("No snapshot at {}, falling back to seeding", path.toAbsolutePath());
+            return;
+        }
+        Long assets = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM assets", Long.class);
+        if (assets != null && assets > 0) {
+            log.info("Database already contains data, snapshot {} not restored", path.toAbsolutePath());
+            return;
+        }
+        long start = System.currentTimeMillis();
+        restore(path);
+        startupTimings.record("snapshot-restore", System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Replaces the complete database with the contents of the snapshot.
+     */
+    public void restore(Path path) {
+        long start = System.currentTimeMillis();
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+        jdbcTemplate.execute("RUNSCRIPT FROM '" + sqlPath(path) + "' COMPRESSION GZIP");
+        log.info("Restored snapshot {} in {} ms ({} work orders)", path.toAbsolutePath(),
+                System.currentTimeMillis() - start,
+                jdbcTemplate.queryForObject("SELECT COUNT(*) FROM work_orders", Long.class));
+    }
+
+    /**
+     * Writes a snapshot of the complete database to the configured path and returns that path.
+     */
+    public Path export() {
+        Path path = Paths.get(snapshotPath).toAbsolutePath();
+        long start = System.currentTimeMillis();
+        try {
+            Files.createDirectories(path.getParent());
+            // Write next to the target first so an interrupted export never leaves half a snapshot behind
+            Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+            jdbcTemplate.execute("SCRIPT TO '" + sqlPath(tmp) + "' COMPRESSION GZIP");
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING);
+            log.info("Wrote snapshot {} ({} KB) in {} ms", path, Files.size(path) / 1024,
+                    System.currentTimeMillis() - start);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write snapshot " + path, e);
+        }
+        return path;
+    }
+
+    private static String sqlPath(Path path) {
+        return path.toAbsolutePath().toString().replace("'", "''");
+    }
+}
@@ -0,0 +1,27 @@
+package nl.blitz.loviondummy.config;
+
+import java.util.HashMap;
+import java.util.Map;
+import javax.sql.DataSource;
+import nl.blitz.loviondummy.lanes.Lane;
+import nl.blitz.loviondummy.lanes.LaneContext;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Read side of {@link DataSourceConfig} with lanes: the pool of the lane of the current request, or the read pool
+ * when there is none.
+ */
+class LaneRoutingDataSource extends AbstractRoutingDataSource {
+
+    LaneRoutingDataSource(DataSource readDataSource, Map<Lane, DataSource> lanePools) {
+        setDefaultTargetDataSource(readDataSource);
+        setTargetDataSources(new HashMap<>(lanePools));
+        setLenientFallback(true);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return LaneContext.current();
+    }
+}
@@ -18,6 +18,12 @@ public class RequestLoggingFilter extends OncePerRequestFilter {
 
     private static final Logger log = LoggerFactory.getLogger(RequestLoggingFilter.class);
 
+    private final StartupTimings startupTimings;
+
+    public RequestLoggingFilter(StartupTimings startupTimings) {
+        this.startupTimings = startupTimings;
+    }
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
@@ -29,6 +35,7 @@ public class RequestLoggingFilter extends OncePerRequestFilter {
             long duration = System.currentTimeMillis() - start;
             log.info("Completed {} {} with status {} in {} ms", request.getMethod(), request.getRequestURI(),
                     response.getStatus(), duration);
+            startupTimings.requestCompleted(request.getRequestURI());
         }
     }
 }
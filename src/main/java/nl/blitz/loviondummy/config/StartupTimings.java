@@ -0,0 +1,44 @@
+package nl.blitz.loviondummy.config;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Collects how long the startup steps took (snapshot restore, seeding) and logs them together with the
+ * total JVM startup time once the application is ready. The time to the first served request is logged separately.
+ */
+@Component
+public class StartupTimings {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupTimings.class);
+
+    private final Map<String, Long> steps = new LinkedHashMap<>();
+    private final AtomicBoolean firstRequestSeen = new AtomicBoolean();
+
+    public synchronized void record(String step, long millis) {
+        steps.put(step, millis);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void report() {
+        log.info("Startup ready after {} ms (JVM uptime), data steps: {}",
+                ManagementFactory.getRuntimeMXBean().getUptime(), steps.isEmpty() ? "none" : steps);
+    }
+
+    /**
+     * Called after every request; only the first one is logged.
+     */
+    public void requestCompleted(String uri) {
+        if (!firstRequestSeen.get() && firstRequestSeen.compareAndSet(false, true)) {
+            log.info("First request ({}) completed {} ms after JVM start", uri,
+                    ManagementFactory.getRuntimeMXBean().getUptime());
+        }
+    }
+}
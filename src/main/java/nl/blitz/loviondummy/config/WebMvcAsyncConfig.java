@@ -0,0 +1,24 @@
+package nl.blitz.loviondummy.config;
+
+import nl.blitz.loviondummy.lanes.LaneTaskExecutor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Runs Spring MVC async work on the executors of the traffic lanes.
+ */
+@Configuration
+public class WebMvcAsyncConfig implements WebMvcConfigurer {
+
+    private final LaneTaskExecutor laneTaskExecutor;
+
+    public WebMvcAsyncConfig(LaneTaskExecutor laneTaskExecutor) {
+        this.laneTaskExecutor = laneTaskExecutor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(laneTaskExecutor);
+    }
+}
@@ -1,5 +1,9 @@
 package nl.blitz.loviondummy.config;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.boot.web.servlet.ServletRegistrationBean;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
@@ -9,13 +13,29 @@ import org.springframework.ws.config.annotation.EnableWs;
 import org.springframework.ws.config.annotation.WsConfigurerAdapter;
 import org.springframework.ws.transport.http.MessageDispatcherServlet;
 import org.springframework.ws.wsdl.wsdl11.DefaultWsdl11Definition;
+import org.springframework.ws.wsdl.wsdl11.SimpleWsdl11Definition;
+import org.springframework.ws.wsdl.wsdl11.Wsdl11Definition;
 import org.springframework.xml.xsd.SimpleXsdSchema;
 import org.springframework.xml.xsd.XsdSchema;
 import org.springframework.oxm.jaxb.Jaxb2Marshaller;
+import nl.blitz.loviondummy.jfr.RecordingJaxb2Marshaller;
+import nl.blitz.loviondummy.soap.schema.ChangeWorkOrderStatusRequest;
+import nl.blitz.loviondummy.soap.schema.ChangeWorkOrderStatusResponse;
+import nl.blitz.loviondummy.soap.schema.ExportChunkType;
+import nl.blitz.loviondummy.soap.schema.ExportWorkOrdersRequest;
+import nl.blitz.loviondummy.soap.schema.ExportWorkOrdersResponse;
+import nl.blitz.loviondummy.soap.schema.GetWorkOrderDetailsBatchRequest;
+import nl.blitz.loviondummy.soap.schema.GetWorkOrderDetailsBatchResponse;
 import nl.blitz.loviondummy.soap.schema.GetWorkOrderDetailsRequest;
 import nl.blitz.loviondummy.soap.schema.GetWorkOrderDetailsResponse;
 import nl.blitz.loviondummy.soap.schema.GetWorkOrdersRequest;
 import nl.blitz.loviondummy.soap.schema.GetWorkOrdersResponse;
+import nl.blitz.loviondummy.soap.schema.PollWorkOrderChangesRequest;
+import nl.blitz.loviondummy.soap.schema.PollWorkOrderChangesResponse;
+import nl.blitz.loviondummy.soap.schema.StatusTransitionResultType;
+import nl.blitz.loviondummy.soap.schema.StatusTransitionType;
+import nl.blitz.loviondummy.soap.schema.WorkOrderChangeType;
+import nl.blitz.loviondummy.soap.schema.WorkOrderLookupResultType;
 import nl.blitz.loviondummy.soap.schema.WorkOrderType;
 import nl.blitz.loviondummy.soap.SoapExceptionResolver;
 
@@ -25,6 +45,20 @@ public class WsConfig extends WsConfigurerAdapter {
 
     public static final String NAMESPACE_URI = "http://www.loviondummy.nl/workorders";
 
+    /** Build-time copy of what {@link #generatedWsdl11Definition} produces, kept in sync by WsConfigTest. */
+    static final String PRECOMPUTED_WSDL = "wsdl/workorders.wsdl";
+
+    private static final Logger log = LoggerFactory.getLogger(WsConfig.class);
+
+    @Value("${lovion.ws.wsdl.precomputed:false}")
+    private boolean precomputedWsdl;
+
+    @Value("${lovion.ws.jaxb.lazy-init:false}")
+    private boolean lazyJaxb;
+
+    @Value("${lovion.ws.static.max-age-seconds:300}")
+    private int staticMaxAgeSeconds;
+
     @Bean
     public ServletRegistrationBean<MessageDispatcherServlet> messageDispatcherServlet(ApplicationContext context) {
         MessageDispatcherServlet servlet = new MessageDispatcherServlet();
@@ -33,8 +67,25 @@ public class WsConfig extends WsConfigurerAdapter {
         return new ServletRegistrationBean<>(servlet, "/ws/*");
     }
 
+    @Bean
+    public FilterRegistrationBean<WsdlResourceFilter> wsdlResourceFilter(ApplicationContext context) {
+        FilterRegistrationBean<WsdlResourceFilter> registration =
+                new FilterRegistrationBean<>(new WsdlResourceFilter("/ws", context, staticMaxAgeSeconds));
+        registration.addUrlPatterns("/ws/*");
+        return registration;
+    }
+
     @Bean(name = "workorders")
-    public DefaultWsdl11Definition defaultWsdl11Definition(XsdSchema workOrdersSchema) {
+    public Wsdl11Definition defaultWsdl11Definition(XsdSchema workOrdersSchema) {
+        if (precomputedWsdl) {
+            // Serves the stored document as is, no wsdl4j model is built at startup
+            log.info("Serving precomputed WSDL {}", PRECOMPUTED_WSDL);
+            return new SimpleWsdl11Definition(new ClassPathResource(PRECOMPUTED_WSDL));
+        }
+        return generatedWsdl11Definition(workOrdersSchema);
+    }
+
+    static DefaultWsdl11Definition generatedWsdl11Definition(XsdSchema workOrdersSchema) {
         DefaultWsdl11Definition definition = new DefaultWsdl11Definition();
         definition.setPortTypeName("WorkOrdersPort");
         definition.setTargetNamespace(NAMESPACE_URI);
@@ -50,13 +101,31 @@ public class WsConfig extends WsConfigurerAdapter {
 
     @Bean
     public Jaxb2Marshaller marshaller() {
-        Jaxb2Marshaller marshaller = new Jaxb2Marshaller();
+        // records a JFR event per payload (near free while no recording is running)
+        Jaxb2Marshaller marshaller = new RecordingJaxb2Marshaller();
         marshaller.setClassesToBeBound(
                 GetWorkOrdersRequest.class,
                 GetWorkOrdersResponse.class,
                 GetWorkOrderDetailsRequest.class,
                 GetWorkOrderDetailsResponse.class,
-                WorkOrderType.class);
+                GetWorkOrderDetailsBatchRequest.class,
+                GetWorkOrderDetailsBatchResponse.class,
+                WorkOrderLookupResultType.class,
+                WorkOrderType.class,
+                ExportWorkOrdersRequest.class,
+                ExportWorkOrdersResponse.class,
+                ExportChunkType.class,
+                ChangeWorkOrderStatusRequest.class,
+                ChangeWorkOrderStatusResponse.class,
+                StatusTransitionType.class,
+                StatusTransitionResultType.class,
+                PollWorkOrderChangesRequest.class,
+                PollWorkOrderChangesResponse.class,
+                WorkOrderChangeType.class);
+        // Binary content (ExportChunkType.data) goes out as MTOM attachments instead of inline base64
+        marshaller.setMtomEnabled(true);
+        // Lazy: the JAXBContext is created on the first SOAP call instead of during startup
+        marshaller.setLazyInit(lazyJaxb);
         return marshaller;
     }
 
@@ -0,0 +1,278 @@
+package nl.blitz.loviondummy.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.GZIPOutputStream;
+import javax.xml.transform.Source;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMResult;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.ws.wsdl.WsdlDefinition;
+import org.springframework.xml.xsd.XsdSchema;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+/**
+ * Serves {@code GET /ws/{name}.wsdl} and {@code GET /ws/{name}.xsd} from byte arrays instead of letting the
+ * {@code MessageDispatcherServlet} serialize (and for the WSDL, rewrite) the document on every request.
+ * <p>
+ * The WSDL contains the absolute endpoint address, so it is rendered once per base URL; schemas do not depend on
+ * the request and are rendered once. Every document is kept plain and gzipped, each with its own strong ETag.
+ * Besides the {@link XsdSchema} beans, every {@code .xsd} file under {@code classpath:wsdl} is served by file name,
+ * so the relative {@code schemaLocation} imports in the WSDL resolve against {@code /ws/}.
+ */
+public class WsdlResourceFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(WsdlResourceFilter.class);
+
+    /** The base URL comes from the Host header, so the number of cached WSDL renderings is capped. */
+    static final int MAX_CACHED_BASE_URLS = 16;
+
+    private static final String WSDL_SOAP_11 = "http://schemas.xmlsoap.org/wsdl/soap/";
+    private static final String WSDL_SOAP_12 = "http://schemas.xmlsoap.org/wsdl/soap12/";
+    private static final String CONTENT_TYPE = "text/xml;charset=UTF-8";
+
+    private final String servletPath;
+    private final ListableBeanFactory beanFactory;
+    private final Map<String, Resource> schemaFiles = new HashMap<>();
+    private final ConcurrentMap<String, CachedDocument> wsdlCache = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, CachedDocument> schemaCache = new ConcurrentHashMap<>();
+    private final String cacheControl;
+    private volatile Map<String, WsdlDefinition> wsdlDefinitions;
+    private volatile Map<String, XsdSchema> schemaBeans;
+
+    /**
+     * The WSDL and schema beans are looked up on the first request, so a lazily initialized context does not
+     * build them at startup.
+     */
+    public WsdlResourceFilter(String servletPath, ListableBeanFactory beanFactory, int maxAgeSeconds) {
+        this.servletPath = servletPath;
+        this.beanFactory = beanFactory;
+        this.cacheControl = "public, max-age=" + maxAgeSeconds;
+        try {
+            for (Resource file : new PathMatchingResourcePatternResolver().getResources("classpath*:wsdl/**/*.xsd")) {
+                schemaFiles.putIfAbsent(stripSuffix(file.getFilename(), ".xsd"), file);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not list schema files", e);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        return !("GET".equals(method) || "HEAD".equals(method)) || resourceName(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String name = resourceName(request);
+        CachedDocument document = name.endsWith(".wsdl") ? wsdl(stripSuffix(name, ".wsdl"), request)
+                : schema(stripSuffix(name, ".xsd"));
+        if (document == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        boolean gzip = acceptsGzip(request);
+        String etag = gzip ? document.gzipEtag() : document.etag();
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        byte[] body = gzip ? document.gzipped() : document.plain();
+        response.setContentType(CONTENT_TYPE);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentLength(body.length);
+        if (!"HEAD".equals(request.getMethod())) {
+            response.getOutputStream().write(body);
+        }
+    }
+
+    private String resourceName(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!path.startsWith(servletPath + "/")) {
+            return null;
+        }
+        String name = path.substring(servletPath.length() + 1);
+        if (name.indexOf('/') >= 0 || !(name.endsWith(".wsdl") || name.endsWith(".xsd"))) {
+            return null;
+        }
+        return name;
+    }
+
+    private CachedDocument wsdl(String name, HttpServletRequest request) {
+        if (wsdlDefinitions == null) {
+            wsdlDefinitions = beanFactory.getBeansOfType(WsdlDefinition.class);
+        }
+        WsdlDefinition definition = wsdlDefinitions.get(name);
+        if (definition == null) {
+            return null;
+        }
+        String baseUrl = request.getScheme() + "://" + request.getServerName() + ":" + request.getServerPort()
+                + request.getContextPath();
+        String key = name + " " + baseUrl;
+        CachedDocument cached = wsdlCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        CachedDocument rendered = CachedDocument.of(renderWsdl(definition, baseUrl));
+        if (wsdlCache.size() < MAX_CACHED_BASE_URLS) {
+            wsdlCache.putIfAbsent(key, rendered);
+            log.info("Cached WSDL {} for {} ({} bytes, {} gzipped)", name, baseUrl,
+                    rendered.plain().length, rendered.gzipped().length);
+        }
+        return rendered;
+    }
+
+    private CachedDocument schema(String name) {
+        if (schemaBeans == null) {
+            schemaBeans = beanFactory.getBeansOfType(XsdSchema.class);
+        }
+        if (!schemaBeans.containsKey(name) && !schemaFiles.containsKey(name)) {
+            return null;
+        }
+        return schemaCache.computeIfAbsent(name, key -> {
+            XsdSchema bean = schemaBeans.get(key);
+            return CachedDocument.of(bean != null ? serialize(bean.getSource()) : read(schemaFiles.get(key)));
+        });
+    }
+
+    /**
+     * Same rewrite as the {@code MessageDispatcherServlet} with {@code transformWsdlLocations}: relative or
+     * absolute SOAP addresses are pointed at the host the client used.
+     */
+    static byte[] renderWsdl(WsdlDefinition definition, String baseUrl) {
+        try {
+            DOMResult result = new DOMResult();
+            TransformerFactory.newInstance().newTransformer().transform(definition.getSource(), result);
+            Document document = (Document) result.getNode();
+            transformAddresses(document.getElementsByTagNameNS(WSDL_SOAP_11, "address"), baseUrl);
+            transformAddresses(document.getElementsByTagNameNS(WSDL_SOAP_12, "address"), baseUrl);
+            return serialize(new DOMSource(document));
+        } catch (TransformerException e) {
+            throw new IllegalStateException("Could not render WSDL", e);
+        }
+    }
+
+    private static void transformAddresses(NodeList addresses, String baseUrl) {
+        for (int i = 0; i < addresses.getLength(); i++) {
+            Element address = (Element) addresses.item(i);
+            String location = address.getAttribute("location");
+            if (location.startsWith("/")) {
+                address.setAttribute("location", baseUrl + location);
+            } else {
+                int scheme = location.indexOf("://");
+                int path = scheme < 0 ? -1 : location.indexOf('/', scheme + 3);
+                if (path >= 0) {
+                    address.setAttribute("location", baseUrl + location.substring(path));
+                }
+            }
+        }
+    }
+
+    private static byte[] serialize(Source source) {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            TransformerFactory.newInstance().newTransformer().transform(source, new StreamResult(out));
+            return out.toByteArray();
+        } catch (TransformerException e) {
+            throw new IllegalStateException("Could not serialize document", e);
+        }
+    }
+
+    private static byte[] read(Resource resource) {
+        try (InputStream in = resource.getInputStream()) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + resource, e);
+        }
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (accept == null) {
+            return false;
+        }
+        for (String coding : accept.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].trim().replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    /** If-None-Match uses the weak comparison: a {@code W/} prefix is ignored. */
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || (tag.startsWith("W/") ? tag.substring(2) : tag).equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripSuffix(String name, String suffix) {
+        return name.endsWith(suffix) ? name.substring(0, name.length() - suffix.length()) : name;
+    }
+
+    record CachedDocument(byte[] plain, String etag, byte[] gzipped, String gzipEtag) {
+
+        static CachedDocument of(byte[] plain) {
+            byte[] gzipped = gzip(plain);
+            return new CachedDocument(plain, etag(plain, ""), gzipped, etag(plain, "-gzip"));
+        }
+
+        private static byte[] gzip(byte[] plain) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(plain.length / 4 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                gzip.write(plain);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return out.toByteArray();
+        }
+
+        private static String etag(byte[] plain, String variant) {
+            try {
+                byte[] hash = MessageDigest.getInstance("SHA-256").digest(plain);
+                return "\"" + HexFormat.of().formatHex(hash, 0, 16) + variant + "\"";
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
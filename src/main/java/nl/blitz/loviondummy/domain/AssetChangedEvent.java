@@ -0,0 +1,13 @@
+package nl.blitz.loviondummy.domain;
+
+/**
+ * Published by {@link EntityChangeListener} whenever an asset is inserted, updated or deleted.
+ */
+public record AssetChangedEvent(ChangeType type, Long assetId, String externalAssetRef, String description,
+                                String assetType, String location) {
+
+    static AssetChangedEvent of(ChangeType type, Asset asset) {
+        return new AssetChangedEvent(type, asset.getId(), asset.getExternalAssetRef(), asset.getDescription(),
+                asset.getType(), asset.getLocation());
+    }
+}
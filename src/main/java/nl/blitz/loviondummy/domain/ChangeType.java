@@ -0,0 +1,7 @@
+package nl.blitz.loviondummy.domain;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,51 @@
+package nl.blitz.loviondummy.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+
+/**
+ * Row of the invalidation table that nodes sharing one database poll for each other's changes. Like
+ * {@link OutboxEntry} only mapped so the table is part of the schema; {@code nl.blitz.loviondummy.cluster} writes and
+ * reads it with plain JDBC.
+ */
+@Entity
+@Table(name = "cluster_invalidations")
+public class ClusterInvalidationEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "origin_node", nullable = false, length = 100)
+    private String originNode;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    protected ClusterInvalidationEntry() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getOriginNode() {
+        return originNode;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,55 @@
+package nl.blitz.loviondummy.domain;
+
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA callback that turns persistence events on {@link WorkOrder} and {@link Asset} into Spring application
+ * events. Events are published synchronously inside the writing transaction; listeners that should only see
+ * committed data use {@code @TransactionalEventListener}.
+ * Hibernate obtains this listener from the Spring context, which is why it can be injected.
+ */
+@Component
+public class EntityChangeListener {
+
+    private final ApplicationEventPublisher publisher;
+
+    public EntityChangeListener(ApplicationEventPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    @PostLoad
+    public void loaded(Object entity) {
+        if (entity instanceof WorkOrder workOrder) {
+            workOrder.rememberStoredStatus();
+        }
+    }
+
+    @PostPersist
+    public void created(Object entity) {
+        publish(ChangeType.CREATED, entity);
+    }
+
+    @PostUpdate
+    public void updated(Object entity) {
+        publish(ChangeType.UPDATED, entity);
+    }
+
+    @PostRemove
+    public void deleted(Object entity) {
+        publish(ChangeType.DELETED, entity);
+    }
+
+    private void publish(ChangeType type, Object entity) {
+        if (entity instanceof WorkOrder workOrder) {
+            publisher.publishEvent(WorkOrderChangedEvent.of(type, workOrder));
+            workOrder.rememberStoredStatus();
+        } else if (entity instanceof Asset asset) {
+            publisher.publishEvent(AssetChangedEvent.of(type, asset));
+        }
+    }
+}
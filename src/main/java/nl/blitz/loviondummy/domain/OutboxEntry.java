@@ -0,0 +1,58 @@
+package nl.blitz.loviondummy.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+
+/**
+ * Row of the transactional outbox: a work order change written in the same transaction as the change itself.
+ * Only mapped so the table is part of the schema; rows are written and claimed with plain JDBC by
+ * {@code nl.blitz.loviondummy.outbox}, because Hibernate does not allow persisting from inside a flush callback.
+ */
+@Entity
+@Table(name = "work_order_outbox")
+public class OutboxEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "work_order_id")
+    private Long workOrderId;
+
+    @Column(name = "event_type", nullable = false, length = 20)
+    private String eventType;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    protected OutboxEntry() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getWorkOrderId() {
+        return workOrderId;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public String getPayload() {
+        return payload;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -2,17 +2,23 @@ package nl.blitz.loviondummy.domain;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "work_orders")
+@EntityListeners(EntityChangeListener.class)
+@Table(name = "work_orders", indexes = @Index(name = "idx_work_orders_scheduled_date",
+        columnList = "scheduled_date, asset_id"))
 public class WorkOrder {
 
     @Id
@@ -28,6 +34,9 @@ public class WorkOrder {
     @Column(nullable = false)
     private String priority;
 
+    /**
+     * Indexed together with {@code asset_id} for the planning range queries, which read both from the index.
+     */
     @Column(name = "scheduled_date")
     private LocalDate scheduledDate;
 
@@ -46,6 +55,21 @@ public class WorkOrder {
     @Column(name = "validation_errors", columnDefinition = "TEXT")
     private String validationErrors;
 
+    /**
+     * Optimistic lock for status transitions. The column default keeps plain JDBC inserts (snapshots, benchmarks)
+     * working without a value.
+     */
+    @Version
+    @Column(nullable = false, columnDefinition = "BIGINT DEFAULT 0 NOT NULL")
+    private long version;
+
+    /**
+     * Status as last read from or written to the database, kept by {@link EntityChangeListener} so change events
+     * can tell a status change from other updates.
+     */
+    @Transient
+    private String storedStatus;
+
     public Long getId() {
         return id;
     }
@@ -121,6 +145,27 @@ public class WorkOrder {
     public void setValidationErrors(String validationErrors) {
         this.validationErrors = validationErrors;
     }
-}
 
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Read-only copy of a work order that was moved out of the table into the archive. It is never managed, so it
+     * must not be passed to the entity manager.
+     */
+    public static WorkOrder archived(Long id, long version) {
+        WorkOrder workOrder = new WorkOrder();
+        workOrder.id = id;
+        workOrder.version = version;
+        return workOrder;
+    }
 
+    String getStoredStatus() {
+        return storedStatus;
+    }
+
+    void rememberStoredStatus() {
+        this.storedStatus = status;
+    }
+}
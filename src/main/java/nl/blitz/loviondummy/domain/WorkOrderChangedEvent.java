@@ -0,0 +1,31 @@
+package nl.blitz.loviondummy.domain;
+
+import java.time.LocalDate;
+
+/**
+ * Published by {@link EntityChangeListener} whenever a work order is inserted, updated or deleted.
+ * Carries a snapshot of the fields consumers need, so they do not have to touch the entity. {@code previousStatus}
+ * is the status before an update ({@code null} for inserts); {@code version} is the version after the change.
+ */
+public record WorkOrderChangedEvent(
+        ChangeType type,
+        Long workOrderId,
+        String externalWorkOrderId,
+        String status,
+        String previousStatus,
+        Long assetId,
+        String description,
+        String workType,
+        String priority,
+        LocalDate scheduledDate,
+        long version) {
+
+    static WorkOrderChangedEvent of(ChangeType type, WorkOrder workOrder) {
+        // getId() on a lazy asset proxy does not initialize it
+        Long assetId = workOrder.getAsset() != null ? workOrder.getAsset().getId() : null;
+        return new WorkOrderChangedEvent(type, workOrder.getId(), workOrder.getExternalWorkOrderId(),
+                workOrder.getStatus(), workOrder.getStoredStatus(), assetId, workOrder.getDescription(),
+                workOrder.getWorkType(), workOrder.getPriority(), workOrder.getScheduledDate(),
+                workOrder.getVersion());
+    }
+}
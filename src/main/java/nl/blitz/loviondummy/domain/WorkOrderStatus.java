@@ -0,0 +1,91 @@
+package nl.blitz.loviondummy.domain;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Lifecycle of a work order, with the values of {@code StatusEnum} in common-types.xsd.
+ * <pre>
+ * PENDING -> SCHEDULED -> IN_PROGRESS -> COMPLETED
+ *    ^          |  ^           |
+ *    +----------+  +-----------+  (unschedule / suspend)
+ * PENDING, SCHEDULED, IN_PROGRESS -> CANCELLED
+ * </pre>
+ * COMPLETED and CANCELLED are final.
+ */
+public enum WorkOrderStatus {
+
+    PENDING,
+    SCHEDULED,
+    IN_PROGRESS,
+    COMPLETED,
+    CANCELLED;
+
+    public Set<WorkOrderStatus> next() {
+        return switch (this) {
+            case PENDING -> EnumSet.of(SCHEDULED, CANCELLED);
+            case SCHEDULED -> EnumSet.of(IN_PROGRESS, PENDING, CANCELLED);
+            case IN_PROGRESS -> EnumSet.of(COMPLETED, SCHEDULED, CANCELLED);
+            case COMPLETED, CANCELLED -> EnumSet.noneOf(WorkOrderStatus.class);
+        };
+    }
+
+    public boolean canTransitionTo(WorkOrderStatus target) {
+        return next().contains(target);
+    }
+
+    public boolean isFinal() {
+        return next().isEmpty();
+    }
+
+    /**
+     * Parses a requested status; only the lifecycle values are accepted (case-insensitive).
+     *
+     * @throws IllegalArgumentException for anything else
+     */
+    public static WorkOrderStatus parse(String value) {
+        if (value != null) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ignored) {
+                // reported below with the allowed values
+            }
+        }
+        throw new IllegalArgumentException("Unknown work order status: " + value
+                + " (expected one of PENDING, SCHEDULED, IN_PROGRESS, COMPLETED, CANCELLED)");
+    }
+
+    /**
+     * The stored values that {@link #fromStored} reads as this status, for queries on the status column.
+     */
+    public Set<String> storedValues() {
+        return switch (this) {
+            case PENDING -> Set.of("PENDING", "NEW");
+            case SCHEDULED -> Set.of("SCHEDULED", "PLANNED");
+            case IN_PROGRESS -> Set.of("IN_PROGRESS");
+            case COMPLETED -> Set.of("COMPLETED", "DONE");
+            case CANCELLED -> Set.of("CANCELLED");
+        };
+    }
+
+    /**
+     * Reads a stored status. Older data (and file databases seeded before the lifecycle existed) still holds
+     * NEW, PLANNED and DONE, which map to PENDING, SCHEDULED and COMPLETED.
+     *
+     * @return {@code null} when the stored value is not a lifecycle status at all
+     */
+    public static WorkOrderStatus fromStored(String value) {
+        if (value == null) {
+            return null;
+        }
+        return switch (value.trim().toUpperCase(Locale.ROOT)) {
+            case "PENDING", "NEW" -> PENDING;
+            case "SCHEDULED", "PLANNED" -> SCHEDULED;
+            case "IN_PROGRESS" -> IN_PROGRESS;
+            case "COMPLETED", "DONE" -> COMPLETED;
+            case "CANCELLED" -> CANCELLED;
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,44 @@
+package nl.blitz.loviondummy.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class CalendarBucketDto {
+
+    private LocalDate start;
+    private LocalDate end;
+    private int count;
+    private List<CalendarGroupDto> assetTypes;
+
+    public LocalDate getStart() {
+        return start;
+    }
+
+    public void setStart(LocalDate start) {
+        this.start = start;
+    }
+
+    public LocalDate getEnd() {
+        return end;
+    }
+
+    public void setEnd(LocalDate end) {
+        this.end = end;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+
+    public List<CalendarGroupDto> getAssetTypes() {
+        return assetTypes;
+    }
+
+    public void setAssetTypes(List<CalendarGroupDto> assetTypes) {
+        this.assetTypes = assetTypes;
+    }
+}
@@ -0,0 +1,53 @@
+package nl.blitz.loviondummy.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class CalendarDto {
+
+    private LocalDate from;
+    private LocalDate to;
+    private String granularity;
+    private int total;
+    private List<CalendarBucketDto> buckets;
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+
+    public String getGranularity() {
+        return granularity;
+    }
+
+    public void setGranularity(String granularity) {
+        this.granularity = granularity;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public List<CalendarBucketDto> getBuckets() {
+        return buckets;
+    }
+
+    public void setBuckets(List<CalendarBucketDto> buckets) {
+        this.buckets = buckets;
+    }
+}
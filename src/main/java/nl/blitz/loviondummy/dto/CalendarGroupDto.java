@@ -0,0 +1,34 @@
+package nl.blitz.loviondummy.dto;
+
+import java.util.List;
+
+public class CalendarGroupDto {
+
+    private String assetType;
+    private int count;
+    private List<Long> workOrderIds;
+
+    public String getAssetType() {
+        return assetType;
+    }
+
+    public void setAssetType(String assetType) {
+        this.assetType = assetType;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+
+    public List<Long> getWorkOrderIds() {
+        return workOrderIds;
+    }
+
+    public void setWorkOrderIds(List<Long> workOrderIds) {
+        this.workOrderIds = workOrderIds;
+    }
+}
@@ -0,0 +1,53 @@
+package nl.blitz.loviondummy.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class CrewDayPlanDto {
+
+    private String crew;
+    private LocalDate date;
+    private int workMinutes;
+    private int travelMinutes;
+    private List<PlannedStopDto> stops;
+
+    public String getCrew() {
+        return crew;
+    }
+
+    public void setCrew(String crew) {
+        this.crew = crew;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public int getWorkMinutes() {
+        return workMinutes;
+    }
+
+    public void setWorkMinutes(int workMinutes) {
+        this.workMinutes = workMinutes;
+    }
+
+    public int getTravelMinutes() {
+        return travelMinutes;
+    }
+
+    public void setTravelMinutes(int travelMinutes) {
+        this.travelMinutes = travelMinutes;
+    }
+
+    public List<PlannedStopDto> getStops() {
+        return stops;
+    }
+
+    public void setStops(List<PlannedStopDto> stops) {
+        this.stops = stops;
+    }
+}
@@ -0,0 +1,23 @@
+package nl.blitz.loviondummy.dto;
+
+public class CrewDto {
+
+    private String name;
+    private int minutesPerDay;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getMinutesPerDay() {
+        return minutesPerDay;
+    }
+
+    public void setMinutesPerDay(int minutesPerDay) {
+        this.minutesPerDay = minutesPerDay;
+    }
+}
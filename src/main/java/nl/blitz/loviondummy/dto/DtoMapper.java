@@ -1,10 +1,25 @@
 package nl.blitz.loviondummy.dto;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import nl.blitz.loviondummy.domain.Asset;
+import nl.blitz.loviondummy.domain.ValidationRule;
 import nl.blitz.loviondummy.domain.WorkOrder;
+import nl.blitz.loviondummy.feed.WorkOrderFeedEvent;
+import nl.blitz.loviondummy.jfr.DtoMappingEvent;
+import nl.blitz.loviondummy.repository.projection.AssetRow;
+import nl.blitz.loviondummy.repository.projection.WorkOrderRow;
+import nl.blitz.loviondummy.repository.projection.WorkOrderSummaryRow;
+import nl.blitz.loviondummy.scheduling.CrewSchedulingService;
+import nl.blitz.loviondummy.search.SearchResult;
+import nl.blitz.loviondummy.service.WorkOrderCalendarService;
+import nl.blitz.loviondummy.service.WorkOrderLookupService;
+import nl.blitz.loviondummy.service.WorkOrderStatusService;
 
 public final class DtoMapper {
 
@@ -23,11 +38,17 @@ public final class DtoMapper {
     }
 
     public static AssetSummaryDto toAssetSummary(Asset asset) {
-        AssetSummaryDto dto = new AssetSummaryDto();
-        dto.setId(asset.getId());
-        dto.setExternalAssetRef(asset.getExternalAssetRef());
-        dto.setType(asset.getType());
-        dto.setLocation(asset.getLocation());
+        return new AssetSummaryDto(asset.getId(), asset.getExternalAssetRef(), asset.getType(), asset.getLocation());
+    }
+
+    public static ValidationRuleDto toValidationRuleDto(ValidationRule rule) {
+        ValidationRuleDto dto = new ValidationRuleDto();
+        dto.setId(rule.getId());
+        dto.setRuleName(rule.getRuleName());
+        dto.setRuleType(rule.getRuleType());
+        dto.setRuleExpression(rule.getRuleExpression());
+        dto.setSeverity(rule.getSeverity());
+        dto.setActive(rule.getIsActive());
         return dto;
     }
 
@@ -54,6 +75,225 @@ public final class DtoMapper {
         return dto;
     }
 
+    public static WorkOrderDto toWorkOrderDto(WorkOrderRow row) {
+        return toWorkOrderDto(row, row.hasAsset() ? toAssetSummary(row) : null);
+    }
+
+    /**
+     * Maps a work-order list. Lists are usually skewed towards a few assets, so each asset summary is created once
+     * per list and shared by all its work orders instead of allocated per row.
+     */
+    public static List<WorkOrderDto> toWorkOrderDtos(List<WorkOrderRow> rows) {
+        DtoMappingEvent event = DtoMappingEvent.start();
+        Map<Long, AssetSummaryDto> assets = new HashMap<>();
+        List<WorkOrderDto> result = new ArrayList<>(rows.size());
+        for (WorkOrderRow row : rows) {
+            result.add(toWorkOrderDto(row, sharedAssetSummary(assets, row)));
+        }
+        event.finish("WorkOrderRow->WorkOrderDto", result.size());
+        return result;
+    }
+
+    /**
+     * One result per requested id, with the same asset sharing as {@link #toWorkOrderDtos}.
+     */
+    public static WorkOrderLookupResultDto toWorkOrderLookupResultDto(List<WorkOrderLookupService.Lookup> lookups) {
+        DtoMappingEvent event = DtoMappingEvent.start();
+        Map<Long, AssetSummaryDto> assets = new HashMap<>();
+        List<WorkOrderLookupDto> results = new ArrayList<>(lookups.size());
+        int found = 0;
+        for (WorkOrderLookupService.Lookup lookup : lookups) {
+            WorkOrderLookupDto dto = new WorkOrderLookupDto();
+            dto.setExternalWorkOrderId(lookup.externalWorkOrderId());
+            dto.setFound(lookup.found());
+            if (lookup.found()) {
+                dto.setWorkOrder(toWorkOrderDto(lookup.row(), sharedAssetSummary(assets, lookup.row())));
+                found++;
+            }
+            results.add(dto);
+        }
+        WorkOrderLookupResultDto dto = new WorkOrderLookupResultDto();
+        dto.setFound(found);
+        dto.setMissing(lookups.size() - found);
+        dto.setResults(results);
+        event.finish("Lookup->WorkOrderLookupDto", lookups.size());
+        return dto;
+    }
+
+    public static CalendarDto toCalendarDto(WorkOrderCalendarService.Calendar calendar) {
+        List<CalendarBucketDto> buckets = new ArrayList<>(calendar.buckets().size());
+        for (WorkOrderCalendarService.Bucket bucket : calendar.buckets()) {
+            List<CalendarGroupDto> groups = new ArrayList<>(bucket.groups().size());
+            for (WorkOrderCalendarService.Group group : bucket.groups()) {
+                CalendarGroupDto dto = new CalendarGroupDto();
+                dto.setAssetType(group.assetType());
+                dto.setCount(group.count());
+                dto.setWorkOrderIds(group.workOrderIds());
+                groups.add(dto);
+            }
+            CalendarBucketDto dto = new CalendarBucketDto();
+            dto.setStart(bucket.start());
+            dto.setEnd(bucket.end());
+            dto.setCount(bucket.count());
+            dto.setAssetTypes(groups);
+            buckets.add(dto);
+        }
+        CalendarDto dto = new CalendarDto();
+        dto.setFrom(calendar.from());
+        dto.setTo(calendar.to());
+        dto.setGranularity(calendar.granularity().name());
+        dto.setTotal(calendar.total());
+        dto.setBuckets(buckets);
+        return dto;
+    }
+
+    public static CrewSchedulingService.Request toScheduleRequest(ScheduleRequestDto dto) {
+        List<CrewSchedulingService.Crew> crews = dto.getCrews() == null ? null : dto.getCrews().stream()
+                .map(crew -> new CrewSchedulingService.Crew(crew.getName(), crew.getMinutesPerDay()))
+                .toList();
+        return new CrewSchedulingService.Request(dto.getFrom(), dto.getDays(), dto.isIncludeWeekends(), crews,
+                dto.getTimeLimitMs());
+    }
+
+    public static SchedulePlanDto toSchedulePlanDto(CrewSchedulingService.Plan plan) {
+        List<CrewDayPlanDto> crewDays = new ArrayList<>(plan.crewDays().size());
+        for (CrewSchedulingService.CrewDay crewDay : plan.crewDays()) {
+            List<PlannedStopDto> stops = new ArrayList<>(crewDay.stops().size());
+            for (CrewSchedulingService.Stop stop : crewDay.stops()) {
+                PlannedStopDto dto = new PlannedStopDto();
+                dto.setWorkOrderId(stop.workOrderId());
+                dto.setExternalWorkOrderId(stop.externalWorkOrderId());
+                dto.setPriority(stop.priority());
+                dto.setLocation(stop.location());
+                dto.setMinutes(stop.minutes());
+                stops.add(dto);
+            }
+            CrewDayPlanDto dto = new CrewDayPlanDto();
+            dto.setCrew(crewDay.crew());
+            dto.setDate(crewDay.date());
+            dto.setWorkMinutes(crewDay.workMinutes());
+            dto.setTravelMinutes(crewDay.travelMinutes());
+            dto.setStops(stops);
+            crewDays.add(dto);
+        }
+        SchedulePlanDto dto = new SchedulePlanDto();
+        dto.setFrom(plan.from());
+        dto.setTo(plan.to());
+        dto.setWorkOrders(plan.workOrders());
+        dto.setPlanned(plan.planned());
+        dto.setUnplannedUrgent(plan.unplannedUrgent());
+        dto.setTravelMinutes(plan.travelMinutes());
+        dto.setCost(plan.cost());
+        dto.setMoves(plan.moves());
+        dto.setRounds(plan.rounds());
+        dto.setElapsedMs(plan.elapsedMs());
+        dto.setCrewDays(crewDays);
+        dto.setUnplannedWorkOrderIds(plan.unplannedWorkOrderIds());
+        return dto;
+    }
+
+    private static AssetSummaryDto sharedAssetSummary(Map<Long, AssetSummaryDto> assets, WorkOrderRow row) {
+        if (row.assetId() != null) {
+            return assets.computeIfAbsent(row.assetId(), id -> toAssetSummary(row));
+        }
+        return row.hasAsset() ? toAssetSummary(row) : null;
+    }
+
+    private static WorkOrderDto toWorkOrderDto(WorkOrderRow row, AssetSummaryDto asset) {
+        WorkOrderDto dto = new WorkOrderDto();
+        dto.setId(row.id());
+        dto.setExternalWorkOrderId(row.externalWorkOrderId());
+        dto.setWorkType(row.workType());
+        dto.setPriority(row.priority());
+        dto.setScheduledDate(row.scheduledDate());
+        dto.setStatus(row.status());
+        dto.setDescription(row.description());
+        dto.setAsset(asset);
+        return dto;
+    }
+
+    private static AssetSummaryDto toAssetSummary(WorkOrderRow row) {
+        return new AssetSummaryDto(row.assetId(), row.assetExternalRef(), row.assetType(), row.assetLocation());
+    }
+
+    /**
+     * Builds the asset list from projection rows; summaries are attached to their asset by asset id.
+     */
+    public static List<AssetDto> toAssetDtos(List<AssetRow> assets, List<WorkOrderSummaryRow> summaries) {
+        DtoMappingEvent event = DtoMappingEvent.start();
+        Map<Long, List<WorkOrderSummaryDto>> summariesByAsset = new HashMap<>();
+        for (WorkOrderSummaryRow row : summaries) {
+            WorkOrderSummaryDto dto = new WorkOrderSummaryDto();
+            dto.setId(row.id());
+            dto.setExternalWorkOrderId(row.externalWorkOrderId());
+            dto.setStatus(row.status());
+            summariesByAsset.computeIfAbsent(row.assetId(), id -> new ArrayList<>()).add(dto);
+        }
+        List<AssetDto> result = new ArrayList<>(assets.size());
+        for (AssetRow row : assets) {
+            AssetDto dto = toAssetDto(row);
+            dto.setWorkOrders(summariesByAsset.getOrDefault(row.id(), Collections.emptyList()));
+            result.add(dto);
+        }
+        event.finish("AssetRow->AssetDto", result.size());
+        return result;
+    }
+
+    public static AssetDto toAssetDto(AssetRow row) {
+        AssetDto dto = new AssetDto();
+        dto.setId(row.id());
+        dto.setExternalAssetRef(row.externalAssetRef());
+        dto.setType(row.type());
+        dto.setDescription(row.description());
+        dto.setLocation(row.location());
+        return dto;
+    }
+
+    public static <R, T> SearchResultDto<T> toSearchResultDto(String query, int page, int size,
+                                                             SearchResult<R> result, Function<R, T> mapper) {
+        DtoMappingEvent event = DtoMappingEvent.start();
+        SearchResultDto<T> dto = new SearchResultDto<>();
+        dto.setQuery(query);
+        dto.setTotal(result.total());
+        dto.setPage(page);
+        dto.setSize(size);
+        dto.setResults(result.hits().stream().map(hit -> {
+            SearchHitDto<T> hitDto = new SearchHitDto<>();
+            hitDto.setScore(hit.score());
+            hitDto.setItem(mapper.apply(hit.row()));
+            return hitDto;
+        }).toList());
+        event.finish("SearchResult->SearchResultDto", dto.getResults().size());
+        return dto;
+    }
+
+    public static StatusTransitionResultDto toStatusTransitionResultDto(WorkOrderStatusService.Result result) {
+        StatusTransitionResultDto dto = new StatusTransitionResultDto();
+        dto.setId(result.id());
+        dto.setExternalWorkOrderId(result.externalWorkOrderId());
+        dto.setPreviousStatus(result.previousStatus());
+        dto.setStatus(result.status());
+        dto.setVersion(result.version());
+        dto.setOutcome(result.outcome().name());
+        dto.setMessage(result.message());
+        return dto;
+    }
+
+    public static WorkOrderEventDto toWorkOrderEventDto(WorkOrderFeedEvent event) {
+        WorkOrderEventDto dto = new WorkOrderEventDto();
+        dto.setSequence(event.sequence());
+        dto.setType(event.type().name());
+        dto.setTime(event.time());
+        dto.setWorkOrderId(event.change().workOrderId());
+        dto.setExternalWorkOrderId(event.change().externalWorkOrderId());
+        dto.setStatus(event.change().status());
+        if (event.type() == WorkOrderFeedEvent.Type.STATUS_CHANGED) {
+            dto.setPreviousStatus(event.change().previousStatus());
+        }
+        dto.setAssetId(event.change().assetId());
+        return dto;
+    }
+
     private static List<WorkOrderSummaryDto> toWorkOrderSummaryList(List<WorkOrder> workOrders) {
         if (workOrders == null) {
             return Collections.emptyList();
@@ -0,0 +1,50 @@
+package nl.blitz.loviondummy.dto;
+
+public class PlannedStopDto {
+
+    private Long workOrderId;
+    private String externalWorkOrderId;
+    private String priority;
+    private String location;
+    private int minutes;
+
+    public Long getWorkOrderId() {
+        return workOrderId;
+    }
+
+    public void setWorkOrderId(Long workOrderId) {
+        this.workOrderId = workOrderId;
+    }
+
+    public String getExternalWorkOrderId() {
+        return externalWorkOrderId;
+    }
+
+    public void setExternalWorkOrderId(String externalWorkOrderId) {
+        this.externalWorkOrderId = externalWorkOrderId;
+    }
+
+    public String getPriority() {
+        return priority;
+    }
+
+    public void setPriority(String priority) {
+        this.priority = priority;
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    public int getMinutes() {
+        return minutes;
+    }
+
+    public void setMinutes(int minutes) {
+        this.minutes = minutes;
+    }
+}
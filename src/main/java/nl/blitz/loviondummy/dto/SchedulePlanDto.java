@@ -0,0 +1,116 @@
+package nl.blitz.loviondummy.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class SchedulePlanDto {
+
+    private LocalDate from;
+    private LocalDate to;
+    private int workOrders;
+    private int planned;
+    private int unplannedUrgent;
+    private long travelMinutes;
+    private long cost;
+    private long moves;
+    private int rounds;
+    private long elapsedMs;
+    private List<CrewDayPlanDto> crewDays;
+    private List<Long> unplannedWorkOrderIds;
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+
+    public int getWorkOrders() {
+        return workOrders;
+    }
+
+    public void setWorkOrders(int workOrders) {
+        this.workOrders = workOrders;
+    }
+
+    public int getPlanned() {
+        return planned;
+    }
+
+    public void setPlanned(int planned) {
+        this.planned = planned;
+    }
+
+    public int getUnplannedUrgent() {
+        return unplannedUrgent;
+    }
+
+    public void setUnplannedUrgent(int unplannedUrgent) {
+        this.unplannedUrgent = unplannedUrgent;
+    }
+
+    public long getTravelMinutes() {
+        return travelMinutes;
+    }
+
+    public void setTravelMinutes(long travelMinutes) {
+        this.travelMinutes = travelMinutes;
+    }
+
+    public long getCost() {
+        return cost;
+    }
+
+    public void setCost(long cost) {
+        this.cost = cost;
+    }
+
+    public long getMoves() {
+        return moves;
+    }
+
+    public void setMoves(long moves) {
+        this.moves = moves;
+    }
+
+    public int getRounds() {
+        return rounds;
+    }
+
+    public void setRounds(int rounds) {
+        this.rounds = rounds;
+    }
+
+    public long getElapsedMs() {
+        return elapsedMs;
+    }
+
+    public void setElapsedMs(long elapsedMs) {
+        this.elapsedMs = elapsedMs;
+    }
+
+    public List<CrewDayPlanDto> getCrewDays() {
+        return crewDays;
+    }
+
+    public void setCrewDays(List<CrewDayPlanDto> crewDays) {
+        this.crewDays = crewDays;
+    }
+
+    public List<Long> getUnplannedWorkOrderIds() {
+        return unplannedWorkOrderIds;
+    }
+
+    public void setUnplannedWorkOrderIds(List<Long> unplannedWorkOrderIds) {
+        this.unplannedWorkOrderIds = unplannedWorkOrderIds;
+    }
+}
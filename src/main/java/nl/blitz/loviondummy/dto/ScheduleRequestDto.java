@@ -0,0 +1,57 @@
+package nl.blitz.loviondummy.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Body of {@code POST /api/schedule}: {@code days} work days from {@code from} (weekends only with
+ * {@code includeWeekends}) for the given crews; {@code timeLimitMs} is optional.
+ */
+public class ScheduleRequestDto {
+
+    private LocalDate from;
+    private int days;
+    private boolean includeWeekends;
+    private Long timeLimitMs;
+    private List<CrewDto> crews;
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    public void setDays(int days) {
+        this.days = days;
+    }
+
+    public boolean isIncludeWeekends() {
+        return includeWeekends;
+    }
+
+    public void setIncludeWeekends(boolean includeWeekends) {
+        this.includeWeekends = includeWeekends;
+    }
+
+    public Long getTimeLimitMs() {
+        return timeLimitMs;
+    }
+
+    public void setTimeLimitMs(Long timeLimitMs) {
+        this.timeLimitMs = timeLimitMs;
+    }
+
+    public List<CrewDto> getCrews() {
+        return crews;
+    }
+
+    public void setCrews(List<CrewDto> crews) {
+        this.crews = crews;
+    }
+}
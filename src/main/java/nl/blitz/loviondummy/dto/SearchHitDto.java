@@ -0,0 +1,23 @@
+package nl.blitz.loviondummy.dto;
+
+public class SearchHitDto<T> {
+
+    private float score;
+    private T item;
+
+    public float getScore() {
+        return score;
+    }
+
+    public void setScore(float score) {
+        this.score = score;
+    }
+
+    public T getItem() {
+        return item;
+    }
+
+    public void setItem(T item) {
+        this.item = item;
+    }
+}
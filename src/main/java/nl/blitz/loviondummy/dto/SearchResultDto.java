@@ -0,0 +1,52 @@
+package nl.blitz.loviondummy.dto;
+
+import java.util.List;
+
+public class SearchResultDto<T> {
+
+    private String query;
+    private int total;
+    private int page;
+    private int size;
+    private List<SearchHitDto<T>> results;
+
+    public String getQuery() {
+        return query;
+    }
+
+    public void setQuery(String query) {
+        this.query = query;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public void setPage(int page) {
+        this.page = page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public List<SearchHitDto<T>> getResults() {
+        return results;
+    }
+
+    public void setResults(List<SearchHitDto<T>> results) {
+        this.results = results;
+    }
+}
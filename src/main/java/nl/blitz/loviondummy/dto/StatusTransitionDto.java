@@ -0,0 +1,45 @@
+package nl.blitz.loviondummy.dto;
+
+/**
+ * Requested status change. In a batch the work order is given by {@code id} or {@code externalWorkOrderId};
+ * {@code expectedVersion} is optional.
+ */
+public class StatusTransitionDto {
+
+    private Long id;
+    private String externalWorkOrderId;
+    private String status;
+    private Long expectedVersion;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getExternalWorkOrderId() {
+        return externalWorkOrderId;
+    }
+
+    public void setExternalWorkOrderId(String externalWorkOrderId) {
+        this.externalWorkOrderId = externalWorkOrderId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Long getExpectedVersion() {
+        return expectedVersion;
+    }
+
+    public void setExpectedVersion(Long expectedVersion) {
+        this.expectedVersion = expectedVersion;
+    }
+}
@@ -0,0 +1,68 @@
+package nl.blitz.loviondummy.dto;
+
+public class StatusTransitionResultDto {
+
+    private Long id;
+    private String externalWorkOrderId;
+    private String previousStatus;
+    private String status;
+    private Long version;
+    private String outcome;
+    private String message;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getExternalWorkOrderId() {
+        return externalWorkOrderId;
+    }
+
+    public void setExternalWorkOrderId(String externalWorkOrderId) {
+        this.externalWorkOrderId = externalWorkOrderId;
+    }
+
+    public String getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public void setPreviousStatus(String previousStatus) {
+        this.previousStatus = previousStatus;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public String getOutcome() {
+        return outcome;
+    }
+
+    public void setOutcome(String outcome) {
+        this.outcome = outcome;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
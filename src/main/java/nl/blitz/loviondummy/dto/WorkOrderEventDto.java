@@ -0,0 +1,83 @@
+package nl.blitz.loviondummy.dto;
+
+import java.time.Instant;
+
+/**
+ * Change feed entry. {@code type} is CREATED, UPDATED, STATUS_CHANGED or DELETED; {@code previousStatus} is only
+ * set for STATUS_CHANGED.
+ */
+public class WorkOrderEventDto {
+
+    private long sequence;
+    private String type;
+    private Instant time;
+    private Long workOrderId;
+    private String externalWorkOrderId;
+    private String status;
+    private String previousStatus;
+    private Long assetId;
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Instant getTime() {
+        return time;
+    }
+
+    public void setTime(Instant time) {
+        this.time = time;
+    }
+
+    public Long getWorkOrderId() {
+        return workOrderId;
+    }
+
+    public void setWorkOrderId(Long workOrderId) {
+        this.workOrderId = workOrderId;
+    }
+
+    public String getExternalWorkOrderId() {
+        return externalWorkOrderId;
+    }
+
+    public void setExternalWorkOrderId(String externalWorkOrderId) {
+        this.externalWorkOrderId = externalWorkOrderId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public void setPreviousStatus(String previousStatus) {
+        this.previousStatus = previousStatus;
+    }
+
+    public Long getAssetId() {
+        return assetId;
+    }
+
+    public void setAssetId(Long assetId) {
+        this.assetId = assetId;
+    }
+}
@@ -0,0 +1,32 @@
+package nl.blitz.loviondummy.dto;
+
+public class WorkOrderLookupDto {
+
+    private String externalWorkOrderId;
+    private boolean found;
+    private WorkOrderDto workOrder;
+
+    public String getExternalWorkOrderId() {
+        return externalWorkOrderId;
+    }
+
+    public void setExternalWorkOrderId(String externalWorkOrderId) {
+        this.externalWorkOrderId = externalWorkOrderId;
+    }
+
+    public boolean isFound() {
+        return found;
+    }
+
+    public void setFound(boolean found) {
+        this.found = found;
+    }
+
+    public WorkOrderDto getWorkOrder() {
+        return workOrder;
+    }
+
+    public void setWorkOrder(WorkOrderDto workOrder) {
+        this.workOrder = workOrder;
+    }
+}
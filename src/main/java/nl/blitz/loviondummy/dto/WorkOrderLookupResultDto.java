@@ -0,0 +1,34 @@
+package nl.blitz.loviondummy.dto;
+
+import java.util.List;
+
+public class WorkOrderLookupResultDto {
+
+    private int found;
+    private int missing;
+    private List<WorkOrderLookupDto> results;
+
+    public int getFound() {
+        return found;
+    }
+
+    public void setFound(int found) {
+        this.found = found;
+    }
+
+    public int getMissing() {
+        return missing;
+    }
+
+    public void setMissing(int missing) {
+        this.missing = missing;
+    }
+
+    public List<WorkOrderLookupDto> getResults() {
+        return results;
+    }
+
+    public void setResults(List<WorkOrderLookupDto> results) {
+        this.results = results;
+    }
+}
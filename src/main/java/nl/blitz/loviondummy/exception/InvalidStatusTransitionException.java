@@ -0,0 +1,18 @@
+package nl.blitz.loviondummy.exception;
+
+/**
+ * Thrown when a requested status change is not allowed by the work order lifecycle.
+ */
+public class InvalidStatusTransitionException extends RuntimeException {
+
+    private final String currentStatus;
+
+    public InvalidStatusTransitionException(String message, String currentStatus) {
+        super(message);
+        this.currentStatus = currentStatus;
+    }
+
+    public String getCurrentStatus() {
+        return currentStatus;
+    }
+}
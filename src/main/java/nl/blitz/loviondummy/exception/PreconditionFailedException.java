@@ -0,0 +1,11 @@
+package nl.blitz.loviondummy.exception;
+
+/**
+ * Thrown when a conditional request ({@code If-Match}) no longer matches the current version.
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,18 @@
+package nl.blitz.loviondummy.exception;
+
+/**
+ * Thrown when a request is shed instead of served: its queue is full or its deadline passed.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final int retryAfterSeconds;
+
+    public ServiceOverloadedException(String message, int retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
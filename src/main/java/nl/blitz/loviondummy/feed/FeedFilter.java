@@ -0,0 +1,38 @@
+package nl.blitz.loviondummy.feed;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Which events a subscriber wants. A status filter also matches a change away from that status, so a client
+ * following "SCHEDULED" sees work orders leave the set. Empty filters match everything.
+ */
+public record FeedFilter(Set<String> statuses, Long assetId) {
+
+    public static final FeedFilter ALL = new FeedFilter(Set.of(), null);
+
+    /**
+     * @param statuses comma-separated, case-insensitive; {@code null} or blank for all
+     */
+    public static FeedFilter of(String statuses, Long assetId) {
+        Set<String> parsed = statuses == null ? Set.of() : Arrays.stream(statuses.split(","))
+                .map(status -> status.trim().toUpperCase(Locale.ROOT))
+                .filter(status -> !status.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        return new FeedFilter(parsed, assetId);
+    }
+
+    public boolean matches(WorkOrderFeedEvent event) {
+        if (assetId != null && !assetId.equals(event.change().assetId())) {
+            return false;
+        }
+        return statuses.isEmpty() || matchesStatus(event.change().status())
+                || matchesStatus(event.change().previousStatus());
+    }
+
+    private boolean matchesStatus(String status) {
+        return status != null && statuses.contains(status.toUpperCase(Locale.ROOT));
+    }
+}
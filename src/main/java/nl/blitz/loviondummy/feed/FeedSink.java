@@ -0,0 +1,25 @@
+package nl.blitz.loviondummy.feed;
+
+import java.io.IOException;
+
+/**
+ * Transport of one subscriber (an SSE connection). Called from the feed's sender threads, never concurrently for
+ * the same subscriber.
+ */
+public interface FeedSink {
+
+    void send(WorkOrderFeedEvent event) throws IOException;
+
+    /**
+     * The subscriber missed events (resume point too old, or too many to replay) and should reload the work orders
+     * it follows; the feed continues after {@code sequence}.
+     */
+    void resync(long sequence) throws IOException;
+
+    void heartbeat() throws IOException;
+
+    /**
+     * Ends the connection; {@code reason} is {@code null} for a normal shutdown.
+     */
+    void close(String reason);
+}
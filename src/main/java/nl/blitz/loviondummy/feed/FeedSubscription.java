@@ -0,0 +1,128 @@
+package nl.blitz.loviondummy.feed;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * One subscriber: a bounded buffer between the publishing thread and the subscriber's connection. The publisher
+ * only enqueues; a sender thread drains the buffer into the {@link FeedSink}. When the buffer is full the subscriber
+ * is too slow and gets disconnected instead of holding up the feed or growing without bound.
+ */
+public final class FeedSubscription {
+
+    private static final Object HEARTBEAT = new Object();
+
+    private record Resync(long sequence) {
+    }
+
+    private final FeedSink sink;
+    private final FeedFilter filter;
+    private final BlockingQueue<Object> buffer;
+    private final Executor senders;
+    private final Consumer<FeedSubscription> onClose;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    FeedSubscription(FeedSink sink, FeedFilter filter, int bufferSize, Executor senders,
+                     Consumer<FeedSubscription> onClose) {
+        this.sink = sink;
+        this.filter = filter;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        this.senders = senders;
+        this.onClose = onClose;
+    }
+
+    FeedFilter filter() {
+        return filter;
+    }
+
+    int bufferSize() {
+        return buffer.remainingCapacity() + buffer.size();
+    }
+
+    /**
+     * @return {@code false} when the buffer is full
+     */
+    boolean offer(WorkOrderFeedEvent event) {
+        return enqueue(event);
+    }
+
+    boolean offerResync(long sequence) {
+        return enqueue(new Resync(sequence));
+    }
+
+    /**
+     * Keeps idle connections open through proxies and finds clients that went away without closing.
+     */
+    void heartbeat() {
+        if (buffer.isEmpty()) {
+            enqueue(HEARTBEAT);
+        }
+    }
+
+    boolean isClosed() {
+        return closed.get();
+    }
+
+    /**
+     * Closes the connection; only the first call has an effect.
+     */
+    public void close(String reason) {
+        if (closed.compareAndSet(false, true)) {
+            buffer.clear();
+            onClose.accept(this);
+            sink.close(reason);
+        }
+    }
+
+    private boolean enqueue(Object item) {
+        if (closed.get()) {
+            return true;
+        }
+        if (!buffer.offer(item)) {
+            return false;
+        }
+        scheduleDrain();
+        return true;
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            try {
+                senders.execute(this::drain);
+            } catch (RejectedExecutionException ex) {
+                // shutting down
+                draining.set(false);
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            Object item;
+            while (!closed.get() && (item = buffer.poll()) != null) {
+                if (item == HEARTBEAT) {
+                    sink.heartbeat();
+                } else if (item instanceof Resync resync) {
+                    sink.resync(resync.sequence());
+                } else {
+                    sink.send((WorkOrderFeedEvent) item);
+                }
+            }
+        } catch (IOException | RuntimeException ex) {
+            // client gone; the container reports the same through the sink's completion callbacks
+            close(null);
+        } finally {
+            draining.set(false);
+        }
+        // an item may have arrived between the last poll and resetting the flag
+        if (!buffer.isEmpty() && !closed.get()) {
+            scheduleDrain();
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package nl.blitz.loviondummy.feed;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import nl.blitz.loviondummy.domain.WorkOrderChangedEvent;
+import nl.blitz.loviondummy.exception.ServiceOverloadedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * In-process change feed of work orders, fed by the committed entity change events.
+ * <p>
+ * Every event gets the next sequence number and is kept in a fixed-size history, so subscribers can resume after
+ * a reconnect ({@code Last-Event-ID}, {@code sinceSequence}). Sequences start at the startup time in microseconds:
+ * a resume point from before a restart is older than the history and gets a resync instead of a silent gap.
+ * Push subscribers (SSE) each have a bounded buffer; long-poll callers wait on the history.
+ */
+@Service
+public class WorkOrderChangeFeed {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkOrderChangeFeed.class);
+
+    /**
+     * Events after the requested sequence, and where the next poll should continue.
+     *
+     * @param resync the requested sequence is no longer in the history; reload and continue from {@code next}
+     */
+    public record Poll(List<WorkOrderFeedEvent> events, long next, boolean resync) {
+    }
+
+    private final Object lock = new Object();
+    private final WorkOrderFeedEvent[] history;
+    private int head;
+    private int size;
+    private long lastSequence;
+
+    private final Set<FeedSubscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final int maxWaitingPolls;
+    private int waitingPolls;
+    private final ExecutorService senders;
+    private final ScheduledExecutorService heartbeats;
+    private final Counter published;
+    private final Counter evicted;
+
+    public WorkOrderChangeFeed(MeterRegistry meterRegistry,
+                               @Value("${lovion.feed.history-size:10000}") int historySize,
+                               @Value("${lovion.feed.subscriber-buffer:256}") int bufferSize,
+                               @Value("${lovion.feed.max-subscribers:1000}") int maxSubscribers,
+                               @Value("${lovion.feed.sender-threads:4}") int senderThreads,
+                               @Value("${lovion.feed.heartbeat-seconds:15}") int heartbeatSeconds,
+                               @Value("${lovion.feed.long-poll.max-waiting:50}") int maxWaitingPolls) {
+        this.history = new WorkOrderFeedEvent[historySize];
+        this.lastSequence = System.currentTimeMillis() * 1000;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.maxWaitingPolls = maxWaitingPolls;
+        AtomicInteger threads = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "feed-sender-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "feed-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeats.scheduleAtFixedRate(() -> subscriptions.forEach(FeedSubscription::heartbeat),
+                heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+        this.published = Counter.builder("lovion.feed.events").register(meterRegistry);
+        this.evicted = Counter.builder("lovion.feed.evictions").register(meterRegistry);
+        Gauge.builder("lovion.feed.subscribers", subscriptions, Set::size).register(meterRegistry);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWorkOrderChanged(WorkOrderChangedEvent change) {
+        List<FeedSubscription> slow = null;
+        synchronized (lock) {
+            WorkOrderFeedEvent event = new WorkOrderFeedEvent(++lastSequence, change, Instant.now());
+            history[head] = event;
+            head = (head + 1) % history.length;
+            size = Math.min(size + 1, history.length);
+            for (FeedSubscription subscription : subscriptions) {
+                if (subscription.filter().matches(event) && !subscription.offer(event)) {
+                    if (slow == null) {
+                        slow = new ArrayList<>();
+                    }
+                    slow.add(subscription);
+                }
+            }
+            lock.notifyAll();
+        }
+        published.increment();
+        if (slow != null) {
+            for (FeedSubscription subscription : slow) {
+                log.warn("Disconnecting slow feed subscriber, {} events buffered", subscription.bufferSize());
+                evicted.increment();
+                subscription.close("buffer full");
+            }
+        }
+    }
+
+    /**
+     * Registers a push subscriber. With {@code since} the events after it are replayed first, in order with the
+     * live ones; when they are no longer all in the history, or do not fit the buffer, a resync is sent instead.
+     *
+     * @throws ServiceOverloadedException when the maximum number of subscribers is reached
+     */
+    public FeedSubscription subscribe(FeedSink sink, FeedFilter filter, Long since) {
+        if (subscriptions.size() >= maxSubscribers) {
+            throw new ServiceOverloadedException("Too many feed subscribers", 5);
+        }
+        FeedSubscription subscription = new FeedSubscription(sink, filter, bufferSize, senders,
+                subscriptions::remove);
+        synchronized (lock) {
+            if (since != null) {
+                List<WorkOrderFeedEvent> replay = new ArrayList<>();
+                boolean complete = !isGap(since) && collect(since, filter, bufferSize + 1, replay) == lastSequence;
+                if (complete && replay.size() <= bufferSize) {
+                    replay.forEach(subscription::offer);
+                } else {
+                    subscription.offerResync(lastSequence);
+                }
+            }
+            subscriptions.add(subscription);
+        }
+        return subscription;
+    }
+
+    /**
+     * Long poll: returns the matching events after {@code since} as soon as there are any, or an empty result after
+     * {@code timeout}. Without {@code since} it waits for events from now on. When too many polls are already
+     * waiting it returns at once, so waiting callers cannot take all request threads.
+     */
+    public Poll poll(Long since, FeedFilter filter, int maxEvents, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (lock) {
+            long from = since != null ? since : lastSequence;
+            boolean waited = false;
+            while (true) {
+                if (isGap(from)) {
+                    return new Poll(List.of(), lastSequence, true);
+                }
+                List<WorkOrderFeedEvent> events = new ArrayList<>();
+                long next = collect(from, filter, maxEvents, events);
+                long remaining = deadline - System.nanoTime();
+                if (!events.isEmpty() || remaining <= 0 || (!waited && waitingPolls >= maxWaitingPolls)) {
+                    return new Poll(events, next, false);
+                }
+                from = next;
+                waited = true;
+                waitingPolls++;
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(lock, remaining);
+                } finally {
+                    waitingPolls--;
+                }
+            }
+        }
+    }
+
+    public long lastSequence() {
+        synchronized (lock) {
+            return lastSequence;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        subscriptions.forEach(subscription -> subscription.close(null));
+        senders.shutdownNow();
+    }
+
+    /**
+     * The events after {@code since} are not all in the history anymore (or {@code since} is from the future,
+     * i.e. from before a restart).
+     */
+    private boolean isGap(long since) {
+        long oldest = lastSequence - size + 1;
+        return since < oldest - 1 || since > lastSequence;
+    }
+
+    /**
+     * Adds up to {@code max} matching events after {@code since} to {@code out}.
+     *
+     * @return the sequence to continue after: the last returned event when {@code max} was reached, otherwise the
+     *         last sequence (non-matching events are skipped for good)
+     */
+    private long collect(long since, FeedFilter filter, int max, List<WorkOrderFeedEvent> out) {
+        int oldestIndex = Math.floorMod(head - size, history.length);
+        for (long sequence = since + 1; sequence <= lastSequence; sequence++) {
+            WorkOrderFeedEvent event = history[(int) ((oldestIndex + sequence - (lastSequence - size + 1))
+                    % history.length)];
+            if (filter.matches(event)) {
+                out.add(event);
+                if (out.size() == max) {
+                    return sequence;
+                }
+            }
+        }
+        return lastSequence;
+    }
+}
@@ -0,0 +1,76 @@
+package nl.blitz.loviondummy.feed;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Instant;
+import java.util.Objects;
+import nl.blitz.loviondummy.domain.ChangeType;
+import nl.blitz.loviondummy.domain.WorkOrderChangedEvent;
+import nl.blitz.loviondummy.dto.DtoMapper;
+
+/**
+ * One committed work order change in the feed, numbered by {@link #sequence()}.
+ * The JSON form is built once and shared by all SSE subscribers.
+ */
+public final class WorkOrderFeedEvent {
+
+    public enum Type {
+        CREATED, UPDATED, STATUS_CHANGED, DELETED
+    }
+
+    private final long sequence;
+    private final Type type;
+    private final WorkOrderChangedEvent change;
+    private final Instant time;
+    private volatile String json;
+
+    WorkOrderFeedEvent(long sequence, WorkOrderChangedEvent change, Instant time) {
+        this.sequence = sequence;
+        this.type = typeOf(change);
+        this.change = change;
+        this.time = time;
+    }
+
+    private static Type typeOf(WorkOrderChangedEvent change) {
+        if (change.type() == ChangeType.CREATED) {
+            return Type.CREATED;
+        }
+        if (change.type() == ChangeType.DELETED) {
+            return Type.DELETED;
+        }
+        return change.previousStatus() != null && !Objects.equals(change.previousStatus(), change.status())
+                ? Type.STATUS_CHANGED : Type.UPDATED;
+    }
+
+    public long sequence() {
+        return sequence;
+    }
+
+    public Type type() {
+        return type;
+    }
+
+    public WorkOrderChangedEvent change() {
+        return change;
+    }
+
+    public Instant time() {
+        return time;
+    }
+
+    /**
+     * The event as {@code WorkOrderEventDto} JSON; serialized on first use.
+     */
+    public String json(ObjectMapper mapper) {
+        String result = json;
+        if (result == null) {
+            try {
+                result = mapper.writeValueAsString(DtoMapper.toWorkOrderEventDto(this));
+            } catch (JsonProcessingException ex) {
+                throw new IllegalStateException("Cannot serialize feed event " + sequence, ex);
+            }
+            json = result;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,38 @@
+package nl.blitz.loviondummy.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Mapping a result list to REST DTOs or SOAP types, e.g. {@code WorkOrderRow -> WorkOrderDto}.
+ */
+@Name("nl.blitz.lovion.DtoMapping")
+@Label("DTO Mapping")
+@Category({"Lovion", "Mapping"})
+@Description("Mapping of query results to response objects")
+public class DtoMappingEvent extends Event {
+
+    @Label("Mapping")
+    String mapping;
+
+    @Label("Items")
+    int itemCount;
+
+    public static DtoMappingEvent start() {
+        DtoMappingEvent event = new DtoMappingEvent();
+        event.begin();
+        return event;
+    }
+
+    public void finish(String mapping, int itemCount) {
+        end();
+        if (shouldCommit()) {
+            this.mapping = mapping;
+            this.itemCount = itemCount;
+            commit();
+        }
+    }
+}
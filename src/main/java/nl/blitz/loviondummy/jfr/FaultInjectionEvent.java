@@ -0,0 +1,47 @@
+package nl.blitz.loviondummy.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A SOAP fault injected by the fault simulator instead of a real answer.
+ */
+@Name("nl.blitz.lovion.FaultInjection")
+@Label("Injected SOAP Fault")
+@Category({"Lovion", "SOAP"})
+@Description("SOAP fault produced by the fault simulator")
+public class FaultInjectionEvent extends Event {
+
+    @Label("Fault Type")
+    @Description("RATE_LIMIT_WINDOW, SERVICE_UNAVAILABLE, INVALID_CREDENTIALS or RATE_LIMIT")
+    String faultType;
+
+    @Label("Fault Code")
+    String faultCode;
+
+    @Label("Fault String")
+    String faultString;
+
+    @Label("Transient")
+    boolean transientFault;
+
+    public static FaultInjectionEvent start() {
+        FaultInjectionEvent event = new FaultInjectionEvent();
+        event.begin();
+        return event;
+    }
+
+    public void finish(String faultType, String faultCode, String faultString, boolean transientFault) {
+        end();
+        if (shouldCommit()) {
+            this.faultType = faultType;
+            this.faultCode = faultCode;
+            this.faultString = faultString;
+            this.transientFault = transientFault;
+            commit();
+        }
+    }
+}
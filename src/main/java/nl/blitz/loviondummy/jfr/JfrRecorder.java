@@ -0,0 +1,85 @@
+package nl.blitz.loviondummy.jfr;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Starts time-boxed flight recordings with the JDK's default settings plus the bundled {@code jfr/lovion.jfc}, so a
+ * recording of a load test shows the application events next to GC, locks and I/O.
+ */
+@Component
+public class JfrRecorder {
+
+    private static final Logger log = LoggerFactory.getLogger(JfrRecorder.class);
+
+    private static final String SETTINGS = "jfr/lovion.jfc";
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    /**
+     * A started recording; the file is written when {@code seconds} have passed.
+     */
+    public record Started(long id, String file, long seconds) {
+    }
+
+    private final Path directory;
+    private final long maxSeconds;
+
+    public JfrRecorder(@Value("${lovion.jfr.path:./data/jfr}") String path,
+                       @Value("${lovion.jfr.max-seconds:600}") long maxSeconds) {
+        this.directory = Paths.get(path).toAbsolutePath().normalize();
+        this.maxSeconds = maxSeconds;
+    }
+
+    public Started start(long seconds) throws IOException {
+        if (seconds < 1 || seconds > maxSeconds) {
+            throw new IllegalArgumentException("seconds must be between 1 and " + maxSeconds);
+        }
+        Files.createDirectories(directory);
+        Path file = directory.resolve("lovion-" + LocalDateTime.now().format(FILE_TIME) + ".jfr");
+        Recording recording = new Recording(settings());
+        recording.setName("lovion");
+        recording.setDuration(Duration.ofSeconds(seconds));
+        recording.setDestination(file);
+        recording.setToDisk(true);
+        recording.start();
+        log.info("Started JFR recording {} for {} s to {}", recording.getId(), seconds, file);
+        return new Started(recording.getId(), file.toString(), seconds);
+    }
+
+    /**
+     * Default settings overlaid with the bundled event settings.
+     */
+    static Map<String, String> settings() throws IOException {
+        Map<String, String> settings;
+        try {
+            settings = new HashMap<>(Configuration.getConfiguration("default").getSettings());
+        } catch (ParseException ex) {
+            throw new IOException("Could not read the default JFR configuration", ex);
+        }
+        try (Reader reader = new InputStreamReader(new ClassPathResource(SETTINGS).getInputStream(),
+                StandardCharsets.UTF_8)) {
+            settings.putAll(Configuration.create(reader).getSettings());
+        } catch (ParseException ex) {
+            throw new IOException("Could not read " + SETTINGS, ex);
+        }
+        return settings;
+    }
+}
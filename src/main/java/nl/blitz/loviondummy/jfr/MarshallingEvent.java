@@ -0,0 +1,50 @@
+package nl.blitz.loviondummy.jfr;
+
+import java.util.function.LongSupplier;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JAXB marshalling of a SOAP response payload or unmarshalling of a request payload.
+ */
+@Name("nl.blitz.lovion.Marshalling")
+@Label("JAXB Marshalling")
+@Category({"Lovion", "SOAP"})
+@Description("JAXB (un)marshalling of a SOAP payload")
+public class MarshallingEvent extends Event {
+
+    @Label("Operation")
+    @Description("marshal or unmarshal")
+    String operation;
+
+    @Label("Type")
+    String type;
+
+    @Label("Payload Size")
+    @Description("Size of the payload XML without attachments; -1 when not measurable")
+    @DataAmount(DataAmount.BYTES)
+    long payloadSize;
+
+    public static MarshallingEvent start() {
+        MarshallingEvent event = new MarshallingEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * The payload size is only computed for events that are recorded, after the duration has been taken.
+     */
+    public void finish(String operation, String type, LongSupplier payloadSize) {
+        end();
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.type = type;
+            this.payloadSize = payloadSize.getAsLong();
+            commit();
+        }
+    }
+}
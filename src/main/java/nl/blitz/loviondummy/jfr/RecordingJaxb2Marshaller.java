@@ -0,0 +1,44 @@
+package nl.blitz.loviondummy.jfr;
+
+import javax.xml.transform.Result;
+import javax.xml.transform.Source;
+import javax.xml.transform.dom.DOMResult;
+import org.springframework.oxm.XmlMappingException;
+import org.springframework.oxm.jaxb.Jaxb2Marshaller;
+import org.springframework.oxm.mime.MimeContainer;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+
+/**
+ * {@link Jaxb2Marshaller} that records a {@link MarshallingEvent} per payload, for endpoints that marshal through
+ * the marshaller bean themselves (the MTOM export).
+ */
+public class RecordingJaxb2Marshaller extends Jaxb2Marshaller {
+
+    @Override
+    public void marshal(Object graph, Result result, MimeContainer mimeContainer) throws XmlMappingException {
+        MarshallingEvent event = MarshallingEvent.start();
+        super.marshal(graph, result, mimeContainer);
+        event.finish("marshal", XmlPayloads.typeOf(graph),
+                () -> result instanceof DOMResult dom ? XmlPayloads.size(written(dom)) : -1);
+    }
+
+    @Override
+    public Object unmarshal(Source source, MimeContainer mimeContainer) throws XmlMappingException {
+        MarshallingEvent event = MarshallingEvent.start();
+        Object graph = super.unmarshal(source, mimeContainer);
+        event.finish("unmarshal", XmlPayloads.typeOf(graph), () -> XmlPayloads.size(source));
+        return graph;
+    }
+
+    /**
+     * The node the marshaller appended to the result node.
+     */
+    private static Node written(DOMResult result) {
+        Node node = result.getNode();
+        if (node instanceof Document document) {
+            return document.getDocumentElement();
+        }
+        return node != null ? node.getLastChild() : null;
+    }
+}
@@ -0,0 +1,77 @@
+package nl.blitz.loviondummy.jfr;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.stream.BaseStream;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.springframework.data.domain.Slice;
+
+/**
+ * One call to a Spring Data repository method, e.g. {@code WorkOrderRepository.findRowsByStatusIgnoreCase}.
+ */
+@Name("nl.blitz.lovion.RepositoryCall")
+@Label("Repository Call")
+@Category({"Lovion", "Persistence"})
+@Description("Spring Data repository method call with the number of returned rows")
+public class RepositoryCallEvent extends Event {
+
+    @Label("Repository")
+    String repository;
+
+    @Label("Query")
+    String query;
+
+    @Label("Rows")
+    @Description("Returned rows; -1 when unknown or the call failed")
+    int rowCount;
+
+    @Label("Failed")
+    boolean failed;
+
+    public static RepositoryCallEvent start() {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Ends the event; the fields are only filled in when it is recorded.
+     */
+    public void finish(String repository, String query, Object result, boolean failed) {
+        end();
+        if (shouldCommit()) {
+            this.repository = repository;
+            this.query = query;
+            this.rowCount = failed ? -1 : rows(result);
+            this.failed = failed;
+            commit();
+        }
+    }
+
+    private static int rows(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Number || result instanceof Boolean) {
+            // count, exists, modifying queries
+            return 1;
+        }
+        if (result instanceof Iterable<?> || result instanceof BaseStream<?, ?>) {
+            return -1;
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,49 @@
+package nl.blitz.loviondummy.jfr;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds a {@link RepositoryCallEvent} around every Spring Data repository method, through the same factory hook
+ * Spring Boot uses for its repository metrics. The advice sits closest to the query execution, so the event covers
+ * the query and the result mapping, not the surrounding transaction.
+ */
+@Component
+public class RepositoryEventPostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, information) -> proxyFactory.addAdvice(
+                            new RecordingInterceptor(information.getRepositoryInterface().getSimpleName()))));
+        }
+        return bean;
+    }
+
+    private static final class RecordingInterceptor implements MethodInterceptor {
+
+        private final String repository;
+
+        RecordingInterceptor(String repository) {
+            this.repository = repository;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            RepositoryCallEvent event = RepositoryCallEvent.start();
+            Object result = null;
+            boolean failed = true;
+            try {
+                result = invocation.proceed();
+                failed = false;
+                return result;
+            } finally {
+                event.finish(repository, invocation.getMethod().getName(), result, failed);
+            }
+        }
+    }
+}
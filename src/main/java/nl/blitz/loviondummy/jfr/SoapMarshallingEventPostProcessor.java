@@ -0,0 +1,72 @@
+package nl.blitz.loviondummy.jfr;
+
+import java.util.List;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.MethodParameter;
+import org.springframework.stereotype.Component;
+import org.springframework.ws.context.MessageContext;
+import org.springframework.ws.server.endpoint.adapter.DefaultMethodEndpointAdapter;
+import org.springframework.ws.server.endpoint.adapter.method.MethodArgumentResolver;
+import org.springframework.ws.server.endpoint.adapter.method.MethodReturnValueHandler;
+import org.springframework.ws.server.endpoint.adapter.method.jaxb.AbstractJaxb2PayloadMethodProcessor;
+
+/**
+ * Records a {@link MarshallingEvent} for the {@code @RequestPayload} and {@code @ResponsePayload} JAXB types of the
+ * annotated endpoints. Spring-WS binds those with its own JAXB processors, not with the marshaller bean, and custom
+ * resolvers are only asked after them, so the processors are wrapped in place once the adapter is initialized.
+ */
+@Component
+public class SoapMarshallingEventPostProcessor implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DefaultMethodEndpointAdapter adapter) {
+            adapter.setMethodArgumentResolvers(adapter.getMethodArgumentResolvers().stream()
+                    .map(resolver -> resolver instanceof AbstractJaxb2PayloadMethodProcessor processor
+                            ? new RecordingProcessor(processor) : resolver)
+                    .toList());
+            adapter.setMethodReturnValueHandlers(adapter.getMethodReturnValueHandlers().stream()
+                    .map(handler -> handler instanceof AbstractJaxb2PayloadMethodProcessor processor
+                            ? new RecordingProcessor(processor) : handler)
+                    .toList());
+        }
+        return bean;
+    }
+
+    private static final class RecordingProcessor implements MethodArgumentResolver, MethodReturnValueHandler {
+
+        private final AbstractJaxb2PayloadMethodProcessor delegate;
+
+        RecordingProcessor(AbstractJaxb2PayloadMethodProcessor delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean supportsParameter(MethodParameter parameter) {
+            return delegate.supportsParameter(parameter);
+        }
+
+        @Override
+        public Object resolveArgument(MessageContext messageContext, MethodParameter parameter) throws Exception {
+            MarshallingEvent event = MarshallingEvent.start();
+            Object argument = delegate.resolveArgument(messageContext, parameter);
+            event.finish("unmarshal", XmlPayloads.typeOf(argument),
+                    () -> XmlPayloads.size(messageContext.getRequest().getPayloadSource()));
+            return argument;
+        }
+
+        @Override
+        public boolean supportsReturnType(MethodParameter returnType) {
+            return delegate.supportsReturnType(returnType);
+        }
+
+        @Override
+        public void handleReturnValue(MessageContext messageContext, MethodParameter returnType, Object returnValue)
+                throws Exception {
+            MarshallingEvent event = MarshallingEvent.start();
+            delegate.handleReturnValue(messageContext, returnType, returnValue);
+            event.finish("marshal", XmlPayloads.typeOf(returnValue),
+                    () -> XmlPayloads.size(messageContext.getResponse().getPayloadSource()));
+        }
+    }
+}
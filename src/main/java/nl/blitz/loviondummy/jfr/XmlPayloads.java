@@ -0,0 +1,68 @@
+package nl.blitz.loviondummy.jfr;
+
+import jakarta.xml.bind.JAXBElement;
+import java.io.OutputStream;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Source;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import org.w3c.dom.Node;
+
+/**
+ * Helpers for the {@link MarshallingEvent} fields. Only called for events that are recorded.
+ */
+final class XmlPayloads {
+
+    private static final TransformerFactory TRANSFORMER_FACTORY = TransformerFactory.newInstance();
+
+    private XmlPayloads() {
+    }
+
+    static String typeOf(Object graph) {
+        Object value = graph instanceof JAXBElement<?> element ? element.getValue() : graph;
+        return value == null ? "null" : value.getClass().getSimpleName();
+    }
+
+    /**
+     * Serialized size of a DOM payload; streamed payloads can only be read once, so they give -1.
+     */
+    static long size(Source source) {
+        return source instanceof DOMSource dom ? size(dom.getNode()) : -1;
+    }
+
+    static long size(Node node) {
+        if (node == null) {
+            return -1;
+        }
+        CountingOutputStream out = new CountingOutputStream();
+        try {
+            Transformer transformer;
+            synchronized (TRANSFORMER_FACTORY) {
+                transformer = TRANSFORMER_FACTORY.newTransformer();
+            }
+            transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
+            transformer.transform(new DOMSource(node), new StreamResult(out));
+        } catch (TransformerException ex) {
+            return -1;
+        }
+        return out.count;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
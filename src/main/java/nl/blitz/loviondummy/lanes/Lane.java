@@ -0,0 +1,22 @@
+package nl.blitz.loviondummy.lanes;
+
+import java.util.Locale;
+
+/**
+ * Traffic class of a request. Each lane has its own admission budget and, for read-only transactions, its own
+ * connection pool and statement timeout, so bulk listings and exports cannot use up what single-item lookups need.
+ */
+public enum Lane {
+
+    /** Single-item reads, writes and everything not listed as bulk. */
+    INTERACTIVE,
+    /** Listings, exports, batch lookups and planning ({@code lovion.lanes.bulk.rest} and {@code .soap}). */
+    BULK;
+
+    /**
+     * Name in configuration keys and metric tags.
+     */
+    public String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
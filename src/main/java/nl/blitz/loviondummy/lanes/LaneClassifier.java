@@ -0,0 +1,101 @@
+package nl.blitz.loviondummy.lanes;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import org.springframework.util.AntPathMatcher;
+
+/**
+ * Maps a request to its lane. REST rules are {@code "METHOD /path/pattern"} or just {@code "/path/pattern"} for any
+ * method (Ant-style patterns); SOAP rules are the local names of payload roots, optionally followed by
+ * {@code !element} to match only requests without that child element, e.g. {@code "GetWorkOrdersRequest !status"}.
+ * Exempt requests get no lane: they have limits of their own (the async endpoints) or stay open for long (SSE and
+ * long polling).
+ */
+final class LaneClassifier {
+
+    private record PathRule(String method, String pattern) {
+
+        static PathRule parse(String rule) {
+            String[] parts = rule.trim().split("\\s+");
+            return parts.length == 2 ? new PathRule(parts[0].toUpperCase(Locale.ROOT), parts[1])
+                    : new PathRule(null, parts[0]);
+        }
+    }
+
+    private record PayloadRule(String root, String absentElement) {
+
+        static PayloadRule parse(String rule) {
+            String[] parts = rule.trim().split("\\s+");
+            if (parts.length == 2 && parts[1].startsWith("!") && parts[1].length() > 1) {
+                return new PayloadRule(parts[0], parts[1].substring(1));
+            }
+            if (parts.length != 1) {
+                throw new IllegalArgumentException("Invalid SOAP lane rule: " + rule);
+            }
+            return new PayloadRule(parts[0], null);
+        }
+    }
+
+    private final AntPathMatcher matcher = new AntPathMatcher();
+    private final List<PathRule> bulkRest;
+    private final List<PathRule> exemptRest;
+    private final List<PayloadRule> bulkSoap;
+    private final Set<String> exemptSoap;
+
+    LaneClassifier(List<String> bulkRest, List<String> exemptRest, List<String> bulkSoap, List<String> exemptSoap) {
+        this.bulkRest = rules(bulkRest);
+        this.exemptRest = rules(exemptRest);
+        this.bulkSoap = bulkSoap.stream().filter(rule -> !rule.isBlank()).map(PayloadRule::parse).toList();
+        this.exemptSoap = names(exemptSoap);
+    }
+
+    /**
+     * @return {@code null} for an exempt request
+     */
+    Lane classifyRest(String method, String path) {
+        if (matches(exemptRest, method, path)) {
+            return null;
+        }
+        return matches(bulkRest, method, path) ? Lane.BULK : Lane.INTERACTIVE;
+    }
+
+    /**
+     * @param payloadRoot local name of the payload root element, e.g. {@code GetWorkOrdersRequest}
+     * @param hasElement  whether the payload has a child element with the given local name; only called for rules
+     *                    with a {@code !element} condition
+     * @return {@code null} for an exempt request
+     */
+    Lane classifySoap(String payloadRoot, Predicate<String> hasElement) {
+        if (exemptSoap.contains(payloadRoot)) {
+            return null;
+        }
+        for (PayloadRule rule : bulkSoap) {
+            if (rule.root().equals(payloadRoot)
+                    && (rule.absentElement() == null || !hasElement.test(rule.absentElement()))) {
+                return Lane.BULK;
+            }
+        }
+        return Lane.INTERACTIVE;
+    }
+
+    private boolean matches(List<PathRule> rules, String method, String path) {
+        for (PathRule rule : rules) {
+            if ((rule.method() == null || rule.method().equalsIgnoreCase(method))
+                    && matcher.match(rule.pattern(), path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<PathRule> rules(List<String> rules) {
+        return rules.stream().filter(rule -> !rule.isBlank()).map(PathRule::parse).toList();
+    }
+
+    private static Set<String> names(List<String> names) {
+        return names.stream().map(String::trim).filter(name -> !name.isEmpty()).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,28 @@
+package nl.blitz.loviondummy.lanes;
+
+/**
+ * Lane of the request being handled on the current thread, for the parts that have no request at hand (the
+ * datasource routing).
+ */
+public final class LaneContext {
+
+    private static final ThreadLocal<Lane> CURRENT = new ThreadLocal<>();
+
+    private LaneContext() {
+    }
+
+    /**
+     * @return {@code null} outside an admitted request: background work, exempt paths and other threads
+     */
+    public static Lane current() {
+        return CURRENT.get();
+    }
+
+    static void set(Lane lane) {
+        if (lane == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(lane);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package nl.blitz.loviondummy.lanes;
+
+import java.util.Locale;
+import javax.xml.namespace.QName;
+import javax.xml.transform.Source;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMResult;
+import javax.xml.transform.dom.DOMSource;
+import nl.blitz.loviondummy.exception.ServiceOverloadedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.ws.context.MessageContext;
+import org.springframework.ws.server.SmartEndpointInterceptor;
+import org.springframework.ws.server.endpoint.support.PayloadRootUtils;
+import org.springframework.ws.soap.SoapMessage;
+import org.springframework.xml.transform.TransformerFactoryUtils;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+
+/**
+ * Admits every SOAP operation through its {@link Lane}, by the local name of the payload root and, for conditional
+ * rules, the presence of a child element. An operation that finds no room gets a server fault without reaching its
+ * endpoint. As a {@link SmartEndpointInterceptor} bean it is picked up by the endpoint mappings without registration
+ * in {@code WsConfig}.
+ */
+@Component
+public class LaneEndpointInterceptor implements SmartEndpointInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(LaneEndpointInterceptor.class);
+    private static final String ADMISSION = LaneEndpointInterceptor.class.getName() + ".admission";
+
+    private final ObjectProvider<TrafficLanes> lanesProvider;
+    private final TransformerFactory transformerFactory = TransformerFactoryUtils.newInstance();
+
+    /**
+     * The endpoint mappings look up interceptors while bean post-processors are still being created, so the lanes
+     * (and their meter registry) are resolved on first use instead.
+     */
+    public LaneEndpointInterceptor(ObjectProvider<TrafficLanes> lanesProvider) {
+        this.lanesProvider = lanesProvider;
+    }
+
+    @Override
+    public boolean shouldIntercept(MessageContext messageContext, Object endpoint) {
+        return true;
+    }
+
+    @Override
+    public boolean handleRequest(MessageContext messageContext, Object endpoint) throws TransformerException {
+        QName root = PayloadRootUtils.getPayloadRootQName(messageContext.getRequest().getPayloadSource(),
+                transformerFactory);
+        TrafficLanes lanes = lanesProvider.getObject();
+        Lane lane = root != null
+                ? lanes.classifySoap(root.getLocalPart(), name -> hasChildElement(messageContext, name))
+                : null;
+        if (lane == null) {
+            return true;
+        }
+        try {
+            // SOAP endpoints finish on this thread, so the admission ends in afterCompletion
+            messageContext.setProperty(ADMISSION, lanes.enter(lane));
+            return true;
+        } catch (ServiceOverloadedException ex) {
+            log.warn("Shedding SOAP {}: {}", root.getLocalPart(), ex.getMessage());
+            ((SoapMessage) messageContext.getResponse()).getSoapBody().addServerOrReceiverFault(
+                    ex.getMessage() + ", retry after " + ex.getRetryAfterSeconds() + " s", Locale.ENGLISH);
+            return false;
+        }
+    }
+
+    /**
+     * Whether the payload root has a direct child element with this local name; only read for conditional rules.
+     * A payload that cannot be read counts as without it, so the request goes to the bulk lane.
+     */
+    private boolean hasChildElement(MessageContext messageContext, String localName) {
+        Source payload = messageContext.getRequest().getPayloadSource();
+        Node node;
+        if (payload instanceof DOMSource dom) {
+            node = dom.getNode();
+        } else {
+            DOMResult result = new DOMResult();
+            try {
+                transformerFactory.newTransformer().transform(payload, result);
+            } catch (TransformerException ex) {
+                return false;
+            }
+            node = result.getNode();
+        }
+        if (node instanceof Document document) {
+            node = document.getDocumentElement();
+        }
+        for (Node child = node != null ? node.getFirstChild() : null; child != null; child = child.getNextSibling()) {
+            if (child.getNodeType() == Node.ELEMENT_NODE && localName.equals(
+                    child.getLocalName() != null ? child.getLocalName() : child.getNodeName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean handleResponse(MessageContext messageContext, Object endpoint) {
+        return true;
+    }
+
+    @Override
+    public boolean handleFault(MessageContext messageContext, Object endpoint) {
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(MessageContext messageContext, Object endpoint, Exception ex) {
+        if (messageContext.getProperty(ADMISSION) instanceof TrafficLanes.Admission admission) {
+            messageContext.removeProperty(ADMISSION);
+            lanesProvider.getObject().leave();
+            admission.close();
+        }
+    }
+}
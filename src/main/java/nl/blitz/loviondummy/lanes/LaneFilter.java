@@ -0,0 +1,95 @@
+package nl.blitz.loviondummy.lanes;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Map;
+import nl.blitz.loviondummy.exception.ServiceOverloadedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Admits every REST call through its {@link Lane}. A call that finds no room gets the same 503 with
+ * {@code Retry-After} as {@code RestExceptionHandler} gives, before any controller runs. A call that goes async (a
+ * streamed body) keeps its place until the async work completes, within the lane's {@code async-timeout-ms}.
+ */
+@Component
+public class LaneFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(LaneFilter.class);
+
+    private final TrafficLanes lanes;
+    private final ObjectMapper objectMapper;
+
+    public LaneFilter(TrafficLanes lanes, ObjectMapper objectMapper) {
+        this.lanes = lanes;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        Lane lane = lanes.classifyRest(request.getMethod(), path);
+        if (lane == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        TrafficLanes.Admission admission;
+        try {
+            admission = lanes.enter(lane);
+        } catch (ServiceOverloadedException ex) {
+            log.warn("Shedding {} {}: {}", request.getMethod(), path, ex.getMessage());
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(),
+                    Map.of("timestamp", Instant.now().toString(), "error", ex.getMessage()));
+            return;
+        }
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                // a streamed body is written on the lane's executor after this returns; it keeps the place
+                AsyncContext context = request.getAsyncContext();
+                context.setTimeout(lanes.settings(lane).asyncTimeoutMs());
+                context.addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        admission.close();
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+                async = true;
+            }
+        } finally {
+            lanes.leave();
+            if (!async) {
+                admission.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package nl.blitz.loviondummy.lanes;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admission for one lane: at most {@code maxConcurrent} requests in progress and at most {@code queueCapacity}
+ * waiting for a place, each for at most {@code queueTimeoutMs}. Places are handed out in arrival order.
+ */
+final class LaneGate {
+
+    enum Outcome {
+        ADMITTED,
+        QUEUE_FULL,
+        TIMED_OUT
+    }
+
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final int queueCapacity;
+    private final long queueTimeoutMs;
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    LaneGate(int maxConcurrent, int queueCapacity, long queueTimeoutMs) {
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxConcurrent = maxConcurrent;
+        this.queueCapacity = queueCapacity;
+        this.queueTimeoutMs = queueTimeoutMs;
+    }
+
+    /**
+     * Takes a place, waiting for one if needed. Every {@link Outcome#ADMITTED} must be followed by {@link #release}.
+     */
+    Outcome acquire() {
+        try {
+            // the timed variant respects the queue, a plain tryAcquire would jump it
+            if (permits.tryAcquire(0, TimeUnit.MILLISECONDS)) {
+                return Outcome.ADMITTED;
+            }
+            if (waiting.incrementAndGet() > queueCapacity) {
+                waiting.decrementAndGet();
+                return Outcome.QUEUE_FULL;
+            }
+            try {
+                return permits.tryAcquire(queueTimeoutMs, TimeUnit.MILLISECONDS) ? Outcome.ADMITTED
+                        : Outcome.TIMED_OUT;
+            } finally {
+                waiting.decrementAndGet();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return Outcome.TIMED_OUT;
+        }
+    }
+
+    void release() {
+        permits.release();
+    }
+
+    int active() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    int waiting() {
+        return waiting.get();
+    }
+}
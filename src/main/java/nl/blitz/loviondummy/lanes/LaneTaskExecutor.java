@@ -0,0 +1,81 @@
+package nl.blitz.loviondummy.lanes;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Executor for Spring MVC async work (streamed bodies, {@code Callable} results). A task runs on the bounded
+ * executor of the lane it was submitted from, with that lane set on the worker thread so its queries use the lane's
+ * connection pool; tasks from outside a lane run on a shared pool of eight threads.
+ */
+@Component
+public class LaneTaskExecutor implements AsyncTaskExecutor, DisposableBean {
+
+    private final Map<Lane, ThreadPoolExecutor> executors = new EnumMap<>(Lane.class);
+    private final ExecutorService unlaned;
+
+    public LaneTaskExecutor(TrafficLanes lanes, MeterRegistry meterRegistry) {
+        for (Lane lane : Lane.values()) {
+            TrafficLanes.Settings settings = lanes.settings(lane);
+            AtomicInteger threadNumber = new AtomicInteger();
+            int threads = Math.max(1, settings.maxConcurrent());
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads,
+                    60L, TimeUnit.SECONDS, new ArrayBlockingQueue<>(Math.max(1, settings.queueCapacity())),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "lane-" + lane.key() + "-" + threadNumber.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            executor.allowCoreThreadTimeOut(true);
+            new ExecutorServiceMetrics(executor, "lane." + lane.key(), Tags.empty()).bindTo(meterRegistry);
+            executors.put(lane, executor);
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.unlaned = Executors.newFixedThreadPool(8, runnable -> {
+            Thread thread = new Thread(runnable, "mvc-async-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        Lane lane = LaneContext.current();
+        try {
+            if (lane == null) {
+                unlaned.execute(task);
+                return;
+            }
+            executors.get(lane).execute(() -> {
+                LaneContext.set(lane);
+                try {
+                    task.run();
+                } finally {
+                    LaneContext.set(null);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            throw new TaskRejectedException("No room for async work in lane " + lane, ex);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executors.values().forEach(ThreadPoolExecutor::shutdownNow);
+        unlaned.shutdownNow();
+    }
+}
@@ -0,0 +1,165 @@
+package nl.blitz.loviondummy.lanes;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import nl.blitz.loviondummy.exception.ServiceOverloadedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Classifies requests into {@link Lane}s and admits them through the budget of their lane
+ * ({@code lovion.lanes.<lane>.max-concurrent}, {@code queue-capacity} and {@code queue-timeout-ms}). A request that
+ * finds its lane full is shed with a 503 instead of taking a servlet thread and a connection from the other lane.
+ * {@link LaneFilter} does this for REST, {@link LaneEndpointInterceptor} for SOAP; async work of an admitted
+ * request runs on the executor of its lane ({@link LaneTaskExecutor}).
+ */
+@Component
+public class TrafficLanes {
+
+    private static final Logger log = LoggerFactory.getLogger(TrafficLanes.class);
+
+    /**
+     * Budget of one lane; {@code asyncTimeoutMs} bounds async work (a streamed body) started by its requests.
+     */
+    record Settings(int maxConcurrent, int queueCapacity, long queueTimeoutMs, long asyncTimeoutMs) {
+    }
+
+    /**
+     * An admitted request. Closing it frees the place; the second and later closes do nothing.
+     */
+    public final class Admission implements AutoCloseable {
+
+        private final Lane lane;
+        private final long start = System.nanoTime();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Admission(Lane lane) {
+            this.lane = lane;
+        }
+
+        public Lane lane() {
+            return lane;
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                gates.get(lane).release();
+                timers.get(lane).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private final boolean enabled;
+    private final int retryAfterSeconds;
+    private final LaneClassifier classifier;
+    private final Map<Lane, Settings> settings = new EnumMap<>(Lane.class);
+    private final Map<Lane, LaneGate> gates = new EnumMap<>(Lane.class);
+    private final Map<Lane, Timer> timers = new EnumMap<>(Lane.class);
+    private final Map<Lane, Counter> queueFull = new EnumMap<>(Lane.class);
+    private final Map<Lane, Counter> timedOut = new EnumMap<>(Lane.class);
+
+    public TrafficLanes(Environment environment,
+                        MeterRegistry meterRegistry,
+                        @Value("${lovion.lanes.enabled:true}") boolean enabled,
+                        @Value("${lovion.lanes.retry-after-seconds:1}") int retryAfterSeconds,
+                        @Value("${lovion.lanes.bulk.rest:GET /api/workorders,GET /api/assets,GET /api/workorders/scheduled,"
+                                + "GET /api/workorders/calendar,POST /api/workorders/lookup,POST /api/schedule}")
+                        String bulkRest,
+                        @Value("${lovion.lanes.bulk.soap:GetWorkOrdersRequest !status,GetWorkOrderDetailsBatchRequest,"
+                                + "ExportWorkOrdersRequest}") String bulkSoap,
+                        @Value("${lovion.lanes.exempt.rest:/api/async/**,/api/workorders/stream,/actuator/**,"
+                                + "/h2-console/**,/ws/**}") String exemptRest,
+                        @Value("${lovion.lanes.exempt.soap:PollWorkOrderChangesRequest}") String exemptSoap) {
+        this.enabled = enabled;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.classifier = new LaneClassifier(list(bulkRest), list(exemptRest), list(bulkSoap), list(exemptSoap));
+        for (Lane lane : Lane.values()) {
+            String prefix = "lovion.lanes." + lane.key() + ".";
+            boolean bulk = lane == Lane.BULK;
+            Settings laneSettings = new Settings(
+                    environment.getProperty(prefix + "max-concurrent", Integer.class, bulk ? 4 : 64),
+                    environment.getProperty(prefix + "queue-capacity", Integer.class, bulk ? 32 : 256),
+                    environment.getProperty(prefix + "queue-timeout-ms", Long.class, bulk ? 10_000L : 1_000L),
+                    environment.getProperty(prefix + "async-timeout-ms", Long.class, bulk ? 300_000L : 30_000L));
+            settings.put(lane, laneSettings);
+            LaneGate gate = new LaneGate(laneSettings.maxConcurrent(), laneSettings.queueCapacity(),
+                    laneSettings.queueTimeoutMs());
+            gates.put(lane, gate);
+            Gauge.builder("lovion.lanes.active", gate, LaneGate::active).tag("lane", lane.key())
+                    .register(meterRegistry);
+            Gauge.builder("lovion.lanes.waiting", gate, LaneGate::waiting).tag("lane", lane.key())
+                    .register(meterRegistry);
+            timers.put(lane, Timer.builder("lovion.lanes.requests").tag("lane", lane.key())
+                    .publishPercentiles(0.5, 0.99).register(meterRegistry));
+            queueFull.put(lane, Counter.builder("lovion.lanes.shed").tag("lane", lane.key())
+                    .tag("reason", "queue_full").register(meterRegistry));
+            timedOut.put(lane, Counter.builder("lovion.lanes.shed").tag("lane", lane.key())
+                    .tag("reason", "timeout").register(meterRegistry));
+        }
+        log.info("Traffic lanes {}", enabled ? "enabled" : "disabled");
+    }
+
+    Settings settings(Lane lane) {
+        return settings.get(lane);
+    }
+
+    /**
+     * @return {@code null} when lanes are disabled or the request is exempt
+     */
+    public Lane classifyRest(String method, String path) {
+        return enabled ? classifier.classifyRest(method, path) : null;
+    }
+
+    /**
+     * @param hasElement whether the payload has a child element with the given local name
+     * @return {@code null} when lanes are disabled or the operation is exempt
+     */
+    public Lane classifySoap(String payloadRoot, Predicate<String> hasElement) {
+        return enabled ? classifier.classifySoap(payloadRoot, hasElement) : null;
+    }
+
+    /**
+     * Waits for a place in the lane and marks the current thread as working in it; the caller clears the mark with
+     * {@link #leave} when the thread is done with the request, which may be before the admission is closed.
+     *
+     * @throws ServiceOverloadedException when the lane's queue is full or the wait times out
+     */
+    public Admission enter(Lane lane) {
+        switch (gates.get(lane).acquire()) {
+            case ADMITTED -> {
+                LaneContext.set(lane);
+                return new Admission(lane);
+            }
+            case QUEUE_FULL -> {
+                queueFull.get(lane).increment();
+                throw new ServiceOverloadedException("Too many " + lane.key() + " requests", retryAfterSeconds);
+            }
+            default -> {
+                timedOut.get(lane).increment();
+                throw new ServiceOverloadedException("No room in the " + lane.key() + " lane in time",
+                        retryAfterSeconds);
+            }
+        }
+    }
+
+    void leave() {
+        LaneContext.set(null);
+    }
+
+    private static List<String> list(String value) {
+        return Arrays.asList(value.split(","));
+    }
+}
@@ -0,0 +1,70 @@
+package nl.blitz.loviondummy.outbox;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Appends every message as one JSON line ({@code id}, {@code workOrderId}, {@code type}, {@code createdAt},
+ * {@code change}) to a file. Each batch is one write followed by one fsync, so a batch the dispatcher removed from
+ * the outbox is on disk.
+ */
+@Component
+@ConditionalOnProperty(name = "lovion.outbox.file.enabled", havingValue = "true")
+public class FileOutboxSink implements OutboxSink {
+
+    private static final Logger log = LoggerFactory.getLogger(FileOutboxSink.class);
+
+    private final Path path;
+    private final FileChannel channel;
+
+    public FileOutboxSink(@Value("${lovion.outbox.file.path:./data/outbox/work-order-changes.jsonl}") String path)
+            throws IOException {
+        this.path = Paths.get(path).toAbsolutePath();
+        Files.createDirectories(this.path.getParent());
+        this.channel = FileChannel.open(this.path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+        log.info("Writing outbox messages to {}", this.path);
+    }
+
+    @Override
+    public String name() {
+        return "file";
+    }
+
+    @Override
+    public synchronized void deliver(List<OutboxMessage> batch) throws IOException {
+        StringBuilder lines = new StringBuilder(batch.size() * 256);
+        for (OutboxMessage message : batch) {
+            lines.append("{\"id\":").append(message.id())
+                    .append(",\"workOrderId\":").append(message.workOrderId())
+                    .append(",\"type\":\"").append(message.type())
+                    .append("\",\"createdAt\":\"").append(message.createdAt())
+                    // the payload is already JSON
+                    .append("\",\"change\":").append(message.payload())
+                    .append("}\n");
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        channel.force(false);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        channel.close();
+    }
+}
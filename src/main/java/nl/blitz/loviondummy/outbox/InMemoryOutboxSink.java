@@ -0,0 +1,49 @@
+package nl.blitz.loviondummy.outbox;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the most recently delivered messages in memory, for tests and local inspection. When full the oldest
+ * messages are dropped, so it never holds up the dispatcher.
+ */
+@Component
+@ConditionalOnProperty(name = "lovion.outbox.memory.enabled", havingValue = "true", matchIfMissing = true)
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final int capacity;
+    private final Deque<OutboxMessage> messages = new ArrayDeque<>();
+
+    public InMemoryOutboxSink(@Value("${lovion.outbox.memory.capacity:10000}") int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public String name() {
+        return "memory";
+    }
+
+    @Override
+    public synchronized void deliver(List<OutboxMessage> batch) {
+        for (OutboxMessage message : batch) {
+            if (messages.size() == capacity) {
+                messages.removeFirst();
+            }
+            messages.addLast(message);
+        }
+    }
+
+    /**
+     * Removes and returns everything delivered so far.
+     */
+    public synchronized List<OutboxMessage> drain() {
+        List<OutboxMessage> drained = new ArrayList<>(messages);
+        messages.clear();
+        return drained;
+    }
+}
@@ -0,0 +1,200 @@
+package nl.blitz.loviondummy.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import nl.blitz.loviondummy.domain.WorkOrderChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Drains the outbox table in the background and hands the messages to every {@link OutboxSink}.
+ * <p>
+ * Each round claims the oldest batch with {@code FOR UPDATE SKIP LOCKED}, delivers it and deletes it, all in one
+ * transaction: rows another dispatcher thread (or node) is working on are skipped instead of waited for, and a
+ * failing sink rolls the batch back into the outbox. Committed changes wake the dispatcher right away; the poll
+ * interval only covers changes from other nodes and retries.
+ */
+@Component
+@ConditionalOnProperty(name = "lovion.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    private static final String CLAIM = "SELECT id, work_order_id, event_type, payload, created_at "
+            + "FROM work_order_outbox ORDER BY id FETCH FIRST ? ROWS ONLY FOR UPDATE SKIP LOCKED";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final List<OutboxSink> sinks;
+    private final int batchSize;
+    private final int threadCount;
+    private final long pollIntervalMs;
+    private final long maxBackoffMs;
+
+    private final Object signal = new Object();
+    private boolean wakeUp;
+    private volatile boolean running;
+    private final List<Thread> threads = new ArrayList<>();
+
+    private final Timer lag;
+    private final Counter delivered;
+    private final Counter batches;
+    private final Counter failures;
+
+    public OutboxDispatcher(JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            List<OutboxSink> sinks,
+                            MeterRegistry meterRegistry,
+                            @Value("${lovion.outbox.batch-size:200}") int batchSize,
+                            @Value("${lovion.outbox.dispatcher-threads:1}") int threadCount,
+                            @Value("${lovion.outbox.poll-interval-ms:1000}") long pollIntervalMs,
+                            @Value("${lovion.outbox.max-backoff-ms:30000}") long maxBackoffMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sinks = sinks;
+        this.batchSize = batchSize;
+        this.threadCount = threadCount;
+        this.pollIntervalMs = pollIntervalMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.lag = Timer.builder("lovion.outbox.lag")
+                .description("Time from writing a change to the outbox until all sinks have it")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.delivered = Counter.builder("lovion.outbox.delivered").register(meterRegistry);
+        this.batches = Counter.builder("lovion.outbox.batches").register(meterRegistry);
+        this.failures = Counter.builder("lovion.outbox.failures").register(meterRegistry);
+    }
+
+    /**
+     * Starts after startup, when the schema exists and seeding is done.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        for (int i = 1; i <= threadCount; i++) {
+            Thread thread = new Thread(this::run, "outbox-dispatcher-" + i);
+            thread.setDaemon(true);
+            threads.add(thread);
+            thread.start();
+        }
+        log.info("Outbox dispatcher started with {} thread(s), batches of {}, sinks {}", threadCount, batchSize,
+                sinks.stream().map(OutboxSink::name).toList());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWorkOrderChanged(WorkOrderChangedEvent change) {
+        synchronized (signal) {
+            wakeUp = true;
+            signal.notifyAll();
+        }
+    }
+
+    /**
+     * Claims, delivers and deletes one batch.
+     *
+     * @return the number of delivered messages, 0 when the outbox is empty (or all rows are claimed by others)
+     */
+    public int dispatchBatch() {
+        List<OutboxMessage> batch = transactionTemplate.execute(tx -> {
+            List<OutboxMessage> claimed = jdbcTemplate.query(CLAIM, (rs, row) -> new OutboxMessage(
+                    rs.getLong(1),
+                    rs.getObject(2, Long.class),
+                    rs.getString(3),
+                    rs.getString(4),
+                    rs.getObject(5, OffsetDateTime.class).toInstant()), batchSize);
+            if (claimed.isEmpty()) {
+                return claimed;
+            }
+            for (OutboxSink sink : sinks) {
+                try {
+                    sink.deliver(claimed);
+                } catch (Exception ex) {
+                    throw new OutboxDeliveryException(sink.name(), ex);
+                }
+            }
+            jdbcTemplate.batchUpdate("DELETE FROM work_order_outbox WHERE id = ?", claimed, claimed.size(),
+                    (statement, message) -> statement.setLong(1, message.id()));
+            return claimed;
+        });
+        if (batch == null || batch.isEmpty()) {
+            return 0;
+        }
+        Instant now = Instant.now();
+        for (OutboxMessage message : batch) {
+            lag.record(Duration.between(message.createdAt(), now));
+        }
+        delivered.increment(batch.size());
+        batches.increment();
+        return batch.size();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        threads.forEach(Thread::interrupt);
+        for (Thread thread : threads) {
+            thread.join(5000);
+        }
+    }
+
+    private void run() {
+        long backoffMs = 0;
+        while (running) {
+            try {
+                int count = dispatchBatch();
+                backoffMs = 0;
+                if (count == batchSize) {
+                    // probably more waiting
+                    continue;
+                }
+                awaitWork(pollIntervalMs);
+            } catch (InterruptedException ex) {
+                return;
+            } catch (RuntimeException ex) {
+                if (!running) {
+                    return;
+                }
+                failures.increment();
+                backoffMs = Math.min(maxBackoffMs, Math.max(pollIntervalMs, backoffMs * 2));
+                log.warn("Outbox dispatch failed, retrying in {} ms: {}", backoffMs, ex.getMessage());
+                try {
+                    Thread.sleep(backoffMs);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void awaitWork(long timeoutMs) throws InterruptedException {
+        synchronized (signal) {
+            if (!wakeUp) {
+                signal.wait(timeoutMs);
+            }
+            wakeUp = false;
+        }
+    }
+
+    static final class OutboxDeliveryException extends RuntimeException {
+
+        OutboxDeliveryException(String sink, Throwable cause) {
+            super("Sink " + sink + " failed: " + cause.getMessage(), cause);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package nl.blitz.loviondummy.outbox;
+
+import java.time.Instant;
+
+/**
+ * A claimed outbox row. {@code id} increases with every change and is the same for every redelivery, so sinks
+ * can use it to drop duplicates.
+ *
+ * @param type    {@code CREATED}, {@code UPDATED} or {@code DELETED}
+ * @param payload the change as JSON
+ */
+public record OutboxMessage(long id, Long workOrderId, String type, String payload, Instant createdAt) {
+}
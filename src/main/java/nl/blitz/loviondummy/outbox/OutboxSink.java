@@ -0,0 +1,17 @@
+package nl.blitz.loviondummy.outbox;
+
+import java.util.List;
+
+/**
+ * Destination of the outbox dispatcher. Every enabled sink gets every batch; a batch only leaves the outbox after
+ * all sinks accepted it, so delivery is at least once.
+ */
+public interface OutboxSink {
+
+    String name();
+
+    /**
+     * Delivers one batch, in outbox order. Throwing leaves the whole batch in the outbox for a later attempt.
+     */
+    void deliver(List<OutboxMessage> batch) throws Exception;
+}
@@ -0,0 +1,43 @@
+package nl.blitz.loviondummy.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import nl.blitz.loviondummy.domain.WorkOrderChangedEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes every work order change to the outbox table. The listener runs synchronously while Hibernate flushes the
+ * change, on the same connection, so the outbox row commits or rolls back together with the change itself.
+ */
+@Component
+@ConditionalOnProperty(name = "lovion.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxWriter {
+
+    private static final String INSERT = "INSERT INTO work_order_outbox (work_order_id, event_type, payload, "
+            + "created_at) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public OutboxWriter(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    @EventListener
+    public void onWorkOrderChanged(WorkOrderChangedEvent change) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(change);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize work order change", ex);
+        }
+        jdbcTemplate.update(INSERT, change.workOrderId(), change.type().name(), payload,
+                OffsetDateTime.now(ZoneOffset.UTC));
+    }
+}
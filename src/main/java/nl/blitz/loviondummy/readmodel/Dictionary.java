@@ -0,0 +1,56 @@
+package nl.blitz.loviondummy.readmodel;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Int codes for the few distinct values of a column (status, priority, work type), in order of first appearance.
+ * Codes are never reused, so a code stays valid for as long as the dictionary exists. Not thread-safe.
+ */
+final class Dictionary {
+
+    static final int NONE = -1;
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private String[] values = new String[8];
+
+    int encode(String value) {
+        if (value == null) {
+            return NONE;
+        }
+        Integer code = codes.get(value);
+        if (code != null) {
+            return code;
+        }
+        int next = codes.size();
+        if (next == values.length) {
+            values = Arrays.copyOf(values, next * 2);
+        }
+        values[next] = value;
+        codes.put(value, next);
+        return next;
+    }
+
+    String decode(int code) {
+        return code == NONE ? null : values[code];
+    }
+
+    /**
+     * Codes of the values equal to {@code value} ignoring case, like the {@code UPPER(...) = UPPER(?)} filters.
+     */
+    int[] matchIgnoreCase(String value) {
+        int[] matches = new int[codes.size()];
+        int count = 0;
+        for (int code = 0; code < codes.size(); code++) {
+            if (values[code].equalsIgnoreCase(value)) {
+                matches[count++] = code;
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    int size() {
+        return codes.size();
+    }
+}
@@ -0,0 +1,113 @@
+package nl.blitz.loviondummy.readmodel;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import nl.blitz.loviondummy.domain.AssetChangedEvent;
+import nl.blitz.loviondummy.domain.ChangeType;
+import nl.blitz.loviondummy.domain.WorkOrderChangedEvent;
+import nl.blitz.loviondummy.repository.projection.WorkOrderRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * In-memory copy of the work-order table that answers the list filters (status and/or asset) without the database.
+ * The {@link WorkOrderStore} is loaded once the application is ready and afterwards follows committed inserts,
+ * updates and deletes through the entity change events, plus the rows the archiver deletes with plain JDBC.
+ * Until the load has finished {@link #findRows} returns nothing and callers use the database.
+ */
+@Service
+@ConditionalOnProperty(name = "lovion.workorders.read-model.enabled", havingValue = "true")
+public class WorkOrderReadModel {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkOrderReadModel.class);
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final WorkOrderStore store;
+    private volatile boolean ready;
+
+    public WorkOrderReadModel(JdbcTemplate jdbcTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${lovion.workorders.read-model.initial-capacity:65536}") int initialCapacity) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.store = new WorkOrderStore(initialCapacity);
+        Gauge.builder("lovion.readmodel.rows", store, WorkOrderStore::size).register(meterRegistry);
+        Gauge.builder("lovion.readmodel.bytes", store, WorkOrderStore::sizeInBytes).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        long start = System.currentTimeMillis();
+        jdbcTemplate.query("SELECT id, external_asset_ref, type, location FROM assets",
+                rs -> { store.putAsset(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4)); });
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement("SELECT id, version, external_workorder_id, work_type, "
+                    + "priority, scheduled_date, status, description, asset_id FROM work_orders ORDER BY id");
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        }, rs -> {
+            store.put(new WorkOrderStore.Entry(rs.getLong(1), rs.getLong(2), rs.getString(3), rs.getString(4),
+                    rs.getString(5), rs.getObject(6, LocalDate.class), rs.getString(7), rs.getString(8),
+                    rs.getObject(9, Long.class)));
+        });
+        ready = true;
+        log.info("Loaded {} work orders into the read model in {} ms ({} KB columns and indexes)", store.size(),
+                System.currentTimeMillis() - start, store.sizeInBytes() / 1024);
+    }
+
+    /**
+     * Live work orders matching the filters, or empty while the read model is still loading.
+     */
+    public Optional<List<WorkOrderRow>> findRows(String status, Long assetId) {
+        return ready ? Optional.of(store.find(status, assetId)) : Optional.empty();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWorkOrderChanged(WorkOrderChangedEvent event) {
+        if (event.type() == ChangeType.DELETED) {
+            store.remove(event.workOrderId());
+            compactIfLoaded();
+        } else {
+            store.put(new WorkOrderStore.Entry(event.workOrderId(), event.version(), event.externalWorkOrderId(),
+                    event.workType(), event.priority(), event.scheduledDate(), event.status(), event.description(),
+                    event.assetId()));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAssetChanged(AssetChangedEvent event) {
+        if (event.type() == ChangeType.DELETED) {
+            store.removeAsset(event.assetId());
+        } else {
+            store.putAsset(event.assetId(), event.externalAssetRef(), event.assetType(), event.location());
+        }
+    }
+
+    /**
+     * Work orders deleted without entity events, i.e. moved to the archive.
+     */
+    public void removeAll(Collection<Long> workOrderIds) {
+        workOrderIds.forEach(store::remove);
+        compactIfLoaded();
+    }
+
+    private void compactIfLoaded() {
+        if (ready) {
+            store.compactIfSparse();
+        }
+    }
+}
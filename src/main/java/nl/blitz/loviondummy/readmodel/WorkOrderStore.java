@@ -0,0 +1,382 @@
+package nl.blitz.loviondummy.readmodel;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import nl.blitz.loviondummy.repository.projection.WorkOrderRow;
+
+/**
+ * Work orders in struct-of-arrays form: one array per column, indexed by an ordinal per work order. Ids, versions,
+ * dates (as epoch days) and asset ids are primitives; status, priority and work type are {@link Dictionary} codes.
+ * Only the external id and the description stay strings. The asset columns are kept once per asset.
+ * <p>
+ * Filters read a bitmap of live ordinals per status code and a sorted ordinal list per asset, so a query only visits
+ * the matching work orders. A change overwrites its ordinal in place and is only applied when its version is newer,
+ * so a row read by the initial load cannot undo a change that was applied meanwhile. A delete leaves a tombstone
+ * under the id; {@link #compactIfSparse()} renumbers the live work orders once most ordinals are dead.
+ * Queries take a read lock, changes the write lock.
+ */
+final class WorkOrderStore {
+
+    /**
+     * One work order as written to the store.
+     */
+    record Entry(long id, long version, String externalWorkOrderId, String workType, String priority,
+                 LocalDate scheduledDate, String status, String description, Long assetId) {
+    }
+
+    private record AssetColumns(String externalAssetRef, String type, String location) {
+    }
+
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final long NO_ASSET = 0;
+    /** Version of a deleted work order; no change can be newer. */
+    private static final long DELETED = Long.MAX_VALUE;
+    private static final int MIN_DEAD_BEFORE_COMPACTION = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Dictionary statuses = new Dictionary();
+    private final Dictionary priorities = new Dictionary();
+    private final Dictionary workTypes = new Dictionary();
+    private final Map<Long, AssetColumns> assets = new HashMap<>();
+
+    private LongIntMap ordinals;
+    private long[] ids;
+    private long[] versions;
+    private long[] assetIds;
+    private int[] scheduledDays;
+    private int[] statusCodes;
+    private int[] priorityCodes;
+    private int[] workTypeCodes;
+    private String[] externalIds;
+    private String[] descriptions;
+    private int count;
+
+    private BitSet liveRows = new BitSet();
+    private int live;
+    /** Live ordinals per status code. */
+    private final List<BitSet> byStatus = new ArrayList<>();
+    private final Map<Long, Postings> byAsset = new HashMap<>();
+
+    WorkOrderStore(int expected) {
+        allocate(Math.max(16, expected));
+    }
+
+    /**
+     * Inserts or updates a work order, unless the store already has this or a newer version, or the work order was
+     * deleted.
+     *
+     * @return whether the store changed
+     */
+    boolean put(Entry entry) {
+        lock.writeLock().lock();
+        try {
+            int ordinal = ordinals.get(entry.id());
+            if (ordinal == LongIntMap.MISSING) {
+                ordinal = append(entry.id());
+            } else if (versions[ordinal] >= entry.version()) {
+                return false;
+            } else {
+                unindex(ordinal);
+            }
+            versions[ordinal] = entry.version();
+            externalIds[ordinal] = entry.externalWorkOrderId();
+            workTypeCodes[ordinal] = workTypes.encode(entry.workType());
+            priorityCodes[ordinal] = priorities.encode(entry.priority());
+            scheduledDays[ordinal] = entry.scheduledDate() == null ? NO_DATE
+                    : Math.toIntExact(entry.scheduledDate().toEpochDay());
+            statusCodes[ordinal] = statuses.encode(entry.status());
+            descriptions[ordinal] = entry.description();
+            assetIds[ordinal] = entry.assetId() == null ? NO_ASSET : entry.assetId();
+            index(ordinal);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a work order and keeps a tombstone, so an older version that arrives later is ignored.
+     */
+    void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            int ordinal = ordinals.get(id);
+            if (ordinal == LongIntMap.MISSING) {
+                ordinal = append(id);
+            } else if (liveRows.get(ordinal)) {
+                unindex(ordinal);
+            }
+            versions[ordinal] = DELETED;
+            externalIds[ordinal] = null;
+            descriptions[ordinal] = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void putAsset(long id, String externalAssetRef, String type, String location) {
+        lock.writeLock().lock();
+        try {
+            assets.put(id, new AssetColumns(externalAssetRef, type, location));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void removeAsset(long id) {
+        lock.writeLock().lock();
+        try {
+            assets.remove(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Live work orders with {@code status} (ignoring case) and {@code assetId}, either may be {@code null}, in
+     * ordinal order (the order they were loaded or inserted in).
+     */
+    List<WorkOrderRow> find(String status, Long assetId) {
+        lock.readLock().lock();
+        try {
+            int[] codes = status == null ? null : statuses.matchIgnoreCase(status);
+            if (codes != null && codes.length == 0) {
+                return new ArrayList<>();
+            }
+            if (assetId != null) {
+                Postings postings = byAsset.get(assetId);
+                if (postings == null) {
+                    return new ArrayList<>();
+                }
+                List<WorkOrderRow> rows = new ArrayList<>(postings.size);
+                for (int i = 0; i < postings.size; i++) {
+                    int ordinal = postings.ordinals[i];
+                    if (codes == null || contains(codes, statusCodes[ordinal])) {
+                        rows.add(row(ordinal));
+                    }
+                }
+                return rows;
+            }
+            BitSet matches = codes == null ? liveRows : statusBitmap(codes);
+            List<WorkOrderRow> rows = new ArrayList<>(matches.cardinality());
+            for (int ordinal = matches.nextSetBit(0); ordinal >= 0; ordinal = matches.nextSetBit(ordinal + 1)) {
+                rows.add(row(ordinal));
+            }
+            return rows;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return live;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Size of the columns and indexes, without the strings the columns point to, for diagnostics.
+     */
+    long sizeInBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = (long) ids.length * (3 * Long.BYTES + 4 * Integer.BYTES + 2 * Integer.BYTES)
+                    + ordinals.sizeInBytes() + liveRows.size() / 8;
+            for (BitSet bitmap : byStatus) {
+                bytes += bitmap.size() / 8;
+            }
+            for (Postings postings : byAsset.values()) {
+                bytes += (long) postings.ordinals.length * Integer.BYTES;
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Renumbers the live work orders densely and drops the tombstones once more than half of the ordinals are dead.
+     * Only safe once no older versions can arrive anymore, i.e. after the initial load.
+     */
+    void compactIfSparse() {
+        lock.writeLock().lock();
+        try {
+            int dead = count - live;
+            if (dead >= MIN_DEAD_BEFORE_COMPACTION && dead > live) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void compact() {
+        long[] oldIds = ids;
+        long[] oldVersions = versions;
+        long[] oldAssetIds = assetIds;
+        int[] oldScheduledDays = scheduledDays;
+        int[] oldStatusCodes = statusCodes;
+        int[] oldPriorityCodes = priorityCodes;
+        int[] oldWorkTypeCodes = workTypeCodes;
+        String[] oldExternalIds = externalIds;
+        String[] oldDescriptions = descriptions;
+        BitSet oldLiveRows = liveRows;
+        allocate(Math.max(16, live));
+        liveRows = new BitSet(live);
+        live = 0;
+        byStatus.clear();
+        byAsset.clear();
+        for (int old = oldLiveRows.nextSetBit(0); old >= 0; old = oldLiveRows.nextSetBit(old + 1)) {
+            int ordinal = append(oldIds[old]);
+            versions[ordinal] = oldVersions[old];
+            assetIds[ordinal] = oldAssetIds[old];
+            scheduledDays[ordinal] = oldScheduledDays[old];
+            statusCodes[ordinal] = oldStatusCodes[old];
+            priorityCodes[ordinal] = oldPriorityCodes[old];
+            workTypeCodes[ordinal] = oldWorkTypeCodes[old];
+            externalIds[ordinal] = oldExternalIds[old];
+            descriptions[ordinal] = oldDescriptions[old];
+            index(ordinal);
+        }
+    }
+
+    private void allocate(int capacity) {
+        ordinals = new LongIntMap(capacity);
+        ids = new long[capacity];
+        versions = new long[capacity];
+        assetIds = new long[capacity];
+        scheduledDays = new int[capacity];
+        statusCodes = new int[capacity];
+        priorityCodes = new int[capacity];
+        workTypeCodes = new int[capacity];
+        externalIds = new String[capacity];
+        descriptions = new String[capacity];
+        count = 0;
+    }
+
+    private int append(long id) {
+        if (count == ids.length) {
+            int capacity = count * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            versions = Arrays.copyOf(versions, capacity);
+            assetIds = Arrays.copyOf(assetIds, capacity);
+            scheduledDays = Arrays.copyOf(scheduledDays, capacity);
+            statusCodes = Arrays.copyOf(statusCodes, capacity);
+            priorityCodes = Arrays.copyOf(priorityCodes, capacity);
+            workTypeCodes = Arrays.copyOf(workTypeCodes, capacity);
+            externalIds = Arrays.copyOf(externalIds, capacity);
+            descriptions = Arrays.copyOf(descriptions, capacity);
+        }
+        int ordinal = count++;
+        ids[ordinal] = id;
+        ordinals.put(id, ordinal);
+        return ordinal;
+    }
+
+    private void index(int ordinal) {
+        liveRows.set(ordinal);
+        live++;
+        if (statusCodes[ordinal] != Dictionary.NONE) {
+            while (byStatus.size() <= statusCodes[ordinal]) {
+                byStatus.add(new BitSet());
+            }
+            byStatus.get(statusCodes[ordinal]).set(ordinal);
+        }
+        if (assetIds[ordinal] != NO_ASSET) {
+            byAsset.computeIfAbsent(assetIds[ordinal], id -> new Postings()).add(ordinal);
+        }
+    }
+
+    private void unindex(int ordinal) {
+        liveRows.clear(ordinal);
+        live--;
+        if (statusCodes[ordinal] != Dictionary.NONE) {
+            byStatus.get(statusCodes[ordinal]).clear(ordinal);
+        }
+        if (assetIds[ordinal] != NO_ASSET) {
+            Postings postings = byAsset.get(assetIds[ordinal]);
+            postings.remove(ordinal);
+            if (postings.size == 0) {
+                byAsset.remove(assetIds[ordinal]);
+            }
+        }
+    }
+
+    private BitSet statusBitmap(int[] codes) {
+        if (codes.length == 1) {
+            return byStatus.get(codes[0]);
+        }
+        BitSet union = new BitSet();
+        for (int code : codes) {
+            union.or(byStatus.get(code));
+        }
+        return union;
+    }
+
+    private WorkOrderRow row(int ordinal) {
+        long assetId = assetIds[ordinal];
+        AssetColumns asset = assetId == NO_ASSET ? null : assets.get(assetId);
+        return new WorkOrderRow(
+                ids[ordinal],
+                externalIds[ordinal],
+                workTypes.decode(workTypeCodes[ordinal]),
+                priorities.decode(priorityCodes[ordinal]),
+                scheduledDays[ordinal] == NO_DATE ? null : LocalDate.ofEpochDay(scheduledDays[ordinal]),
+                statuses.decode(statusCodes[ordinal]),
+                descriptions[ordinal],
+                assetId == NO_ASSET ? null : assetId,
+                asset != null ? asset.externalAssetRef() : null,
+                asset != null ? asset.type() : null,
+                asset != null ? asset.location() : null);
+    }
+
+    private static boolean contains(int[] codes, int code) {
+        for (int candidate : codes) {
+            if (candidate == code) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Sorted ordinals of the work orders of one asset.
+     */
+    private static final class Postings {
+
+        private int[] ordinals = new int[4];
+        private int size;
+
+        void add(int ordinal) {
+            int at = Arrays.binarySearch(ordinals, 0, size, ordinal);
+            if (at >= 0) {
+                return;
+            }
+            at = -at - 1;
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+            }
+            System.arraycopy(ordinals, at, ordinals, at + 1, size - at);
+            ordinals[at] = ordinal;
+            size++;
+        }
+
+        void remove(int ordinal) {
+            int at = Arrays.binarySearch(ordinals, 0, size, ordinal);
+            if (at >= 0) {
+                System.arraycopy(ordinals, at + 1, ordinals, at, size - at - 1);
+                size--;
+            }
+        }
+    }
+}
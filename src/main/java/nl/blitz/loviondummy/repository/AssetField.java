@@ -0,0 +1,55 @@
+package nl.blitz.loviondummy.repository;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Fields of the asset list JSON that a sparse fieldset can select, in the order of {@code AssetDto}. The work order
+ * summaries are a second query, which is only run when {@code workOrders} is requested.
+ */
+public enum AssetField {
+
+    ID("id", "id"),
+    EXTERNAL_ASSET_REF("externalAssetRef", "external_asset_ref"),
+    TYPE("type", "type"),
+    DESCRIPTION("description", "description"),
+    LOCATION("location", "location"),
+    WORK_ORDERS("workOrders", null);
+
+    private final String jsonName;
+    private final String column;
+
+    AssetField(String jsonName, String column) {
+        this.jsonName = jsonName;
+        this.column = column;
+    }
+
+    public String jsonName() {
+        return jsonName;
+    }
+
+    /**
+     * @throws IllegalArgumentException for unknown fields
+     */
+    public static EnumSet<AssetField> parse(String fields) {
+        return FieldSelection.parse(fields, AssetField.class, AssetField::jsonName);
+    }
+
+    /**
+     * Columns to select for the requested fields, in result set order; the id is included whenever the work
+     * orders are requested, to attach them to their asset.
+     */
+    public static List<AssetField> columns(Set<AssetField> fields) {
+        EnumSet<AssetField> columns = EnumSet.copyOf(fields);
+        if (columns.remove(WORK_ORDERS)) {
+            columns.add(ID);
+        }
+        return new ArrayList<>(columns);
+    }
+
+    String column() {
+        return column;
+    }
+}
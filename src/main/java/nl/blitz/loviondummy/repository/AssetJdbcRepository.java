@@ -0,0 +1,29 @@
+package nl.blitz.loviondummy.repository;
+
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Plain JDBC access to assets for the sparse asset list.
+ */
+@Repository
+public class AssetJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AssetJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Selects only {@code columns} (see {@link AssetField#columns}), in that order, for all assets.
+     */
+    @Transactional(readOnly = true)
+    public void streamFields(List<AssetField> columns, RowCallbackHandler callback) {
+        String select = String.join(", ", columns.stream().map(AssetField::column).toList());
+        jdbcTemplate.query("SELECT " + select + " FROM assets", callback);
+    }
+}
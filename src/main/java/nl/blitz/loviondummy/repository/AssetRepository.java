@@ -1,9 +1,26 @@
 package nl.blitz.loviondummy.repository;
 
+import java.util.Collection;
+import java.util.List;
 import nl.blitz.loviondummy.domain.Asset;
+import nl.blitz.loviondummy.repository.projection.AssetRow;
+import nl.blitz.loviondummy.repository.projection.WorkOrderSummaryRow;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface AssetRepository extends JpaRepository<Asset, Long> {
-}
 
+    @Query("SELECT new nl.blitz.loviondummy.repository.projection.AssetRow("
+            + "a.id, a.externalAssetRef, a.type, a.description, a.location) FROM Asset a")
+    List<AssetRow> findAllRows();
+
+    @Query("SELECT new nl.blitz.loviondummy.repository.projection.AssetRow("
+            + "a.id, a.externalAssetRef, a.type, a.description, a.location) FROM Asset a WHERE a.id IN :ids")
+    List<AssetRow> findRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new nl.blitz.loviondummy.repository.projection.WorkOrderSummaryRow("
+            + "a.id, wo.id, wo.externalWorkOrderId, wo.status) FROM Asset a JOIN a.workOrders wo")
+    List<WorkOrderSummaryRow> findAllWorkOrderSummaryRows();
+}
 
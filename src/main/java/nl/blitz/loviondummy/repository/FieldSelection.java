@@ -0,0 +1,44 @@
+package nl.blitz.loviondummy.repository;
+
+import java.util.EnumSet;
+import java.util.function.Function;
+
+/**
+ * Parses a {@code fields=} parameter (comma separated JSON field names) into the fields of a list query.
+ */
+final class FieldSelection {
+
+    private FieldSelection() {
+    }
+
+    /**
+     * A name matches a field exactly, or is the prefix of nested fields ({@code asset} selects all {@code asset.*}).
+     *
+     * @throws IllegalArgumentException for an empty selection or an unknown name
+     */
+    static <E extends Enum<E>> EnumSet<E> parse(String fields, Class<E> type, Function<E, String> name) {
+        EnumSet<E> selected = EnumSet.noneOf(type);
+        for (String part : fields.split(",")) {
+            String requested = part.trim();
+            if (requested.isEmpty()) {
+                continue;
+            }
+            boolean matched = false;
+            for (E field : type.getEnumConstants()) {
+                String fieldName = name.apply(field);
+                if (fieldName.equals(requested) || fieldName.startsWith(requested + ".")) {
+                    selected.add(field);
+                    matched = true;
+                }
+            }
+            if (!matched) {
+                throw new IllegalArgumentException("Unknown field: " + requested + " (expected one of "
+                        + String.join(", ", EnumSet.allOf(type).stream().map(name).toList()) + ")");
+            }
+        }
+        if (selected.isEmpty()) {
+            throw new IllegalArgumentException("fields must name at least one field");
+        }
+        return selected;
+    }
+}
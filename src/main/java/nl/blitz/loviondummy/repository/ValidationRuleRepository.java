@@ -1,16 +1,34 @@
 package nl.blitz.loviondummy.repository;
 
+import jakarta.persistence.QueryHint;
+import java.util.List;
 import nl.blitz.loviondummy.domain.ValidationRule;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
-import java.util.List;
 
+/**
+ * The rule set is small and almost static, so the lookups go through the query cache (region
+ * {@value #QUERY_CACHE_REGION}); the rules themselves come from the entity cache.
+ */
 @Repository
 public interface ValidationRuleRepository extends JpaRepository<ValidationRule, Long> {
 
+    String QUERY_CACHE_REGION = "validation-rule-queries";
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)})
     List<ValidationRule> findByIsActiveTrue();
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)})
     List<ValidationRule> findByRuleType(String ruleType);
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)})
     List<ValidationRule> findBySeverity(String severity);
 }
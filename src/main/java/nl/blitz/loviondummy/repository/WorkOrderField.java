@@ -0,0 +1,96 @@
+package nl.blitz.loviondummy.repository;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import nl.blitz.loviondummy.repository.projection.WorkOrderRow;
+
+/**
+ * Fields of the work-order list JSON that a sparse fieldset can select, in the order of {@code WorkOrderDto}, with
+ * the column each one is read from. Only the asset reference, type and location need the join with
+ * {@code assets}; the asset id comes from the work order itself.
+ */
+public enum WorkOrderField {
+
+    ID("id", "wo.id"),
+    EXTERNAL_WORK_ORDER_ID("externalWorkOrderId", "wo.external_workorder_id"),
+    WORK_TYPE("workType", "wo.work_type"),
+    PRIORITY("priority", "wo.priority"),
+    SCHEDULED_DATE("scheduledDate", "wo.scheduled_date"),
+    STATUS("status", "wo.status"),
+    DESCRIPTION("description", "wo.description"),
+    ASSET_ID("asset.id", "wo.asset_id"),
+    ASSET_EXTERNAL_REF("asset.externalAssetRef", "a.external_asset_ref"),
+    ASSET_TYPE("asset.type", "a.type"),
+    ASSET_LOCATION("asset.location", "a.location");
+
+    private final String jsonName;
+    private final String column;
+
+    WorkOrderField(String jsonName, String column) {
+        this.jsonName = jsonName;
+        this.column = column;
+    }
+
+    public String jsonName() {
+        return jsonName;
+    }
+
+    /**
+     * Name within the nested {@code asset} object for asset fields, else the JSON name.
+     */
+    public String localName() {
+        return isAssetField() ? jsonName.substring("asset.".length()) : jsonName;
+    }
+
+    public boolean isAssetField() {
+        return ordinal() >= ASSET_ID.ordinal();
+    }
+
+    boolean needsAssetJoin() {
+        return isAssetField() && this != ASSET_ID;
+    }
+
+    /**
+     * Parses e.g. {@code externalWorkOrderId,status,scheduledDate} or {@code id,asset.location}; {@code asset}
+     * selects all asset fields.
+     *
+     * @throws IllegalArgumentException for unknown fields
+     */
+    public static EnumSet<WorkOrderField> parse(String fields) {
+        return FieldSelection.parse(fields, WorkOrderField.class, WorkOrderField::jsonName);
+    }
+
+    /**
+     * Columns to select for the requested fields, in result set order: the requested fields plus the asset id
+     * whenever an asset field is requested, which tells a work order without asset ({@code "asset": null}) apart.
+     */
+    public static List<WorkOrderField> columns(Set<WorkOrderField> fields) {
+        EnumSet<WorkOrderField> columns = EnumSet.copyOf(fields);
+        if (fields.stream().anyMatch(WorkOrderField::isAssetField)) {
+            columns.add(ASSET_ID);
+        }
+        return new ArrayList<>(columns);
+    }
+
+    public Object valueOf(WorkOrderRow row) {
+        return switch (this) {
+            case ID -> row.id();
+            case EXTERNAL_WORK_ORDER_ID -> row.externalWorkOrderId();
+            case WORK_TYPE -> row.workType();
+            case PRIORITY -> row.priority();
+            case SCHEDULED_DATE -> row.scheduledDate();
+            case STATUS -> row.status();
+            case DESCRIPTION -> row.description();
+            case ASSET_ID -> row.assetId();
+            case ASSET_EXTERNAL_REF -> row.assetExternalRef();
+            case ASSET_TYPE -> row.assetType();
+            case ASSET_LOCATION -> row.assetLocation();
+        };
+    }
+
+    String column() {
+        return column;
+    }
+}
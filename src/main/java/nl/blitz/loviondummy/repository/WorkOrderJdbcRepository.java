@@ -0,0 +1,122 @@
+package nl.blitz.loviondummy.repository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Plain JDBC access to work orders for paths that bypass JPA entirely.
+ */
+@Repository
+public class WorkOrderJdbcRepository {
+
+    /**
+     * Column order used by {@link #streamRows}; callers read the result set by index.
+     */
+    public static final String ROW_COLUMNS = "wo.id, wo.external_workorder_id, wo.work_type, wo.priority, "
+            + "wo.scheduled_date, wo.status, wo.description, a.id, a.external_asset_ref, a.type, a.location";
+
+    private static final int FETCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public WorkOrderJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Runs the work-order list query with the same filters as {@link WorkOrderRepository} and hands every
+     * row to the callback while the result set is still open.
+     */
+    @Transactional(readOnly = true)
+    public void streamRows(String status, Long assetId, RowCallbackHandler callback) {
+        stream(ROW_COLUMNS, true, status, assetId, callback);
+    }
+
+    /**
+     * Sparse variant of {@link #streamRows}: selects only {@code columns} (see {@link WorkOrderField#columns}), in
+     * that order, and joins {@code assets} only when one of them lives there.
+     */
+    @Transactional(readOnly = true)
+    public void streamFields(String status, Long assetId, List<WorkOrderField> columns,
+                             RowCallbackHandler callback) {
+        String select = String.join(", ", columns.stream().map(WorkOrderField::column).toList());
+        stream(select, columns.stream().anyMatch(WorkOrderField::needsAssetJoin), status, assetId, callback);
+    }
+
+    /**
+     * Streams {@code scheduled_date, id, asset type} of the work orders scheduled from {@code from} up to and including
+     * {@code to}, ordered by date and id. The range is read from {@code idx_work_orders_scheduled_date}, so the cost
+     * depends on the rows in the range, not on the size of the table.
+     */
+    @Transactional(readOnly = true)
+    public void streamScheduled(LocalDate from, LocalDate to, String assetType, RowCallbackHandler callback) {
+        StringBuilder sql = new StringBuilder("SELECT wo.scheduled_date, wo.id, a.type FROM work_orders wo"
+                + " LEFT JOIN assets a ON a.id = wo.asset_id WHERE wo.scheduled_date BETWEEN ? AND ?");
+        List<Object> args = new ArrayList<>(List.of(from, to));
+        if (assetType != null) {
+            sql.append(" AND UPPER(a.type) = UPPER(?)");
+            args.add(assetType);
+        }
+        sql.append(" ORDER BY wo.scheduled_date, wo.id");
+        query(sql.toString(), args, callback);
+    }
+
+    /**
+     * Streams {@code id, external id, work type, priority, scheduled date, asset location} of the work orders with one
+     * of {@code statuses} that are due up to and including {@code until}, have no date, or have one of
+     * {@code anyDatePriorities}.
+     */
+    @Transactional(readOnly = true)
+    public void streamPlannable(Collection<String> statuses, LocalDate until, Collection<String> anyDatePriorities,
+                                RowCallbackHandler callback) {
+        String sql = "SELECT wo.id, wo.external_workorder_id, wo.work_type, wo.priority, wo.scheduled_date, a.location"
+                + " FROM work_orders wo LEFT JOIN assets a ON a.id = wo.asset_id"
+                + " WHERE wo.status IN (" + placeholders(statuses.size()) + ")"
+                + " AND (wo.scheduled_date IS NULL OR wo.scheduled_date <= ?"
+                + " OR wo.priority IN (" + placeholders(anyDatePriorities.size()) + "))";
+        List<Object> args = new ArrayList<>(statuses);
+        args.add(until);
+        args.addAll(anyDatePriorities);
+        query(sql, args, callback);
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private void stream(String columns, boolean joinAssets, String status, Long assetId,
+                        RowCallbackHandler callback) {
+        StringBuilder sql = new StringBuilder("SELECT ").append(columns).append(" FROM work_orders wo");
+        if (joinAssets) {
+            sql.append(" LEFT JOIN assets a ON a.id = wo.asset_id");
+        }
+        List<Object> args = new ArrayList<>(2);
+        if (status != null) {
+            sql.append(" WHERE UPPER(wo.status) = UPPER(?)");
+            args.add(status);
+        }
+        if (assetId != null) {
+            sql.append(args.isEmpty() ? " WHERE" : " AND").append(" wo.asset_id = ?");
+            args.add(assetId);
+        }
+        query(sql.toString(), args, callback);
+    }
+
+    private void query(String sql, List<Object> args, RowCallbackHandler callback) {
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(sql);
+            statement.setFetchSize(FETCH_SIZE);
+            for (int i = 0; i < args.size(); i++) {
+                statement.setObject(i + 1, args.get(i));
+            }
+            return statement;
+        }, callback);
+    }
+}
@@ -1,14 +1,22 @@
 package nl.blitz.loviondummy.repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import nl.blitz.loviondummy.domain.WorkOrder;
+import nl.blitz.loviondummy.repository.projection.WorkOrderKey;
+import nl.blitz.loviondummy.repository.projection.WorkOrderRow;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 public interface WorkOrderRepository extends JpaRepository<WorkOrder, Long> {
 
+    String ROW_SELECT = "SELECT new nl.blitz.loviondummy.repository.projection.WorkOrderRow("
+            + "wo.id, wo.externalWorkOrderId, wo.workType, wo.priority, wo.scheduledDate, wo.status, wo.description, "
+            + "a.id, a.externalAssetRef, a.type, a.location) FROM WorkOrder wo LEFT JOIN wo.asset a";
+
     @Query("SELECT wo FROM WorkOrder wo LEFT JOIN FETCH wo.asset WHERE UPPER(wo.status) = UPPER(:status)")
     List<WorkOrder> findByStatusIgnoreCase(@Param("status") String status);
 
@@ -24,6 +32,36 @@ public interface WorkOrderRepository extends JpaRepository<WorkOrder, Long> {
     @Query("SELECT wo FROM WorkOrder wo LEFT JOIN FETCH wo.asset")
     @Override
     List<WorkOrder> findAll();
-}
 
+    @Query(ROW_SELECT)
+    List<WorkOrderRow> findAllRows();
+
+    @Query(ROW_SELECT + " WHERE UPPER(wo.status) = UPPER(:status)")
+    List<WorkOrderRow> findRowsByStatusIgnoreCase(@Param("status") String status);
+
+    @Query(ROW_SELECT + " WHERE a.id = :assetId")
+    List<WorkOrderRow> findRowsByAssetId(@Param("assetId") Long assetId);
+
+    @Query(ROW_SELECT + " WHERE UPPER(wo.status) = UPPER(:status) AND a.id = :assetId")
+    List<WorkOrderRow> findRowsByStatusIgnoreCaseAndAssetId(@Param("status") String status,
+                                                            @Param("assetId") Long assetId);
 
+    @Query(ROW_SELECT + " WHERE wo.id IN :ids")
+    List<WorkOrderRow> findRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(ROW_SELECT + " WHERE wo.externalWorkOrderId IN :externalWorkOrderIds")
+    List<WorkOrderRow> findRowsByExternalWorkOrderIdIn(
+            @Param("externalWorkOrderIds") Collection<String> externalWorkOrderIds);
+
+    /**
+     * Work orders scheduled from {@code from} up to and including {@code to}, by date; a range scan on
+     * {@code idx_work_orders_scheduled_date}.
+     */
+    @Query(ROW_SELECT + " WHERE wo.scheduledDate BETWEEN :from AND :to ORDER BY wo.scheduledDate, wo.id")
+    List<WorkOrderRow> findRowsByScheduledDateBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT new nl.blitz.loviondummy.repository.projection.WorkOrderKey(wo.id, wo.externalWorkOrderId) "
+            + "FROM WorkOrder wo WHERE wo.externalWorkOrderId IN :externalWorkOrderIds")
+    List<WorkOrderKey> findKeysByExternalWorkOrderIdIn(
+            @Param("externalWorkOrderIds") Collection<String> externalWorkOrderIds);
+}
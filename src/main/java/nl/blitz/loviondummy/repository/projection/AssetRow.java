@@ -0,0 +1,14 @@
+package nl.blitz.loviondummy.repository.projection;
+
+import nl.blitz.loviondummy.domain.Asset;
+
+/**
+ * Read-only view of the asset columns used by the asset list.
+ */
+public record AssetRow(Long id, String externalAssetRef, String type, String description, String location) {
+
+    public static AssetRow of(Asset asset) {
+        return new AssetRow(asset.getId(), asset.getExternalAssetRef(), asset.getType(), asset.getDescription(),
+                asset.getLocation());
+    }
+}
@@ -0,0 +1,7 @@
+package nl.blitz.loviondummy.repository.projection;
+
+/**
+ * Database id of a work order next to its external id, to resolve SOAP references without loading the entity.
+ */
+public record WorkOrderKey(Long id, String externalWorkOrderId) {
+}
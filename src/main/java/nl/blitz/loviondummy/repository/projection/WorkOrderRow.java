@@ -0,0 +1,43 @@
+package nl.blitz.loviondummy.repository.projection;
+
+import java.time.LocalDate;
+import nl.blitz.loviondummy.domain.Asset;
+import nl.blitz.loviondummy.domain.WorkOrder;
+
+/**
+ * Flat read-only view of a work order and its asset, selected column by column
+ * so list endpoints do not hydrate managed entities.
+ */
+public record WorkOrderRow(
+        Long id,
+        String externalWorkOrderId,
+        String workType,
+        String priority,
+        LocalDate scheduledDate,
+        String status,
+        String description,
+        Long assetId,
+        String assetExternalRef,
+        String assetType,
+        String assetLocation) {
+
+    public static WorkOrderRow of(WorkOrder workOrder) {
+        Asset asset = workOrder.getAsset();
+        return new WorkOrderRow(
+                workOrder.getId(),
+                workOrder.getExternalWorkOrderId(),
+                workOrder.getWorkType(),
+                workOrder.getPriority(),
+                workOrder.getScheduledDate(),
+                workOrder.getStatus(),
+                workOrder.getDescription(),
+                asset != null ? asset.getId() : null,
+                asset != null ? asset.getExternalAssetRef() : null,
+                asset != null ? asset.getType() : null,
+                asset != null ? asset.getLocation() : null);
+    }
+
+    public boolean hasAsset() {
+        return assetId != null || assetExternalRef != null;
+    }
+}
@@ -0,0 +1,15 @@
+package nl.blitz.loviondummy.repository.projection;
+
+import nl.blitz.loviondummy.domain.Asset;
+import nl.blitz.loviondummy.domain.WorkOrder;
+
+/**
+ * Read-only view of a work order as listed under its asset.
+ */
+public record WorkOrderSummaryRow(Long assetId, Long id, String externalWorkOrderId, String status) {
+
+    public static WorkOrderSummaryRow of(Asset asset, WorkOrder workOrder) {
+        return new WorkOrderSummaryRow(asset.getId(), workOrder.getId(), workOrder.getExternalWorkOrderId(),
+                workOrder.getStatus());
+    }
+}
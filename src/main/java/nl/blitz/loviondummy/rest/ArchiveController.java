@@ -0,0 +1,32 @@
+package nl.blitz.loviondummy.rest;
+
+import nl.blitz.loviondummy.archive.WorkOrderArchiver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Runs the work order archiver now instead of waiting for the next scheduled run.
+ */
+@RestController
+@RequestMapping("/api/admin/archive")
+public class ArchiveController {
+
+    private static final Logger log = LoggerFactory.getLogger(ArchiveController.class);
+
+    private final WorkOrderArchiver archiver;
+
+    public ArchiveController(WorkOrderArchiver archiver) {
+        this.archiver = archiver;
+    }
+
+    @PostMapping
+    public ResponseEntity<WorkOrderArchiver.Run> archive(@RequestParam(required = false) Integer minAgeDays) {
+        log.info("REST POST /api/admin/archive with minAgeDays {}", minAgeDays);
+        return ResponseEntity.ok(minAgeDays != null ? archiver.archive(minAgeDays) : archiver.archive());
+    }
+}
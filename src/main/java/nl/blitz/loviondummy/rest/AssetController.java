@@ -1,17 +1,24 @@
 package nl.blitz.loviondummy.rest;
 
 import java.util.List;
+import java.util.Set;
 import nl.blitz.loviondummy.domain.Asset;
 import nl.blitz.loviondummy.dto.AssetDto;
 import nl.blitz.loviondummy.dto.DtoMapper;
+import nl.blitz.loviondummy.dto.SearchResultDto;
+import nl.blitz.loviondummy.repository.AssetField;
+import nl.blitz.loviondummy.search.DescriptionSearchService;
 import nl.blitz.loviondummy.service.AssetQueryService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/assets")
@@ -20,20 +27,51 @@ public class AssetController {
     private static final Logger log = LoggerFactory.getLogger(AssetController.class);
 
     private final AssetQueryService assetService;
+    private final DescriptionSearchService searchService;
+    private final AssetJsonStreamWriter streamWriter;
 
-    public AssetController(AssetQueryService assetService) {
+    public AssetController(AssetQueryService assetService, DescriptionSearchService searchService,
+                           AssetJsonStreamWriter streamWriter) {
         this.assetService = assetService;
+        this.searchService = searchService;
+        this.streamWriter = streamWriter;
     }
 
     @GetMapping
     public ResponseEntity<List<AssetDto>> getAssets() {
         log.info("REST GET /api/assets");
-        List<Asset> assets = assetService.getAllAssets();
-        List<AssetDto> result = assets.stream().map(DtoMapper::toAssetDto).toList();
+        List<AssetDto> result = DtoMapper.toAssetDtos(
+                assetService.getAssetRows(), assetService.getWorkOrderSummaryRows());
         log.info("Returning {} assets", result.size());
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * Sparse fieldset, e.g. {@code fields=id,externalAssetRef}: only those columns are selected, and the work order
+     * summaries are only queried for {@code workOrders}.
+     */
+    @GetMapping(params = "fields")
+    public ResponseEntity<StreamingResponseBody> getAssetFields(@RequestParam String fields) {
+        log.info("REST GET /api/assets with fields {}", fields);
+        Set<AssetField> selected = AssetField.parse(fields);
+        StreamingResponseBody body = out -> {
+            int count = streamWriter.write(out, selected);
+            log.info("Streamed {} assets with fields {}", count, selected);
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<SearchResultDto<AssetDto>> searchAssets(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("REST GET /api/assets/search q={} page={} size={}", q, page, size);
+        SearchPaging.validate(page, size);
+        return ResponseEntity.ok(DtoMapper.toSearchResultDto(q, page, size,
+                searchService.searchAssets(q, page, size), DtoMapper::toAssetDto));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<AssetDto> getAsset(@PathVariable Long id) {
         log.info("REST GET /api/assets/{}", id);
@@ -0,0 +1,111 @@
+package nl.blitz.loviondummy.rest;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import nl.blitz.loviondummy.repository.AssetField;
+import nl.blitz.loviondummy.repository.AssetJdbcRepository;
+import nl.blitz.loviondummy.repository.projection.WorkOrderSummaryRow;
+import nl.blitz.loviondummy.service.AssetQueryService;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes the asset list with a sparse fieldset straight from JDBC, in the shape of a serialized
+ * {@code List<AssetDto>} reduced to the requested fields.
+ */
+@Component
+public class AssetJsonStreamWriter {
+
+    private final AssetJdbcRepository repository;
+    private final AssetQueryService assetService;
+    private final JsonFactory jsonFactory;
+
+    public AssetJsonStreamWriter(AssetJdbcRepository repository, AssetQueryService assetService,
+                                 ObjectMapper objectMapper) {
+        this.repository = repository;
+        this.assetService = assetService;
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    /**
+     * Streams the JSON array and returns the number of assets written.
+     */
+    public int write(OutputStream out, Set<AssetField> fields) throws IOException {
+        List<AssetField> columns = AssetField.columns(fields);
+        Map<Long, List<WorkOrderSummaryRow>> workOrders = fields.contains(AssetField.WORK_ORDERS)
+                ? byAsset(assetService.getWorkOrderSummaryRows())
+                : Map.of();
+        int[] count = {0};
+        try (JsonGenerator generator = jsonFactory.createGenerator(out, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            try {
+                repository.streamFields(columns, rs -> {
+                    try {
+                        generator.writeStartObject();
+                        Long id = null;
+                        for (int i = 0; i < columns.size(); i++) {
+                            AssetField field = columns.get(i);
+                            if (field == AssetField.ID) {
+                                id = rs.getObject(i + 1, Long.class);
+                                if (fields.contains(field)) {
+                                    generator.writeFieldName(field.jsonName());
+                                    generator.writeNumber(id);
+                                }
+                            } else {
+                                String value = rs.getString(i + 1);
+                                generator.writeFieldName(field.jsonName());
+                                if (value == null) {
+                                    generator.writeNull();
+                                } else {
+                                    generator.writeString(value);
+                                }
+                            }
+                        }
+                        if (fields.contains(AssetField.WORK_ORDERS)) {
+                            writeWorkOrders(generator, workOrders.getOrDefault(id, List.of()));
+                        }
+                        generator.writeEndObject();
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                    count[0]++;
+                });
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+            generator.writeEndArray();
+        }
+        return count[0];
+    }
+
+    private static void writeWorkOrders(JsonGenerator generator, List<WorkOrderSummaryRow> rows) throws IOException {
+        generator.writeFieldName(AssetField.WORK_ORDERS.jsonName());
+        generator.writeStartArray();
+        for (WorkOrderSummaryRow row : rows) {
+            generator.writeStartObject();
+            generator.writeNumberField("id", row.id());
+            generator.writeStringField("externalWorkOrderId", row.externalWorkOrderId());
+            generator.writeStringField("status", row.status());
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+    }
+
+    private static Map<Long, List<WorkOrderSummaryRow>> byAsset(List<WorkOrderSummaryRow> rows) {
+        Map<Long, List<WorkOrderSummaryRow>> byAsset = new HashMap<>();
+        for (WorkOrderSummaryRow row : rows) {
+            byAsset.computeIfAbsent(row.assetId(), id -> new ArrayList<>()).add(row);
+        }
+        return byAsset;
+    }
+}
@@ -0,0 +1,50 @@
+package nl.blitz.loviondummy.rest;
+
+import java.util.List;
+import nl.blitz.loviondummy.dto.AssetDto;
+import nl.blitz.loviondummy.dto.DtoMapper;
+import nl.blitz.loviondummy.service.AssetQueryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+
+/**
+ * Non-blocking variant of {@link AssetController}, see {@link AsyncWorkOrderController}.
+ */
+@RestController
+@RequestMapping("/api/async/assets")
+public class AsyncAssetController {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncAssetController.class);
+
+    private final AssetQueryService assetService;
+    private final BoundedQueryExecutor queryExecutor;
+
+    public AsyncAssetController(AssetQueryService assetService, BoundedQueryExecutor queryExecutor) {
+        this.assetService = assetService;
+        this.queryExecutor = queryExecutor;
+    }
+
+    @GetMapping
+    public DeferredResult<ResponseEntity<List<AssetDto>>> getAssets() {
+        log.info("REST GET /api/async/assets");
+        return queryExecutor.execute(() -> {
+            List<AssetDto> result = DtoMapper.toAssetDtos(
+                    assetService.getAssetRows(), assetService.getWorkOrderSummaryRows());
+            log.info("Returning {} assets", result.size());
+            return ResponseEntity.ok(result);
+        });
+    }
+
+    @GetMapping("/{id}")
+    public DeferredResult<ResponseEntity<AssetDto>> getAsset(@PathVariable Long id) {
+        log.info("REST GET /api/async/assets/{}", id);
+        // mapping runs inside the query transaction, so the lazy work-order list can still be read
+        return queryExecutor.execute(() -> ResponseEntity.ok(DtoMapper.toAssetDto(assetService.getAsset(id))));
+    }
+}
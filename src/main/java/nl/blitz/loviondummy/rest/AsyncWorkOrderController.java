@@ -0,0 +1,53 @@
+package nl.blitz.loviondummy.rest;
+
+import java.util.List;
+import nl.blitz.loviondummy.dto.DtoMapper;
+import nl.blitz.loviondummy.dto.WorkOrderDto;
+import nl.blitz.loviondummy.service.WorkOrderQueryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+
+/**
+ * Non-blocking variant of {@link WorkOrderController}: the servlet thread is released right away and the
+ * query runs on the {@link BoundedQueryExecutor}, which sheds load with a 503 instead of queueing forever.
+ */
+@RestController
+@RequestMapping("/api/async/workorders")
+public class AsyncWorkOrderController {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncWorkOrderController.class);
+
+    private final WorkOrderQueryService workOrderService;
+    private final BoundedQueryExecutor queryExecutor;
+
+    public AsyncWorkOrderController(WorkOrderQueryService workOrderService, BoundedQueryExecutor queryExecutor) {
+        this.workOrderService = workOrderService;
+        this.queryExecutor = queryExecutor;
+    }
+
+    @GetMapping
+    public DeferredResult<ResponseEntity<List<WorkOrderDto>>> getWorkOrders(
+            @RequestParam(required = false) String status, @RequestParam(required = false) Long assetId) {
+        log.info("REST GET /api/async/workorders with status {} and asset {}", status, assetId);
+        return queryExecutor.execute(() -> {
+            List<WorkOrderDto> result = DtoMapper.toWorkOrderDtos(
+                    workOrderService.getWorkOrderRows(status, assetId));
+            log.info("Returning {} work orders", result.size());
+            return ResponseEntity.ok(result);
+        });
+    }
+
+    @GetMapping("/{id}")
+    public DeferredResult<ResponseEntity<WorkOrderDto>> getWorkOrder(@PathVariable Long id) {
+        log.info("REST GET /api/async/workorders/{}", id);
+        return queryExecutor.execute(
+                () -> ResponseEntity.ok(DtoMapper.toWorkOrderDto(workOrderService.getWorkOrder(id))));
+    }
+}
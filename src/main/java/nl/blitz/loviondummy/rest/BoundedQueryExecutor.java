@@ -0,0 +1,125 @@
+package nl.blitz.loviondummy.rest;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import nl.blitz.loviondummy.exception.ServiceOverloadedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.async.DeferredResult;
+
+/**
+ * Runs read queries for the async controllers on a small, bounded thread pool.
+ * <ul>
+ *     <li>Admission control: when the queue is full the request is rejected right away with a 503.</li>
+ *     <li>Deadline: every request gets {@code lovion.async.deadline-ms}. Work still queued at the deadline is
+ *     skipped; work already running gets the remaining time as transaction timeout, which the JPA queries pick
+ *     up as statement timeout, so the database cancels them.</li>
+ * </ul>
+ */
+@Component
+public class BoundedQueryExecutor implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(BoundedQueryExecutor.class);
+
+    private final ThreadPoolExecutor executor;
+    private final PlatformTransactionManager transactionManager;
+    private final long deadlineMs;
+    private final int retryAfterSeconds;
+    private final Counter rejected;
+    private final Counter expired;
+
+    public BoundedQueryExecutor(PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${lovion.async.pool-size:8}") int poolSize,
+                                @Value("${lovion.async.queue-capacity:32}") int queueCapacity,
+                                @Value("${lovion.async.deadline-ms:2000}") long deadlineMs,
+                                @Value("${lovion.async.retry-after-seconds:1}") int retryAfterSeconds) {
+        this.transactionManager = transactionManager;
+        this.deadlineMs = deadlineMs;
+        this.retryAfterSeconds = retryAfterSeconds;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "rest-query-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        new ExecutorServiceMetrics(executor, "restQuery", Tags.empty()).bindTo(meterRegistry);
+        this.rejected = Counter.builder("lovion.async.shed").tag("reason", "queue_full").register(meterRegistry);
+        this.expired = Counter.builder("lovion.async.shed").tag("reason", "deadline").register(meterRegistry);
+    }
+
+    /**
+     * Schedules {@code query} in a read-only transaction and returns the pending result.
+     *
+     * @throws ServiceOverloadedException when the queue is full
+     */
+    public <T> DeferredResult<T> execute(Supplier<T> query) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMs);
+        DeferredResult<T> result = new DeferredResult<>(deadlineMs);
+        Future<?> task;
+        try {
+            task = executor.submit(() -> run(query, deadline, result));
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            log.warn("Rejecting request: query queue full ({} queued)", executor.getQueue().size());
+            throw new ServiceOverloadedException("Too many concurrent requests", retryAfterSeconds);
+        }
+        result.onTimeout(() -> {
+            expired.increment();
+            result.setErrorResult(deadlineExceeded());
+        });
+        // Frees the queue slot of work that never started; running work stops at its query timeout
+        result.onCompletion(() -> {
+            if (task.cancel(false)) {
+                executor.remove((Runnable) task);
+            }
+        });
+        return result;
+    }
+
+    private <T> void run(Supplier<T> query, long deadline, DeferredResult<T> result) {
+        long remainingMs = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+        if (remainingMs <= 0 || result.isSetOrExpired()) {
+            return;
+        }
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        transaction.setTimeout((int) Math.max(1, (remainingMs + 999) / 1000));
+        try {
+            result.setResult(transaction.execute(status -> query.get()));
+        } catch (QueryTimeoutException | TransactionTimedOutException ex) {
+            expired.increment();
+            result.setErrorResult(deadlineExceeded());
+        } catch (RuntimeException ex) {
+            result.setErrorResult(ex);
+        }
+    }
+
+    private ServiceOverloadedException deadlineExceeded() {
+        return new ServiceOverloadedException("Deadline of %d ms exceeded".formatted(deadlineMs), retryAfterSeconds);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
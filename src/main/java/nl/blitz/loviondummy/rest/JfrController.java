@@ -0,0 +1,34 @@
+package nl.blitz.loviondummy.rest;
+
+import java.io.IOException;
+import nl.blitz.loviondummy.jfr.JfrRecorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Starts a flight recording with the application events enabled.
+ */
+@RestController
+@RequestMapping("/api/admin/jfr")
+public class JfrController {
+
+    private static final Logger log = LoggerFactory.getLogger(JfrController.class);
+
+    private final JfrRecorder recorder;
+
+    public JfrController(JfrRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @PostMapping
+    public ResponseEntity<JfrRecorder.Started> record(@RequestParam(defaultValue = "60") long seconds)
+            throws IOException {
+        log.info("REST POST /api/admin/jfr for {} seconds", seconds);
+        return ResponseEntity.accepted().body(recorder.start(seconds));
+    }
+}
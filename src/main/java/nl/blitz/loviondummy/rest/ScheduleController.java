@@ -0,0 +1,38 @@
+package nl.blitz.loviondummy.rest;
+
+import nl.blitz.loviondummy.dto.DtoMapper;
+import nl.blitz.loviondummy.dto.ScheduleRequestDto;
+import nl.blitz.loviondummy.dto.SchedulePlanDto;
+import nl.blitz.loviondummy.scheduling.CrewSchedulingService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/schedule")
+public class ScheduleController {
+
+    private static final Logger log = LoggerFactory.getLogger(ScheduleController.class);
+
+    private final CrewSchedulingService schedulingService;
+
+    public ScheduleController(CrewSchedulingService schedulingService) {
+        this.schedulingService = schedulingService;
+    }
+
+    /**
+     * Proposes day plans per crew for the open work orders, e.g.
+     * {@code {"from": "2026-03-02", "days": 10, "crews": [{"name": "Ploeg A", "minutesPerDay": 480}]}}.
+     */
+    @PostMapping
+    public ResponseEntity<SchedulePlanDto> plan(@RequestBody ScheduleRequestDto request) {
+        log.info("REST POST /api/schedule from {} for {} days and {} crews", request.getFrom(), request.getDays(),
+                request.getCrews() != null ? request.getCrews().size() : 0);
+        return ResponseEntity.ok(DtoMapper.toSchedulePlanDto(
+                schedulingService.plan(DtoMapper.toScheduleRequest(request))));
+    }
+}
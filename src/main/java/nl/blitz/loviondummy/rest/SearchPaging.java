@@ -0,0 +1,21 @@
+package nl.blitz.loviondummy.rest;
+
+final class SearchPaging {
+
+    static final int MAX_PAGE_SIZE = 100;
+
+    private SearchPaging() {
+    }
+
+    static void validate(int page, int size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("page must be 0 or more");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if ((long) page * size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("page is out of range");
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package nl.blitz.loviondummy.rest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import nl.blitz.loviondummy.config.DatabaseSnapshotService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Writes a database snapshot that a later start can restore with {@code lovion.snapshot.restore-on-startup}.
+ */
+@RestController
+@RequestMapping("/api/admin/snapshot")
+public class SnapshotController {
+
+    private static final Logger log = LoggerFactory.getLogger(SnapshotController.class);
+
+    private final DatabaseSnapshotService snapshotService;
+
+    public SnapshotController(DatabaseSnapshotService snapshotService) {
+        this.snapshotService = snapshotService;
+    }
+
+    @PostMapping
+    public ResponseEntity<Map<String, Object>> createSnapshot() throws IOException {
+        log.info("REST POST /api/admin/snapshot");
+        long start = System.currentTimeMillis();
+        Path path = snapshotService.export();
+        return ResponseEntity.ok(Map.of(
+                "path", path.toString(),
+                "bytes", Files.size(path),
+                "millis", System.currentTimeMillis() - start));
+    }
+}
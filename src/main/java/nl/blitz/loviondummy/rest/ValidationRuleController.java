@@ -0,0 +1,36 @@
+package nl.blitz.loviondummy.rest;
+
+import java.util.List;
+import nl.blitz.loviondummy.dto.DtoMapper;
+import nl.blitz.loviondummy.dto.ValidationRuleDto;
+import nl.blitz.loviondummy.service.ValidationRuleService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/validation-rules")
+public class ValidationRuleController {
+
+    private static final Logger log = LoggerFactory.getLogger(ValidationRuleController.class);
+
+    private final ValidationRuleService validationRuleService;
+
+    public ValidationRuleController(ValidationRuleService validationRuleService) {
+        this.validationRuleService = validationRuleService;
+    }
+
+    @GetMapping
+    public ResponseEntity<List<ValidationRuleDto>> getRules(
+            @RequestParam(required = false) String ruleType,
+            @RequestParam(required = false) String severity) {
+        log.info("REST GET /api/validation-rules ruleType={} severity={}", ruleType, severity);
+        return ResponseEntity.ok(validationRuleService.getRules(ruleType, severity).stream()
+                .map(DtoMapper::toValidationRuleDto)
+                .toList());
+    }
+}
@@ -1,18 +1,42 @@
 package nl.blitz.loviondummy.rest;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
+import nl.blitz.loviondummy.archive.WorkOrderArchive;
 import nl.blitz.loviondummy.domain.WorkOrder;
+import nl.blitz.loviondummy.dto.CalendarDto;
 import nl.blitz.loviondummy.dto.DtoMapper;
+import nl.blitz.loviondummy.dto.StatusTransitionDto;
+import nl.blitz.loviondummy.dto.StatusTransitionResultDto;
 import nl.blitz.loviondummy.dto.WorkOrderDto;
+import nl.blitz.loviondummy.dto.WorkOrderLookupResultDto;
+import nl.blitz.loviondummy.dto.SearchResultDto;
+import nl.blitz.loviondummy.exception.PreconditionFailedException;
+import nl.blitz.loviondummy.repository.WorkOrderField;
+import nl.blitz.loviondummy.repository.projection.WorkOrderRow;
+import nl.blitz.loviondummy.search.DescriptionSearchService;
+import nl.blitz.loviondummy.service.WorkOrderCalendarService;
+import nl.blitz.loviondummy.service.WorkOrderLookupService;
 import nl.blitz.loviondummy.service.WorkOrderQueryService;
+import nl.blitz.loviondummy.service.WorkOrderStatusService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/workorders")
@@ -21,26 +45,190 @@ public class WorkOrderController {
     private static final Logger log = LoggerFactory.getLogger(WorkOrderController.class);
 
     private final WorkOrderQueryService workOrderService;
+    private final WorkOrderJsonStreamWriter streamWriter;
+    private final DescriptionSearchService searchService;
+    private final WorkOrderStatusService statusService;
+    private final WorkOrderArchive archive;
+    private final WorkOrderLookupService lookupService;
+    private final WorkOrderCalendarService calendarService;
 
-    public WorkOrderController(WorkOrderQueryService workOrderService) {
+    public WorkOrderController(WorkOrderQueryService workOrderService,
+                               WorkOrderJsonStreamWriter streamWriter,
+                               DescriptionSearchService searchService,
+                               WorkOrderStatusService statusService,
+                               WorkOrderArchive archive,
+                               WorkOrderLookupService lookupService,
+                               WorkOrderCalendarService calendarService) {
         this.workOrderService = workOrderService;
+        this.streamWriter = streamWriter;
+        this.searchService = searchService;
+        this.statusService = statusService;
+        this.archive = archive;
+        this.lookupService = lookupService;
+        this.calendarService = calendarService;
     }
 
     @GetMapping
     public ResponseEntity<List<WorkOrderDto>> getWorkOrders(
             @RequestParam(required = false) String status, @RequestParam(required = false) Long assetId) {
         log.info("REST GET /api/workorders with status {} and asset {}", status, assetId);
-        List<WorkOrder> workOrders = workOrderService.getWorkOrders(status, assetId);
-        List<WorkOrderDto> result = workOrders.stream().map(DtoMapper::toWorkOrderDto).toList();
+        List<WorkOrderRow> rows = workOrderService.getWorkOrderRows(status, assetId);
+        List<WorkOrderDto> result = DtoMapper.toWorkOrderDtos(rows);
         log.info("Returning {} work orders", result.size());
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * High-throughput variant of {@link #getWorkOrders}: same JSON, written row by row from JDBC.
+     */
+    @GetMapping(params = {"stream=true", "!fields"})
+    public ResponseEntity<StreamingResponseBody> streamWorkOrders(
+            @RequestParam(required = false) String status, @RequestParam(required = false) Long assetId) {
+        log.info("REST GET /api/workorders (streaming) with status {} and asset {}", status, assetId);
+        StreamingResponseBody body = out -> {
+            int count = streamWriter.write(out, status, assetId, archive.findRows(status, assetId));
+            log.info("Streamed {} work orders", count);
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    /**
+     * Sparse fieldset, e.g. {@code fields=externalWorkOrderId,status,scheduledDate}: the query selects only those
+     * columns and skips the asset join unless an asset field other than {@code asset.id} is requested.
+     */
+    @GetMapping(params = "fields")
+    public ResponseEntity<StreamingResponseBody> getWorkOrderFields(
+            @RequestParam String fields,
+            @RequestParam(required = false) String status, @RequestParam(required = false) Long assetId) {
+        log.info("REST GET /api/workorders with fields {}, status {} and asset {}", fields, status, assetId);
+        Set<WorkOrderField> selected = WorkOrderField.parse(fields);
+        StreamingResponseBody body = out -> {
+            int count = streamWriter.write(out, status, assetId, selected, archive.findRows(status, assetId));
+            log.info("Streamed {} work orders with fields {}", count, selected);
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<SearchResultDto<WorkOrderDto>> searchWorkOrders(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        log.info("REST GET /api/workorders/search q={} page={} size={}", q, page, size);
+        SearchPaging.validate(page, size);
+        SearchResultDto<WorkOrderDto> result = DtoMapper.toSearchResultDto(q, page, size,
+                searchService.searchWorkOrders(q, page, size), DtoMapper::toWorkOrderDto);
+        log.info("Search matched {} work orders", result.getTotal());
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Work orders scheduled from {@code from} up to and including {@code to} (ISO dates), by date.
+     */
+    @GetMapping("/scheduled")
+    public ResponseEntity<List<WorkOrderDto>> getScheduledWorkOrders(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        log.info("REST GET /api/workorders/scheduled from {} to {}", from, to);
+        List<WorkOrderDto> result = DtoMapper.toWorkOrderDtos(calendarService.scheduled(from, to));
+        log.info("Returning {} scheduled work orders", result.size());
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Planning board: per day or week between {@code from} and {@code to}, the number of work orders and their ids
+     * per asset type, optionally for one {@code assetType}.
+     */
+    @GetMapping("/calendar")
+    public ResponseEntity<CalendarDto> getCalendar(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "day") String granularity,
+            @RequestParam(required = false) String assetType) {
+        log.info("REST GET /api/workorders/calendar from {} to {} per {} for asset type {}", from, to, granularity,
+                assetType);
+        WorkOrderCalendarService.Calendar calendar = calendarService.calendar(from, to,
+                WorkOrderCalendarService.Granularity.parse(granularity), assetType);
+        return ResponseEntity.ok(DtoMapper.toCalendarDto(calendar));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<WorkOrderDto> getWorkOrder(@PathVariable Long id) {
         log.info("REST GET /api/workorders/{}", id);
         WorkOrder workOrder = workOrderService.getWorkOrder(id);
-        return ResponseEntity.ok(DtoMapper.toWorkOrderDto(workOrder));
+        // the version, for If-Match on PATCH /{id}/status
+        return ResponseEntity.ok().eTag(String.valueOf(workOrder.getVersion()))
+                .body(DtoMapper.toWorkOrderDto(workOrder));
+    }
+
+    /**
+     * Many work orders by external id in one call, e.g. {@code ["WO-1001", "WO-1002"]}: one result per id, in
+     * request order, with {@code found} and the work order when it exists.
+     */
+    @PostMapping("/lookup")
+    public ResponseEntity<WorkOrderLookupResultDto> lookup(@RequestBody List<String> externalWorkOrderIds) {
+        log.info("REST POST /api/workorders/lookup with {} ids", externalWorkOrderIds.size());
+        WorkOrderLookupResultDto result =
+                DtoMapper.toWorkOrderLookupResultDto(lookupService.lookup(externalWorkOrderIds));
+        log.info("Lookup found {} and missed {} work orders", result.getFound(), result.getMissing());
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Moves a work order to another lifecycle status. {@code If-Match} (the ETag of {@code GET /{id}}) or
+     * {@code expectedVersion} in the body makes the change conditional; without them a concurrent change is retried.
+     * A version mismatch is {@code 412} with {@code If-Match} and {@code 409} with {@code expectedVersion}.
+     */
+    @PatchMapping("/{id}/status")
+    public ResponseEntity<StatusTransitionResultDto> changeStatus(
+            @PathVariable Long id,
+            @RequestBody StatusTransitionDto request,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.info("REST PATCH /api/workorders/{}/status to {}", id, request.getStatus());
+        Long expectedVersion = ifMatch != null ? parseETag(ifMatch) : request.getExpectedVersion();
+        WorkOrderStatusService.Result result;
+        try {
+            result = statusService.transition(
+                    new WorkOrderStatusService.Transition(id, null, request.getStatus(), expectedVersion));
+        } catch (OptimisticLockingFailureException ex) {
+            if (ifMatch == null) {
+                throw ex;
+            }
+            // HTTP answers a failed If-Match with 412; expectedVersion in the body stays a 409 conflict
+            throw new PreconditionFailedException(ex.getMessage());
+        }
+        return ResponseEntity.ok().eTag(String.valueOf(result.version()))
+                .body(DtoMapper.toStatusTransitionResultDto(result));
+    }
+
+    /**
+     * Batch of status changes in one transaction, each with its own outcome (APPLIED, UNCHANGED, REJECTED,
+     * CONFLICT, NOT_FOUND).
+     */
+    @PatchMapping("/status")
+    public ResponseEntity<List<StatusTransitionResultDto>> changeStatuses(
+            @RequestBody List<StatusTransitionDto> requests) {
+        log.info("REST PATCH /api/workorders/status with {} transitions", requests.size());
+        List<WorkOrderStatusService.Transition> transitions = requests.stream()
+                .map(request -> new WorkOrderStatusService.Transition(request.getId(),
+                        request.getExternalWorkOrderId(), request.getStatus(), request.getExpectedVersion()))
+                .toList();
+        List<StatusTransitionResultDto> result = statusService.transitionAll(transitions).stream()
+                .map(DtoMapper::toStatusTransitionResultDto)
+                .toList();
+        return ResponseEntity.ok(result);
+    }
+
+    private static Long parseETag(String ifMatch) {
+        String value = ifMatch.trim();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        try {
+            return Long.parseLong(value.replace("\"", ""));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("If-Match must be a work order version ETag, got: " + ifMatch);
+        }
     }
 }
 
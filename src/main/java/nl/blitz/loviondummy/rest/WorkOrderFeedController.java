@@ -0,0 +1,104 @@
+package nl.blitz.loviondummy.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import nl.blitz.loviondummy.feed.FeedFilter;
+import nl.blitz.loviondummy.feed.FeedSink;
+import nl.blitz.loviondummy.feed.FeedSubscription;
+import nl.blitz.loviondummy.feed.WorkOrderChangeFeed;
+import nl.blitz.loviondummy.feed.WorkOrderFeedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Server-sent events with work order changes, instead of polling {@code GET /api/workorders}.
+ * The SSE {@code id} is the feed sequence, so a reconnecting EventSource resumes through {@code Last-Event-ID}.
+ */
+@RestController
+@RequestMapping("/api/workorders")
+public class WorkOrderFeedController {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkOrderFeedController.class);
+
+    private final WorkOrderChangeFeed feed;
+    private final ObjectMapper objectMapper;
+    private final long timeoutMs;
+
+    public WorkOrderFeedController(WorkOrderChangeFeed feed,
+                                   ObjectMapper objectMapper,
+                                   @Value("${lovion.feed.sse-timeout-seconds:600}") long timeoutSeconds) {
+        this.feed = feed;
+        this.objectMapper = objectMapper;
+        this.timeoutMs = timeoutSeconds * 1000;
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestParam(required = false) String status,
+                             @RequestParam(required = false) Long assetId,
+                             @RequestParam(required = false) Long since,
+                             @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId)
+            throws IOException {
+        Long resumeFrom = lastEventId != null ? lastEventId : since;
+        log.info("REST GET /api/workorders/stream with status {} and asset {} from {}", status, assetId, resumeFrom);
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        // subscribe before anything is sent: a full feed must still be able to answer 503
+        FeedSubscription subscription = feed.subscribe(new SseSink(emitter), FeedFilter.of(status, assetId),
+                resumeFrom);
+        try {
+            // the first write commits the response headers, so the client knows it is connected
+            emitter.send(SseEmitter.event().comment("connected"));
+        } catch (IOException ex) {
+            subscription.close(null);
+            throw ex;
+        }
+        emitter.onCompletion(() -> subscription.close(null));
+        emitter.onTimeout(() -> subscription.close(null));
+        emitter.onError(ex -> subscription.close(null));
+        return emitter;
+    }
+
+    private final class SseSink implements FeedSink {
+
+        private final SseEmitter emitter;
+
+        SseSink(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void send(WorkOrderFeedEvent event) throws IOException {
+            emitter.send(SseEmitter.event()
+                    .id(String.valueOf(event.sequence()))
+                    .data(event.json(objectMapper), MediaType.APPLICATION_JSON));
+        }
+
+        @Override
+        public void resync(long sequence) throws IOException {
+            emitter.send(SseEmitter.event()
+                    .id(String.valueOf(sequence))
+                    .name("resync")
+                    .data("{\"sequence\":" + sequence + "}", MediaType.APPLICATION_JSON));
+        }
+
+        @Override
+        public void heartbeat() throws IOException {
+            emitter.send(SseEmitter.event().comment("heartbeat"));
+        }
+
+        @Override
+        public void close(String reason) {
+            if (reason != null) {
+                log.info("Closing work order stream: {}", reason);
+            }
+            emitter.complete();
+        }
+    }
+}
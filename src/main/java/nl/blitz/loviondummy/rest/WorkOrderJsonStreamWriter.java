@@ -0,0 +1,277 @@
+package nl.blitz.loviondummy.rest;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import nl.blitz.loviondummy.repository.WorkOrderField;
+import nl.blitz.loviondummy.repository.WorkOrderJdbcRepository;
+import nl.blitz.loviondummy.repository.projection.WorkOrderRow;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes the work-order list straight from the JDBC result set into a {@link JsonGenerator}.
+ * The output has exactly the shape of a serialized {@code List<WorkOrderDto>}, without building entities,
+ * DTOs or an intermediate list. Jackson recycles the generator buffers per thread.
+ * <p>
+ * Lists are skewed towards a few assets, so every asset object is serialized once per response and copied in as
+ * raw JSON for the other work orders of that asset, without reading its columns again.
+ */
+@Component
+public class WorkOrderJsonStreamWriter {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString EXTERNAL_WORK_ORDER_ID = new SerializedString("externalWorkOrderId");
+    private static final SerializedString WORK_TYPE = new SerializedString("workType");
+    private static final SerializedString PRIORITY = new SerializedString("priority");
+    private static final SerializedString SCHEDULED_DATE = new SerializedString("scheduledDate");
+    private static final SerializedString STATUS = new SerializedString("status");
+    private static final SerializedString DESCRIPTION = new SerializedString("description");
+    private static final SerializedString ASSET = new SerializedString("asset");
+    private static final SerializedString EXTERNAL_ASSET_REF = new SerializedString("externalAssetRef");
+    private static final SerializedString TYPE = new SerializedString("type");
+    private static final SerializedString LOCATION = new SerializedString("location");
+
+    /**
+     * Upper bound on the rendered assets kept per response.
+     */
+    private static final int MAX_RENDERED_ASSETS = 10_000;
+
+    private final WorkOrderJdbcRepository repository;
+    private final JsonFactory jsonFactory;
+    private final boolean datesAsTimestamps;
+
+    public WorkOrderJsonStreamWriter(WorkOrderJdbcRepository repository, ObjectMapper objectMapper) {
+        this.repository = repository;
+        this.jsonFactory = objectMapper.getFactory();
+        // follow the mapper used for the regular endpoint so both produce the same dates
+        this.datesAsTimestamps = objectMapper.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    /**
+     * Streams the JSON array and returns the number of work orders written.
+     */
+    public int write(OutputStream out, String status, Long assetId) throws IOException {
+        return write(out, status, assetId, List.of());
+    }
+
+    /**
+     * Streams the table rows followed by {@code archived}, the matching rows from the archive.
+     */
+    public int write(OutputStream out, String status, Long assetId, List<WorkOrderRow> archived) throws IOException {
+        int[] count = {0};
+        Map<Long, String> assets = new HashMap<>();
+        try (JsonGenerator generator = jsonFactory.createGenerator(out, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            try {
+                repository.streamRows(status, assetId, rs -> {
+                    writeRow(generator, rs, assets);
+                    count[0]++;
+                });
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+            for (WorkOrderRow row : archived) {
+                writeRow(generator, row, assets);
+                count[0]++;
+            }
+            generator.writeEndArray();
+        }
+        return count[0];
+    }
+
+    /**
+     * Sparse fieldset variant: writes only {@code fields}, in the order of the full JSON, from a query that selects
+     * only their columns.
+     */
+    public int write(OutputStream out, String status, Long assetId, Set<WorkOrderField> fields,
+                     List<WorkOrderRow> archived) throws IOException {
+        List<WorkOrderField> columns = WorkOrderField.columns(fields);
+        Object[] values = new Object[columns.size()];
+        int[] count = {0};
+        try (JsonGenerator generator = jsonFactory.createGenerator(out, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            try {
+                repository.streamFields(status, assetId, columns, rs -> {
+                    for (int i = 0; i < values.length; i++) {
+                        values[i] = read(rs, i + 1, columns.get(i));
+                    }
+                    try {
+                        writeFields(generator, columns, fields, values);
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                    count[0]++;
+                });
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+            for (WorkOrderRow row : archived) {
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = columns.get(i).valueOf(row);
+                }
+                writeFields(generator, columns, fields, values);
+                count[0]++;
+            }
+            generator.writeEndArray();
+        }
+        return count[0];
+    }
+
+    private void writeRow(JsonGenerator generator, ResultSet rs, Map<Long, String> assets) throws SQLException {
+        try {
+            generator.writeStartObject();
+            generator.writeFieldName(ID);
+            generator.writeNumber(rs.getLong(1));
+            writeString(generator, EXTERNAL_WORK_ORDER_ID, rs.getString(2));
+            writeString(generator, WORK_TYPE, rs.getString(3));
+            writeString(generator, PRIORITY, rs.getString(4));
+            writeDate(generator, rs.getObject(5, LocalDate.class));
+            writeString(generator, STATUS, rs.getString(6));
+            writeString(generator, DESCRIPTION, rs.getString(7));
+            generator.writeFieldName(ASSET);
+            long assetId = rs.getLong(8);
+            if (rs.wasNull()) {
+                generator.writeNull();
+            } else {
+                String asset = assets.get(assetId);
+                if (asset == null) {
+                    asset = renderAsset(assets, assetId, rs.getString(9), rs.getString(10), rs.getString(11));
+                }
+                generator.writeRawValue(asset);
+            }
+            generator.writeEndObject();
+        } catch (IOException ex) {
+            // e.g. client disconnected: escape the row callback so the query is aborted
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void writeRow(JsonGenerator generator, WorkOrderRow row, Map<Long, String> assets) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(ID);
+        generator.writeNumber(row.id());
+        writeString(generator, EXTERNAL_WORK_ORDER_ID, row.externalWorkOrderId());
+        writeString(generator, WORK_TYPE, row.workType());
+        writeString(generator, PRIORITY, row.priority());
+        writeDate(generator, row.scheduledDate());
+        writeString(generator, STATUS, row.status());
+        writeString(generator, DESCRIPTION, row.description());
+        generator.writeFieldName(ASSET);
+        if (row.assetId() == null) {
+            generator.writeNull();
+        } else {
+            String asset = assets.get(row.assetId());
+            if (asset == null) {
+                asset = renderAsset(assets, row.assetId(), row.assetExternalRef(), row.assetType(),
+                        row.assetLocation());
+            }
+            generator.writeRawValue(asset);
+        }
+        generator.writeEndObject();
+    }
+
+    private void writeFields(JsonGenerator generator, List<WorkOrderField> columns, Set<WorkOrderField> fields,
+                             Object[] values) throws IOException {
+        generator.writeStartObject();
+        boolean inAsset = false;
+        for (int i = 0; i < columns.size(); i++) {
+            WorkOrderField field = columns.get(i);
+            if (field == WorkOrderField.ASSET_ID) {
+                // first asset column, selected with any asset field
+                generator.writeFieldName(ASSET);
+                if (values[i] == null) {
+                    generator.writeNull();
+                    break;
+                }
+                generator.writeStartObject();
+                inAsset = true;
+            }
+            if (!fields.contains(field)) {
+                continue;
+            }
+            if (field == WorkOrderField.SCHEDULED_DATE) {
+                writeDate(generator, (LocalDate) values[i]);
+            } else {
+                generator.writeFieldName(field.localName());
+                if (values[i] == null) {
+                    generator.writeNull();
+                } else if (values[i] instanceof Long number) {
+                    generator.writeNumber(number);
+                } else {
+                    generator.writeString((String) values[i]);
+                }
+            }
+        }
+        if (inAsset) {
+            generator.writeEndObject();
+        }
+        generator.writeEndObject();
+    }
+
+    private static Object read(ResultSet rs, int index, WorkOrderField field) throws SQLException {
+        return switch (field) {
+            case ID, ASSET_ID -> rs.getObject(index, Long.class);
+            case SCHEDULED_DATE -> rs.getObject(index, LocalDate.class);
+            default -> rs.getString(index);
+        };
+    }
+
+    private String renderAsset(Map<Long, String> assets, long id, String externalAssetRef, String type,
+                               String location) throws IOException {
+        StringWriter json = new StringWriter(96);
+        try (JsonGenerator generator = jsonFactory.createGenerator(json)) {
+            generator.writeStartObject();
+            generator.writeFieldName(ID);
+            generator.writeNumber(id);
+            writeString(generator, EXTERNAL_ASSET_REF, externalAssetRef);
+            writeString(generator, TYPE, type);
+            writeString(generator, LOCATION, location);
+            generator.writeEndObject();
+        }
+        String rendered = json.toString();
+        if (assets.size() < MAX_RENDERED_ASSETS) {
+            assets.put(id, rendered);
+        }
+        return rendered;
+    }
+
+    private void writeDate(JsonGenerator generator, LocalDate date) throws IOException {
+        generator.writeFieldName(SCHEDULED_DATE);
+        if (date == null) {
+            generator.writeNull();
+        } else if (datesAsTimestamps) {
+            generator.writeStartArray();
+            generator.writeNumber(date.getYear());
+            generator.writeNumber(date.getMonthValue());
+            generator.writeNumber(date.getDayOfMonth());
+            generator.writeEndArray();
+        } else {
+            generator.writeString(date.toString());
+        }
+    }
+
+    private static void writeString(JsonGenerator generator, SerializedString name, String value) throws IOException {
+        generator.writeFieldName(name);
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(value);
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package nl.blitz.loviondummy.scheduling;
+
+import jakarta.annotation.PreDestroy;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import nl.blitz.loviondummy.domain.WorkOrderStatus;
+import nl.blitz.loviondummy.exception.ServiceOverloadedException;
+import nl.blitz.loviondummy.repository.WorkOrderJdbcRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Day plans per crew for the open (pending and scheduled) work orders, computed by {@link SchedulingEngine}.
+ * <p>
+ * A plan covers the work days from {@code from}. It takes the work orders due within that horizon or without a
+ * date, and every URGENT and HIGH one: validation rule 8 wants those done within {@code urgent-within-days} of
+ * today, so they may only go to a day up to that date and stay unplanned when there is no room before it. The plan is
+ * a proposal; nothing is written to the work orders.
+ */
+@Service
+public class CrewSchedulingService {
+
+    private static final Logger log = LoggerFactory.getLogger(CrewSchedulingService.class);
+
+    private static final List<String> URGENT_PRIORITIES = List.of("URGENT", "HIGH");
+    /** Other stored priorities are planned as MEDIUM. */
+    private static final Map<String, Integer> PRIORITY_WEIGHTS = Map.of("URGENT", 8, "HIGH", 4, "MEDIUM", 2,
+            "LOW", 1);
+
+    public record Crew(String name, int minutesPerDay) {
+    }
+
+    /**
+     * @param days          work days to plan, from {@code from}
+     * @param timeLimitMs   search time, {@code null} for {@code time-limit-ms}
+     */
+    public record Request(LocalDate from, int days, boolean includeWeekends, List<Crew> crews, Long timeLimitMs) {
+    }
+
+    public record Stop(long workOrderId, String externalWorkOrderId, String priority, String location, int minutes) {
+    }
+
+    /**
+     * One crew on one day, with its stops grouped per location in visiting order.
+     */
+    public record CrewDay(String crew, LocalDate date, int workMinutes, int travelMinutes, List<Stop> stops) {
+    }
+
+    /**
+     * @param unplannedUrgent URGENT and HIGH work orders left unplanned, each a violation of rule 8
+     */
+    public record Plan(LocalDate from, LocalDate to, int workOrders, int planned, int unplannedUrgent,
+                       long travelMinutes, long cost, long moves, int rounds, long elapsedMs, List<CrewDay> crewDays,
+                       List<Long> unplannedWorkOrderIds) {
+    }
+
+    private final WorkOrderJdbcRepository jdbcRepository;
+    private final int threads;
+    private final long timeLimitMs;
+    private final long maxTimeLimitMs;
+    private final int maxDays;
+    private final int maxCrews;
+    private final int urgentWithinDays;
+    private final int travelMinutes;
+    private final int defaultMinutes;
+    private final Map<String, Integer> workMinutes;
+    private final Semaphore running;
+    private final ExecutorService executor;
+
+    public CrewSchedulingService(WorkOrderJdbcRepository jdbcRepository,
+                                 @Value("${lovion.scheduling.threads:0}") int threads,
+                                 @Value("${lovion.scheduling.time-limit-ms:2000}") long timeLimitMs,
+                                 @Value("${lovion.scheduling.max-time-limit-ms:10000}") long maxTimeLimitMs,
+                                 @Value("${lovion.scheduling.max-days:31}") int maxDays,
+                                 @Value("${lovion.scheduling.max-crews:500}") int maxCrews,
+                                 @Value("${lovion.scheduling.max-concurrent:1}") int maxConcurrent,
+                                 @Value("${lovion.scheduling.urgent-within-days:7}") int urgentWithinDays,
+                                 @Value("${lovion.scheduling.travel-minutes:30}") int travelMinutes,
+                                 @Value("${lovion.scheduling.default-minutes:120}") int defaultMinutes,
+                                 @Value("${lovion.scheduling.work-minutes:INSPECTION:60,MAINTENANCE:120,REPAIR:180,INSTALLATION:240}")
+                                 String workMinutes) {
+        this.jdbcRepository = jdbcRepository;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.timeLimitMs = timeLimitMs;
+        this.maxTimeLimitMs = maxTimeLimitMs;
+        this.maxDays = maxDays;
+        this.maxCrews = maxCrews;
+        this.urgentWithinDays = urgentWithinDays;
+        this.travelMinutes = travelMinutes;
+        this.defaultMinutes = defaultMinutes;
+        this.workMinutes = parseWorkMinutes(workMinutes);
+        this.running = new Semaphore(maxConcurrent);
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(this.threads, runnable -> {
+            Thread thread = new Thread(runnable, "scheduling-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * @throws IllegalArgumentException  for a request outside the configured limits
+     * @throws ServiceOverloadedException when {@code max-concurrent} plans are already being computed
+     */
+    public Plan plan(Request request) {
+        long limit = request.timeLimitMs() != null ? request.timeLimitMs() : timeLimitMs;
+        validate(request, limit);
+        if (!running.tryAcquire()) {
+            throw new ServiceOverloadedException("Another plan is being computed",
+                    (int) Math.max(1, (limit + 999) / 1000));
+        }
+        try {
+            long start = System.currentTimeMillis();
+            List<LocalDate> dates = workDays(request.from(), request.days(), request.includeWeekends());
+            SchedulingProblem problem = load(request.crews(), dates);
+            SchedulingEngine.Result result = new SchedulingEngine(executor, threads).solve(problem, limit,
+                    start);
+            Plan plan = toPlan(problem, result, request.crews(), dates, System.currentTimeMillis() - start);
+            log.info("Planned {} of {} work orders for {} crews over {} days ({} URGENT/HIGH unplanned) in {} ms: "
+                            + "cost {} after {} moves in {} rounds, {} greedy", plan.planned(), plan.workOrders(),
+                    request.crews().size(), dates.size(), plan.unplannedUrgent(), plan.elapsedMs(), plan.cost(),
+                    plan.moves(), plan.rounds(), result.initialCost());
+            return plan;
+        } finally {
+            running.release();
+        }
+    }
+
+    private void validate(Request request, long limit) {
+        if (request.from() == null) {
+            throw new IllegalArgumentException("from is required");
+        }
+        if (request.days() < 1 || request.days() > maxDays) {
+            throw new IllegalArgumentException("days must be between 1 and " + maxDays);
+        }
+        if (request.crews() == null || request.crews().isEmpty() || request.crews().size() > maxCrews) {
+            throw new IllegalArgumentException("A plan needs between 1 and " + maxCrews + " crews");
+        }
+        Set<String> names = new HashSet<>();
+        for (Crew crew : request.crews()) {
+            if (crew.name() == null || crew.name().isBlank() || !names.add(crew.name())) {
+                throw new IllegalArgumentException("Every crew needs a unique name");
+            }
+            if (crew.minutesPerDay() < 1 || crew.minutesPerDay() > 24 * 60) {
+                throw new IllegalArgumentException("minutesPerDay of crew " + crew.name()
+                        + " must be between 1 and 1440");
+            }
+        }
+        if (limit < 1 || limit > maxTimeLimitMs) {
+            throw new IllegalArgumentException("timeLimitMs must be between 1 and " + maxTimeLimitMs);
+        }
+    }
+
+    private static List<LocalDate> workDays(LocalDate from, int days, boolean includeWeekends) {
+        List<LocalDate> dates = new ArrayList<>(days);
+        for (LocalDate date = from; dates.size() < days; date = date.plusDays(1)) {
+            if (includeWeekends || (date.getDayOfWeek() != DayOfWeek.SATURDAY
+                    && date.getDayOfWeek() != DayOfWeek.SUNDAY)) {
+                dates.add(date);
+            }
+        }
+        return dates;
+    }
+
+    private SchedulingProblem load(List<Crew> crews, List<LocalDate> dates) {
+        int[] capacity = crews.stream().mapToInt(Crew::minutesPerDay).toArray();
+        SchedulingProblem.Builder builder = SchedulingProblem.builder(dates.size(), capacity, travelMinutes);
+        LocalDate last = dates.get(dates.size() - 1);
+        int urgentLatest = dayOnOrBefore(dates, LocalDate.now().plusDays(urgentWithinDays));
+        Set<String> open = new HashSet<>(WorkOrderStatus.PENDING.storedValues());
+        open.addAll(WorkOrderStatus.SCHEDULED.storedValues());
+        jdbcRepository.streamPlannable(open, last, URGENT_PRIORITIES, rs -> {
+            String priority = rs.getString(4);
+            LocalDate scheduled = rs.getObject(5, LocalDate.class);
+            boolean urgent = URGENT_PRIORITIES.contains(priority);
+            builder.add(rs.getLong(1), rs.getString(2),
+                    workMinutes.getOrDefault(rs.getString(3), defaultMinutes), rs.getString(6),
+                    scheduled == null ? 0 : dayOnOrAfter(dates, scheduled),
+                    urgent ? urgentLatest : dates.size() - 1, PRIORITY_WEIGHTS.getOrDefault(priority, 2));
+        });
+        if ((long) dates.size() * crews.size() * builder.zones() > 50_000_000L) {
+            throw new IllegalArgumentException("Too many crews and days for " + builder.zones() + " locations");
+        }
+        return builder.build();
+    }
+
+    /**
+     * Index of the first plan day on or after {@code date}; {@code dates.size()} when there is none.
+     */
+    private static int dayOnOrAfter(List<LocalDate> dates, LocalDate date) {
+        int index = Collections.binarySearch(dates, date);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    /**
+     * Index of the last plan day on or before {@code date}; {@code -1} when there is none.
+     */
+    private static int dayOnOrBefore(List<LocalDate> dates, LocalDate date) {
+        int index = Collections.binarySearch(dates, date);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    private static Plan toPlan(SchedulingProblem problem, SchedulingEngine.Result result, List<Crew> crews,
+                               List<LocalDate> dates, long elapsedMs) {
+        Schedule schedule = result.schedule();
+        List<List<Integer>> perSlot = new ArrayList<>(problem.slots());
+        for (int slot = 0; slot < problem.slots(); slot++) {
+            perSlot.add(new ArrayList<>());
+        }
+        List<Long> unplanned = new ArrayList<>();
+        int unplannedUrgent = 0;
+        for (int order = 0; order < problem.orders; order++) {
+            int slot = schedule.slotOf[order];
+            if (slot != Schedule.UNASSIGNED) {
+                perSlot.get(slot).add(order);
+            } else {
+                unplanned.add(problem.workOrderIds[order]);
+                if (problem.weight[order] >= PRIORITY_WEIGHTS.get("HIGH")) {
+                    unplannedUrgent++;
+                }
+            }
+        }
+        String[] priorities = priorityNames();
+        List<CrewDay> crewDays = new ArrayList<>();
+        for (int slot = 0; slot < problem.slots(); slot++) {
+            List<Integer> orders = perSlot.get(slot);
+            if (orders.isEmpty()) {
+                continue;
+            }
+            orders.sort(Comparator.<Integer, String>comparing(order -> problem.zoneNames[problem.zone[order]],
+                            Comparator.nullsLast(Comparator.naturalOrder()))
+                    .thenComparing(order -> -problem.weight[order]));
+            List<Stop> stops = new ArrayList<>(orders.size());
+            int work = 0;
+            for (int order : orders) {
+                stops.add(new Stop(problem.workOrderIds[order], problem.externalIds[order],
+                        priorities[problem.weight[order]], problem.zoneNames[problem.zone[order]],
+                        problem.minutes[order]));
+                work += problem.minutes[order];
+            }
+            crewDays.add(new CrewDay(crews.get(problem.crewOf(slot)).name(), dates.get(problem.dayOf(slot)), work,
+                    schedule.zonesVisited[slot] * problem.travelMinutes, stops));
+        }
+        crewDays.sort(Comparator.comparing(CrewDay::date));
+        return new Plan(dates.get(0), dates.get(dates.size() - 1), problem.orders,
+                problem.orders - unplanned.size(), unplannedUrgent, schedule.travelMinutes(), result.cost(),
+                result.moves(), result.rounds(), elapsedMs, crewDays, unplanned);
+    }
+
+    private static String[] priorityNames() {
+        String[] names = new String[9];
+        Arrays.fill(names, "MEDIUM");
+        PRIORITY_WEIGHTS.forEach((name, weight) -> names[weight] = name);
+        return names;
+    }
+
+    private static Map<String, Integer> parseWorkMinutes(String value) {
+        Map<String, Integer> minutes = new HashMap<>();
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("lovion.scheduling.work-minutes expects TYPE:minutes, not " + entry);
+            }
+            minutes.put(parts[0].trim().toUpperCase(Locale.ROOT), Integer.parseInt(parts[1].trim()));
+        }
+        return minutes;
+    }
+}
@@ -0,0 +1,108 @@
+package nl.blitz.loviondummy.scheduling;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+
+/**
+ * Simulated annealing over one partition of a shared {@link Schedule}: the work orders and the slots of a group of
+ * crews. Every move stays inside the partition, so partitions can be searched on different threads at once.
+ * <p>
+ * Moves are a relocation to a random slot, a relocation next to a work order in the same zone (which is what
+ * shortens the routes) and a swap of two work orders, planned or not.
+ */
+final class LocalSearch implements Callable<Long> {
+
+    private static final int CHECK_INTERVAL = 256;
+
+    private final Schedule schedule;
+    private final int[] orders;
+    private final int[] slots;
+    private final SplittableRandom random;
+    private final long deadlineNanos;
+    private final Temperature temperature;
+    /** Work orders of the partition sorted by zone, with the start of every zone in {@link #zoneStart}. */
+    private final int[] byZone;
+    private final int[] zoneStart;
+
+    /**
+     * Temperature for the time that has passed in the whole run, not just this partition.
+     */
+    interface Temperature {
+        double at(long nanoTime);
+    }
+
+    LocalSearch(Schedule schedule, int[] orders, int[] slots, long seed, long deadlineNanos,
+                Temperature temperature) {
+        this.schedule = schedule;
+        this.orders = orders;
+        this.slots = slots;
+        this.random = new SplittableRandom(seed);
+        this.deadlineNanos = deadlineNanos;
+        this.temperature = temperature;
+        int zones = schedule.problem.zones;
+        this.zoneStart = new int[zones + 1];
+        for (int order : orders) {
+            zoneStart[schedule.problem.zone[order] + 1]++;
+        }
+        for (int zone = 0; zone < zones; zone++) {
+            zoneStart[zone + 1] += zoneStart[zone];
+        }
+        this.byZone = new int[orders.length];
+        int[] next = zoneStart.clone();
+        for (int order : orders) {
+            byZone[next[schedule.problem.zone[order]]++] = order;
+        }
+    }
+
+    /**
+     * @return the number of moves tried
+     */
+    @Override
+    public Long call() {
+        if (orders.length == 0 || slots.length == 0) {
+            return 0L;
+        }
+        long moves = 0;
+        double temp = temperature.at(System.nanoTime());
+        while (true) {
+            if (++moves % CHECK_INTERVAL == 0) {
+                long now = System.nanoTime();
+                if (now >= deadlineNanos) {
+                    return moves;
+                }
+                temp = temperature.at(now);
+            }
+            int order = orders[random.nextInt(orders.length)];
+            int kind = random.nextInt(3);
+            if (kind == 2) {
+                int other = orders[random.nextInt(orders.length)];
+                long delta = schedule.swapDelta(order, other);
+                if (accept(delta, temp)) {
+                    schedule.swap(order, other);
+                }
+                continue;
+            }
+            int to;
+            if (kind == 1) {
+                int zone = schedule.problem.zone[order];
+                int from = zoneStart[zone];
+                to = schedule.slotOf[byZone[from + random.nextInt(zoneStart[zone + 1] - from)]];
+                if (to == Schedule.UNASSIGNED) {
+                    continue;
+                }
+            } else {
+                to = slots[random.nextInt(slots.length)];
+            }
+            if (accept(schedule.moveDelta(order, to), temp)) {
+                schedule.move(order, to);
+            }
+        }
+    }
+
+    private boolean accept(long delta, double temp) {
+        if (delta == Schedule.INFEASIBLE) {
+            return false;
+        }
+        return delta <= 0 || random.nextDouble() < Math.exp(-delta / temp);
+    }
+}
@@ -0,0 +1,191 @@
+package nl.blitz.loviondummy.scheduling;
+
+import java.util.Arrays;
+
+/**
+ * Assignment of work orders to slots, with the minutes used and the zone visits per slot kept up to date so a move
+ * is evaluated in constant time.
+ * <p>
+ * Cost, lower is better: a weighted penalty per unplanned work order that outweighs everything else, a weighted
+ * cost per day away from the scheduled date (late costs more than early) and one per travel minute. Slots are only
+ * written for the work orders moved, so threads that move disjoint work orders between disjoint slots can share one
+ * schedule.
+ */
+final class Schedule {
+
+    static final int UNASSIGNED = -1;
+    /** Returned by the delta methods for a move that is not allowed. */
+    static final long INFEASIBLE = Long.MAX_VALUE;
+
+    static final long UNASSIGNED_COST = 10_000;
+    static final long LATE_DAY_COST = 10;
+    static final long EARLY_DAY_COST = 3;
+
+    final SchedulingProblem problem;
+    final int[] slotOf;
+    /** Per slot: minutes of work and travel. */
+    final int[] used;
+    /** Per slot: distinct zones visited. */
+    final int[] zonesVisited;
+    /** Per slot and zone ({@code slot * zones + zone}): work orders in that zone. */
+    private final int[] visits;
+
+    Schedule(SchedulingProblem problem) {
+        this.problem = problem;
+        this.slotOf = new int[problem.orders];
+        this.used = new int[problem.slots()];
+        this.zonesVisited = new int[problem.slots()];
+        this.visits = new int[Math.multiplyExact(problem.slots(), problem.zones)];
+        Arrays.fill(slotOf, UNASSIGNED);
+    }
+
+    long placementCost(int order, int slot) {
+        if (slot == UNASSIGNED) {
+            return UNASSIGNED_COST * problem.weight[order];
+        }
+        int offset = problem.dayOf(slot) - problem.desiredDay[order];
+        return problem.weight[order] * (offset > 0 ? offset * LATE_DAY_COST : -offset * EARLY_DAY_COST);
+    }
+
+    boolean allowed(int order, int slot) {
+        return slot == UNASSIGNED || problem.dayOf(slot) <= problem.latestDay[order];
+    }
+
+    /**
+     * Travel minutes a slot gains by taking a work order in {@code zone}.
+     */
+    int travelToAdd(int slot, int zone) {
+        return visits[slot * problem.zones + zone] == 0 ? problem.travelMinutes : 0;
+    }
+
+    /**
+     * Cost change of moving a work order to {@code to}, or {@link #INFEASIBLE}.
+     */
+    long moveDelta(int order, int to) {
+        int from = slotOf[order];
+        if (from == to || !allowed(order, to)) {
+            return INFEASIBLE;
+        }
+        int zone = problem.zone[order];
+        long delta = placementCost(order, to) - placementCost(order, from);
+        if (to != UNASSIGNED) {
+            int travel = travelToAdd(to, zone);
+            if (used[to] + problem.minutes[order] + travel > problem.capacity[problem.crewOf(to)]) {
+                return INFEASIBLE;
+            }
+            delta += travel;
+        }
+        if (from != UNASSIGNED && visits[from * problem.zones + zone] == 1) {
+            delta -= problem.travelMinutes;
+        }
+        return delta;
+    }
+
+    /**
+     * Cost change of exchanging the slots of two work orders, or {@link #INFEASIBLE}.
+     */
+    long swapDelta(int first, int second) {
+        int a = slotOf[first];
+        int b = slotOf[second];
+        if (a == b || !allowed(first, b) || !allowed(second, a)) {
+            return INFEASIBLE;
+        }
+        long delta = placementCost(first, b) + placementCost(second, a)
+                - placementCost(first, a) - placementCost(second, b);
+        if (problem.zone[first] != problem.zone[second]) {
+            int travelA = exchangeTravel(a, problem.zone[first], problem.zone[second]);
+            int travelB = exchangeTravel(b, problem.zone[second], problem.zone[first]);
+            if (!fits(a, problem.minutes[second] - problem.minutes[first] + travelA)
+                    || !fits(b, problem.minutes[first] - problem.minutes[second] + travelB)) {
+                return INFEASIBLE;
+            }
+            delta += travelA + travelB;
+        } else if (!fits(a, problem.minutes[second] - problem.minutes[first])
+                || !fits(b, problem.minutes[first] - problem.minutes[second])) {
+            return INFEASIBLE;
+        }
+        return delta;
+    }
+
+    private int exchangeTravel(int slot, int outZone, int inZone) {
+        if (slot == UNASSIGNED) {
+            return 0;
+        }
+        int travel = travelToAdd(slot, inZone);
+        if (visits[slot * problem.zones + outZone] == 1) {
+            travel -= problem.travelMinutes;
+        }
+        return travel;
+    }
+
+    private boolean fits(int slot, int extraMinutes) {
+        return slot == UNASSIGNED || used[slot] + extraMinutes <= problem.capacity[problem.crewOf(slot)];
+    }
+
+    void move(int order, int to) {
+        remove(order);
+        if (to != UNASSIGNED) {
+            add(order, to);
+        }
+    }
+
+    void swap(int first, int second) {
+        int a = slotOf[first];
+        int b = slotOf[second];
+        move(first, b);
+        move(second, a);
+    }
+
+    private void remove(int order) {
+        int slot = slotOf[order];
+        if (slot == UNASSIGNED) {
+            return;
+        }
+        used[slot] -= problem.minutes[order];
+        if (--visits[slot * problem.zones + problem.zone[order]] == 0) {
+            used[slot] -= problem.travelMinutes;
+            zonesVisited[slot]--;
+        }
+        slotOf[order] = UNASSIGNED;
+    }
+
+    private void add(int order, int slot) {
+        used[slot] += problem.minutes[order];
+        if (visits[slot * problem.zones + problem.zone[order]]++ == 0) {
+            used[slot] += problem.travelMinutes;
+            zonesVisited[slot]++;
+        }
+        slotOf[order] = slot;
+    }
+
+    long cost() {
+        long cost = 0;
+        for (int order = 0; order < problem.orders; order++) {
+            cost += placementCost(order, slotOf[order]);
+        }
+        return cost + travelMinutes();
+    }
+
+    long travelMinutes() {
+        long travel = 0;
+        for (int visited : zonesVisited) {
+            travel += (long) visited * problem.travelMinutes;
+        }
+        return travel;
+    }
+
+    /**
+     * Replaces the assignment with an earlier {@link #slotOf} snapshot.
+     */
+    void restore(int[] snapshot) {
+        Arrays.fill(slotOf, UNASSIGNED);
+        Arrays.fill(used, 0);
+        Arrays.fill(zonesVisited, 0);
+        Arrays.fill(visits, 0);
+        for (int order = 0; order < snapshot.length; order++) {
+            if (snapshot[order] != UNASSIGNED) {
+                add(order, snapshot[order]);
+            }
+        }
+    }
+}
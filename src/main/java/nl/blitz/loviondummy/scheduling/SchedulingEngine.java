@@ -0,0 +1,188 @@
+package nl.blitz.loviondummy.scheduling;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plans a {@link SchedulingProblem}: a greedy start, then rounds of {@link LocalSearch} in parallel.
+ * <p>
+ * Each round shuffles the crews into one group per thread and hands every group its planned work orders plus a
+ * random share of the unplanned ones. The groups share no slot and no work order, so the threads work on one
+ * {@link Schedule} without locks; regrouping every round lets a work order reach any crew over time. The temperature
+ * falls over the time limit, and the best schedule seen at the end of a round is returned.
+ */
+final class SchedulingEngine {
+
+    private static final double START_TEMPERATURE = 100;
+    private static final double END_TEMPERATURE = 0.5;
+    private static final int ROUNDS = 20;
+    /** Rounds without a better schedule, after half the time, before stopping early. */
+    private static final int STALL_ROUNDS = 4;
+
+    record Result(Schedule schedule, long initialCost, long cost, long moves, int rounds) {
+    }
+
+    private final ExecutorService executor;
+    private final int threads;
+
+    /**
+     * @param executor runs the partitions; {@code null} searches the whole schedule on the calling thread
+     */
+    SchedulingEngine(ExecutorService executor, int threads) {
+        this.executor = executor;
+        this.threads = threads;
+    }
+
+    Result solve(SchedulingProblem problem, long timeLimitMillis, long seed) {
+        long start = System.nanoTime();
+        long end = start + TimeUnit.MILLISECONDS.toNanos(timeLimitMillis);
+        Schedule schedule = construct(problem);
+        int[] best = schedule.slotOf.clone();
+        long initialCost = schedule.cost();
+        long bestCost = initialCost;
+        SplittableRandom random = new SplittableRandom(seed);
+        LocalSearch.Temperature temperature = now -> START_TEMPERATURE
+                * Math.pow(END_TEMPERATURE / START_TEMPERATURE, Math.min(1, (double) (now - start) / (end - start)));
+        long roundNanos = Math.max(TimeUnit.MILLISECONDS.toNanos(5), (end - start) / ROUNDS);
+        long moves = 0;
+        int rounds = 0;
+        int stalled = 0;
+        while (System.nanoTime() < end && problem.orders > 0) {
+            long roundEnd = Math.min(end, System.nanoTime() + roundNanos);
+            moves += runRound(schedule, random, roundEnd, temperature);
+            rounds++;
+            long cost = schedule.cost();
+            if (cost < bestCost) {
+                bestCost = cost;
+                System.arraycopy(schedule.slotOf, 0, best, 0, best.length);
+                stalled = 0;
+            } else if (System.nanoTime() - start > (end - start) / 2 && ++stalled >= STALL_ROUNDS) {
+                break;
+            }
+        }
+        schedule.restore(best);
+        return new Result(schedule, initialCost, bestCost, moves, rounds);
+    }
+
+    /**
+     * Work orders by last allowed day, priority and scheduled date, each into the cheapest slot it fits.
+     */
+    static Schedule construct(SchedulingProblem problem) {
+        Schedule schedule = new Schedule(problem);
+        long[] keys = new long[problem.orders];
+        for (int order = 0; order < problem.orders; order++) {
+            keys[order] = ((long) (problem.latestDay[order] + 1) << 52) | ((long) (255 - problem.weight[order]) << 44)
+                    | ((long) problem.desiredDay[order] << 32) | order;
+        }
+        Arrays.sort(keys);
+        for (long key : keys) {
+            int order = (int) key;
+            long bestCost = Schedule.INFEASIBLE;
+            int bestSlot = Schedule.UNASSIGNED;
+            for (int day = 0; day <= problem.latestDay[order]; day++) {
+                long dayCost = schedule.placementCost(order, problem.slot(0, day));
+                if (dayCost >= bestCost) {
+                    continue;
+                }
+                for (int crew = 0; crew < problem.crews; crew++) {
+                    int slot = problem.slot(crew, day);
+                    int travel = schedule.travelToAdd(slot, problem.zone[order]);
+                    if (dayCost + travel < bestCost
+                            && schedule.used[slot] + problem.minutes[order] + travel <= problem.capacity[crew]) {
+                        bestCost = dayCost + travel;
+                        bestSlot = slot;
+                    }
+                }
+            }
+            if (bestSlot != Schedule.UNASSIGNED) {
+                schedule.move(order, bestSlot);
+            }
+        }
+        return schedule;
+    }
+
+    private long runRound(Schedule schedule, SplittableRandom random, long roundEnd,
+                          LocalSearch.Temperature temperature) {
+        SchedulingProblem problem = schedule.problem;
+        int groups = executor == null ? 1 : Math.max(1, Math.min(threads, problem.crews));
+        int[] crews = shuffled(problem.crews, random);
+        int[] groupOfCrew = new int[problem.crews];
+        int[][] slots = new int[groups][];
+        int[] slotCount = new int[groups];
+        for (int i = 0; i < crews.length; i++) {
+            groupOfCrew[crews[i]] = i % groups;
+            slotCount[i % groups] += problem.days;
+        }
+        for (int group = 0; group < groups; group++) {
+            slots[group] = new int[slotCount[group]];
+            slotCount[group] = 0;
+        }
+        for (int crew = 0; crew < problem.crews; crew++) {
+            int group = groupOfCrew[crew];
+            for (int day = 0; day < problem.days; day++) {
+                slots[group][slotCount[group]++] = problem.slot(crew, day);
+            }
+        }
+        int[] groupOfOrder = new int[problem.orders];
+        int[] orderCount = new int[groups];
+        for (int order = 0; order < problem.orders; order++) {
+            int slot = schedule.slotOf[order];
+            int group = slot == Schedule.UNASSIGNED ? random.nextInt(groups) : groupOfCrew[problem.crewOf(slot)];
+            groupOfOrder[order] = group;
+            orderCount[group]++;
+        }
+        int[][] orders = new int[groups][];
+        for (int group = 0; group < groups; group++) {
+            orders[group] = new int[orderCount[group]];
+            orderCount[group] = 0;
+        }
+        for (int order = 0; order < problem.orders; order++) {
+            int group = groupOfOrder[order];
+            orders[group][orderCount[group]++] = order;
+        }
+        List<LocalSearch> searches = new ArrayList<>(groups);
+        for (int group = 0; group < groups; group++) {
+            searches.add(new LocalSearch(schedule, orders[group], slots[group], random.nextLong(), roundEnd,
+                    temperature));
+        }
+        if (groups == 1) {
+            long moves = 0;
+            for (LocalSearch search : searches) {
+                moves += search.call();
+            }
+            return moves;
+        }
+        try {
+            long moves = 0;
+            for (Future<Long> future : executor.invokeAll(searches)) {
+                moves += future.get();
+            }
+            return moves;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while planning", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Planning failed", ex.getCause());
+        }
+    }
+
+    private static int[] shuffled(int size, SplittableRandom random) {
+        int[] values = new int[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = i;
+        }
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int value = values[i];
+            values[i] = values[j];
+            values[j] = value;
+        }
+        return values;
+    }
+}
@@ -0,0 +1,129 @@
+package nl.blitz.loviondummy.scheduling;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * One planning run as primitive arrays, so the search touches no objects: work orders are indexes {@code 0..orders-1},
+ * locations are zone indexes and every crew-day is a slot, {@code crew * days + day}.
+ * <p>
+ * A day plan visits its zones one after the other, so it costs {@link #travelMinutes} per distinct zone on top of the
+ * work itself; assets have a location name and no coordinates, so that is as precise as routing gets here.
+ */
+final class SchedulingProblem {
+
+    final int days;
+    final int crews;
+    final int orders;
+    final int zones;
+    final int travelMinutes;
+    /** Minutes per day, per crew. */
+    final int[] capacity;
+    /** Per work order: its minutes of work. */
+    final int[] minutes;
+    final int[] zone;
+    /** Per work order: the plan day of its scheduled date, clamped to the horizon. */
+    final int[] desiredDay;
+    /** Per work order: the last plan day it may go to, {@code -1} when none is allowed. */
+    final int[] latestDay;
+    /** Per work order: the weight of its priority in every cost term. */
+    final int[] weight;
+    final long[] workOrderIds;
+    final String[] externalIds;
+    final String[] zoneNames;
+
+    private SchedulingProblem(Builder builder) {
+        this.days = builder.days;
+        this.crews = builder.capacity.length;
+        this.orders = builder.orders;
+        this.zones = builder.zoneIndex.size();
+        this.travelMinutes = builder.travelMinutes;
+        this.capacity = builder.capacity;
+        this.minutes = Arrays.copyOf(builder.minutes, orders);
+        this.zone = Arrays.copyOf(builder.zone, orders);
+        this.desiredDay = Arrays.copyOf(builder.desiredDay, orders);
+        this.latestDay = Arrays.copyOf(builder.latestDay, orders);
+        this.weight = Arrays.copyOf(builder.weight, orders);
+        this.workOrderIds = Arrays.copyOf(builder.workOrderIds, orders);
+        this.externalIds = Arrays.copyOf(builder.externalIds, orders);
+        this.zoneNames = new String[zones];
+        builder.zoneIndex.forEach((name, index) -> zoneNames[index] = name);
+    }
+
+    static Builder builder(int days, int[] crewCapacity, int travelMinutes) {
+        return new Builder(days, crewCapacity, travelMinutes);
+    }
+
+    int slots() {
+        return crews * days;
+    }
+
+    int slot(int crew, int day) {
+        return crew * days + day;
+    }
+
+    int crewOf(int slot) {
+        return slot / days;
+    }
+
+    int dayOf(int slot) {
+        return slot % days;
+    }
+
+    static final class Builder {
+
+        private final int days;
+        private final int[] capacity;
+        private final int travelMinutes;
+        private final Map<String, Integer> zoneIndex = new HashMap<>();
+        private int orders;
+        private int[] minutes = new int[1024];
+        private int[] zone = new int[1024];
+        private int[] desiredDay = new int[1024];
+        private int[] latestDay = new int[1024];
+        private int[] weight = new int[1024];
+        private long[] workOrderIds = new long[1024];
+        private String[] externalIds = new String[1024];
+
+        private Builder(int days, int[] capacity, int travelMinutes) {
+            this.days = days;
+            this.capacity = capacity.clone();
+            this.travelMinutes = travelMinutes;
+        }
+
+        /**
+         * Adds a work order; {@code location} may be {@code null}, which is a zone of its own.
+         */
+        Builder add(long workOrderId, String externalId, int workMinutes, String location, int desired, int latest,
+                    int priorityWeight) {
+            if (orders == minutes.length) {
+                int size = orders * 2;
+                minutes = Arrays.copyOf(minutes, size);
+                zone = Arrays.copyOf(zone, size);
+                desiredDay = Arrays.copyOf(desiredDay, size);
+                latestDay = Arrays.copyOf(latestDay, size);
+                weight = Arrays.copyOf(weight, size);
+                workOrderIds = Arrays.copyOf(workOrderIds, size);
+                externalIds = Arrays.copyOf(externalIds, size);
+            }
+            minutes[orders] = workMinutes;
+            zone[orders] = zoneIndex.computeIfAbsent(location, name -> zoneIndex.size());
+            desiredDay[orders] = Math.max(0, Math.min(days - 1, desired));
+            latestDay[orders] = Math.min(days - 1, latest);
+            weight[orders] = priorityWeight;
+            workOrderIds[orders] = workOrderId;
+            externalIds[orders] = externalId;
+            orders++;
+            return this;
+        }
+
+        int zones() {
+            return zoneIndex.size();
+        }
+
+        SchedulingProblem build() {
+            return new SchedulingProblem(this);
+        }
+    }
+}
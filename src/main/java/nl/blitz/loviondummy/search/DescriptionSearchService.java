@@ -0,0 +1,111 @@
+package nl.blitz.loviondummy.search;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import nl.blitz.loviondummy.domain.AssetChangedEvent;
+import nl.blitz.loviondummy.domain.ChangeType;
+import nl.blitz.loviondummy.domain.WorkOrderChangedEvent;
+import nl.blitz.loviondummy.repository.AssetRepository;
+import nl.blitz.loviondummy.repository.WorkOrderRepository;
+import nl.blitz.loviondummy.repository.projection.AssetRow;
+import nl.blitz.loviondummy.repository.projection.WorkOrderRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Full-text search over work-order and asset descriptions.
+ * The indexes are built from the database once the application is ready and afterwards follow committed
+ * inserts, updates and deletes through the entity change events.
+ */
+@Service
+public class DescriptionSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(DescriptionSearchService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final WorkOrderRepository workOrderRepository;
+    private final AssetRepository assetRepository;
+    private final InvertedIndex workOrderIndex = new InvertedIndex();
+    private final InvertedIndex assetIndex = new InvertedIndex();
+
+    public DescriptionSearchService(JdbcTemplate jdbcTemplate,
+                                    WorkOrderRepository workOrderRepository,
+                                    AssetRepository assetRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.workOrderRepository = workOrderRepository;
+        this.assetRepository = assetRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void buildIndexes() {
+        long start = System.currentTimeMillis();
+        jdbcTemplate.query("SELECT id, description FROM work_orders",
+                rs -> { workOrderIndex.put(rs.getLong(1), rs.getString(2)); });
+        jdbcTemplate.query("SELECT id, description FROM assets",
+                rs -> { assetIndex.put(rs.getLong(1), rs.getString(2)); });
+        log.info("Indexed {} work order and {} asset descriptions in {} ms ({} KB postings)",
+                workOrderIndex.size(), assetIndex.size(), System.currentTimeMillis() - start,
+                (workOrderIndex.postingBytes() + assetIndex.postingBytes()) / 1024);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWorkOrderChanged(WorkOrderChangedEvent event) {
+        if (event.type() == ChangeType.DELETED) {
+            workOrderIndex.remove(event.workOrderId());
+        } else {
+            workOrderIndex.put(event.workOrderId(), event.description());
+        }
+    }
+
+    /**
+     * Work orders deleted without entity events, i.e. moved to the archive. Search only covers the table.
+     */
+    public void removeWorkOrders(Collection<Long> workOrderIds) {
+        workOrderIds.forEach(workOrderIndex::remove);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAssetChanged(AssetChangedEvent event) {
+        if (event.type() == ChangeType.DELETED) {
+            assetIndex.remove(event.assetId());
+        } else {
+            assetIndex.put(event.assetId(), event.description());
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public SearchResult<WorkOrderRow> searchWorkOrders(String query, int page, int size) {
+        SearchPage hits = workOrderIndex.search(query, page * size, size);
+        if (hits.hits().isEmpty()) {
+            return SearchResult.of(hits, Map.of());
+        }
+        return SearchResult.of(hits, byId(workOrderRepository.findRowsByIdIn(ids(hits)), WorkOrderRow::id));
+    }
+
+    @Transactional(readOnly = true)
+    public SearchResult<AssetRow> searchAssets(String query, int page, int size) {
+        SearchPage hits = assetIndex.search(query, page * size, size);
+        if (hits.hits().isEmpty()) {
+            return SearchResult.of(hits, Map.of());
+        }
+        return SearchResult.of(hits, byId(assetRepository.findRowsByIdIn(ids(hits)), AssetRow::id));
+    }
+
+    private static List<Long> ids(SearchPage page) {
+        return page.hits().stream().map(SearchHit::id).toList();
+    }
+
+    private static <T> Map<Long, T> byId(Collection<T> rows, Function<T, Long> id) {
+        return rows.stream().collect(Collectors.toMap(id, Function.identity()));
+    }
+}
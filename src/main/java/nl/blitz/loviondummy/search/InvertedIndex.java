@@ -0,0 +1,238 @@
+package nl.blitz.loviondummy.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory full-text index over short texts, ranked with BM25.
+ * <p>
+ * Every indexed text gets an internal ordinal that only ever increases, so postings are append-only and can be
+ * delta/varint compressed ({@link PostingList}). Updating a document indexes it under a new ordinal and marks
+ * the old one deleted; once more than half of the ordinals are dead the postings are compacted.
+ * Searches take a read lock and merge the posting lists of the query terms document-at-a-time, keeping only the
+ * requested page in a bounded heap.
+ */
+public class InvertedIndex {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int MIN_DELETED_BEFORE_COMPACTION = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Long, Integer> ordinalsById = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+    private long[] ids = new long[1024];
+    private int[] lengths = new int[1024];
+    private int nextOrdinal;
+    private int liveDocuments;
+    private long liveLength;
+
+    /**
+     * Indexes (or re-indexes) the text of document {@code id}. A blank text removes the document.
+     */
+    public void put(long id, String text) {
+        List<String> tokens = Tokenizer.tokenize(text);
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+            if (tokens.isEmpty()) {
+                return;
+            }
+            int ordinal = nextOrdinal++;
+            if (ordinal == ids.length) {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+                lengths = Arrays.copyOf(lengths, lengths.length * 2);
+            }
+            ids[ordinal] = id;
+            lengths[ordinal] = tokens.size();
+            Map<String, Integer> frequencies = new HashMap<>();
+            for (String token : tokens) {
+                frequencies.merge(token, 1, Integer::sum);
+            }
+            frequencies.forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, t -> new PostingList()).add(ordinal, frequency));
+            ordinalsById.put(id, ordinal);
+            liveDocuments++;
+            liveLength += tokens.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocuments;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Total size of the compressed postings, for diagnostics.
+     */
+    public long postingBytes() {
+        lock.readLock().lock();
+        try {
+            return postings.values().stream().mapToLong(PostingList::sizeInBytes).sum();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns documents containing any of the query terms, best BM25 score first.
+     */
+    public SearchPage search(String query, int offset, int limit) {
+        Set<String> terms = new LinkedHashSet<>(Tokenizer.tokenize(query));
+        lock.readLock().lock();
+        try {
+            List<PostingList.Cursor> cursors = new ArrayList<>(terms.size());
+            List<Float> weights = new ArrayList<>(terms.size());
+            for (String term : terms) {
+                PostingList list = postings.get(term);
+                if (list != null) {
+                    PostingList.Cursor cursor = list.cursor();
+                    cursor.next();
+                    cursors.add(cursor);
+                    weights.add(idf(list.documentCount()));
+                }
+            }
+            if (cursors.isEmpty() || limit <= 0) {
+                return SearchPage.EMPTY;
+            }
+            return collect(cursors, weights, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private SearchPage collect(List<PostingList.Cursor> cursors, List<Float> weights, int offset, int limit) {
+        int keep = offset + limit;
+        Comparator<SearchHit> worstFirst = Comparator.comparingDouble(SearchHit::score)
+                .thenComparing(Comparator.comparingLong(SearchHit::id).reversed());
+        PriorityQueue<SearchHit> top = new PriorityQueue<>(Math.min(keep, 1024), worstFirst);
+        float averageLength = liveDocuments == 0 ? 1f : (float) liveLength / liveDocuments;
+        int total = 0;
+        while (true) {
+            int ordinal = Integer.MAX_VALUE;
+            for (PostingList.Cursor cursor : cursors) {
+                if (cursor.ordinal() >= 0 && cursor.ordinal() < ordinal) {
+                    ordinal = cursor.ordinal();
+                }
+            }
+            if (ordinal == Integer.MAX_VALUE) {
+                break;
+            }
+            float score = 0f;
+            for (int i = 0; i < cursors.size(); i++) {
+                PostingList.Cursor cursor = cursors.get(i);
+                if (cursor.ordinal() == ordinal) {
+                    float tf = cursor.termFrequency();
+                    float norm = K1 * (1 - B + B * lengths[ordinal] / averageLength);
+                    score += weights.get(i) * tf * (K1 + 1) / (tf + norm);
+                    cursor.next();
+                }
+            }
+            if (deleted.get(ordinal)) {
+                continue;
+            }
+            total++;
+            SearchHit hit = new SearchHit(ids[ordinal], score);
+            if (top.size() < keep) {
+                top.add(hit);
+            } else if (worstFirst.compare(hit, top.peek()) > 0) {
+                top.poll();
+                top.add(hit);
+            }
+        }
+        List<SearchHit> ranked = new ArrayList<>(top);
+        ranked.sort(worstFirst.reversed());
+        List<SearchHit> page = offset >= ranked.size() ? List.of() : ranked.subList(offset, ranked.size());
+        return new SearchPage(total, List.copyOf(page));
+    }
+
+    private float idf(int documentFrequency) {
+        // documentFrequency still counts deleted ordinals until the next compaction, so keep idf positive
+        int documents = Math.max(liveDocuments, 1);
+        double idf = Math.log(1 + (documents - documentFrequency + 0.5) / (documentFrequency + 0.5));
+        return (float) Math.max(idf, 0.01);
+    }
+
+    private void removeInternal(long id) {
+        Integer ordinal = ordinalsById.remove(id);
+        if (ordinal == null) {
+            return;
+        }
+        deleted.set(ordinal);
+        liveDocuments--;
+        liveLength -= lengths[ordinal];
+        int dead = nextOrdinal - liveDocuments;
+        if (dead >= MIN_DELETED_BEFORE_COMPACTION && dead > liveDocuments) {
+            compact();
+        }
+    }
+
+    /**
+     * Renumbers the live documents densely and rewrites every posting list without the deleted ordinals.
+     */
+    private void compact() {
+        int[] newOrdinals = new int[nextOrdinal];
+        long[] newIds = new long[Math.max(1024, liveDocuments * 2)];
+        int[] newLengths = new int[newIds.length];
+        int next = 0;
+        for (int ordinal = 0; ordinal < nextOrdinal; ordinal++) {
+            if (deleted.get(ordinal)) {
+                newOrdinals[ordinal] = -1;
+            } else {
+                newOrdinals[ordinal] = next;
+                newIds[next] = ids[ordinal];
+                newLengths[next] = lengths[ordinal];
+                ordinalsById.put(ids[ordinal], next);
+                next++;
+            }
+        }
+        Iterator<Map.Entry<String, PostingList>> entries = postings.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<String, PostingList> entry = entries.next();
+            PostingList compacted = new PostingList();
+            PostingList.Cursor cursor = entry.getValue().cursor();
+            while (cursor.next()) {
+                int ordinal = newOrdinals[cursor.ordinal()];
+                if (ordinal >= 0) {
+                    compacted.add(ordinal, cursor.termFrequency());
+                }
+            }
+            if (compacted.documentCount() == 0) {
+                entries.remove();
+            } else {
+                entry.setValue(compacted);
+            }
+        }
+        ids = newIds;
+        lengths = newLengths;
+        nextOrdinal = next;
+        deleted.clear();
+    }
+}
@@ -0,0 +1,92 @@
+package nl.blitz.loviondummy.search;
+
+import java.util.Arrays;
+
+/**
+ * Compressed postings of one term: (document ordinal, term frequency) pairs, with the ordinal stored as the
+ * gap to the previous one and both numbers written as variable-length integers. Ordinals only grow, so new
+ * documents are always appended.
+ */
+final class PostingList {
+
+    private byte[] data = new byte[8];
+    private int length;
+    private int lastOrdinal;
+    private int documentCount;
+
+    void add(int ordinal, int termFrequency) {
+        ensureCapacity(10);
+        writeVarInt(ordinal - lastOrdinal);
+        writeVarInt(termFrequency);
+        lastOrdinal = ordinal;
+        documentCount++;
+    }
+
+    int documentCount() {
+        return documentCount;
+    }
+
+    int sizeInBytes() {
+        return length;
+    }
+
+    Cursor cursor() {
+        return new Cursor();
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, length + extra));
+        }
+    }
+
+    private void writeVarInt(int value) {
+        while ((value & ~0x7F) != 0) {
+            data[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[length++] = (byte) value;
+    }
+
+    /**
+     * Forward-only reader; {@link #ordinal()} is -1 before the first and after the last posting.
+     */
+    final class Cursor {
+
+        private int position;
+        private int ordinal = -1;
+        private int previous;
+        private int termFrequency;
+
+        boolean next() {
+            if (position >= length) {
+                ordinal = -1;
+                return false;
+            }
+            previous += readVarInt();
+            ordinal = previous;
+            termFrequency = readVarInt();
+            return true;
+        }
+
+        int ordinal() {
+            return ordinal;
+        }
+
+        int termFrequency() {
+            return termFrequency;
+        }
+
+        private int readVarInt() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+    }
+}
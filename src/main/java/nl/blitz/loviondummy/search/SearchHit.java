@@ -0,0 +1,4 @@
+package nl.blitz.loviondummy.search;
+
+public record SearchHit(long id, float score) {
+}
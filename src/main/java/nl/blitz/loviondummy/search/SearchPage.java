@@ -0,0 +1,11 @@
+package nl.blitz.loviondummy.search;
+
+import java.util.List;
+
+/**
+ * One page of hits, best first, plus the total number of matching documents.
+ */
+public record SearchPage(int total, List<SearchHit> hits) {
+
+    static final SearchPage EMPTY = new SearchPage(0, List.of());
+}
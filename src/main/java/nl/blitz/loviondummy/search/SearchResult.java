@@ -0,0 +1,26 @@
+package nl.blitz.loviondummy.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A page of ranked search hits resolved to their rows.
+ */
+public record SearchResult<T>(int total, List<Hit<T>> hits) {
+
+    public record Hit<T>(float score, T row) {
+    }
+
+    static <T> SearchResult<T> of(SearchPage page, Map<Long, T> rowsById) {
+        List<Hit<T>> hits = new ArrayList<>(page.hits().size());
+        for (SearchHit hit : page.hits()) {
+            T row = rowsById.get(hit.id());
+            // a row deleted after the index lookup is left out, and no longer counted
+            if (row != null) {
+                hits.add(new Hit<>(hit.score(), row));
+            }
+        }
+        return new SearchResult<>(page.total() - (page.hits().size() - hits.size()), hits);
+    }
+}
@@ -0,0 +1,48 @@
+package nl.blitz.loviondummy.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Splits free text into lower-case terms on anything that is not a letter or digit.
+ * Single characters and a few very common English words are dropped.
+ */
+final class Tokenizer {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it", "of", "on", "or",
+            "the", "to", "with");
+
+    private Tokenizer() {
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                addToken(tokens, text.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static void addToken(List<String> tokens, String word) {
+        if (word.length() < 2) {
+            return;
+        }
+        String token = word.toLowerCase(Locale.ROOT);
+        if (!STOP_WORDS.contains(token)) {
+            tokens.add(token);
+        }
+    }
+}
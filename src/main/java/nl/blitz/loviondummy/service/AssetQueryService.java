@@ -3,13 +3,27 @@ package nl.blitz.loviondummy.service;
 import java.util.List;
 import nl.blitz.loviondummy.domain.Asset;
 import nl.blitz.loviondummy.domain.WorkOrder;
+import nl.blitz.loviondummy.repository.projection.AssetRow;
+import nl.blitz.loviondummy.repository.projection.WorkOrderSummaryRow;
 
 public interface AssetQueryService {
     List<Asset> getAllAssets();
 
+    /**
+     * Flat rows for {@link #getAllAssets()}; combine with {@link #getWorkOrderSummaryRows()} for the asset list.
+     */
+    default List<AssetRow> getAssetRows() {
+        return getAllAssets().stream().map(AssetRow::of).toList();
+    }
+
+    default List<WorkOrderSummaryRow> getWorkOrderSummaryRows() {
+        return getAllAssets().stream()
+                .flatMap(asset -> asset.getWorkOrders().stream().map(wo -> WorkOrderSummaryRow.of(asset, wo)))
+                .toList();
+    }
+
     Asset getAsset(Long id);
 
     List<WorkOrder> getWorkOrdersForAsset(Long assetId);
 }
 
-
@@ -6,6 +6,8 @@ import nl.blitz.loviondummy.domain.WorkOrder;
 import nl.blitz.loviondummy.exception.ResourceNotFoundException;
 import nl.blitz.loviondummy.repository.AssetRepository;
 import nl.blitz.loviondummy.repository.WorkOrderRepository;
+import nl.blitz.loviondummy.repository.projection.AssetRow;
+import nl.blitz.loviondummy.repository.projection.WorkOrderSummaryRow;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -30,6 +32,17 @@ public class AssetService implements AssetQueryService {
         return assetRepository.findAll();
     }
 
+    @Override
+    public List<AssetRow> getAssetRows() {
+        log.info("Fetching all asset rows");
+        return assetRepository.findAllRows();
+    }
+
+    @Override
+    public List<WorkOrderSummaryRow> getWorkOrderSummaryRows() {
+        return assetRepository.findAllWorkOrderSummaryRows();
+    }
+
     public Asset getAsset(Long id) {
         return assetRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Asset with id %d not found".formatted(id)));
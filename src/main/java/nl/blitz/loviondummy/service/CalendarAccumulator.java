@@ -0,0 +1,71 @@
+package nl.blitz.loviondummy.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import nl.blitz.loviondummy.service.WorkOrderCalendarService.Bucket;
+import nl.blitz.loviondummy.service.WorkOrderCalendarService.Calendar;
+import nl.blitz.loviondummy.service.WorkOrderCalendarService.Granularity;
+import nl.blitz.loviondummy.service.WorkOrderCalendarService.Group;
+
+/**
+ * Counts work orders per bucket and asset type while the rows stream in. Every bucket of the range is reported,
+ * also the empty ones; counts are exact, ids are kept up to {@code maxIdsPerGroup} per group.
+ */
+final class CalendarAccumulator {
+
+    private static final Comparator<String> ASSET_TYPE_ORDER = Comparator.nullsLast(Comparator.naturalOrder());
+
+    private final LocalDate from;
+    private final LocalDate to;
+    private final Granularity granularity;
+    private final int maxIdsPerGroup;
+    private final Map<LocalDate, Map<String, GroupBuilder>> buckets = new TreeMap<>();
+    private int total;
+
+    CalendarAccumulator(LocalDate from, LocalDate to, Granularity granularity, int maxIdsPerGroup) {
+        this.from = from;
+        this.to = to;
+        this.granularity = granularity;
+        this.maxIdsPerGroup = maxIdsPerGroup;
+    }
+
+    void add(LocalDate scheduledDate, long workOrderId, String assetType) {
+        buckets.computeIfAbsent(granularity.bucketStart(scheduledDate), start -> new TreeMap<>(ASSET_TYPE_ORDER))
+                .computeIfAbsent(assetType, type -> new GroupBuilder())
+                .add(workOrderId, maxIdsPerGroup);
+        total++;
+    }
+
+    Calendar build() {
+        List<Bucket> result = new ArrayList<>();
+        for (LocalDate start = granularity.bucketStart(from); !start.isAfter(to); start = granularity.next(start)) {
+            List<Group> groups = new ArrayList<>();
+            int count = 0;
+            for (Map.Entry<String, GroupBuilder> entry : buckets.getOrDefault(start, Map.of()).entrySet()) {
+                GroupBuilder group = entry.getValue();
+                groups.add(new Group(entry.getKey(), group.count, List.copyOf(group.ids)));
+                count += group.count;
+            }
+            LocalDate end = granularity.next(start).minusDays(1);
+            result.add(new Bucket(start.isBefore(from) ? from : start, end.isAfter(to) ? to : end, count, groups));
+        }
+        return new Calendar(from, to, granularity, total, result);
+    }
+
+    private static final class GroupBuilder {
+
+        private final List<Long> ids = new ArrayList<>();
+        private int count;
+
+        void add(long workOrderId, int maxIds) {
+            if (ids.size() < maxIds) {
+                ids.add(workOrderId);
+            }
+            count++;
+        }
+    }
+}
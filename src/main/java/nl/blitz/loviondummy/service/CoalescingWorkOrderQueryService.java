@@ -0,0 +1,81 @@
+package nl.blitz.loviondummy.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import nl.blitz.loviondummy.domain.WorkOrder;
+import nl.blitz.loviondummy.repository.projection.WorkOrderRow;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+/**
+ * Front for {@link WorkOrderService} that lets identical concurrent list queries share one database call.
+ * REST {@code GET /api/workorders} and SOAP {@code GetWorkOrders} both end up in {@link #getWorkOrderRows}; callers
+ * asking for the same (status, assetId) while a query is running get that query's rows.
+ * Not transactional on purpose: waiting callers must not hold a connection. With the read model enabled the rows
+ * come from memory and there is nothing to share.
+ */
+@Service
+@Primary
+public class CoalescingWorkOrderQueryService implements WorkOrderQueryService {
+
+    private record QueryKey(String status, Long assetId) {
+    }
+
+    private final WorkOrderService delegate;
+    private final boolean enabled;
+    private final SingleFlight<QueryKey, List<WorkOrderRow>> rowQueries;
+
+    public CoalescingWorkOrderQueryService(WorkOrderService delegate,
+                                           MeterRegistry meterRegistry,
+                                           @Value("${lovion.singleflight.enabled:true}") boolean enabled) {
+        this.delegate = delegate;
+        this.enabled = enabled;
+        Counter executed = Counter.builder("lovion.singleflight.calls")
+                .tag("query", "workorders").tag("outcome", "executed").register(meterRegistry);
+        Counter coalesced = Counter.builder("lovion.singleflight.calls")
+                .tag("query", "workorders").tag("outcome", "coalesced").register(meterRegistry);
+        this.rowQueries = new SingleFlight<>(shared -> (shared ? coalesced : executed).increment());
+    }
+
+    @Override
+    public List<WorkOrder> getWorkOrders(String status, Long assetId) {
+        return delegate.getWorkOrders(status, assetId);
+    }
+
+    @Override
+    public List<WorkOrderRow> getWorkOrderRows(String status, Long assetId) {
+        Optional<List<WorkOrderRow>> inMemory = delegate.findWorkOrderRowsInMemory(status, assetId);
+        if (inMemory.isPresent()) {
+            return inMemory.get();
+        }
+        if (!enabled) {
+            return delegate.getWorkOrderRows(status, assetId);
+        }
+        QueryKey key = new QueryKey(normalize(status), assetId);
+        // one list instance is handed to every waiting caller, so it must not be modifiable
+        return rowQueries.execute(key,
+                () -> Collections.unmodifiableList(delegate.getWorkOrderRows(key.status(), key.assetId())));
+    }
+
+    @Override
+    public WorkOrder getWorkOrder(Long id) {
+        return delegate.getWorkOrder(id);
+    }
+
+    @Override
+    public WorkOrder getByExternalId(String externalWorkOrderId) {
+        return delegate.getByExternalId(externalWorkOrderId);
+    }
+
+    /**
+     * Status matching is case-insensitive in the queries, so "pending" and "PENDING" are the same query.
+     */
+    private static String normalize(String status) {
+        return status == null ? null : status.toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,67 @@
+package nl.blitz.loviondummy.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent calls for the same key into one execution.
+ * The first caller (the leader) runs the loader; callers arriving while it runs wait for and share its result
+ * or exception. Nothing is cached: once the leader finishes, the next call starts a new execution.
+ */
+public class SingleFlight<K, V> {
+
+    /**
+     * Tells the caller whether it ran the loader or joined a call that was already in flight.
+     */
+    public interface Listener {
+        void onCall(boolean coalesced);
+    }
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Listener listener;
+
+    public SingleFlight(Listener listener) {
+        this.listener = listener;
+    }
+
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+        if (existing != null) {
+            listener.onCall(true);
+            return await(existing);
+        }
+        listener.onCall(false);
+        try {
+            V value = loader.get();
+            call.complete(value);
+            return value;
+        } catch (RuntimeException | Error ex) {
+            call.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private V await(CompletableFuture<V> call) {
+        try {
+            return call.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw ex;
+        }
+    }
+}
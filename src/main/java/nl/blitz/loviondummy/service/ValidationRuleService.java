@@ -0,0 +1,34 @@
+package nl.blitz.loviondummy.service;
+
+import java.util.List;
+import nl.blitz.loviondummy.domain.ValidationRule;
+import nl.blitz.loviondummy.repository.ValidationRuleRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Rule lookups; served from the second-level and query cache once warm.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ValidationRuleService {
+
+    private final ValidationRuleRepository validationRuleRepository;
+
+    public ValidationRuleService(ValidationRuleRepository validationRuleRepository) {
+        this.validationRuleRepository = validationRuleRepository;
+    }
+
+    /**
+     * Rules of the given type, else of the given severity, else all active rules.
+     */
+    public List<ValidationRule> getRules(String ruleType, String severity) {
+        if (ruleType != null) {
+            return validationRuleRepository.findByRuleType(ruleType);
+        }
+        if (severity != null) {
+            return validationRuleRepository.findBySeverity(severity);
+        }
+        return validationRuleRepository.findByIsActiveTrue();
+    }
+}
@@ -0,0 +1,121 @@
+package nl.blitz.loviondummy.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Locale;
+import nl.blitz.loviondummy.repository.WorkOrderJdbcRepository;
+import nl.blitz.loviondummy.repository.WorkOrderRepository;
+import nl.blitz.loviondummy.repository.projection.WorkOrderRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Planning queries on {@code scheduled_date}: the work orders in a date range and per-day or per-week counts per
+ * asset type. Both are range scans on {@code idx_work_orders_scheduled_date}, so their cost follows the size of the
+ * range and not the months of history in the table. Archived work orders (closed and long past) are not included.
+ */
+@Service
+public class WorkOrderCalendarService {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkOrderCalendarService.class);
+
+    public enum Granularity {
+
+        DAY,
+        WEEK;
+
+        /**
+         * First day of the bucket that holds {@code date}; weeks start on Monday.
+         */
+        public LocalDate bucketStart(LocalDate date) {
+            return this == DAY ? date : date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        }
+
+        LocalDate next(LocalDate bucketStart) {
+            return this == DAY ? bucketStart.plusDays(1) : bucketStart.plusWeeks(1);
+        }
+
+        /**
+         * @throws IllegalArgumentException for anything but day or week (case-insensitive)
+         */
+        public static Granularity parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException | NullPointerException ex) {
+                throw new IllegalArgumentException("Unknown granularity: " + value + " (expected day or week)");
+            }
+        }
+    }
+
+    /**
+     * Work orders of one asset type in one bucket; {@code assetType} is {@code null} for work orders without an
+     * asset. {@code workOrderIds} holds at most {@code max-ids-per-group} ids, {@code count} is always exact.
+     */
+    public record Group(String assetType, int count, List<Long> workOrderIds) {
+    }
+
+    /**
+     * One day or week, clipped to the requested range.
+     */
+    public record Bucket(LocalDate start, LocalDate end, int count, List<Group> groups) {
+    }
+
+    public record Calendar(LocalDate from, LocalDate to, Granularity granularity, int total, List<Bucket> buckets) {
+    }
+
+    private final WorkOrderRepository workOrderRepository;
+    private final WorkOrderJdbcRepository jdbcRepository;
+    private final int maxDays;
+    private final int maxIdsPerGroup;
+
+    public WorkOrderCalendarService(WorkOrderRepository workOrderRepository,
+                                    WorkOrderJdbcRepository jdbcRepository,
+                                    @Value("${lovion.workorders.calendar.max-days:366}") int maxDays,
+                                    @Value("${lovion.workorders.calendar.max-ids-per-group:500}") int maxIdsPerGroup) {
+        this.workOrderRepository = workOrderRepository;
+        this.jdbcRepository = jdbcRepository;
+        this.maxDays = maxDays;
+        this.maxIdsPerGroup = maxIdsPerGroup;
+    }
+
+    /**
+     * Work orders scheduled from {@code from} up to and including {@code to}, by date.
+     *
+     * @throws IllegalArgumentException when the range is reversed or longer than {@code max-days}
+     */
+    public List<WorkOrderRow> scheduled(LocalDate from, LocalDate to) {
+        validate(from, to);
+        return workOrderRepository.findRowsByScheduledDateBetween(from, to);
+    }
+
+    /**
+     * Counts and ids per bucket and asset type, optionally for one asset type only.
+     *
+     * @throws IllegalArgumentException when the range is reversed or longer than {@code max-days}
+     */
+    public Calendar calendar(LocalDate from, LocalDate to, Granularity granularity, String assetType) {
+        validate(from, to);
+        long start = System.currentTimeMillis();
+        CalendarAccumulator accumulator = new CalendarAccumulator(from, to, granularity, maxIdsPerGroup);
+        jdbcRepository.streamScheduled(from, to, assetType,
+                rs -> accumulator.add(rs.getObject(1, LocalDate.class), rs.getLong(2), rs.getString(3)));
+        Calendar calendar = accumulator.build();
+        log.info("Calendar {} to {} per {}: {} work orders in {} buckets in {} ms", from, to, granularity,
+                calendar.total(), calendar.buckets().size(), System.currentTimeMillis() - start);
+        return calendar;
+    }
+
+    private void validate(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from (" + from + ") must not be after to (" + to + ")");
+        }
+        if (ChronoUnit.DAYS.between(from, to) + 1 > maxDays) {
+            throw new IllegalArgumentException("A range covers at most " + maxDays + " days");
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package nl.blitz.loviondummy.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import nl.blitz.loviondummy.archive.WorkOrderArchive;
+import nl.blitz.loviondummy.repository.WorkOrderRepository;
+import nl.blitz.loviondummy.repository.projection.WorkOrderRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Looks up many work orders by external id at once, for reconciliation clients that would otherwise call
+ * {@code GetWorkOrderDetails} per id. The distinct ids are resolved with IN-list queries of
+ * {@code lovion.workorders.lookup.chunk-size}; ids not in the table are then tried in the archive.
+ */
+@Service
+@Transactional(readOnly = true)
+public class WorkOrderLookupService {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkOrderLookupService.class);
+
+    /**
+     * Result for one requested id; {@code row} is {@code null} when the work order does not exist.
+     */
+    public record Lookup(String externalWorkOrderId, WorkOrderRow row) {
+
+        public boolean found() {
+            return row != null;
+        }
+    }
+
+    private final WorkOrderRepository workOrderRepository;
+    private final WorkOrderArchive archive;
+    private final int chunkSize;
+    private final int maxIds;
+
+    public WorkOrderLookupService(WorkOrderRepository workOrderRepository,
+                                  WorkOrderArchive archive,
+                                  @Value("${lovion.workorders.lookup.chunk-size:1000}") int chunkSize,
+                                  @Value("${lovion.workorders.lookup.max-ids:10000}") int maxIds) {
+        this.workOrderRepository = workOrderRepository;
+        this.archive = archive;
+        this.chunkSize = chunkSize;
+        this.maxIds = maxIds;
+    }
+
+    /**
+     * One result per requested id, in request order (duplicates included).
+     *
+     * @throws IllegalArgumentException for an empty request, more than {@code max-ids} ids or a blank id
+     */
+    public List<Lookup> lookup(List<String> externalWorkOrderIds) {
+        if (externalWorkOrderIds == null || externalWorkOrderIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one externalWorkOrderId is required");
+        }
+        if (externalWorkOrderIds.size() > maxIds) {
+            throw new IllegalArgumentException("At most %d ids per lookup, got %d"
+                    .formatted(maxIds, externalWorkOrderIds.size()));
+        }
+        LinkedHashSet<String> distinct = new LinkedHashSet<>(externalWorkOrderIds);
+        if (distinct.contains(null) || distinct.stream().anyMatch(String::isBlank)) {
+            throw new IllegalArgumentException("externalWorkOrderId must not be blank");
+        }
+        List<String> ids = new ArrayList<>(distinct);
+        Map<String, WorkOrderRow> found = new HashMap<>(ids.size() * 2);
+        int queries = 0;
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            for (WorkOrderRow row : workOrderRepository.findRowsByExternalWorkOrderIdIn(
+                    ids.subList(from, Math.min(from + chunkSize, ids.size())))) {
+                found.put(row.externalWorkOrderId(), row);
+            }
+            queries++;
+        }
+        if (found.size() < ids.size() && !archive.isEmpty()) {
+            found.putAll(archive.findRowsByExternalIds(ids.stream().filter(id -> !found.containsKey(id)).toList()));
+        }
+        log.info("Looked up {} work order ids ({} distinct) in {} queries: {} found", externalWorkOrderIds.size(),
+                ids.size(), queries, found.size());
+        List<Lookup> result = new ArrayList<>(externalWorkOrderIds.size());
+        for (String id : externalWorkOrderIds) {
+            result.add(new Lookup(id, found.get(id)));
+        }
+        return result;
+    }
+}
@@ -2,13 +2,21 @@ package nl.blitz.loviondummy.service;
 
 import java.util.List;
 import nl.blitz.loviondummy.domain.WorkOrder;
+import nl.blitz.loviondummy.repository.projection.WorkOrderRow;
 
 public interface WorkOrderQueryService {
     List<WorkOrder> getWorkOrders(String status, Long assetId);
 
+    /**
+     * Same filters as {@link #getWorkOrders(String, Long)} but returns flat rows; implementations backed by
+     * the database select only the needed columns.
+     */
+    default List<WorkOrderRow> getWorkOrderRows(String status, Long assetId) {
+        return getWorkOrders(status, assetId).stream().map(WorkOrderRow::of).toList();
+    }
+
     WorkOrder getWorkOrder(Long id);
 
     WorkOrder getByExternalId(String externalWorkOrderId);
 }
 
-
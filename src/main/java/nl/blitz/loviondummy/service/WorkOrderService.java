@@ -1,14 +1,25 @@
 package nl.blitz.loviondummy.service;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import nl.blitz.loviondummy.archive.WorkOrderArchive;
 import nl.blitz.loviondummy.domain.WorkOrder;
 import nl.blitz.loviondummy.exception.ResourceNotFoundException;
+import nl.blitz.loviondummy.readmodel.WorkOrderReadModel;
 import nl.blitz.loviondummy.repository.WorkOrderRepository;
+import nl.blitz.loviondummy.repository.projection.WorkOrderRow;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+/**
+ * Work order queries on the table, falling back to the {@link WorkOrderArchive} for closed work orders that were
+ * moved out of it. List results are the live rows followed by the archived ones.
+ */
 @Service
 @Transactional(readOnly = true)
 public class WorkOrderService implements WorkOrderQueryService {
@@ -16,12 +27,41 @@ public class WorkOrderService implements WorkOrderQueryService {
     private static final Logger log = LoggerFactory.getLogger(WorkOrderService.class);
 
     private final WorkOrderRepository workOrderRepository;
+    private final WorkOrderArchive archive;
+    private final WorkOrderReadModel readModel;
 
-    public WorkOrderService(WorkOrderRepository workOrderRepository) {
+    public WorkOrderService(WorkOrderRepository workOrderRepository,
+                            WorkOrderArchive archive,
+                            ObjectProvider<WorkOrderReadModel> readModel) {
         this.workOrderRepository = workOrderRepository;
+        this.archive = archive;
+        this.readModel = readModel.getIfAvailable();
     }
 
     public List<WorkOrder> getWorkOrders(String status, Long assetId) {
+        return withArchived(getLiveWorkOrders(status, assetId), archive.findWorkOrders(status, assetId));
+    }
+
+    @Override
+    public List<WorkOrderRow> getWorkOrderRows(String status, Long assetId) {
+        return withArchived(getLiveWorkOrderRows(status, assetId), archive.findRows(status, assetId));
+    }
+
+    /**
+     * {@link #getWorkOrderRows} answered from the {@link WorkOrderReadModel}, or empty when it is disabled or still
+     * loading. Runs outside a transaction: live work orders need no connection, only archived matches take one to
+     * load their assets.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<List<WorkOrderRow>> findWorkOrderRowsInMemory(String status, Long assetId) {
+        if (readModel == null) {
+            return Optional.empty();
+        }
+        return readModel.findRows(status, assetId)
+                .map(live -> withArchived(live, archive.findRows(status, assetId)));
+    }
+
+    private List<WorkOrder> getLiveWorkOrders(String status, Long assetId) {
         if (status != null && assetId != null) {
             log.info("Fetching work orders by status {} and asset {}", status, assetId);
             return workOrderRepository.findByStatusIgnoreCaseAndAsset_Id(status, assetId);
@@ -38,15 +78,43 @@ public class WorkOrderService implements WorkOrderQueryService {
         return workOrderRepository.findAll();
     }
 
+    private List<WorkOrderRow> getLiveWorkOrderRows(String status, Long assetId) {
+        if (status != null && assetId != null) {
+            log.info("Fetching work order rows by status {} and asset {}", status, assetId);
+            return workOrderRepository.findRowsByStatusIgnoreCaseAndAssetId(status, assetId);
+        }
+        if (status != null) {
+            log.info("Fetching work order rows by status {}", status);
+            return workOrderRepository.findRowsByStatusIgnoreCase(status);
+        }
+        if (assetId != null) {
+            log.info("Fetching work order rows by asset {}", assetId);
+            return workOrderRepository.findRowsByAssetId(assetId);
+        }
+        log.info("Fetching all work order rows");
+        return workOrderRepository.findAllRows();
+    }
+
     public WorkOrder getWorkOrder(Long id) {
         return workOrderRepository.findById(id)
+                .or(() -> archive.findWorkOrder(id))
                 .orElseThrow(() -> new ResourceNotFoundException("WorkOrder with id %d not found".formatted(id)));
     }
 
     public WorkOrder getByExternalId(String externalWorkOrderId) {
         return workOrderRepository.findByExternalWorkOrderId(externalWorkOrderId)
+                .or(() -> archive.findWorkOrderByExternalId(externalWorkOrderId))
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "WorkOrder with external id %s not found".formatted(externalWorkOrderId)));
     }
-}
 
+    private static <T> List<T> withArchived(List<T> live, List<T> archived) {
+        if (archived.isEmpty()) {
+            return live;
+        }
+        List<T> combined = new ArrayList<>(live.size() + archived.size());
+        combined.addAll(live);
+        combined.addAll(archived);
+        return combined;
+    }
+}
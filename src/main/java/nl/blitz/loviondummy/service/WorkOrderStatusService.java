@@ -0,0 +1,298 @@
+package nl.blitz.loviondummy.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import nl.blitz.loviondummy.domain.WorkOrder;
+import nl.blitz.loviondummy.domain.WorkOrderStatus;
+import nl.blitz.loviondummy.exception.InvalidStatusTransitionException;
+import nl.blitz.loviondummy.exception.ResourceNotFoundException;
+import nl.blitz.loviondummy.repository.WorkOrderRepository;
+import nl.blitz.loviondummy.repository.projection.WorkOrderKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Applies {@link WorkOrderStatus} transitions to work orders.
+ * <p>
+ * Writes are guarded by the {@code @Version} column of {@link WorkOrder}, so concurrent writers (also on other nodes)
+ * never overwrite each other. A transition without an expected version that loses a race is retried on fresh state,
+ * a bounded number of times with jittered backoff; with an expected version the caller gets the conflict.
+ * Writers in this JVM first queue on a striped lock per work order, so a hot work order costs a short wait instead of
+ * rolled-back transactions. A batch is applied in one transaction and only falls back to item-by-item retries when
+ * it loses a race.
+ */
+@Service
+public class WorkOrderStatusService {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkOrderStatusService.class);
+
+    public enum Outcome {
+        APPLIED, UNCHANGED, REJECTED, CONFLICT, NOT_FOUND
+    }
+
+    /**
+     * A requested change. The work order is identified by {@code id}, or by {@code externalWorkOrderId} when the id
+     * is {@code null}. {@code expectedVersion} is optional.
+     */
+    public record Transition(Long id, String externalWorkOrderId, String status, Long expectedVersion) {
+    }
+
+    /**
+     * Outcome of one transition; {@code status} and {@code version} are the state after it.
+     */
+    public record Result(Long id, String externalWorkOrderId, String previousStatus, String status, Long version,
+                         Outcome outcome, String message) {
+    }
+
+    private final WorkOrderRepository workOrderRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxRetries;
+    private final long backoffMs;
+    private final int maxBatchSize;
+    private final ReentrantLock[] stripes;
+    private final Map<Outcome, Counter> outcomes = new EnumMap<>(Outcome.class);
+    private final Counter retries;
+
+    public WorkOrderStatusService(WorkOrderRepository workOrderRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${lovion.workorders.status.max-retries:5}") int maxRetries,
+                                  @Value("${lovion.workorders.status.backoff-ms:2}") long backoffMs,
+                                  @Value("${lovion.workorders.status.lock-stripes:64}") int lockStripes,
+                                  @Value("${lovion.workorders.status.max-batch-size:500}") int maxBatchSize) {
+        this.workOrderRepository = workOrderRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxRetries = maxRetries;
+        this.backoffMs = backoffMs;
+        this.maxBatchSize = maxBatchSize;
+        this.stripes = new ReentrantLock[Math.max(lockStripes, 0)];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        for (Outcome outcome : Outcome.values()) {
+            outcomes.put(outcome, Counter.builder("lovion.workorders.status.transitions")
+                    .tag("outcome", outcome.name().toLowerCase(Locale.ROOT)).register(meterRegistry));
+        }
+        this.retries = Counter.builder("lovion.workorders.status.retries").register(meterRegistry);
+    }
+
+    /**
+     * Applies one transition.
+     *
+     * @throws IllegalArgumentException          for an unknown target status
+     * @throws ResourceNotFoundException         when the work order does not exist
+     * @throws InvalidStatusTransitionException  when the lifecycle does not allow the change
+     * @throws OptimisticLockingFailureException when the expected version does not match, or the work order kept
+     *                                           changing concurrently
+     */
+    public Result transition(Transition transition) {
+        Result result = transitionAll(List.of(transition)).get(0);
+        return switch (result.outcome()) {
+            case APPLIED, UNCHANGED -> result;
+            case REJECTED -> throw new InvalidStatusTransitionException(result.message(), result.previousStatus());
+            case CONFLICT -> throw new OptimisticLockingFailureException(result.message());
+            case NOT_FOUND -> throw new ResourceNotFoundException(result.message());
+        };
+    }
+
+    /**
+     * Applies the transitions in order and reports an outcome per item; a rejected or conflicting item does not stop
+     * the others.
+     *
+     * @throws IllegalArgumentException when the batch is too large or an item has an unknown status or no id
+     */
+    public List<Result> transitionAll(List<Transition> transitions) {
+        if (transitions.size() > maxBatchSize) {
+            throw new IllegalArgumentException("At most %d transitions per batch, got %d"
+                    .formatted(maxBatchSize, transitions.size()));
+        }
+        WorkOrderStatus[] targets = new WorkOrderStatus[transitions.size()];
+        for (int i = 0; i < targets.length; i++) {
+            Transition transition = transitions.get(i);
+            if (transition.id() == null && transition.externalWorkOrderId() == null) {
+                throw new IllegalArgumentException("Transition " + i + " has no id or externalWorkOrderId");
+            }
+            targets[i] = WorkOrderStatus.parse(transition.status());
+        }
+
+        Long[] ids = resolveIds(transitions);
+        Result[] results = new Result[transitions.size()];
+        List<Integer> pending = new ArrayList<>();
+        for (int i = 0; i < results.length; i++) {
+            if (ids[i] == null) {
+                results[i] = failed(transitions.get(i), null, Outcome.NOT_FOUND, "WorkOrder %s not found"
+                        .formatted(transitions.get(i).externalWorkOrderId()));
+            } else {
+                pending.add(i);
+            }
+        }
+
+        if (!pending.isEmpty()) {
+            // rows are updated in id order (stable, so per work order the request order holds): concurrent batches
+            // then take their row locks in the same order and cannot deadlock in the database
+            pending.sort(Comparator.comparing(i -> ids[i]));
+            List<Long> pendingIds = pending.stream().map(i -> ids[i]).toList();
+            int[] locked = lock(pendingIds);
+            boolean lostRace = false;
+            try {
+                transactionTemplate.executeWithoutResult(tx -> {
+                    Map<Long, WorkOrder> workOrders = workOrderRepository.findAllById(pendingIds).stream()
+                            .collect(Collectors.toMap(WorkOrder::getId, Function.identity()));
+                    for (int i : pending) {
+                        WorkOrder workOrder = workOrders.get(ids[i]);
+                        results[i] = workOrder == null ? notFound(transitions.get(i), ids[i])
+                                : apply(workOrder, transitions.get(i), targets[i]);
+                    }
+                });
+            } catch (ConcurrencyFailureException ex) {
+                lostRace = true;
+            } finally {
+                unlock(locked);
+            }
+            if (lostRace) {
+                log.debug("Status transition batch of {} lost a race, retrying item by item", pending.size());
+                for (int i : pending) {
+                    results[i] = retry(transitions.get(i), ids[i], targets[i]);
+                }
+            }
+        }
+
+        for (Result result : results) {
+            outcomes.get(result.outcome()).increment();
+        }
+        return List.of(results);
+    }
+
+    private Result retry(Transition transition, long id, WorkOrderStatus target) {
+        for (int attempt = 1; ; attempt++) {
+            if (!backoff(attempt)) {
+                return failed(transition, id, Outcome.CONFLICT, "Interrupted while retrying WorkOrder " + id);
+            }
+            retries.increment();
+            int[] locked = lock(List.of(id));
+            try {
+                return transactionTemplate.execute(tx -> workOrderRepository.findById(id)
+                        .map(workOrder -> apply(workOrder, transition, target))
+                        .orElseGet(() -> notFound(transition, id)));
+            } catch (ConcurrencyFailureException ex) {
+                if (transition.expectedVersion() != null || attempt >= maxRetries) {
+                    return failed(transition, id, Outcome.CONFLICT,
+                            "WorkOrder %d was changed concurrently (%d retries)".formatted(id, attempt));
+                }
+            } finally {
+                unlock(locked);
+            }
+        }
+    }
+
+    /**
+     * Runs inside the transaction. Only a lost race at flush time is thrown; everything else is an outcome.
+     */
+    private Result apply(WorkOrder workOrder, Transition transition, WorkOrderStatus target) {
+        String previous = workOrder.getStatus();
+        if (transition.expectedVersion() != null && transition.expectedVersion() != workOrder.getVersion()) {
+            return result(workOrder, previous, Outcome.CONFLICT, "WorkOrder %d is at version %d, expected %d"
+                    .formatted(workOrder.getId(), workOrder.getVersion(), transition.expectedVersion()));
+        }
+        WorkOrderStatus current = WorkOrderStatus.fromStored(previous);
+        if (current == target) {
+            return result(workOrder, previous, Outcome.UNCHANGED, null);
+        }
+        if (current == null || !current.canTransitionTo(target)) {
+            return result(workOrder, previous, Outcome.REJECTED, "WorkOrder %d cannot go from %s to %s"
+                    .formatted(workOrder.getId(), previous, target));
+        }
+        workOrder.setStatus(target.name());
+        // version check and increment happen here, so a lost race surfaces inside the retry
+        workOrderRepository.flush();
+        return result(workOrder, previous, Outcome.APPLIED, null);
+    }
+
+    private Long[] resolveIds(List<Transition> transitions) {
+        List<String> externalIds = transitions.stream()
+                .filter(transition -> transition.id() == null)
+                .map(Transition::externalWorkOrderId)
+                .distinct()
+                .toList();
+        Map<String, Long> byExternalId = new HashMap<>();
+        if (!externalIds.isEmpty()) {
+            for (WorkOrderKey key : workOrderRepository.findKeysByExternalWorkOrderIdIn(externalIds)) {
+                byExternalId.put(key.externalWorkOrderId(), key.id());
+            }
+        }
+        Long[] ids = new Long[transitions.size()];
+        for (int i = 0; i < ids.length; i++) {
+            Transition transition = transitions.get(i);
+            ids[i] = transition.id() != null ? transition.id() : byExternalId.get(transition.externalWorkOrderId());
+        }
+        return ids;
+    }
+
+    /**
+     * Takes the stripes of the given work orders in ascending order, so batches cannot deadlock each other.
+     */
+    private int[] lock(Collection<Long> ids) {
+        if (stripes.length == 0) {
+            return new int[0];
+        }
+        int[] indexes = ids.stream().mapToInt(id -> (int) Math.floorMod(id, (long) stripes.length))
+                .distinct().sorted().toArray();
+        for (int index : indexes) {
+            stripes[index].lock();
+        }
+        return indexes;
+    }
+
+    private void unlock(int[] indexes) {
+        for (int i = indexes.length - 1; i >= 0; i--) {
+            stripes[indexes[i]].unlock();
+        }
+    }
+
+    /**
+     * Full jitter: sleeps up to {@code backoff-ms * 2^(attempt-1)}, capped at 32 times the base.
+     *
+     * @return {@code false} when interrupted
+     */
+    private boolean backoff(int attempt) {
+        long bound = backoffMs << Math.min(attempt - 1, 5);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(bound + 1));
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static Result result(WorkOrder workOrder, String previous, Outcome outcome, String message) {
+        return new Result(workOrder.getId(), workOrder.getExternalWorkOrderId(), previous, workOrder.getStatus(),
+                workOrder.getVersion(), outcome, message);
+    }
+
+    private static Result notFound(Transition transition, Long id) {
+        return failed(transition, id, Outcome.NOT_FOUND, "WorkOrder with id %d not found".formatted(id));
+    }
+
+    private static Result failed(Transition transition, Long id, Outcome outcome, String message) {
+        return new Result(id, transition.externalWorkOrderId(), null, null, null, outcome, message);
+    }
+}
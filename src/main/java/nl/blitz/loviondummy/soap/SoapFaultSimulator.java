@@ -1,5 +1,8 @@
 package nl.blitz.loviondummy.soap;
 
+import nl.blitz.loviondummy.jfr.FaultInjectionEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -10,6 +13,13 @@ import java.util.Random;
 @Component
 public class SoapFaultSimulator {
 
+    private static final Logger log = LoggerFactory.getLogger(SoapFaultSimulator.class);
+
+    /**
+     * Fault type per case of {@link #generateRandomFault(int)}, as reported in the JFR event.
+     */
+    private static final String[] RANDOM_FAULT_TYPES = {"SERVICE_UNAVAILABLE", "INVALID_CREDENTIALS", "RATE_LIMIT"};
+
     @Value("${soap.fault.simulation.enabled:false}")
     private boolean enabled;
 
@@ -39,24 +49,25 @@ public class SoapFaultSimulator {
             return null;
         }
 
-        // check of SoapFaultSimulator wel wordt aangeroepen...
-        System.out.println(">>> simulateFault() CALLED | enabled=" + enabled + " prob=" + probability
-                + " maxRequests=" + maxRequests + " windowSeconds=" + windowSeconds);
+        log.debug("simulateFault: probability={} maxRequests={} windowSeconds={}",
+                probability, maxRequests, windowSeconds);
 
+        FaultInjectionEvent event = FaultInjectionEvent.start();
 
         // 1. Rate limit check
         if (isRateLimitExceeded()) {
-            return new SoapFaultException(
+            return recorded(event, "RATE_LIMIT_WINDOW", new SoapFaultException(
                     "SOAP-ENV:Server",
                     "Rate limit exceeded",
                     "Maximum " + maxRequests + " requests per " + windowSeconds + " seconds",
                     true // transient
-            );
+            ));
         }
 
         // 2. Random fault op basis van probability
         if (random.nextDouble() < probability) {
-            return generateRandomFault();
+            int faultType = random.nextInt(3);
+            return recorded(event, RANDOM_FAULT_TYPES[faultType], generateRandomFault(faultType));
         }
 
         // 3. Geen fout → null
@@ -76,9 +87,13 @@ public class SoapFaultSimulator {
         return requestCount > maxRequests;
     }
 
-    private SoapFaultException generateRandomFault() {
-        int faultType = random.nextInt(3);
+    private static SoapFaultException recorded(FaultInjectionEvent event, String faultType,
+                                               SoapFaultException fault) {
+        event.finish(faultType, fault.getFaultCode(), fault.getFaultString(), fault.isTransient());
+        return fault;
+    }
 
+    private SoapFaultException generateRandomFault(int faultType) {
         switch (faultType) {
             case 0:
                 // Service tijdelijk niet beschikbaar (transient)
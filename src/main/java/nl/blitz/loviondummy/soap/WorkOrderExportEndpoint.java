@@ -0,0 +1,105 @@
+package nl.blitz.loviondummy.soap;
+
+import jakarta.activation.DataHandler;
+import jakarta.activation.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import nl.blitz.loviondummy.config.WsConfig;
+import nl.blitz.loviondummy.soap.schema.ExportChunkType;
+import nl.blitz.loviondummy.soap.schema.ExportWorkOrdersRequest;
+import nl.blitz.loviondummy.soap.schema.ExportWorkOrdersResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.oxm.jaxb.Jaxb2Marshaller;
+import org.springframework.ws.context.MessageContext;
+import org.springframework.ws.server.endpoint.annotation.Endpoint;
+import org.springframework.ws.server.endpoint.annotation.PayloadRoot;
+import org.springframework.ws.server.endpoint.annotation.RequestPayload;
+import org.springframework.ws.support.MarshallingUtils;
+
+/**
+ * Bulk export of work orders. Instead of inline {@code WorkOrderType} elements the response carries gzip-compressed
+ * CSV or XML chunks as MTOM attachments, so the rows are neither XML-wrapped per field nor base64-encoded.
+ * <p>
+ * The response is marshalled with the MTOM-enabled {@link Jaxb2Marshaller} from {@link WsConfig}; the default
+ * JAXB payload processors of the annotated endpoints do not create attachments.
+ */
+@Endpoint
+public class WorkOrderExportEndpoint {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkOrderExportEndpoint.class);
+    private static final String NAMESPACE_URI = WsConfig.NAMESPACE_URI;
+
+    static final int DEFAULT_CHUNK_SIZE = 10_000;
+    static final int MAX_CHUNK_SIZE = 100_000;
+
+    private final WorkOrderExportWriter exportWriter;
+    private final Jaxb2Marshaller marshaller;
+
+    public WorkOrderExportEndpoint(WorkOrderExportWriter exportWriter, Jaxb2Marshaller marshaller) {
+        this.exportWriter = exportWriter;
+        this.marshaller = marshaller;
+    }
+
+    @PayloadRoot(namespace = NAMESPACE_URI, localPart = "ExportWorkOrdersRequest")
+    public void exportWorkOrders(@RequestPayload ExportWorkOrdersRequest request, MessageContext messageContext)
+            throws IOException, SoapFaultException {
+        String format = request.getFormat() != null ? request.getFormat().toUpperCase() : WorkOrderExportWriter.CSV;
+        int chunkSize = request.getChunkSize() != null ? request.getChunkSize() : DEFAULT_CHUNK_SIZE;
+        log.info("SOAP request: ExportWorkOrders status={} format={} chunkSize={}",
+                request.getStatus(), format, chunkSize);
+        if (!WorkOrderExportWriter.CSV.equals(format) && !WorkOrderExportWriter.XML.equals(format)) {
+            throw new SoapFaultException("SOAP-ENV:Client", "Unsupported format: " + request.getFormat(),
+                    "format must be CSV or XML", false);
+        }
+        if (chunkSize < 1 || chunkSize > MAX_CHUNK_SIZE) {
+            throw new SoapFaultException("SOAP-ENV:Client", "Invalid chunkSize: " + chunkSize,
+                    "chunkSize must be between 1 and " + MAX_CHUNK_SIZE, false);
+        }
+
+        List<WorkOrderExportWriter.Chunk> chunks = exportWriter.export(request.getStatus(), format, chunkSize);
+        ExportWorkOrdersResponse response = new ExportWorkOrdersResponse();
+        response.setFormat(format);
+        long compressed = 0;
+        for (WorkOrderExportWriter.Chunk chunk : chunks) {
+            ExportChunkType type = new ExportChunkType();
+            type.setSequence(chunk.sequence());
+            type.setRowCount(chunk.rowCount());
+            type.setContentType(chunk.contentType());
+            type.setData(new DataHandler(new GzipDataSource(chunk)));
+            response.getChunks().add(type);
+            response.setTotalRows(response.getTotalRows() + chunk.rowCount());
+            compressed += chunk.gzipped().length;
+        }
+        // Marshals into the response message; with MTOM the chunk bytes become separate MIME parts
+        MarshallingUtils.marshal(marshaller, response, messageContext.getResponse());
+        log.info("SOAP response: exported {} work orders in {} chunks ({} KB compressed)",
+                response.getTotalRows(), chunks.size(), compressed / 1024);
+    }
+
+    private record GzipDataSource(WorkOrderExportWriter.Chunk chunk) implements DataSource {
+
+        @Override
+        public InputStream getInputStream() {
+            return new ByteArrayInputStream(chunk.gzipped());
+        }
+
+        @Override
+        public OutputStream getOutputStream() throws IOException {
+            throw new IOException("read-only");
+        }
+
+        @Override
+        public String getContentType() {
+            return "application/gzip";
+        }
+
+        @Override
+        public String getName() {
+            return "chunk-" + chunk.sequence() + (chunk.contentType().equals("text/csv") ? ".csv.gz" : ".xml.gz");
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package nl.blitz.loviondummy.soap;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import nl.blitz.loviondummy.config.WsConfig;
+import nl.blitz.loviondummy.repository.WorkOrderJdbcRepository;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes the work-order list straight from JDBC into gzip-compressed CSV or XML chunks of a fixed number of rows.
+ * The fields and their order follow {@code WorkOrderType}; the XML chunks use its element names, qualified in the
+ * work-order namespace as {@code workorders.xsd} requires.
+ */
+@Component
+public class WorkOrderExportWriter {
+
+    public static final String CSV = "CSV";
+    public static final String XML = "XML";
+
+    private static final String CSV_HEADER =
+            "externalWorkOrderId,externalAssetRef,description,scheduledDate,workType,priority,status\r\n";
+
+    private final WorkOrderJdbcRepository repository;
+    private final XMLOutputFactory xmlOutputFactory = XMLOutputFactory.newFactory();
+
+    public WorkOrderExportWriter(WorkOrderJdbcRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * One compressed chunk; {@code contentType} describes the data before compression.
+     */
+    public record Chunk(int sequence, int rowCount, String contentType, byte[] gzipped) {
+    }
+
+    public List<Chunk> export(String status, String format, int chunkSize) {
+        List<Chunk> chunks = new ArrayList<>();
+        ChunkWriter[] current = {null};
+        repository.streamRows(status, null, rs -> {
+            if (current[0] == null) {
+                current[0] = XML.equals(format) ? new XmlChunkWriter(chunks.size()) : new CsvChunkWriter(chunks.size());
+            }
+            current[0].writeRow(rs);
+            if (current[0].rowCount == chunkSize) {
+                chunks.add(current[0].finish());
+                current[0] = null;
+            }
+        });
+        if (current[0] != null) {
+            chunks.add(current[0].finish());
+        }
+        return chunks;
+    }
+
+    private abstract static class ChunkWriter {
+
+        final int sequence;
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream(8192);
+        final GZIPOutputStream gzip;
+        int rowCount;
+
+        ChunkWriter(int sequence) {
+            this.sequence = sequence;
+            try {
+                this.gzip = new GZIPOutputStream(bytes, 8192);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        void writeRow(ResultSet rs) throws SQLException {
+            try {
+                write(rs);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            rowCount++;
+        }
+
+        abstract void write(ResultSet rs) throws SQLException, IOException;
+
+        abstract String contentType();
+
+        abstract void close() throws IOException;
+
+        Chunk finish() {
+            try {
+                close();
+                gzip.finish();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            return new Chunk(sequence, rowCount, contentType(), bytes.toByteArray());
+        }
+    }
+
+    private static final class CsvChunkWriter extends ChunkWriter {
+
+        private final Writer out = new OutputStreamWriter(gzip, StandardCharsets.UTF_8);
+        private final StringBuilder line = new StringBuilder(256);
+
+        CsvChunkWriter(int sequence) {
+            super(sequence);
+            try {
+                out.write(CSV_HEADER);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        @Override
+        void write(ResultSet rs) throws SQLException, IOException {
+            line.setLength(0);
+            field(rs.getString(2)).append(',');
+            field(rs.getString(9)).append(',');
+            field(rs.getString(7)).append(',');
+            LocalDate scheduled = rs.getObject(5, LocalDate.class);
+            line.append(scheduled != null ? scheduled.toString() : "").append(',');
+            field(rs.getString(3)).append(',');
+            field(rs.getString(4)).append(',');
+            field(rs.getString(6)).append("\r\n");
+            out.append(line);
+        }
+
+        /** RFC 4180: quote when needed, double embedded quotes. */
+        private StringBuilder field(String value) {
+            if (value == null) {
+                return line;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return line.append(value);
+            }
+            return line.append('"').append(value.replace("\"", "\"\"")).append('"');
+        }
+
+        @Override
+        String contentType() {
+            return "text/csv";
+        }
+
+        @Override
+        void close() throws IOException {
+            out.flush();
+        }
+    }
+
+    private final class XmlChunkWriter extends ChunkWriter {
+
+        private final XMLStreamWriter xml;
+
+        XmlChunkWriter(int sequence) {
+            super(sequence);
+            try {
+                // the JDK writer issues many tiny writes; each one would otherwise be a deflate call
+                xml = xmlOutputFactory.createXMLStreamWriter(new BufferedOutputStream(gzip, 8192), "UTF-8");
+                xml.writeStartDocument("UTF-8", "1.0");
+                xml.writeStartElement("wo", "workOrders", WsConfig.NAMESPACE_URI);
+                xml.writeNamespace("wo", WsConfig.NAMESPACE_URI);
+            } catch (XMLStreamException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+
+        @Override
+        void write(ResultSet rs) throws SQLException {
+            try {
+                xml.writeStartElement("wo", "workOrder", WsConfig.NAMESPACE_URI);
+                element("externalWorkOrderId", rs.getString(2));
+                String assetRef = rs.getString(9);
+                // required in WorkOrderType, same fallback as the inline response
+                element("externalAssetRef", assetRef != null ? assetRef : "");
+                element("description", rs.getString(7));
+                LocalDate scheduled = rs.getObject(5, LocalDate.class);
+                element("scheduledDate", scheduled != null ? scheduled.toString() : null);
+                element("workType", rs.getString(3));
+                element("priority", rs.getString(4));
+                element("status", rs.getString(6));
+                xml.writeEndElement();
+            } catch (XMLStreamException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+
+        private void element(String name, String value) throws XMLStreamException {
+            if (value != null) {
+                // elementFormDefault="qualified": the children are in the namespace as well
+                xml.writeStartElement("wo", name, WsConfig.NAMESPACE_URI);
+                xml.writeCharacters(value);
+                xml.writeEndElement();
+            }
+        }
+
+        @Override
+        String contentType() {
+            return "application/xml";
+        }
+
+        @Override
+        void close() throws IOException {
+            try {
+                xml.writeEndElement();
+                xml.writeEndDocument();
+                xml.flush();
+            } catch (XMLStreamException ex) {
+                throw new IOException(ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package nl.blitz.loviondummy.soap;
+
+import java.time.Duration;
+import nl.blitz.loviondummy.config.WsConfig;
+import nl.blitz.loviondummy.feed.FeedFilter;
+import nl.blitz.loviondummy.feed.WorkOrderChangeFeed;
+import nl.blitz.loviondummy.feed.WorkOrderFeedEvent;
+import nl.blitz.loviondummy.soap.schema.PollWorkOrderChangesRequest;
+import nl.blitz.loviondummy.soap.schema.PollWorkOrderChangesResponse;
+import nl.blitz.loviondummy.soap.schema.WorkOrderChangeType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.ws.server.endpoint.annotation.Endpoint;
+import org.springframework.ws.server.endpoint.annotation.PayloadRoot;
+import org.springframework.ws.server.endpoint.annotation.RequestPayload;
+import org.springframework.ws.server.endpoint.annotation.ResponsePayload;
+
+/**
+ * Long-poll access to the work order change feed for SOAP clients, which cannot use the SSE stream.
+ * The request thread waits for changes (bounded by {@code lovion.feed.long-poll.*}).
+ */
+@Endpoint
+public class WorkOrderFeedEndpoint {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkOrderFeedEndpoint.class);
+    private static final String NAMESPACE_URI = WsConfig.NAMESPACE_URI;
+
+    static final int DEFAULT_MAX_EVENTS = 100;
+    static final int MAX_EVENTS = 1000;
+    static final int DEFAULT_TIMEOUT_SECONDS = 20;
+
+    private final WorkOrderChangeFeed feed;
+    private final int maxTimeoutSeconds;
+
+    public WorkOrderFeedEndpoint(WorkOrderChangeFeed feed,
+                                 @Value("${lovion.feed.long-poll.max-timeout-seconds:30}") int maxTimeoutSeconds) {
+        this.feed = feed;
+        this.maxTimeoutSeconds = maxTimeoutSeconds;
+    }
+
+    @PayloadRoot(namespace = NAMESPACE_URI, localPart = "PollWorkOrderChangesRequest")
+    @ResponsePayload
+    public PollWorkOrderChangesResponse pollWorkOrderChanges(@RequestPayload PollWorkOrderChangesRequest request)
+            throws SoapFaultException {
+        int maxEvents = request.getMaxEvents() != null ? request.getMaxEvents() : DEFAULT_MAX_EVENTS;
+        int timeoutSeconds = request.getTimeoutSeconds() != null
+                ? request.getTimeoutSeconds() : Math.min(DEFAULT_TIMEOUT_SECONDS, maxTimeoutSeconds);
+        log.info("SOAP request: PollWorkOrderChanges since={} status={} asset={}",
+                request.getSinceSequence(), request.getStatus(), request.getAssetId());
+        if (maxEvents < 1 || maxEvents > MAX_EVENTS) {
+            throw new SoapFaultException("SOAP-ENV:Client", "Invalid maxEvents: " + maxEvents,
+                    "maxEvents must be between 1 and " + MAX_EVENTS, false);
+        }
+        if (timeoutSeconds < 0 || timeoutSeconds > maxTimeoutSeconds) {
+            throw new SoapFaultException("SOAP-ENV:Client", "Invalid timeoutSeconds: " + timeoutSeconds,
+                    "timeoutSeconds must be between 0 and " + maxTimeoutSeconds, false);
+        }
+
+        WorkOrderChangeFeed.Poll poll;
+        try {
+            poll = feed.poll(request.getSinceSequence(), FeedFilter.of(request.getStatus(), request.getAssetId()),
+                    maxEvents, Duration.ofSeconds(timeoutSeconds));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SoapFaultException("SOAP-ENV:Server", "Interrupted while waiting for changes",
+                    "Retry the poll", true);
+        }
+        PollWorkOrderChangesResponse response = new PollWorkOrderChangesResponse();
+        response.setNextSequence(poll.next());
+        response.setResync(poll.resync());
+        poll.events().stream().map(this::mapToType).forEach(response.getChanges()::add);
+        log.info("SOAP response: {} work order changes, next sequence {}", response.getChanges().size(),
+                poll.next());
+        return response;
+    }
+
+    private WorkOrderChangeType mapToType(WorkOrderFeedEvent event) {
+        WorkOrderChangeType type = new WorkOrderChangeType();
+        type.setSequence(event.sequence());
+        type.setType(event.type().name());
+        type.setExternalWorkOrderId(event.change().externalWorkOrderId());
+        type.setStatus(event.change().status());
+        if (event.type() == WorkOrderFeedEvent.Type.STATUS_CHANGED) {
+            type.setPreviousStatus(event.change().previousStatus());
+        }
+        type.setAssetId(event.change().assetId());
+        return type;
+    }
+}
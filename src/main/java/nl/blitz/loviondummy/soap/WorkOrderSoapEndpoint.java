@@ -4,11 +4,21 @@ import java.util.List;
 import nl.blitz.loviondummy.config.WsConfig;
 import nl.blitz.loviondummy.domain.WorkOrder;
 import nl.blitz.loviondummy.exception.ResourceNotFoundException;
+import nl.blitz.loviondummy.jfr.DtoMappingEvent;
+import nl.blitz.loviondummy.repository.projection.WorkOrderRow;
+import nl.blitz.loviondummy.service.WorkOrderLookupService;
 import nl.blitz.loviondummy.service.WorkOrderQueryService;
+import nl.blitz.loviondummy.service.WorkOrderStatusService;
+import nl.blitz.loviondummy.soap.schema.ChangeWorkOrderStatusRequest;
+import nl.blitz.loviondummy.soap.schema.ChangeWorkOrderStatusResponse;
+import nl.blitz.loviondummy.soap.schema.GetWorkOrderDetailsBatchRequest;
+import nl.blitz.loviondummy.soap.schema.GetWorkOrderDetailsBatchResponse;
 import nl.blitz.loviondummy.soap.schema.GetWorkOrderDetailsRequest;
 import nl.blitz.loviondummy.soap.schema.GetWorkOrderDetailsResponse;
 import nl.blitz.loviondummy.soap.schema.GetWorkOrdersRequest;
 import nl.blitz.loviondummy.soap.schema.GetWorkOrdersResponse;
+import nl.blitz.loviondummy.soap.schema.StatusTransitionResultType;
+import nl.blitz.loviondummy.soap.schema.WorkOrderLookupResultType;
 import nl.blitz.loviondummy.soap.schema.WorkOrderType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -28,12 +38,18 @@ public class WorkOrderSoapEndpoint {
 
     private final WorkOrderQueryService workOrderService;
     private final SoapFaultSimulator faultSimulator;
+    private final WorkOrderStatusService statusService;
+    private final WorkOrderLookupService lookupService;
 
     public WorkOrderSoapEndpoint(
             WorkOrderQueryService workOrderService,
-            SoapFaultSimulator faultSimulator) {
+            SoapFaultSimulator faultSimulator,
+            WorkOrderStatusService statusService,
+            WorkOrderLookupService lookupService) {
         this.workOrderService = workOrderService;
         this.faultSimulator = faultSimulator;
+        this.statusService = statusService;
+        this.lookupService = lookupService;
     }
 
 
@@ -49,9 +65,13 @@ public class WorkOrderSoapEndpoint {
             throw fault;
         }
 
-        List<WorkOrder> workOrders = workOrderService.getWorkOrders(request.getStatus(), null);
+        List<WorkOrderRow> workOrders = workOrderService.getWorkOrderRows(request.getStatus(), null);
         GetWorkOrdersResponse response = new GetWorkOrdersResponse();
-        workOrders.stream().map(this::mapToType).forEach(response.getWorkOrders()::add);
+        DtoMappingEvent mapping = DtoMappingEvent.start();
+        for (WorkOrderRow row : workOrders) {
+            response.getWorkOrders().add(mapToType(row));
+        }
+        mapping.finish("WorkOrderRow->WorkOrderType", workOrders.size());
 
         // Note: Database already contains work orders with validation issues seeded by DataInitializer
         // This includes: invalid IDs, invalid types, short descriptions, past dates, etc.
@@ -76,6 +96,75 @@ public class WorkOrderSoapEndpoint {
         return response;
     }
 
+    /**
+     * Batch variant of {@link #getWorkOrderDetails}: one round trip, one fault simulation and a few IN-list queries
+     * for up to {@code lovion.workorders.lookup.max-ids} ids, with a result per requested id.
+     */
+    @PayloadRoot(namespace = NAMESPACE_URI, localPart = "GetWorkOrderDetailsBatchRequest")
+    @ResponsePayload
+    public GetWorkOrderDetailsBatchResponse getWorkOrderDetailsBatch(
+            @RequestPayload GetWorkOrderDetailsBatchRequest request) throws SoapFaultException {
+        log.info("SOAP request: GetWorkOrderDetailsBatch with {} ids", request.getExternalWorkOrderIds().size());
+        SoapFaultException fault = faultSimulator.simulateFault();
+        if (fault != null) {
+            throw fault;
+        }
+        List<WorkOrderLookupService.Lookup> lookups = lookupService.lookup(request.getExternalWorkOrderIds());
+        GetWorkOrderDetailsBatchResponse response = new GetWorkOrderDetailsBatchResponse();
+        DtoMappingEvent mapping = DtoMappingEvent.start();
+        int found = 0;
+        for (WorkOrderLookupService.Lookup lookup : lookups) {
+            WorkOrderLookupResultType result = new WorkOrderLookupResultType();
+            result.setExternalWorkOrderId(lookup.externalWorkOrderId());
+            result.setFound(lookup.found());
+            if (lookup.found()) {
+                result.setWorkOrder(mapToType(lookup.row()));
+                found++;
+            }
+            response.getResults().add(result);
+        }
+        response.setFound(found);
+        response.setMissing(lookups.size() - found);
+        mapping.finish("Lookup->WorkOrderLookupResultType", lookups.size());
+        log.info("SOAP response: found {} and missed {} work orders", found, lookups.size() - found);
+        return response;
+    }
+
+    /**
+     * Status changes by external id, applied as one batch with an outcome per transition.
+     */
+    @PayloadRoot(namespace = NAMESPACE_URI, localPart = "ChangeWorkOrderStatusRequest")
+    @ResponsePayload
+    public ChangeWorkOrderStatusResponse changeWorkOrderStatus(@RequestPayload ChangeWorkOrderStatusRequest request)
+            throws SoapFaultException {
+        log.info("SOAP request: ChangeWorkOrderStatus with {} transitions", request.getTransitions().size());
+        List<WorkOrderStatusService.Transition> transitions = request.getTransitions().stream()
+                .map(transition -> new WorkOrderStatusService.Transition(null, transition.getExternalWorkOrderId(),
+                        transition.getStatus(), transition.getExpectedVersion()))
+                .toList();
+        List<WorkOrderStatusService.Result> results;
+        try {
+            results = statusService.transitionAll(transitions);
+        } catch (IllegalArgumentException ex) {
+            throw new SoapFaultException("SOAP-ENV:Client", ex.getMessage(), "Invalid status transition request", false);
+        }
+        ChangeWorkOrderStatusResponse response = new ChangeWorkOrderStatusResponse();
+        results.stream().map(this::mapToType).forEach(response.getResults()::add);
+        log.info("SOAP response: {} status transitions processed", response.getResults().size());
+        return response;
+    }
+
+    private StatusTransitionResultType mapToType(WorkOrderStatusService.Result result) {
+        StatusTransitionResultType type = new StatusTransitionResultType();
+        type.setExternalWorkOrderId(result.externalWorkOrderId());
+        type.setOutcome(result.outcome().name());
+        type.setPreviousStatus(result.previousStatus());
+        type.setStatus(result.status());
+        type.setVersion(result.version());
+        type.setMessage(result.message());
+        return type;
+    }
+
     private WorkOrderType mapToType(WorkOrder workOrder) {
         WorkOrderType type = new WorkOrderType();
         type.setExternalWorkOrderId(workOrder.getExternalWorkOrderId());
@@ -93,6 +182,19 @@ public class WorkOrderSoapEndpoint {
         return type;
     }
 
+    private WorkOrderType mapToType(WorkOrderRow row) {
+        WorkOrderType type = new WorkOrderType();
+        type.setExternalWorkOrderId(row.externalWorkOrderId());
+        // externalAssetRef is required in XSD, so always set a value
+        type.setExternalAssetRef(row.assetExternalRef() != null ? row.assetExternalRef() : "");
+        type.setDescription(row.description());
+        type.setScheduledDate(row.scheduledDate());
+        type.setWorkType(row.workType());
+        type.setPriority(row.priority());
+        type.setStatus(row.status());
+        return type;
+    }
+
     private WorkOrderType makeWorkOrderType(
             String externalId,
             String assetRef,
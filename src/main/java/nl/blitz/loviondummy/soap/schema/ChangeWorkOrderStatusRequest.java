@@ -0,0 +1,25 @@
+package nl.blitz.loviondummy.soap.schema;
+
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import jakarta.xml.bind.annotation.XmlType;
+import java.util.ArrayList;
+import java.util.List;
+
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlType(name = "", propOrder = {"transitions"})
+@XmlRootElement(name = "ChangeWorkOrderStatusRequest", namespace = "http://www.loviondummy.nl/workorders")
+public class ChangeWorkOrderStatusRequest {
+
+    @XmlElement(name = "transition", namespace = "http://www.loviondummy.nl/workorders", required = true)
+    private List<StatusTransitionType> transitions;
+
+    public List<StatusTransitionType> getTransitions() {
+        if (transitions == null) {
+            transitions = new ArrayList<>();
+        }
+        return transitions;
+    }
+}
@@ -0,0 +1,25 @@
+package nl.blitz.loviondummy.soap.schema;
+
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import jakarta.xml.bind.annotation.XmlType;
+import java.util.ArrayList;
+import java.util.List;
+
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlType(name = "", propOrder = {"results"})
+@XmlRootElement(name = "ChangeWorkOrderStatusResponse", namespace = "http://www.loviondummy.nl/workorders")
+public class ChangeWorkOrderStatusResponse {
+
+    @XmlElement(name = "result")
+    private List<StatusTransitionResultType> results;
+
+    public List<StatusTransitionResultType> getResults() {
+        if (results == null) {
+            results = new ArrayList<>();
+        }
+        return results;
+    }
+}
@@ -0,0 +1,60 @@
+package nl.blitz.loviondummy.soap.schema;
+
+import jakarta.activation.DataHandler;
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlMimeType;
+import jakarta.xml.bind.annotation.XmlType;
+
+/**
+ * One gzip-compressed block of exported rows. With MTOM the {@code data} element only holds an
+ * {@code xop:Include} and the bytes travel as a binary MIME part.
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlType(name = "ExportChunkType", propOrder = {"sequence", "rowCount", "contentType", "data"})
+public class ExportChunkType {
+
+    private int sequence;
+
+    private int rowCount;
+
+    @XmlElement(required = true)
+    private String contentType;
+
+    @XmlElement(required = true)
+    @XmlMimeType("application/gzip")
+    private DataHandler data;
+
+    public int getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(int sequence) {
+        this.sequence = sequence;
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    public void setRowCount(int rowCount) {
+        this.rowCount = rowCount;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public DataHandler getData() {
+        return data;
+    }
+
+    public void setData(DataHandler data) {
+        this.data = data;
+    }
+}
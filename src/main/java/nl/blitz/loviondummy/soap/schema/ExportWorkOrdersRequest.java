@@ -0,0 +1,46 @@
+package nl.blitz.loviondummy.soap.schema;
+
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import jakarta.xml.bind.annotation.XmlType;
+
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlType(name = "", propOrder = {"status", "format", "chunkSize"})
+@XmlRootElement(name = "ExportWorkOrdersRequest", namespace = "http://www.loviondummy.nl/workorders")
+public class ExportWorkOrdersRequest {
+
+    @XmlElement(namespace = "http://www.loviondummy.nl/workorders")
+    private String status;
+
+    @XmlElement(namespace = "http://www.loviondummy.nl/workorders")
+    private String format;
+
+    @XmlElement(namespace = "http://www.loviondummy.nl/workorders")
+    private Integer chunkSize;
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    public Integer getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(Integer chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+}
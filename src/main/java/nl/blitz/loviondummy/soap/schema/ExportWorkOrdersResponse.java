@@ -0,0 +1,46 @@
+package nl.blitz.loviondummy.soap.schema;
+
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import jakarta.xml.bind.annotation.XmlType;
+import java.util.ArrayList;
+import java.util.List;
+
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlType(name = "", propOrder = {"format", "totalRows", "chunks"})
+@XmlRootElement(name = "ExportWorkOrdersResponse", namespace = "http://www.loviondummy.nl/workorders")
+public class ExportWorkOrdersResponse {
+
+    @XmlElement(required = true)
+    private String format;
+
+    private int totalRows;
+
+    @XmlElement(name = "chunk")
+    private List<ExportChunkType> chunks;
+
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    public int getTotalRows() {
+        return totalRows;
+    }
+
+    public void setTotalRows(int totalRows) {
+        this.totalRows = totalRows;
+    }
+
+    public List<ExportChunkType> getChunks() {
+        if (chunks == null) {
+            chunks = new ArrayList<>();
+        }
+        return chunks;
+    }
+}
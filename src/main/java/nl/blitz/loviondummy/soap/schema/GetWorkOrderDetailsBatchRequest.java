@@ -0,0 +1,25 @@
+package nl.blitz.loviondummy.soap.schema;
+
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import jakarta.xml.bind.annotation.XmlType;
+import java.util.ArrayList;
+import java.util.List;
+
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlType(name = "", propOrder = {"externalWorkOrderIds"})
+@XmlRootElement(name = "GetWorkOrderDetailsBatchRequest", namespace = "http://www.loviondummy.nl/workorders")
+public class GetWorkOrderDetailsBatchRequest {
+
+    @XmlElement(name = "externalWorkOrderId", namespace = "http://www.loviondummy.nl/workorders", required = true)
+    private List<String> externalWorkOrderIds;
+
+    public List<String> getExternalWorkOrderIds() {
+        if (externalWorkOrderIds == null) {
+            externalWorkOrderIds = new ArrayList<>();
+        }
+        return externalWorkOrderIds;
+    }
+}
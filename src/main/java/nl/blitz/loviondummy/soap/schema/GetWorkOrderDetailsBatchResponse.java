@@ -0,0 +1,45 @@
+package nl.blitz.loviondummy.soap.schema;
+
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import jakarta.xml.bind.annotation.XmlType;
+import java.util.ArrayList;
+import java.util.List;
+
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlType(name = "", propOrder = {"found", "missing", "results"})
+@XmlRootElement(name = "GetWorkOrderDetailsBatchResponse", namespace = "http://www.loviondummy.nl/workorders")
+public class GetWorkOrderDetailsBatchResponse {
+
+    private int found;
+
+    private int missing;
+
+    @XmlElement(name = "result")
+    private List<WorkOrderLookupResultType> results;
+
+    public int getFound() {
+        return found;
+    }
+
+    public void setFound(int found) {
+        this.found = found;
+    }
+
+    public int getMissing() {
+        return missing;
+    }
+
+    public void setMissing(int missing) {
+        this.missing = missing;
+    }
+
+    public List<WorkOrderLookupResultType> getResults() {
+        if (results == null) {
+            results = new ArrayList<>();
+        }
+        return results;
+    }
+}
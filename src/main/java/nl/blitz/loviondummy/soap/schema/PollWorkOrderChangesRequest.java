@@ -0,0 +1,68 @@
+package nl.blitz.loviondummy.soap.schema;
+
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import jakarta.xml.bind.annotation.XmlType;
+
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlType(name = "", propOrder = {"sinceSequence", "status", "assetId", "maxEvents", "timeoutSeconds"})
+@XmlRootElement(name = "PollWorkOrderChangesRequest", namespace = "http://www.loviondummy.nl/workorders")
+public class PollWorkOrderChangesRequest {
+
+    @XmlElement(namespace = "http://www.loviondummy.nl/workorders")
+    private Long sinceSequence;
+
+    @XmlElement(namespace = "http://www.loviondummy.nl/workorders")
+    private String status;
+
+    @XmlElement(namespace = "http://www.loviondummy.nl/workorders")
+    private Long assetId;
+
+    @XmlElement(namespace = "http://www.loviondummy.nl/workorders")
+    private Integer maxEvents;
+
+    @XmlElement(namespace = "http://www.loviondummy.nl/workorders")
+    private Integer timeoutSeconds;
+
+    public Long getSinceSequence() {
+        return sinceSequence;
+    }
+
+    public void setSinceSequence(Long sinceSequence) {
+        this.sinceSequence = sinceSequence;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Long getAssetId() {
+        return assetId;
+    }
+
+    public void setAssetId(Long assetId) {
+        this.assetId = assetId;
+    }
+
+    public Integer getMaxEvents() {
+        return maxEvents;
+    }
+
+    public void setMaxEvents(Integer maxEvents) {
+        this.maxEvents = maxEvents;
+    }
+
+    public Integer getTimeoutSeconds() {
+        return timeoutSeconds;
+    }
+
+    public void setTimeoutSeconds(Integer timeoutSeconds) {
+        this.timeoutSeconds = timeoutSeconds;
+    }
+}
@@ -0,0 +1,45 @@
+package nl.blitz.loviondummy.soap.schema;
+
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlRootElement;
+import jakarta.xml.bind.annotation.XmlType;
+import java.util.ArrayList;
+import java.util.List;
+
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlType(name = "", propOrder = {"nextSequence", "resync", "changes"})
+@XmlRootElement(name = "PollWorkOrderChangesResponse", namespace = "http://www.loviondummy.nl/workorders")
+public class PollWorkOrderChangesResponse {
+
+    private long nextSequence;
+
+    private boolean resync;
+
+    @XmlElement(name = "change")
+    private List<WorkOrderChangeType> changes;
+
+    public long getNextSequence() {
+        return nextSequence;
+    }
+
+    public void setNextSequence(long nextSequence) {
+        this.nextSequence = nextSequence;
+    }
+
+    public boolean isResync() {
+        return resync;
+    }
+
+    public void setResync(boolean resync) {
+        this.resync = resync;
+    }
+
+    public List<WorkOrderChangeType> getChanges() {
+        if (changes == null) {
+            changes = new ArrayList<>();
+        }
+        return changes;
+    }
+}
@@ -0,0 +1,44 @@
+package nl.blitz.loviondummy.soap.schema;
+
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlType;
+
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlType(name = "StatusTransitionType", propOrder = {"externalWorkOrderId", "status", "expectedVersion"})
+public class StatusTransitionType {
+
+    @XmlElement(namespace = "http://www.loviondummy.nl/workorders", required = true)
+    private String externalWorkOrderId;
+
+    @XmlElement(namespace = "http://www.loviondummy.nl/workorders", required = true)
+    private String status;
+
+    @XmlElement(namespace = "http://www.loviondummy.nl/workorders")
+    private Long expectedVersion;
+
+    public String getExternalWorkOrderId() {
+        return externalWorkOrderId;
+    }
+
+    public void setExternalWorkOrderId(String externalWorkOrderId) {
+        this.externalWorkOrderId = externalWorkOrderId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Long getExpectedVersion() {
+        return expectedVersion;
+    }
+
+    public void setExpectedVersion(Long expectedVersion) {
+        this.expectedVersion = expectedVersion;
+    }
+}
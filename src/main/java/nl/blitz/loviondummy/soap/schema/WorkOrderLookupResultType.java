@@ -0,0 +1,42 @@
+package nl.blitz.loviondummy.soap.schema;
+
+import jakarta.xml.bind.annotation.XmlAccessType;
+import jakarta.xml.bind.annotation.XmlAccessorType;
+import jakarta.xml.bind.annotation.XmlElement;
+import jakarta.xml.bind.annotation.XmlType;
+
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlType(name = "WorkOrderLookupResultType", propOrder = {"externalWorkOrderId", "found", "workOrder"})
+public class WorkOrderLookupResultType {
+
+    @XmlElement(required = true)
+    private String externalWorkOrderId;
+
+    private boolean found;
+
+    private WorkOrderType workOrder;
+
+    public String getExternalWorkOrderId() {
+        return externalWorkOrderId;
+    }
+
+    public void setExternalWorkOrderId(String externalWorkOrderId) {
+        this.externalWorkOrderId = externalWorkOrderId;
+    }
+
+    public boolean isFound() {
+        return found;
+    }
+
+    public void setFound(boolean found) {
+        this.found = found;
+    }
+
+    public WorkOrderType getWorkOrder() {
+        return workOrder;
+    }
+
+    public void setWorkOrder(WorkOrderType workOrder) {
+        this.workOrder = workOrder;
+    }
+}
@@ -0,0 +1,82 @@
+package nl.blitz.loviondummy.archive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ArchiveSegmentTest {
+
+    private static final String[] STATUSES = {"COMPLETED", "CANCELLED", "DONE"};
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsBackEveryColumnAcrossBlocks() throws IOException {
+        List<ArchivedWorkOrder> rows = rows(700);
+        Collections.shuffle(rows);
+        ArchiveSegment segment = ArchiveSegment.write(directory.resolve("a.seg"), rows);
+
+        assertThat(segment.rowCount()).isEqualTo(700);
+        assertThat(segment.minId()).isEqualTo(10);
+        assertThat(segment.maxId()).isEqualTo(10 + 3 * 699);
+        List<ArchivedWorkOrder> all = ArchiveSegment.open(segment.path()).find(null, null);
+        assertThat(all).containsExactlyElementsOf(rows(700));
+        assertThat(Files.list(directory)).containsExactly(segment.path());
+    }
+
+    @Test
+    void findsSingleRowsByIdAndExternalId() throws IOException {
+        ArchiveSegment segment = ArchiveSegment.write(directory.resolve("a.seg"), rows(700));
+
+        assertThat(segment.findById(10 + 3 * 600)).isEqualTo(row(600));
+        assertThat(segment.findById(11)).isNull();
+        assertThat(segment.findById(1)).isNull();
+        assertThat(segment.findByExternalId("WO-0000299")).isEqualTo(row(299));
+        assertThat(segment.findByExternalId("WO-9999999")).isNull();
+    }
+
+    @Test
+    void filtersOnStatusAndAsset() throws IOException {
+        ArchiveSegment segment = ArchiveSegment.write(directory.resolve("a.seg"), rows(700));
+
+        assertThat(segment.find("cancelled", null)).hasSize(233)
+                .allSatisfy(row -> assertThat(row.status()).isEqualTo("CANCELLED"));
+        assertThat(segment.find("DONE", 4L)).hasSize(46).extracting(ArchivedWorkOrder::id)
+                .allSatisfy(id -> assertThat((id - 10) / 3 % 3).isEqualTo(2))
+                .allSatisfy(id -> assertThat((id - 10) / 3 % 5).isEqualTo(4));
+        assertThat(segment.find("PENDING", null)).isEmpty();
+        assertThat(segment.find(null, 99L)).isEmpty();
+    }
+
+    private static List<ArchivedWorkOrder> rows(int count) {
+        List<ArchivedWorkOrder> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(row(i));
+        }
+        return rows;
+    }
+
+    private static ArchivedWorkOrder row(int i) {
+        return new ArchivedWorkOrder(
+                10 + 3L * i,
+                i % 4,
+                "WO-%07d".formatted(i),
+                i % 2 == 0 ? "INSPECTION" : "REPAIR",
+                "HIGH",
+                STATUSES[i % 3],
+                i % 10 == 0 ? null : LocalDate.of(2024, 1, 1).plusDays(i),
+                i % 5 == 0 ? null : (long) i % 5,
+                i % 7 == 0 ? null : "Inspect valve at site " + i + " é",
+                i % 11 == 0 ? "ERROR" : null,
+                i % 11 == 0 ? "Invalid priority" : null);
+    }
+}
@@ -0,0 +1,128 @@
+package nl.blitz.loviondummy.archive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import nl.blitz.loviondummy.readmodel.WorkOrderReadModel;
+import nl.blitz.loviondummy.repository.AssetRepository;
+import nl.blitz.loviondummy.repository.WorkOrderRepository;
+import nl.blitz.loviondummy.repository.projection.WorkOrderRow;
+import nl.blitz.loviondummy.search.DescriptionSearchService;
+import nl.blitz.loviondummy.search.SearchResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+/**
+ * The archiver deletes with plain JDBC, so the search index has to be told; runs on the embedded H2 database.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class WorkOrderArchiverTest {
+
+    @TempDir
+    Path directory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private WorkOrderRepository workOrderRepository;
+    @Autowired
+    private AssetRepository assetRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private ObjectProvider<WorkOrderReadModel> readModel;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private WorkOrderArchive archive;
+    private DescriptionSearchService searchService;
+    private WorkOrderArchiver archiver;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        insert(1, "COMPLETED", LocalDate.of(2020, 1, 1), "Replace corroded valve");
+        insert(2, "PENDING", LocalDate.of(2020, 1, 1), "Inspect corroded pipe");
+        insert(3, "PENDING", null, "Clean corroded cable");
+        searchService = new DescriptionSearchService(jdbcTemplate, workOrderRepository, assetRepository);
+        searchService.buildIndexes();
+        archive = new WorkOrderArchive(assetRepository, new SimpleMeterRegistry(),
+                directory.toString(), true);
+        archiver = new WorkOrderArchiver(archive, readModel, searchService, jdbcTemplate, transactionManager,
+                new SimpleMeterRegistry(), false, 30, 60, 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM work_orders");
+    }
+
+    @Test
+    void archivedWorkOrdersAreNoLongerFoundOrCounted() {
+        assertThat(searchService.searchWorkOrders("corroded", 0, 10).total()).isEqualTo(3);
+
+        assertThat(archiver.archive(0).workOrders()).isEqualTo(1);
+
+        SearchResult<WorkOrderRow> corroded = searchService.searchWorkOrders("corroded", 0, 10);
+        assertThat(corroded.total()).isEqualTo(2);
+        assertThat(corroded.hits()).extracting(hit -> hit.row().id()).containsExactlyInAnyOrder(2L, 3L);
+        // a full page: the archived work order no longer takes a place on it
+        assertThat(searchService.searchWorkOrders("corroded", 0, 2).hits()).hasSize(2);
+        SearchResult<WorkOrderRow> valve = searchService.searchWorkOrders("valve", 0, 10);
+        assertThat(valve.total()).isZero();
+        assertThat(valve.hits()).isEmpty();
+    }
+
+    @Test
+    void segmentIsPublishedBeforeTheDeleteCommits() {
+        List<Integer> archivedAtCommit = new ArrayList<>();
+        JpaTransactionManager committing = new JpaTransactionManager(entityManagerFactory) {
+            @Override
+            protected void doCommit(DefaultTransactionStatus status) {
+                archivedAtCommit.add(archive.findRows(null, null).size());
+                super.doCommit(status);
+            }
+        };
+        WorkOrderArchiver archiver = new WorkOrderArchiver(archive, readModel, searchService, jdbcTemplate,
+                committing, new SimpleMeterRegistry(), false, 30, 60, 1000);
+
+        assertThat(archiver.archive(0).workOrders()).isEqualTo(1);
+
+        assertThat(archivedAtCommit).containsExactly(1);
+        assertThat(archive.findRows(null, null)).extracting(WorkOrderRow::id).containsExactly(1L);
+    }
+
+    @Test
+    void hitsWithoutARowAreNotCounted() {
+        jdbcTemplate.update("DELETE FROM work_orders WHERE id = 3");
+
+        SearchResult<WorkOrderRow> corroded = searchService.searchWorkOrders("corroded", 0, 10);
+
+        assertThat(corroded.hits()).extracting(hit -> hit.row().id()).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(corroded.total()).isEqualTo(2);
+    }
+
+    private void insert(long id, String status, LocalDate scheduledDate, String description) {
+        jdbcTemplate.update("INSERT INTO work_orders (id, external_workorder_id, work_type, priority, status, "
+                + "scheduled_date, description, version) VALUES (?, ?, 'REPAIR', 'HIGH', ?, ?, ?, 0)",
+                id, "WO-" + id, status, scheduledDate, description);
+    }
+}
@@ -0,0 +1,50 @@
+package nl.blitz.loviondummy.cluster;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class InvalidationCursorTest {
+
+    @Test
+    void deliversEachIdOnce() {
+        InvalidationCursor cursor = new InvalidationCursor(10, 1000, 100);
+
+        assertThat(cursor.seen(11, 0)).isTrue();
+        assertThat(cursor.seen(11, 0)).isFalse();
+        assertThat(cursor.seen(9, 0)).isFalse();
+        assertThat(cursor.maxSeen()).isEqualTo(11);
+    }
+
+    @Test
+    void idsThatCommitLateAreStillDelivered() {
+        InvalidationCursor cursor = new InvalidationCursor(10, 1000, 100);
+
+        assertThat(cursor.seen(13, 0)).isTrue();
+        assertThat(cursor.gaps()).containsExactly(11L, 12L);
+
+        assertThat(cursor.seen(12, 500)).isTrue();
+        assertThat(cursor.seen(12, 500)).isFalse();
+        assertThat(cursor.gaps()).containsExactly(11L);
+    }
+
+    @Test
+    void gapsAreGivenUpAfterTheCommitGrace() {
+        InvalidationCursor cursor = new InvalidationCursor(10, 1000, 100);
+        cursor.seen(12, 0);
+        cursor.seen(15, 800);
+
+        assertThat(cursor.expire(1000)).isZero();
+        assertThat(cursor.expire(1001)).isEqualTo(1);
+        assertThat(cursor.gaps()).containsExactly(13L, 14L);
+        assertThat(cursor.seen(11, 1001)).isFalse();
+    }
+
+    @Test
+    void keepsAtMostMaxGaps() {
+        InvalidationCursor cursor = new InvalidationCursor(0, 1000, 3);
+        cursor.seen(1_000_000, 0);
+
+        assertThat(cursor.gaps()).containsExactly(999_997L, 999_998L, 999_999L);
+    }
+}
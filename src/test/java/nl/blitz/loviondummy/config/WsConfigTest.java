@@ -0,0 +1,36 @@
+package nl.blitz.loviondummy.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.StringWriter;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.stream.StreamResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.ws.wsdl.wsdl11.DefaultWsdl11Definition;
+import org.springframework.xml.xsd.SimpleXsdSchema;
+import org.xmlunit.builder.DiffBuilder;
+import org.xmlunit.builder.Input;
+import org.xmlunit.diff.Diff;
+
+class WsConfigTest {
+
+    @Test
+    void precomputedWsdlMatchesGeneratedWsdl() throws Exception {
+        SimpleXsdSchema schema = (SimpleXsdSchema) new WsConfig().workOrdersSchema();
+        schema.afterPropertiesSet();
+        DefaultWsdl11Definition definition = WsConfig.generatedWsdl11Definition(schema);
+        definition.afterPropertiesSet();
+        StringWriter generated = new StringWriter();
+        TransformerFactory.newInstance().newTransformer().transform(definition.getSource(), new StreamResult(generated));
+
+        Diff diff = DiffBuilder.compare(Input.fromStream(new ClassPathResource(WsConfig.PRECOMPUTED_WSDL).getInputStream()))
+                .withTest(Input.fromString(generated.toString()))
+                .ignoreWhitespace()
+                .checkForSimilar()
+                .build();
+
+        // On a schema change: store the generated WSDL as src/main/resources/wsdl/workorders.wsdl
+        assertThat(diff.hasDifferences()).as(diff.toString()).isFalse();
+    }
+}
@@ -0,0 +1,82 @@
+package nl.blitz.loviondummy.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.ws.wsdl.wsdl11.SimpleWsdl11Definition;
+
+class WsdlResourceFilterTest {
+
+    private final WsdlResourceFilter filter = new WsdlResourceFilter("/ws", beans(), 300);
+
+    @Test
+    void servesWsdlWithAddressOfRequestedHost() throws Exception {
+        MockHttpServletResponse response = get("/ws/workorders.wsdl", "example.org", null, null);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).contains("location=\"http://example.org:80/ws\"");
+        assertThat(response.getHeader("ETag")).isNotBlank();
+        assertThat(get("/ws/workorders.wsdl", "other.org", null, null).getContentAsString())
+                .contains("location=\"http://other.org:80/ws\"");
+    }
+
+    @Test
+    void gzipVariantHasOwnEtagAndRevalidates() throws Exception {
+        MockHttpServletResponse plain = get("/ws/workorders.wsdl", "localhost", null, null);
+        MockHttpServletResponse gzipped = get("/ws/workorders.wsdl", "localhost", "gzip, deflate", null);
+
+        assertThat(gzipped.getHeader("Content-Encoding")).isEqualTo("gzip");
+        assertThat(gzipped.getHeader("ETag")).isNotEqualTo(plain.getHeader("ETag"));
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.getContentAsByteArray()))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(plain.getContentAsString());
+        }
+
+        MockHttpServletResponse notModified =
+                get("/ws/workorders.wsdl", "localhost", "gzip", gzipped.getHeader("ETag"));
+        assertThat(notModified.getStatus()).isEqualTo(304);
+        assertThat(notModified.getContentLength()).isZero();
+    }
+
+    @Test
+    void servesImportedSchemaFilesAndPassesOnUnknownNames() throws Exception {
+        MockHttpServletResponse schema = get("/ws/common-types.xsd", "localhost", null, null);
+        assertThat(schema.getStatus()).isEqualTo(200);
+        assertThat(schema.getContentAsString()).contains("targetNamespace=\"http://www.loviondummy.nl/common\"");
+
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/ws/unknown.xsd");
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        assertThat(chain.getRequest()).isSameAs(request);
+    }
+
+    private MockHttpServletResponse get(String uri, String host, String acceptEncoding, String ifNoneMatch)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setServerName(host);
+        request.setServerPort(80);
+        if (acceptEncoding != null) {
+            request.addHeader("Accept-Encoding", acceptEncoding);
+        }
+        if (ifNoneMatch != null) {
+            request.addHeader("If-None-Match", ifNoneMatch);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static DefaultListableBeanFactory beans() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        SimpleWsdl11Definition wsdl = new SimpleWsdl11Definition(new ClassPathResource(WsConfig.PRECOMPUTED_WSDL));
+        beanFactory.registerSingleton("workorders", wsdl);
+        return beanFactory;
+    }
+}
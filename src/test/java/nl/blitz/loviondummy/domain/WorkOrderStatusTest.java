@@ -0,0 +1,44 @@
+package nl.blitz.loviondummy.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class WorkOrderStatusTest {
+
+    @Test
+    void followsTheLifecycle() {
+        assertThat(WorkOrderStatus.PENDING.canTransitionTo(WorkOrderStatus.SCHEDULED)).isTrue();
+        assertThat(WorkOrderStatus.SCHEDULED.canTransitionTo(WorkOrderStatus.IN_PROGRESS)).isTrue();
+        assertThat(WorkOrderStatus.IN_PROGRESS.canTransitionTo(WorkOrderStatus.SCHEDULED)).isTrue();
+        assertThat(WorkOrderStatus.IN_PROGRESS.canTransitionTo(WorkOrderStatus.COMPLETED)).isTrue();
+        assertThat(WorkOrderStatus.PENDING.canTransitionTo(WorkOrderStatus.CANCELLED)).isTrue();
+
+        assertThat(WorkOrderStatus.PENDING.canTransitionTo(WorkOrderStatus.IN_PROGRESS)).isFalse();
+        assertThat(WorkOrderStatus.PENDING.canTransitionTo(WorkOrderStatus.COMPLETED)).isFalse();
+        assertThat(WorkOrderStatus.SCHEDULED.canTransitionTo(WorkOrderStatus.SCHEDULED)).isFalse();
+    }
+
+    @Test
+    void completedAndCancelledAreFinal() {
+        for (WorkOrderStatus target : WorkOrderStatus.values()) {
+            assertThat(WorkOrderStatus.COMPLETED.canTransitionTo(target)).isFalse();
+            assertThat(WorkOrderStatus.CANCELLED.canTransitionTo(target)).isFalse();
+        }
+        assertThat(WorkOrderStatus.COMPLETED.isFinal()).isTrue();
+        assertThat(WorkOrderStatus.IN_PROGRESS.isFinal()).isFalse();
+    }
+
+    @Test
+    void readsLegacyStoredValuesButOnlyAcceptsLifecycleValuesAsTarget() {
+        assertThat(WorkOrderStatus.fromStored("NEW")).isEqualTo(WorkOrderStatus.PENDING);
+        assertThat(WorkOrderStatus.fromStored("planned")).isEqualTo(WorkOrderStatus.SCHEDULED);
+        assertThat(WorkOrderStatus.fromStored("DONE")).isEqualTo(WorkOrderStatus.COMPLETED);
+        assertThat(WorkOrderStatus.fromStored("INVALID")).isNull();
+
+        assertThat(WorkOrderStatus.parse(" in_progress ")).isEqualTo(WorkOrderStatus.IN_PROGRESS);
+        assertThatThrownBy(() -> WorkOrderStatus.parse("DONE")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> WorkOrderStatus.parse(null)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
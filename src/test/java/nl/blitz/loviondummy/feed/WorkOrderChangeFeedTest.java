@@ -0,0 +1,149 @@
+package nl.blitz.loviondummy.feed;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import nl.blitz.loviondummy.domain.ChangeType;
+import nl.blitz.loviondummy.domain.WorkOrderChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class WorkOrderChangeFeedTest {
+
+    private WorkOrderChangeFeed feed;
+
+    @AfterEach
+    void shutdown() {
+        feed.shutdown();
+    }
+
+    @Test
+    void pollResumesAfterSequenceAndSkipsNonMatchingEvents() throws Exception {
+        feed = new WorkOrderChangeFeed(new SimpleMeterRegistry(), 100, 10, 10, 1, 60, 10);
+        long start = feed.lastSequence();
+        publish(1L, "PENDING", null);
+        publish(2L, "SCHEDULED", null);
+        publish(1L, "SCHEDULED", "PENDING");
+        publish(3L, "IN_PROGRESS", "SCHEDULED");
+
+        WorkOrderChangeFeed.Poll all = feed.poll(start, FeedFilter.ALL, 10, Duration.ZERO);
+        assertThat(all.events()).extracting(WorkOrderFeedEvent::type).containsExactly(
+                WorkOrderFeedEvent.Type.CREATED, WorkOrderFeedEvent.Type.CREATED,
+                WorkOrderFeedEvent.Type.STATUS_CHANGED, WorkOrderFeedEvent.Type.STATUS_CHANGED);
+        assertThat(all.next()).isEqualTo(start + 4);
+
+        // a status filter also sees work orders leaving that status
+        WorkOrderChangeFeed.Poll scheduled = feed.poll(start, FeedFilter.of("scheduled", null), 2, Duration.ZERO);
+        assertThat(scheduled.events()).extracting(event -> event.change().workOrderId()).containsExactly(2L, 1L);
+        assertThat(scheduled.next()).isEqualTo(start + 3);
+        WorkOrderChangeFeed.Poll rest = feed.poll(scheduled.next(), FeedFilter.of("SCHEDULED", null), 2,
+                Duration.ZERO);
+        assertThat(rest.events()).extracting(event -> event.change().workOrderId()).containsExactly(3L);
+        assertThat(rest.resync()).isFalse();
+    }
+
+    @Test
+    void resumePointOutsideTheHistoryRequiresResync() throws Exception {
+        feed = new WorkOrderChangeFeed(new SimpleMeterRegistry(), 3, 10, 10, 1, 60, 10);
+        long start = feed.lastSequence();
+        for (long id = 1; id <= 5; id++) {
+            publish(id, "PENDING", null);
+        }
+        assertThat(feed.poll(start, FeedFilter.ALL, 10, Duration.ZERO).resync()).isTrue();
+        assertThat(feed.poll(start + 2, FeedFilter.ALL, 10, Duration.ZERO).events()).hasSize(3);
+        // sequence from before a restart is ahead of this feed
+        assertThat(feed.poll(start + 1000, FeedFilter.ALL, 10, Duration.ZERO).resync()).isTrue();
+    }
+
+    @Test
+    void longPollReturnsWhenAMatchingEventArrives() throws Exception {
+        feed = new WorkOrderChangeFeed(new SimpleMeterRegistry(), 100, 10, 10, 1, 60, 10);
+        CompletableFuture<WorkOrderChangeFeed.Poll> poll = CompletableFuture.supplyAsync(() -> {
+            try {
+                return feed.poll(null, FeedFilter.of(null, 7L), 10, Duration.ofSeconds(10));
+            } catch (InterruptedException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        Thread.sleep(100);
+        publish(1L, "PENDING", null);
+        assertThat(poll).isNotDone();
+        feed.onWorkOrderChanged(new WorkOrderChangedEvent(ChangeType.CREATED, 2L, "WO-2", "PENDING", null, 7L,
+                "description", "REPAIR", "HIGH", null, 0));
+        assertThat(poll.get(5, TimeUnit.SECONDS).events()).extracting(event -> event.change().workOrderId())
+                .containsExactly(2L);
+    }
+
+    @Test
+    void slowSubscriberIsDisconnectedWhenItsBufferIsFull() throws Exception {
+        feed = new WorkOrderChangeFeed(new SimpleMeterRegistry(), 100, 2, 10, 2, 60, 10);
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingSink slow = new RecordingSink(release);
+        RecordingSink fast = new RecordingSink(null);
+        FeedSubscription slowSubscription = feed.subscribe(slow, FeedFilter.ALL, null);
+        feed.subscribe(fast, FeedFilter.ALL, null);
+
+        for (long id = 1; id <= 5; id++) {
+            publish(id, "PENDING", null);
+            Thread.sleep(20);
+        }
+        release.countDown();
+
+        assertThat(slowSubscription.isClosed()).isTrue();
+        assertThat(slow.closeReason).isEqualTo("buffer full");
+        assertThat(fast.closeReason).isNull();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (fast.sequences.size() < 5 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(fast.sequences).hasSize(5).isSorted();
+    }
+
+    private void publish(Long id, String status, String previousStatus) {
+        feed.onWorkOrderChanged(new WorkOrderChangedEvent(
+                previousStatus == null ? ChangeType.CREATED : ChangeType.UPDATED,
+                id, "WO-" + id, status, previousStatus, 1L, "description", "REPAIR", "HIGH", null, 0));
+    }
+
+    private static final class RecordingSink implements FeedSink {
+
+        private final CountDownLatch block;
+        private final List<Long> sequences = new CopyOnWriteArrayList<>();
+        private volatile String closeReason;
+
+        RecordingSink(CountDownLatch block) {
+            this.block = block;
+        }
+
+        @Override
+        public void send(WorkOrderFeedEvent event) {
+            if (block != null) {
+                try {
+                    block.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            sequences.add(event.sequence());
+        }
+
+        @Override
+        public void resync(long sequence) {
+        }
+
+        @Override
+        public void heartbeat() {
+        }
+
+        @Override
+        public void close(String reason) {
+            closeReason = reason;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package nl.blitz.loviondummy.jfr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import nl.blitz.loviondummy.repository.WorkOrderRepository;
+import nl.blitz.loviondummy.soap.SoapFaultSimulator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Records the custom events with a real JFR recording and reads them back from the dump.
+ */
+@DataJpaTest
+@Import(RepositoryEventPostProcessor.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JfrEventsTest {
+
+    private static final String REPOSITORY_CALL = "nl.blitz.lovion.RepositoryCall";
+    private static final String FAULT_INJECTION = "nl.blitz.lovion.FaultInjection";
+
+    @TempDir
+    Path directory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private WorkOrderRepository workOrderRepository;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM work_orders");
+    }
+
+    @Test
+    void repositoryCallsAreRecordedWithTheirRowCount() throws IOException {
+        for (long id = 1; id <= 2; id++) {
+            jdbcTemplate.update("INSERT INTO work_orders (id, external_workorder_id, work_type, priority, status, "
+                    + "version) VALUES (?, ?, 'REPAIR', 'HIGH', 'PENDING', 0)", id, "WO-" + id);
+        }
+
+        List<RecordedEvent> events = record(REPOSITORY_CALL, () -> {
+            workOrderRepository.findAllRows();
+            workOrderRepository.findById(404L);
+            assertThatThrownBy(() -> workOrderRepository.findById(null)).isInstanceOf(RuntimeException.class);
+        });
+
+        assertThat(events).extracting(event -> event.getString("repository")).containsOnly("WorkOrderRepository");
+        assertThat(events).extracting(event -> event.getString("query"))
+                .containsExactly("findAllRows", "findById", "findById");
+        assertThat(events).extracting(event -> event.getInt("rowCount")).containsExactly(2, 0, -1);
+        assertThat(events).extracting(event -> event.getBoolean("failed")).containsExactly(false, false, true);
+    }
+
+    @Test
+    void injectedFaultsAreRecordedWithTheirType() throws IOException {
+        SoapFaultSimulator simulator = new SoapFaultSimulator();
+        ReflectionTestUtils.setField(simulator, "enabled", true);
+        ReflectionTestUtils.setField(simulator, "probability", 0.0);
+        ReflectionTestUtils.setField(simulator, "maxRequests", 1);
+        ReflectionTestUtils.setField(simulator, "windowSeconds", 60);
+
+        List<RecordedEvent> events = record(FAULT_INJECTION, () -> {
+            assertThat(simulator.simulateFault()).isNull();
+            assertThat(simulator.simulateFault()).isNotNull();
+            ReflectionTestUtils.setField(simulator, "maxRequests", Integer.MAX_VALUE);
+            ReflectionTestUtils.setField(simulator, "probability", 1.0);
+            assertThat(simulator.simulateFault()).isNotNull();
+        });
+
+        // the call without a fault leaves no event
+        assertThat(events).hasSize(2);
+        RecordedEvent rateLimit = events.get(0);
+        assertThat(rateLimit.getString("faultType")).isEqualTo("RATE_LIMIT_WINDOW");
+        assertThat(rateLimit.getString("faultCode")).isEqualTo("SOAP-ENV:Server");
+        assertThat(rateLimit.getString("faultString")).isEqualTo("Rate limit exceeded");
+        assertThat(rateLimit.getBoolean("transientFault")).isTrue();
+        RecordedEvent random = events.get(1);
+        assertThat(random.getString("faultType"))
+                .isIn("SERVICE_UNAVAILABLE", "INVALID_CREDENTIALS", "RATE_LIMIT");
+        assertThat(random.getBoolean("transientFault"))
+                .isEqualTo(!random.getString("faultType").equals("INVALID_CREDENTIALS"));
+    }
+
+    /**
+     * Runs the action in a recording of only the given event and returns its events in order.
+     */
+    private List<RecordedEvent> record(String eventName, Runnable action) throws IOException {
+        Path file = directory.resolve(eventName + ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(eventName);
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals(eventName))
+                .filter(event -> event.getThread() != null
+                        && event.getThread().getJavaThreadId() == Thread.currentThread().getId())
+                .sorted(Comparator.comparing(RecordedEvent::getStartTime))
+                .toList();
+    }
+}
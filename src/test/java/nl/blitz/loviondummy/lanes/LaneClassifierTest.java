@@ -0,0 +1,44 @@
+package nl.blitz.loviondummy.lanes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class LaneClassifierTest {
+
+    private final LaneClassifier classifier = new LaneClassifier(
+            List.of("GET /api/workorders", "POST /api/schedule", "/api/exports/**"),
+            List.of("/api/async/**", " /api/workorders/stream"),
+            List.of("GetWorkOrdersRequest !status", " ExportWorkOrdersRequest"),
+            List.of("PollWorkOrderChangesRequest"));
+
+    @Test
+    void restListingsAreBulkAndSingleItemsInteractive() {
+        assertThat(classifier.classifyRest("GET", "/api/workorders")).isEqualTo(Lane.BULK);
+        assertThat(classifier.classifyRest("POST", "/api/schedule")).isEqualTo(Lane.BULK);
+        assertThat(classifier.classifyRest("DELETE", "/api/exports/1/parts")).isEqualTo(Lane.BULK);
+        assertThat(classifier.classifyRest("GET", "/api/workorders/42")).isEqualTo(Lane.INTERACTIVE);
+        assertThat(classifier.classifyRest("POST", "/api/workorders")).isEqualTo(Lane.INTERACTIVE);
+    }
+
+    @Test
+    void exemptRequestsGetNoLane() {
+        assertThat(classifier.classifyRest("GET", "/api/async/workorders")).isNull();
+        assertThat(classifier.classifyRest("GET", "/api/workorders/stream")).isNull();
+        assertThat(classifier.classifySoap("PollWorkOrderChangesRequest", name -> false)).isNull();
+    }
+
+    @Test
+    void soapOperationsByPayloadRoot() {
+        assertThat(classifier.classifySoap("ExportWorkOrdersRequest", name -> true)).isEqualTo(Lane.BULK);
+        assertThat(classifier.classifySoap("GetWorkOrderDetailsRequest", name -> true)).isEqualTo(Lane.INTERACTIVE);
+    }
+
+    @Test
+    void conditionalSoapRuleOnlyMatchesWithoutTheElement() {
+        assertThat(classifier.classifySoap("GetWorkOrdersRequest", name -> false)).isEqualTo(Lane.BULK);
+        assertThat(classifier.classifySoap("GetWorkOrdersRequest", "status"::equals)).isEqualTo(Lane.INTERACTIVE);
+        assertThat(classifier.classifySoap("GetWorkOrdersRequest", "assetId"::equals)).isEqualTo(Lane.BULK);
+    }
+}
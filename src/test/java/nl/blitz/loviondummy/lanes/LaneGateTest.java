@@ -0,0 +1,50 @@
+package nl.blitz.loviondummy.lanes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class LaneGateTest {
+
+    @Test
+    void admitsUpToMaxConcurrentAndLetsTheNextOneInOnRelease() throws Exception {
+        LaneGate gate = new LaneGate(2, 1, 5_000);
+        assertThat(gate.acquire()).isEqualTo(LaneGate.Outcome.ADMITTED);
+        assertThat(gate.acquire()).isEqualTo(LaneGate.Outcome.ADMITTED);
+
+        CompletableFuture<LaneGate.Outcome> waiting = CompletableFuture.supplyAsync(gate::acquire);
+        while (gate.waiting() == 0) {
+            Thread.onSpinWait();
+        }
+        assertThat(gate.active()).isEqualTo(2);
+        gate.release();
+
+        assertThat(waiting.get(5, TimeUnit.SECONDS)).isEqualTo(LaneGate.Outcome.ADMITTED);
+        assertThat(gate.waiting()).isZero();
+    }
+
+    @Test
+    void shedsWhenTheQueueIsFull() throws Exception {
+        LaneGate gate = new LaneGate(1, 1, 5_000);
+        gate.acquire();
+        CompletableFuture<LaneGate.Outcome> waiting = CompletableFuture.supplyAsync(gate::acquire);
+        while (gate.waiting() == 0) {
+            Thread.onSpinWait();
+        }
+
+        assertThat(gate.acquire()).isEqualTo(LaneGate.Outcome.QUEUE_FULL);
+        gate.release();
+        assertThat(waiting.get(5, TimeUnit.SECONDS)).isEqualTo(LaneGate.Outcome.ADMITTED);
+    }
+
+    @Test
+    void givesUpAfterTheQueueTimeout() {
+        LaneGate gate = new LaneGate(1, 10, 50);
+        gate.acquire();
+
+        assertThat(gate.acquire()).isEqualTo(LaneGate.Outcome.TIMED_OUT);
+        assertThat(gate.waiting()).isZero();
+    }
+}
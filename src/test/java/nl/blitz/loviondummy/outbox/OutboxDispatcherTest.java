@@ -0,0 +1,101 @@
+package nl.blitz.loviondummy.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.OffsetDateTime;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+class OutboxDispatcherTest {
+
+    private DriverManagerDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private final InMemoryOutboxSink memory = new InMemoryOutboxSink(100);
+
+    @BeforeEach
+    void createOutbox() {
+        dataSource = new DriverManagerDataSource("jdbc:h2:mem:outbox;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE work_order_outbox (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "work_order_id BIGINT, event_type VARCHAR(20) NOT NULL, payload TEXT NOT NULL, "
+                + "created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL)");
+        for (long workOrderId = 1; workOrderId <= 5; workOrderId++) {
+            jdbcTemplate.update("INSERT INTO work_order_outbox (work_order_id, event_type, payload, created_at) "
+                    + "VALUES (?, 'UPDATED', '{}', ?)", workOrderId, OffsetDateTime.now());
+        }
+    }
+
+    @AfterEach
+    void dropOutbox() {
+        jdbcTemplate.execute("DROP TABLE work_order_outbox");
+    }
+
+    @Test
+    void deliversInOrderAndRemovesDeliveredRows() {
+        OutboxDispatcher dispatcher = dispatcher(List.of(memory), 3);
+
+        assertThat(dispatcher.dispatchBatch()).isEqualTo(3);
+        assertThat(dispatcher.dispatchBatch()).isEqualTo(2);
+        assertThat(dispatcher.dispatchBatch()).isZero();
+
+        assertThat(memory.drain()).extracting(OutboxMessage::workOrderId).containsExactly(1L, 2L, 3L, 4L, 5L);
+        assertThat(remaining()).isZero();
+    }
+
+    @Test
+    void failingSinkLeavesTheBatchInTheOutbox() {
+        OutboxSink broken = new OutboxSink() {
+            @Override
+            public String name() {
+                return "broken";
+            }
+
+            @Override
+            public void deliver(List<OutboxMessage> batch) {
+                throw new IllegalStateException("down");
+            }
+        };
+        OutboxDispatcher dispatcher = dispatcher(List.of(memory, broken), 10);
+
+        assertThatThrownBy(dispatcher::dispatchBatch).hasMessageContaining("broken");
+        assertThat(remaining()).isEqualTo(5);
+    }
+
+    @Test
+    void skipsRowsClaimedByAnotherTransaction() throws Exception {
+        OutboxDispatcher dispatcher = dispatcher(List.of(memory), 10);
+        try (Connection other = dataSource.getConnection(); Statement statement = other.createStatement()) {
+            other.setAutoCommit(false);
+            try (ResultSet locked = statement.executeQuery(
+                    "SELECT id FROM work_order_outbox WHERE work_order_id <= 2 FOR UPDATE")) {
+                while (locked.next()) {
+                    // keep the locks until rollback
+                }
+            }
+
+            assertThat(dispatcher.dispatchBatch()).isEqualTo(3);
+            assertThat(memory.drain()).extracting(OutboxMessage::workOrderId).containsExactly(3L, 4L, 5L);
+            other.rollback();
+        }
+        assertThat(dispatcher.dispatchBatch()).isEqualTo(2);
+    }
+
+    private OutboxDispatcher dispatcher(List<OutboxSink> sinks, int batchSize) {
+        return new OutboxDispatcher(jdbcTemplate, new DataSourceTransactionManager(dataSource), sinks,
+                new SimpleMeterRegistry(), batchSize, 1, 1000, 30000);
+    }
+
+    private long remaining() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM work_order_outbox", Long.class);
+    }
+}
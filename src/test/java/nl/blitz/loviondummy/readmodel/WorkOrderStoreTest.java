@@ -0,0 +1,76 @@
+package nl.blitz.loviondummy.readmodel;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import nl.blitz.loviondummy.repository.projection.WorkOrderRow;
+import org.junit.jupiter.api.Test;
+
+class WorkOrderStoreTest {
+
+    private final WorkOrderStore store = new WorkOrderStore(4);
+
+    @Test
+    void filtersOnStatusIgnoringCaseAndOnAsset() {
+        store.putAsset(7, "AST-7", "PIPE", "North");
+        store.put(entry(1, 0, "PENDING", 7L));
+        store.put(entry(2, 0, "pending", null));
+        store.put(entry(3, 0, "COMPLETED", 7L));
+        store.put(entry(4, 0, "PENDING", 8L));
+
+        assertThat(store.find("Pending", null)).extracting(WorkOrderRow::id).containsExactly(1L, 2L, 4L);
+        assertThat(store.find(null, 7L)).extracting(WorkOrderRow::id).containsExactly(1L, 3L);
+        assertThat(store.find("PENDING", 7L)).extracting(WorkOrderRow::id).containsExactly(1L);
+        assertThat(store.find("CANCELLED", null)).isEmpty();
+        assertThat(store.find(null, null)).hasSize(4);
+
+        WorkOrderRow row = store.find(null, 7L).get(0);
+        assertThat(row.externalWorkOrderId()).isEqualTo("WO-1");
+        assertThat(row.scheduledDate()).isEqualTo(LocalDate.of(2026, 1, 1));
+        assertThat(row.assetExternalRef()).isEqualTo("AST-7");
+        assertThat(row.assetLocation()).isEqualTo("North");
+        assertThat(store.find(null, null).get(1).assetId()).isNull();
+    }
+
+    @Test
+    void appliesOnlyNewerVersionsAndNeverResurrectsDeletedWorkOrders() {
+        store.put(entry(1, 2, "SCHEDULED", 7L));
+        assertThat(store.put(entry(1, 1, "PENDING", 7L))).isFalse();
+        assertThat(store.put(entry(1, 3, "IN_PROGRESS", 8L))).isTrue();
+
+        assertThat(store.find("SCHEDULED", null)).isEmpty();
+        assertThat(store.find(null, 7L)).isEmpty();
+        assertThat(store.find("IN_PROGRESS", 8L)).extracting(WorkOrderRow::id).containsExactly(1L);
+
+        store.remove(1);
+        store.remove(2);
+        assertThat(store.put(entry(1, 4, "COMPLETED", 8L))).isFalse();
+        assertThat(store.put(entry(2, 0, "PENDING", null))).isFalse();
+        assertThat(store.size()).isZero();
+        assertThat(store.find(null, 8L)).isEmpty();
+    }
+
+    @Test
+    void compactionKeepsTheLiveWorkOrdersInOrder() {
+        for (long id = 1; id <= 3000; id++) {
+            store.put(entry(id, 0, id % 3 == 0 ? "COMPLETED" : "PENDING", id % 10));
+        }
+        for (long id = 1; id <= 3000; id++) {
+            if (id % 3 != 0) {
+                store.remove(id);
+            }
+        }
+        store.compactIfSparse();
+        store.put(entry(3001, 0, "COMPLETED", 3L));
+
+        assertThat(store.size()).isEqualTo(1001);
+        assertThat(store.find("completed", 3L)).extracting(WorkOrderRow::id)
+                .startsWith(3L, 33L, 63L).endsWith(2973L, 3001L);
+        assertThat(store.find("PENDING", null)).isEmpty();
+    }
+
+    private static WorkOrderStore.Entry entry(long id, long version, String status, Long assetId) {
+        return new WorkOrderStore.Entry(id, version, "WO-" + id, "REPAIR", "HIGH", LocalDate.of(2026, 1, 1), status,
+                "description " + id, assetId == null || assetId == 0 ? null : assetId);
+    }
+}
@@ -1,5 +1,6 @@
 package nl.blitz.loviondummy.rest;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -8,6 +9,7 @@ import java.util.List;
 import nl.blitz.loviondummy.domain.Asset;
 import nl.blitz.loviondummy.domain.WorkOrder;
 import nl.blitz.loviondummy.rest.AssetController;
+import nl.blitz.loviondummy.search.DescriptionSearchService;
 import nl.blitz.loviondummy.service.AssetQueryService;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
@@ -27,7 +29,8 @@ class AssetControllerTest {
         order.setStatus("NEW");
         asset.setWorkOrders(List.of(order));
 
-        AssetController controller = new AssetController(new StubAssetService(asset));
+        AssetController controller = new AssetController(new StubAssetService(asset),
+                new DescriptionSearchService(null, null, null), null);
         MockMvc mockMvc = MockMvcBuilders.standaloneSetup(controller)
                 .setMessageConverters(new MappingJackson2HttpMessageConverter())
                 .build();
@@ -38,6 +41,20 @@ class AssetControllerTest {
                 .andExpect(jsonPath("$[0].workOrders[0].externalWorkOrderId").value("WO-TEST"));
     }
 
+    @Test
+    void unknownSparseFieldIsABadRequest() throws Exception {
+        AssetController controller = new AssetController(new StubAssetService(new Asset()),
+                new DescriptionSearchService(null, null, null), null);
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new RestExceptionHandler())
+                .setMessageConverters(new MappingJackson2HttpMessageConverter())
+                .build();
+
+        mockMvc.perform(get("/api/assets").param("fields", "foo"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value(containsString("foo")));
+    }
+
     private static class StubAssetService implements AssetQueryService {
         private final List<Asset> assets;
 
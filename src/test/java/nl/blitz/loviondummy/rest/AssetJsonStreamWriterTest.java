@@ -0,0 +1,101 @@
+package nl.blitz.loviondummy.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import nl.blitz.loviondummy.domain.Asset;
+import nl.blitz.loviondummy.domain.WorkOrder;
+import nl.blitz.loviondummy.repository.AssetField;
+import nl.blitz.loviondummy.repository.AssetJdbcRepository;
+import nl.blitz.loviondummy.repository.projection.WorkOrderSummaryRow;
+import nl.blitz.loviondummy.service.AssetQueryService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+class AssetJsonStreamWriterTest {
+
+    private EmbeddedDatabase database;
+    private StubAssetService assetService;
+    private AssetJsonStreamWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true)
+                .setScriptEncoding("UTF-8").addScript("writer-schema.sql").build();
+        assetService = new StubAssetService(List.of(
+                new WorkOrderSummaryRow(1L, 1L, "WO-1001", "PENDING"),
+                new WorkOrderSummaryRow(1L, 3L, "WO-1003", "NEW")));
+        writer = new AssetJsonStreamWriter(new AssetJdbcRepository(new JdbcTemplate(database)), assetService,
+                new ObjectMapper());
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void workOrdersAreAttachedByIdWithoutWritingIt() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        int count = writer.write(out, AssetField.parse("externalAssetRef,workOrders"));
+
+        assertThat(count).isEqualTo(2);
+        // asset 2 has no work orders: an empty array, not null
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("["
+                + "{\"externalAssetRef\":\"EXT-PIPE-001\",\"workOrders\":["
+                + "{\"id\":1,\"externalWorkOrderId\":\"WO-1001\",\"status\":\"PENDING\"},"
+                + "{\"id\":3,\"externalWorkOrderId\":\"WO-1003\",\"status\":\"NEW\"}]},"
+                + "{\"externalAssetRef\":\"EXT-VALVE-002\",\"workOrders\":[]}]");
+    }
+
+    @Test
+    void workOrdersAreOnlyQueriedWhenRequested() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        writer.write(out, AssetField.parse("id, description"));
+
+        assertThat(out.toString(StandardCharsets.UTF_8))
+                .isEqualTo("[{\"id\":1,\"description\":\"Pipe\"},{\"id\":2,\"description\":null}]");
+        assertThat(assetService.summaryQueries).isZero();
+    }
+
+    private static class StubAssetService implements AssetQueryService {
+
+        private final List<WorkOrderSummaryRow> summaries;
+        private int summaryQueries;
+
+        StubAssetService(List<WorkOrderSummaryRow> summaries) {
+            this.summaries = summaries;
+        }
+
+        @Override
+        public List<WorkOrderSummaryRow> getWorkOrderSummaryRows() {
+            summaryQueries++;
+            return summaries;
+        }
+
+        @Override
+        public List<Asset> getAllAssets() {
+            return List.of();
+        }
+
+        @Override
+        public Asset getAsset(Long id) {
+            return null;
+        }
+
+        @Override
+        public List<WorkOrder> getWorkOrdersForAsset(Long assetId) {
+            return List.of();
+        }
+    }
+}
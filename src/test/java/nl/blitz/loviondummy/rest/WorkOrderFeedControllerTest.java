@@ -0,0 +1,40 @@
+package nl.blitz.loviondummy.rest;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import nl.blitz.loviondummy.feed.WorkOrderChangeFeed;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+class WorkOrderFeedControllerTest {
+
+    private final WorkOrderChangeFeed feed = new WorkOrderChangeFeed(new SimpleMeterRegistry(), 100, 10, 1, 1, 60, 10);
+
+    @AfterEach
+    void shutdown() {
+        feed.shutdown();
+    }
+
+    @Test
+    void fullFeedAnswersServiceUnavailable() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new WorkOrderFeedController(feed, new ObjectMapper(), 60))
+                .setControllerAdvice(new RestExceptionHandler())
+                .setMessageConverters(new MappingJackson2HttpMessageConverter())
+                .build();
+
+        mockMvc.perform(get("/api/workorders/stream"))
+                .andExpect(request().asyncStarted());
+
+        mockMvc.perform(get("/api/workorders/stream"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "5"));
+    }
+}
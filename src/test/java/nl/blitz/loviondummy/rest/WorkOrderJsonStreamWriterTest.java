@@ -0,0 +1,132 @@
+package nl.blitz.loviondummy.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import nl.blitz.loviondummy.repository.WorkOrderField;
+import nl.blitz.loviondummy.dto.DtoMapper;
+import nl.blitz.loviondummy.repository.WorkOrderJdbcRepository;
+import nl.blitz.loviondummy.repository.projection.WorkOrderRow;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+class WorkOrderJsonStreamWriterTest {
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true)
+                .setScriptEncoding("UTF-8").addScript("writer-schema.sql").build();
+        jdbcTemplate = new JdbcTemplate(database);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void streamedJsonMatchesSerializedDtoList() throws Exception {
+        assertStreamMatchesDtoSerialization(objectMapper);
+    }
+
+    @Test
+    void streamedJsonFollowsTimestampDateSetting() throws Exception {
+        assertStreamMatchesDtoSerialization(Jackson2ObjectMapperBuilder.json()
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build());
+    }
+
+    @Test
+    void filtersByStatusIgnoringCase() throws Exception {
+        WorkOrderJsonStreamWriter writer =
+                new WorkOrderJsonStreamWriter(new WorkOrderJdbcRepository(jdbcTemplate), objectMapper);
+
+        int count = writer.write(new ByteArrayOutputStream(), "pending", 1L);
+
+        assertThat(count).isEqualTo(1);
+    }
+
+    @Test
+    void sparseFieldsSelectOnlyRequestedColumns() throws Exception {
+        WorkOrderJsonStreamWriter writer =
+                new WorkOrderJsonStreamWriter(new WorkOrderJdbcRepository(jdbcTemplate), objectMapper);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        writer.write(out, null, null, WorkOrderField.parse("status, scheduledDate,externalWorkOrderId"), List.of());
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo("["
+                + "{\"externalWorkOrderId\":\"WO-1001\",\"scheduledDate\":\"2025-03-14\",\"status\":\"PENDING\"},"
+                + "{\"externalWorkOrderId\":\"WO-1002\",\"scheduledDate\":null,\"status\":\"NEW\"},"
+                + "{\"externalWorkOrderId\":\"WO-1003\",\"scheduledDate\":null,\"status\":\"NEW\"}]");
+    }
+
+    @Test
+    void sparseAssetFieldsKeepAssetNullWithoutAsset() throws Exception {
+        WorkOrderJsonStreamWriter writer =
+                new WorkOrderJsonStreamWriter(new WorkOrderJdbcRepository(jdbcTemplate), objectMapper);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        WorkOrderRow archived = new WorkOrderRow(4L, "WO-1004", "REPAIR", "LOW", null, "DONE", null,
+                1L, "EXT-PIPE-001", "PIPE", "North");
+
+        int count = writer.write(out, null, null, WorkOrderField.parse("id,asset.location"), List.of(archived));
+
+        assertThat(count).isEqualTo(4);
+        String json = out.toString(StandardCharsets.UTF_8);
+        assertThat(json).contains("{\"id\":3,\"asset\":{\"location\":\"North \\\"District\\\" \\\\ é\"}}")
+                .endsWith(",{\"id\":4,\"asset\":{\"location\":\"North\"}}]");
+        // without ORDER BY the table rows come in the order of the plan (the asset_id foreign key index here)
+        List<String> rows = new ArrayList<>();
+        objectMapper.readTree(json).forEach(row -> rows.add(row.toString()));
+        assertThat(rows).containsExactlyInAnyOrder(
+                "{\"id\":1,\"asset\":{\"location\":\"North \\\"District\\\" \\\\ é\"}}",
+                "{\"id\":2,\"asset\":null}",
+                "{\"id\":3,\"asset\":{\"location\":\"North \\\"District\\\" \\\\ é\"}}",
+                "{\"id\":4,\"asset\":{\"location\":\"North\"}}");
+    }
+
+    @Test
+    void rejectsUnknownFields() {
+        assertThatThrownBy(() -> WorkOrderField.parse("status,assetRef"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("assetRef");
+    }
+
+    private void assertStreamMatchesDtoSerialization(ObjectMapper mapper) throws Exception {
+        WorkOrderJsonStreamWriter writer =
+                new WorkOrderJsonStreamWriter(new WorkOrderJdbcRepository(jdbcTemplate), mapper);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        int count = writer.write(out, null, null);
+
+        List<WorkOrderRow> rows = jdbcTemplate.query(
+                "SELECT " + WorkOrderJdbcRepository.ROW_COLUMNS
+                        + " FROM work_orders wo LEFT JOIN assets a ON a.id = wo.asset_id",
+                (rs, i) -> new WorkOrderRow(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4),
+                        rs.getObject(5, LocalDate.class), rs.getString(6), rs.getString(7),
+                        rs.getObject(8, Long.class), rs.getString(9), rs.getString(10), rs.getString(11)));
+        String expected = mapper.writeValueAsString(rows.stream().map(DtoMapper::toWorkOrderDto).toList());
+
+        assertThat(count).isEqualTo(3);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(expected);
+        assertThat(mapper.writeValueAsString(DtoMapper.toWorkOrderDtos(rows))).isEqualTo(expected);
+    }
+}
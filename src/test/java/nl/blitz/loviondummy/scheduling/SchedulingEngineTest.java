@@ -0,0 +1,81 @@
+package nl.blitz.loviondummy.scheduling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.Test;
+
+class SchedulingEngineTest {
+
+    @Test
+    void urgentWorkOrdersOnlyGoToDaysUpToTheirLatestDay() {
+        // one crew, one 60 minute order per day fits; three urgent orders may only use days 0 and 1
+        SchedulingProblem.Builder builder = SchedulingProblem.builder(5, new int[] {100}, 30);
+        for (int i = 0; i < 3; i++) {
+            builder.add(i, "WO-" + i, 60, "North", 4, 1, 8);
+        }
+        SchedulingEngine.Result result = new SchedulingEngine(null, 1).solve(builder.build(), 50, 1);
+
+        int[] slotOf = result.schedule().slotOf;
+        assertThat(Arrays.stream(slotOf).filter(slot -> slot != Schedule.UNASSIGNED)).hasSize(2).allMatch(slot -> slot <= 1);
+    }
+
+    @Test
+    void plansEverythingThatFitsAndKeepsALocationOnOneDay() {
+        // two crews of 300 minutes over 2 days, 8 orders of 60 minutes in 2 locations: one location per crew-day
+        SchedulingProblem.Builder builder = SchedulingProblem.builder(2, new int[] {300, 300}, 30);
+        for (int i = 0; i < 8; i++) {
+            builder.add(i, "WO-" + i, 60, i % 2 == 0 ? "North" : "South", 0, 1, 1);
+        }
+        SchedulingProblem problem = builder.build();
+        SchedulingEngine.Result result = new SchedulingEngine(null, 1).solve(problem, 200, 7);
+
+        assertThat(result.schedule().slotOf).doesNotContain(Schedule.UNASSIGNED);
+        assertThat(Arrays.stream(result.schedule().zonesVisited)).allMatch(zones -> zones <= 1);
+        assertThat(result.schedule().travelMinutes()).isEqualTo(2 * 30);
+        assertThat(result.cost()).isEqualTo(result.schedule().cost());
+    }
+
+    @Test
+    void parallelSearchKeepsTheScheduleConsistent() throws Exception {
+        int days = 10;
+        int[] capacity = new int[8];
+        Arrays.fill(capacity, 480);
+        SchedulingProblem.Builder builder = SchedulingProblem.builder(days, capacity, 30);
+        for (int i = 0; i < 2_000; i++) {
+            boolean urgent = i % 5 == 0;
+            builder.add(i, "WO-" + i, 60 + 60 * (i % 3), "District " + i % 20, i % days, urgent ? 3 : days - 1,
+                    urgent ? 8 : 1 + i % 3);
+        }
+        SchedulingProblem problem = builder.build();
+        long greedy = SchedulingEngine.construct(problem).cost();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            SchedulingEngine.Result result = new SchedulingEngine(executor, 4).solve(problem, 500, 42);
+            Schedule schedule = result.schedule();
+
+            assertThat(result.cost()).isLessThanOrEqualTo(greedy).isEqualTo(schedule.cost());
+            int[] used = new int[problem.slots()];
+            boolean[][] visited = new boolean[problem.slots()][problem.zones];
+            for (int order = 0; order < problem.orders; order++) {
+                int slot = schedule.slotOf[order];
+                if (slot != Schedule.UNASSIGNED) {
+                    assertThat(problem.dayOf(slot)).isLessThanOrEqualTo(problem.latestDay[order]);
+                    used[slot] += problem.minutes[order];
+                    if (!visited[slot][problem.zone[order]]) {
+                        visited[slot][problem.zone[order]] = true;
+                        used[slot] += problem.travelMinutes;
+                    }
+                }
+            }
+            assertThat(schedule.used).containsExactly(used);
+            for (int slot = 0; slot < problem.slots(); slot++) {
+                assertThat(used[slot]).isLessThanOrEqualTo(problem.capacity[problem.crewOf(slot)]);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package nl.blitz.loviondummy.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class InvertedIndexTest {
+
+    @Test
+    void ranksDocumentsMatchingMoreTermsFirst() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, "Inspect valve for corrosion");
+        index.put(2, "Replace valve");
+        index.put(3, "Paint the cabinet");
+
+        SearchPage page = index.search("corrosion valve", 0, 10);
+
+        assertThat(page.total()).isEqualTo(2);
+        assertThat(page.hits()).extracting(SearchHit::id).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void updatesAndRemovalsReplaceEarlierText() {
+        InvertedIndex index = new InvertedIndex();
+        index.put(1, "Leaking pipe");
+        index.put(1, "Broken hydrant");
+        index.put(2, "Leaking pipe joint");
+        index.remove(2);
+
+        assertThat(index.search("leaking", 0, 10).total()).isZero();
+        assertThat(index.search("hydrant", 0, 10).hits()).extracting(SearchHit::id).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void pagesThroughHitsAndSurvivesCompaction() {
+        InvertedIndex index = new InvertedIndex();
+        for (long id = 0; id < 5000; id++) {
+            index.put(id, "pump maintenance " + id);
+        }
+        for (long id = 0; id < 5000; id++) {
+            index.put(id, id % 2 == 0 ? "pump maintenance" : "cable check");
+        }
+
+        SearchPage first = index.search("pump", 0, 10);
+        SearchPage second = index.search("pump", 10, 10);
+
+        assertThat(first.total()).isEqualTo(2500);
+        assertThat(first.hits()).hasSize(10);
+        assertThat(second.hits()).hasSize(10);
+        assertThat(first.hits()).extracting(SearchHit::id)
+                .doesNotContainAnyElementsOf(second.hits().stream().map(SearchHit::id).toList());
+        assertThat(index.search("cable", 0, 1).total()).isEqualTo(2500);
+    }
+}
@@ -0,0 +1,70 @@
+package nl.blitz.loviondummy.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import java.util.List;
+import nl.blitz.loviondummy.service.WorkOrderCalendarService.Bucket;
+import nl.blitz.loviondummy.service.WorkOrderCalendarService.Calendar;
+import nl.blitz.loviondummy.service.WorkOrderCalendarService.Granularity;
+import nl.blitz.loviondummy.service.WorkOrderCalendarService.Group;
+import org.junit.jupiter.api.Test;
+
+class CalendarAccumulatorTest {
+
+    // a Wednesday
+    private static final LocalDate FROM = LocalDate.of(2026, 11, 4);
+
+    @Test
+    void reportsEveryDayWithCountsPerAssetType() {
+        CalendarAccumulator accumulator = new CalendarAccumulator(FROM, FROM.plusDays(2), Granularity.DAY, 10);
+        accumulator.add(FROM, 1, "PIPE");
+        accumulator.add(FROM, 2, null);
+        accumulator.add(FROM, 3, "CABLE");
+        accumulator.add(FROM.plusDays(2), 4, "PIPE");
+
+        Calendar calendar = accumulator.build();
+
+        assertThat(calendar.total()).isEqualTo(4);
+        assertThat(calendar.buckets()).extracting(Bucket::start)
+                .containsExactly(FROM, FROM.plusDays(1), FROM.plusDays(2));
+        assertThat(calendar.buckets()).extracting(Bucket::count).containsExactly(3, 0, 1);
+        assertThat(calendar.buckets().get(0).groups()).containsExactly(
+                new Group("CABLE", 1, List.of(3L)),
+                new Group("PIPE", 1, List.of(1L)),
+                new Group(null, 1, List.of(2L)));
+    }
+
+    @Test
+    void weeksStartOnMondayAndAreClippedToTheRange() {
+        LocalDate to = FROM.plusDays(7);
+        CalendarAccumulator accumulator = new CalendarAccumulator(FROM, to, Granularity.WEEK, 10);
+        accumulator.add(FROM, 1, "PIPE");
+        accumulator.add(FROM.plusDays(4), 2, "PIPE");
+        accumulator.add(to, 3, "PIPE");
+
+        List<Bucket> buckets = accumulator.build().buckets();
+
+        assertThat(buckets).containsExactly(
+                new Bucket(FROM, LocalDate.of(2026, 11, 8), 2, List.of(new Group("PIPE", 2, List.of(1L, 2L)))),
+                new Bucket(LocalDate.of(2026, 11, 9), to, 1, List.of(new Group("PIPE", 1, List.of(3L)))));
+    }
+
+    @Test
+    void keepsCountsExactBeyondTheIdLimit() {
+        CalendarAccumulator accumulator = new CalendarAccumulator(FROM, FROM, Granularity.DAY, 2);
+        for (long id = 1; id <= 5; id++) {
+            accumulator.add(FROM, id, "PIPE");
+        }
+
+        assertThat(accumulator.build().buckets().get(0).groups())
+                .containsExactly(new Group("PIPE", 5, List.of(1L, 2L)));
+    }
+
+    @Test
+    void parsesGranularityCaseInsensitive() {
+        assertThat(Granularity.parse("Week")).isEqualTo(Granularity.WEEK);
+        assertThatThrownBy(() -> Granularity.parse("month")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
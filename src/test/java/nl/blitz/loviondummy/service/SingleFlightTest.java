@@ -0,0 +1,71 @@
+package nl.blitz.loviondummy.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+
+    @Test
+    void concurrentCallsForSameKeyShareOneExecution() throws Exception {
+        AtomicInteger coalesced = new AtomicInteger();
+        SingleFlight<String, String> flight = new SingleFlight<>(shared -> {
+            if (shared) {
+                coalesced.incrementAndGet();
+            }
+        });
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(pool.submit(() -> flight.execute("PENDING", () -> {
+                    executions.incrementAndGet();
+                    await(release);
+                    return "rows";
+                })));
+            }
+            // wait until the other seven callers joined the leader before letting it finish
+            while (coalesced.get() < 7) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("rows");
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(executions).hasValue(1);
+        assertThat(flight.inFlightCount()).isZero();
+    }
+
+    @Test
+    void failureIsSharedAndNotRemembered() {
+        SingleFlight<String, String> flight = new SingleFlight<>(shared -> { });
+
+        assertThatThrownBy(() -> flight.execute("k", () -> {
+            throw new IllegalStateException("db down");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(flight.execute("k", () -> "ok")).isEqualTo("ok");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package nl.blitz.loviondummy.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import nl.blitz.loviondummy.archive.WorkOrderArchive;
+import nl.blitz.loviondummy.archive.WorkOrderArchiver;
+import nl.blitz.loviondummy.dto.DtoMapper;
+import nl.blitz.loviondummy.dto.WorkOrderLookupResultDto;
+import nl.blitz.loviondummy.readmodel.WorkOrderReadModel;
+import nl.blitz.loviondummy.repository.AssetRepository;
+import nl.blitz.loviondummy.repository.WorkOrderRepository;
+import nl.blitz.loviondummy.rest.RestExceptionHandler;
+import nl.blitz.loviondummy.rest.WorkOrderController;
+import nl.blitz.loviondummy.search.DescriptionSearchService;
+import nl.blitz.loviondummy.service.WorkOrderLookupService.Lookup;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Runs on the embedded H2 database, with a repository that counts the IN-list queries.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class WorkOrderLookupServiceTest {
+
+    @TempDir
+    Path directory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private WorkOrderRepository workOrderRepository;
+    @Autowired
+    private AssetRepository assetRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private ObjectProvider<WorkOrderReadModel> readModel;
+
+    private final AtomicInteger queries = new AtomicInteger();
+    private WorkOrderArchive archive;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        insert(1, "COMPLETED", LocalDate.of(2020, 1, 1));
+        for (long id = 2; id <= 5; id++) {
+            insert(id, "PENDING", null);
+        }
+        archive = new WorkOrderArchive(assetRepository, new SimpleMeterRegistry(), directory.toString(), true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM work_orders");
+    }
+
+    @Test
+    void distinctIdsAreQueriedInChunks() {
+        WorkOrderLookupService service = service(2, 100);
+
+        List<Lookup> lookups = service.lookup(List.of("WO-1", "WO-2", "WO-3", "WO-2", "WO-4", "WO-5"));
+
+        assertThat(queries).hasValue(3);
+        assertThat(lookups).allMatch(Lookup::found);
+    }
+
+    @Test
+    void resultsFollowTheRequestOrderWithDuplicates() {
+        WorkOrderLookupService service = service(2, 100);
+
+        List<Lookup> lookups = service.lookup(List.of("WO-3", "WO-404", "WO-1", "WO-3", "WO-405"));
+
+        assertThat(lookups).extracting(Lookup::externalWorkOrderId)
+                .containsExactly("WO-3", "WO-404", "WO-1", "WO-3", "WO-405");
+        assertThat(lookups).extracting(Lookup::found).containsExactly(true, false, true, true, false);
+        assertThat(lookups.get(0).row().id()).isEqualTo(3);
+        assertThat(lookups.get(3).row()).isEqualTo(lookups.get(0).row());
+        WorkOrderLookupResultDto result = DtoMapper.toWorkOrderLookupResultDto(lookups);
+        assertThat(result.getFound()).isEqualTo(3);
+        assertThat(result.getMissing()).isEqualTo(2);
+        assertThat(result.getResults()).hasSize(5);
+    }
+
+    @Test
+    void idsNotInTheTableAreLookedUpInTheArchive() {
+        DescriptionSearchService searchService =
+                new DescriptionSearchService(jdbcTemplate, workOrderRepository, assetRepository);
+        searchService.buildIndexes();
+        WorkOrderArchiver archiver = new WorkOrderArchiver(archive, readModel, searchService, jdbcTemplate,
+                transactionManager, new SimpleMeterRegistry(), false, 30, 60, 1000);
+        assertThat(archiver.archive(0).workOrders()).isEqualTo(1);
+        WorkOrderLookupService service = service(10, 100);
+
+        List<Lookup> lookups = service.lookup(List.of("WO-1", "WO-2", "WO-404"));
+
+        assertThat(lookups).extracting(Lookup::found).containsExactly(true, true, false);
+        assertThat(lookups.get(0).row().status()).isEqualTo("COMPLETED");
+        assertThat(queries).hasValue(1);
+    }
+
+    @Test
+    void invalidRequestsAreBadRequests() throws Exception {
+        WorkOrderController controller =
+                new WorkOrderController(null, null, null, null, archive, service(10, 3), null);
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new RestExceptionHandler())
+                .setMessageConverters(new MappingJackson2HttpMessageConverter())
+                .build();
+
+        for (String body : List.of("[]", "[\"WO-1\", \" \"]", "[\"WO-1\", \"WO-2\", \"WO-3\", \"WO-4\"]")) {
+            mockMvc.perform(post("/api/workorders/lookup").contentType(MediaType.APPLICATION_JSON).content(body))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.error").isNotEmpty());
+        }
+        mockMvc.perform(post("/api/workorders/lookup").contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"WO-2\", \"WO-404\"]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.found").value(1))
+                .andExpect(jsonPath("$.missing").value(1))
+                .andExpect(jsonPath("$.results[1].found").value(false));
+        assertThat(queries).hasValue(1);
+    }
+
+    private WorkOrderLookupService service(int chunkSize, int maxIds) {
+        WorkOrderRepository counting = (WorkOrderRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {WorkOrderRepository.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("findRowsByExternalWorkOrderIdIn")) {
+                        queries.incrementAndGet();
+                    }
+                    try {
+                        return method.invoke(workOrderRepository, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getCause();
+                    }
+                });
+        return new WorkOrderLookupService(counting, archive, chunkSize, maxIds);
+    }
+
+    private void insert(long id, String status, LocalDate scheduledDate) {
+        jdbcTemplate.update("INSERT INTO work_orders (id, external_workorder_id, work_type, priority, status, "
+                + "scheduled_date, version) VALUES (?, ?, 'REPAIR', 'HIGH', ?, ?, 0)",
+                id, "WO-" + id, status, scheduledDate);
+    }
+}
@@ -0,0 +1,253 @@
+package nl.blitz.loviondummy.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import nl.blitz.loviondummy.domain.WorkOrder;
+import nl.blitz.loviondummy.exception.ResourceNotFoundException;
+import nl.blitz.loviondummy.repository.WorkOrderRepository;
+import nl.blitz.loviondummy.service.WorkOrderStatusService.Outcome;
+import nl.blitz.loviondummy.service.WorkOrderStatusService.Result;
+import nl.blitz.loviondummy.service.WorkOrderStatusService.Transition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Runs on the embedded H2 database. Lost races are made deterministic by a repository that lets another connection
+ * update the row right after the service has read it.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class WorkOrderStatusServiceTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private WorkOrderRepository workOrderRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        insert(1, "PENDING");
+        insert(2, "PENDING");
+        insert(3, "COMPLETED");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM work_orders");
+    }
+
+    @Test
+    void mixedBatchReportsAnOutcomePerItem() {
+        WorkOrderStatusService service = service(workOrderRepository, 3, 64);
+
+        List<Result> results = service.transitionAll(List.of(
+                new Transition(1L, null, "SCHEDULED", null),
+                new Transition(null, "WO-3", "PENDING", null),
+                new Transition(null, "WO-404", "SCHEDULED", null),
+                new Transition(404L, null, "SCHEDULED", null),
+                new Transition(2L, null, "pending", 0L)));
+
+        assertThat(results).extracting(Result::outcome).containsExactly(Outcome.APPLIED, Outcome.REJECTED,
+                Outcome.NOT_FOUND, Outcome.NOT_FOUND, Outcome.UNCHANGED);
+        assertThat(results.get(0)).extracting(Result::previousStatus, Result::status, Result::version)
+                .containsExactly("PENDING", "SCHEDULED", 1L);
+        assertThat(results.get(1)).extracting(Result::id, Result::status, Result::version)
+                .containsExactly(3L, "COMPLETED", 0L);
+        assertThat(results.get(2).message()).contains("WO-404");
+        assertThat(version(1)).isEqualTo(1);
+        assertThat(version(2)).isZero();
+        assertThat(version(3)).isZero();
+        assertThat(status(3)).isEqualTo("COMPLETED");
+        assertThat(meterRegistry.get("lovion.workorders.status.transitions").tag("outcome", "not_found")
+                .counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void unknownExternalIdIsNotFound() {
+        WorkOrderStatusService service = service(workOrderRepository, 3, 64);
+
+        assertThatThrownBy(() -> service.transition(new Transition(null, "WO-404", "SCHEDULED", null)))
+                .isInstanceOf(ResourceNotFoundException.class).hasMessageContaining("WO-404");
+    }
+
+    @Test
+    void staleExpectedVersionIsAConflictWithoutRetrying() {
+        WorkOrderStatusService service = service(workOrderRepository, 3, 64);
+        service.transition(new Transition(1L, null, "SCHEDULED", 0L));
+
+        Result result = service.transitionAll(List.of(new Transition(1L, null, "IN_PROGRESS", 0L))).get(0);
+
+        assertThat(result.outcome()).isEqualTo(Outcome.CONFLICT);
+        assertThat(result.version()).isEqualTo(1);
+        assertThat(status(1)).isEqualTo("SCHEDULED");
+        assertThat(version(1)).isEqualTo(1);
+        assertThat(retries()).isZero();
+        assertThatThrownBy(() -> service.transition(new Transition(1L, null, "IN_PROGRESS", 0L)))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+    }
+
+    @Test
+    void batchThatLosesARaceFallsBackToItemRetries() {
+        WorkOrderStatusService service = service(racing(1), 3, 64);
+
+        List<Result> results = service.transitionAll(List.of(
+                new Transition(1L, null, "SCHEDULED", null),
+                new Transition(2L, null, "CANCELLED", null),
+                new Transition(3L, null, "PENDING", null)));
+
+        assertThat(results).extracting(Result::outcome)
+                .containsExactly(Outcome.APPLIED, Outcome.APPLIED, Outcome.REJECTED);
+        // the concurrent writer bumped every row once, the retry applied on top of that
+        assertThat(results).extracting(Result::version).containsExactly(2L, 2L, 1L);
+        assertThat(status(1)).isEqualTo("SCHEDULED");
+        assertThat(status(2)).isEqualTo("CANCELLED");
+        assertThat(version(1)).isEqualTo(2);
+        assertThat(version(3)).isEqualTo(1);
+        assertThat(retries()).isEqualTo(3);
+    }
+
+    @Test
+    void retriesAreBoundedAndEndInAConflict() {
+        WorkOrderStatusService service = service(racing(Integer.MAX_VALUE), 3, 64);
+
+        Result result = service.transitionAll(List.of(new Transition(1L, null, "SCHEDULED", null))).get(0);
+
+        assertThat(result.outcome()).isEqualTo(Outcome.CONFLICT);
+        assertThat(result.message()).contains("3 retries");
+        assertThat(retries()).isEqualTo(3);
+        assertThat(status(1)).isEqualTo("PENDING");
+        // one bump after the batch read and one after each retry read
+        assertThat(version(1)).isEqualTo(4);
+    }
+
+    @Test
+    void lostRaceWithExpectedVersionIsNotRetriedAgain() {
+        WorkOrderStatusService service = service(racing(1), 3, 64);
+
+        Result result = service.transitionAll(List.of(new Transition(1L, null, "SCHEDULED", 0L))).get(0);
+
+        assertThat(result.outcome()).isEqualTo(Outcome.CONFLICT);
+        assertThat(result.version()).isEqualTo(1);
+        assertThat(status(1)).isEqualTo("PENDING");
+        assertThat(retries()).isEqualTo(1);
+    }
+
+    @Test
+    void stripedWritersOnTheSameWorkOrderQueueInsteadOfRetrying() {
+        WorkOrderStatusService service = service(workOrderRepository, 3, 64);
+
+        List<Result> results = twoWriters(service);
+
+        assertThat(results).extracting(Result::outcome).doesNotContain(Outcome.CONFLICT, Outcome.REJECTED);
+        assertThat(retries()).isZero();
+        assertThat(version(1)).isEqualTo(applied(results));
+    }
+
+    @Test
+    void unstripedWritersOnTheSameWorkOrderLoseNoUpdates() {
+        WorkOrderStatusService service = service(workOrderRepository, 50, 0);
+
+        List<Result> results = twoWriters(service);
+
+        assertThat(results).extracting(Result::outcome).doesNotContain(Outcome.CONFLICT, Outcome.REJECTED);
+        // every applied transition is exactly one version: none overwrote another
+        assertThat(version(1)).isEqualTo(applied(results));
+    }
+
+    /**
+     * One writer keeps scheduling work order 1 and the other keeps putting it back to pending.
+     */
+    private List<Result> twoWriters(WorkOrderStatusService service) {
+        CompletableFuture<List<Result>> scheduler = CompletableFuture.supplyAsync(() -> toggle(service, "SCHEDULED"));
+        CompletableFuture<List<Result>> resetter = CompletableFuture.supplyAsync(() -> toggle(service, "PENDING"));
+        List<Result> results = new ArrayList<>(scheduler.join());
+        results.addAll(resetter.join());
+        return results;
+    }
+
+    private static List<Result> toggle(WorkOrderStatusService service, String status) {
+        List<Result> results = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            results.addAll(service.transitionAll(List.of(new Transition(1L, null, status, null))));
+        }
+        return results;
+    }
+
+    private static long applied(List<Result> results) {
+        return results.stream().filter(result -> result.outcome() == Outcome.APPLIED).count();
+    }
+
+    private WorkOrderStatusService service(WorkOrderRepository repository, int maxRetries, int lockStripes) {
+        return new WorkOrderStatusService(repository, transactionManager, meterRegistry, maxRetries, 1, lockStripes,
+                100);
+    }
+
+    /**
+     * The repository, except that the first {@code races} reads are each followed by a committed update of the
+     * rows read, from another connection.
+     */
+    @SuppressWarnings("unchecked")
+    private WorkOrderRepository racing(int races) {
+        AtomicInteger left = new AtomicInteger(races);
+        return (WorkOrderRepository) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {WorkOrderRepository.class}, (proxy, method, args) -> {
+                    Object result;
+                    try {
+                        result = method.invoke(workOrderRepository, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getCause();
+                    }
+                    List<WorkOrder> read = switch (method.getName()) {
+                        case "findAllById" -> new ArrayList<>((Collection<WorkOrder>) result);
+                        case "findById" -> ((Optional<WorkOrder>) result).stream().toList();
+                        default -> List.of();
+                    };
+                    if (!read.isEmpty() && left.getAndDecrement() > 0) {
+                        // the service's transaction holds its own connection, so the concurrent writer needs a thread
+                        CompletableFuture.runAsync(() -> read.forEach(workOrder -> jdbcTemplate.update(
+                                "UPDATE work_orders SET version = version + 1 WHERE id = ?", workOrder.getId())))
+                                .join();
+                    }
+                    return result;
+                });
+    }
+
+    private double retries() {
+        return meterRegistry.get("lovion.workorders.status.retries").counter().count();
+    }
+
+    private long version(long id) {
+        return jdbcTemplate.queryForObject("SELECT version FROM work_orders WHERE id = ?", Long.class, id);
+    }
+
+    private String status(long id) {
+        return jdbcTemplate.queryForObject("SELECT status FROM work_orders WHERE id = ?", String.class, id);
+    }
+
+    private void insert(long id, String status) {
+        jdbcTemplate.update("INSERT INTO work_orders (id, external_workorder_id, work_type, priority, status, "
+                + "version) VALUES (?, ?, 'REPAIR', 'HIGH', ?, 0)", id, "WO-" + id, status);
+    }
+}
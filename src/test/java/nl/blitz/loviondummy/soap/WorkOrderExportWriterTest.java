@@ -0,0 +1,85 @@
+package nl.blitz.loviondummy.soap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import javax.xml.parsers.DocumentBuilderFactory;
+import nl.blitz.loviondummy.config.WsConfig;
+import nl.blitz.loviondummy.repository.WorkOrderJdbcRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.w3c.dom.NodeList;
+
+class WorkOrderExportWriterTest {
+
+    private EmbeddedDatabase database;
+    private WorkOrderExportWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true)
+                .setScriptEncoding("UTF-8").addScript("writer-schema.sql").build();
+        writer = new WorkOrderExportWriter(new WorkOrderJdbcRepository(new JdbcTemplate(database)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void splitsRowsIntoChunksWithOwnCsvHeader() throws Exception {
+        List<WorkOrderExportWriter.Chunk> chunks = writer.export(null, WorkOrderExportWriter.CSV, 2);
+
+        assertThat(chunks).extracting(WorkOrderExportWriter.Chunk::rowCount).containsExactly(2, 1);
+        assertThat(chunks).extracting(WorkOrderExportWriter.Chunk::sequence).containsExactly(0, 1);
+        assertThat(gunzip(chunks.get(0))).isEqualTo(
+                "externalWorkOrderId,externalAssetRef,description,scheduledDate,workType,priority,status\r\n"
+                        + "WO-1001,EXT-PIPE-001,\"Inspect \"\"corrosion\"\", north\",2025-03-14,INSPECTION,HIGH,PENDING\r\n"
+                        + "WO-1002,,,,REPAIR,LOW,NEW\r\n");
+        assertThat(gunzip(chunks.get(1))).endsWith("WO-1003,EXT-PIPE-001,a & b,,REPAIR,MEDIUM,NEW\r\n");
+    }
+
+    @Test
+    void writesXmlChunksWithInlineElementNames() throws Exception {
+        List<WorkOrderExportWriter.Chunk> chunks = writer.export("new", WorkOrderExportWriter.XML, 10);
+
+        assertThat(chunks).hasSize(1);
+        assertThat(chunks.get(0).contentType()).isEqualTo("application/xml");
+        String xml = gunzip(chunks.get(0));
+        assertThat(xml)
+                .contains("<wo:workOrder><wo:externalWorkOrderId>WO-1002</wo:externalWorkOrderId>"
+                        + "<wo:externalAssetRef></wo:externalAssetRef><wo:workType>REPAIR</wo:workType>")
+                .contains("<wo:description>a &amp; b</wo:description>")
+                .endsWith("</wo:workOrder></wo:workOrders>");
+        // the schema is elementFormDefault="qualified": every element is in the namespace
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        NodeList elements = factory.newDocumentBuilder()
+                .parse(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)))
+                .getElementsByTagName("*");
+        assertThat(elements.getLength()).isEqualTo(14);
+        for (int i = 0; i < elements.getLength(); i++) {
+            assertThat(elements.item(i).getNamespaceURI()).isEqualTo(WsConfig.NAMESPACE_URI);
+        }
+    }
+
+    @Test
+    void returnsNoChunksWhenNothingMatches() {
+        assertThat(writer.export("DONE", WorkOrderExportWriter.CSV, 10)).isEmpty();
+    }
+
+    private static String gunzip(WorkOrderExportWriter.Chunk chunk) throws Exception {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(chunk.gzipped()))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -4,9 +4,15 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import nl.blitz.loviondummy.domain.Asset;
 import nl.blitz.loviondummy.domain.WorkOrder;
+import nl.blitz.loviondummy.repository.projection.WorkOrderRow;
+import nl.blitz.loviondummy.service.WorkOrderLookupService;
 import nl.blitz.loviondummy.service.WorkOrderQueryService;
+import nl.blitz.loviondummy.soap.schema.GetWorkOrderDetailsBatchRequest;
+import nl.blitz.loviondummy.soap.schema.GetWorkOrderDetailsBatchResponse;
+import nl.blitz.loviondummy.soap.schema.WorkOrderLookupResultType;
 import nl.blitz.loviondummy.soap.schema.GetWorkOrdersRequest;
 import nl.blitz.loviondummy.soap.schema.GetWorkOrdersResponse;
 import org.junit.jupiter.api.Test;
@@ -26,7 +32,9 @@ class WorkOrderSoapEndpointTest {SoapFaultSimulator simulator;
         WorkOrderSoapEndpoint endpoint =
                 new WorkOrderSoapEndpoint(
                         new StubWorkOrderService(),
-                        simulator
+                        simulator,
+                        null,
+                        null
                 );
 
         GetWorkOrdersRequest request = new GetWorkOrdersRequest();
@@ -37,6 +45,40 @@ class WorkOrderSoapEndpointTest {SoapFaultSimulator simulator;
         assertThat(response.getWorkOrders().get(0).getExternalWorkOrderId()).isEqualTo("WO-STUB");
     }
 
+    @Test
+    void detailsBatchSimulatesOneFaultForAllIds() throws SoapFaultException {
+        AtomicInteger simulations = new AtomicInteger();
+        SoapFaultSimulator simulator = new SoapFaultSimulator() {
+            @Override
+            public SoapFaultException simulateFault() {
+                simulations.incrementAndGet();
+                return null;
+            }
+        };
+        WorkOrderRow row = new WorkOrderRow(1L, "WO-1", "INSPECTION", "HIGH", LocalDate.now(), "PENDING", "stub",
+                null, null, null, null);
+        WorkOrderLookupService lookupService = new WorkOrderLookupService(null, null, 1, 10) {
+            @Override
+            public List<Lookup> lookup(List<String> externalWorkOrderIds) {
+                return externalWorkOrderIds.stream()
+                        .map(id -> new Lookup(id, id.equals("WO-1") ? row : null))
+                        .toList();
+            }
+        };
+        WorkOrderSoapEndpoint endpoint = new WorkOrderSoapEndpoint(null, simulator, null, lookupService);
+        GetWorkOrderDetailsBatchRequest request = new GetWorkOrderDetailsBatchRequest();
+        request.getExternalWorkOrderIds().addAll(List.of("WO-1", "WO-404", "WO-1"));
+
+        GetWorkOrderDetailsBatchResponse response = endpoint.getWorkOrderDetailsBatch(request);
+
+        assertThat(simulations).hasValue(1);
+        assertThat(response.getFound()).isEqualTo(2);
+        assertThat(response.getMissing()).isEqualTo(1);
+        assertThat(response.getResults()).extracting(WorkOrderLookupResultType::isFound)
+                .containsExactly(true, false, true);
+        assertThat(response.getResults().get(0).getWorkOrder().getExternalAssetRef()).isEmpty();
+    }
+
     private static class StubWorkOrderService implements WorkOrderQueryService {
 
         private final List<WorkOrder> workOrders;
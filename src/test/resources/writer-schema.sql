@@ -0,0 +1,40 @@
+-- Tables of the JDBC writers as Hibernate creates them from Asset and WorkOrder, with a small shared data set.
+CREATE TABLE assets (
+    id BIGINT PRIMARY KEY,
+    external_asset_ref VARCHAR(255) NOT NULL UNIQUE,
+    type VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    location VARCHAR(255)
+);
+
+CREATE TABLE work_orders (
+    id BIGINT PRIMARY KEY,
+    external_workorder_id VARCHAR(255) NOT NULL UNIQUE,
+    work_type VARCHAR(255) NOT NULL,
+    priority VARCHAR(255) NOT NULL,
+    scheduled_date DATE,
+    asset_id BIGINT REFERENCES assets (id),
+    status VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    validation_severity VARCHAR(20),
+    validation_errors TEXT,
+    version BIGINT DEFAULT 0 NOT NULL
+);
+
+CREATE INDEX idx_work_orders_scheduled_date ON work_orders (scheduled_date, asset_id);
+
+-- a location with characters that need JSON escaping
+INSERT INTO assets (id, external_asset_ref, type, description, location)
+VALUES (1, 'EXT-PIPE-001', 'PIPE', 'Pipe', 'North "District" \ é');
+-- an asset without work orders
+INSERT INTO assets (id, external_asset_ref, type, description, location)
+VALUES (2, 'EXT-VALVE-002', 'VALVE', NULL, 'South');
+
+INSERT INTO work_orders (id, external_workorder_id, work_type, priority, scheduled_date, asset_id, status, description)
+VALUES (1, 'WO-1001', 'INSPECTION', 'HIGH', DATE '2025-03-14', 1, 'PENDING', 'Inspect "corrosion", north');
+-- no asset, date or description
+INSERT INTO work_orders (id, external_workorder_id, work_type, priority, scheduled_date, asset_id, status, description)
+VALUES (2, 'WO-1002', 'REPAIR', 'LOW', NULL, NULL, 'NEW', NULL);
+-- second work order of asset 1
+INSERT INTO work_orders (id, external_workorder_id, work_type, priority, scheduled_date, asset_id, status, description)
+VALUES (3, 'WO-1003', 'REPAIR', 'MEDIUM', NULL, 1, 'NEW', 'a & b');